@@ -0,0 +1,155 @@
+package com.foxminded.dao;
+
+import com.foxminded.configs.SpringTestConfig;
+import com.foxminded.dao.layers.*;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.foxminded.constants.Constants.DEFAULT_LECTURE_DURATION;
+
+/**
+ * Embedded H2 of the test configuration seeded with the passed number of lectures. Lectures are spread
+ * evenly over three years starting from 2018, a group and a teacher are created per 1000 lectures
+ * (10 at least) and 25 students per group, each student attending two courses. Lectures are short enough
+ * not to overlap in their class room, as the database rejects overlapping lectures.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class SeededDatabase implements AutoCloseable {
+    public static final LocalDateTime START = LocalDateTime.of(2018, Month.JANUARY, 1, 8, 0);
+    public static final int YEARS = 3;
+    public static final int COURSES = 20;
+    public static final int DEPARTMENTS = 5;
+    public static final int CLASS_ROOMS = 50;
+    public static final int FIRST_CLASS_ROOM = 100;
+    public static final int STUDENTS_PER_GROUP = 25;
+
+    private final AnnotationConfigApplicationContext context;
+    private final int lectures;
+    private final int groups;
+
+    /**
+     * Constructor of the class. Recreates the tables and fills them.
+     *
+     * @param lectures - number of lectures
+     * @param cache    - true to cache entities and schedules as in production
+     * @throws DAOException - DAOException
+     */
+    public SeededDatabase(int lectures, boolean cache) throws DAOException {
+        if (lectures < 1) {
+            throw new IllegalArgumentException("Number of lectures must be positive");
+        }
+        System.setProperty("cache.enabled", String.valueOf(cache));
+        this.context = new AnnotationConfigApplicationContext(SpringTestConfig.class);
+        this.lectures = lectures;
+        this.groups = Math.max(10, lectures / 1000);
+        ExecutorQuery executorQuery = context.getBean("executorQuery", ExecutorQuery.class);
+        executorQuery.executeQuery("sql/dropDB.sql");
+        executorQuery.executeQuery("sql/tablesCreation.sql");
+        fill();
+    }
+
+    public <T> T getBean(String name, Class<T> type) {
+        return context.getBean(name, type);
+    }
+
+    public int getLectures() {
+        return lectures;
+    }
+
+    /**
+     * Gets a group in the middle of the ids, with an average number of lectures.
+     *
+     * @return - Group
+     */
+    public Group getGroup() {
+        return new Group(groups / 2, "group" + groups / 2);
+    }
+
+    /**
+     * Gets a teacher in the middle of the ids, with an average number of lectures.
+     *
+     * @return - Teacher
+     */
+    public Teacher getTeacher() {
+        return new Teacher(groups / 2, "firstName" + groups / 2, "lastName" + groups / 2,
+                new Course(groups / 2 % COURSES + 1), new Department(groups / 2 % DEPARTMENTS + 1));
+    }
+
+    /**
+     * Gets the first student of the group returned by getGroup.
+     *
+     * @return - Student
+     */
+    public Student getStudent() {
+        int id = (groups / 2 - 1) * STUDENTS_PER_GROUP + 1;
+        return new Student(id, "studentFirstName" + id, "studentLastName" + id, getGroup());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void fill() throws DAOException {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= COURSES; i++) {
+            courses.add(new Course("course" + i));
+        }
+        getBean("courseDAO", CourseDAO.class).insertAll(courses);
+        List<Department> departments = new ArrayList<>();
+        for (int i = 1; i <= DEPARTMENTS; i++) {
+            departments.add(new Department("department" + i));
+        }
+        getBean("departmentDAO", DepartmentDAO.class).insertAll(departments);
+        List<ClassRoom> classRooms = new ArrayList<>();
+        for (int i = 0; i < CLASS_ROOMS; i++) {
+            classRooms.add(new ClassRoom(FIRST_CLASS_ROOM + i, "classRoom" + i, 30 + i));
+        }
+        getBean("classRoomDAO", ClassRoomDAO.class).insertAll(classRooms);
+        List<Group> groupList = new ArrayList<>();
+        List<Teacher> teachers = new ArrayList<>();
+        for (int i = 1; i <= groups; i++) {
+            groupList.add(new Group("group" + i));
+            teachers.add(new Teacher("firstName" + i, "lastName" + i,
+                    new Course(i % COURSES + 1), new Department(i % DEPARTMENTS + 1)));
+        }
+        getBean("groupDAO", GroupDAO.class).insertAll(groupList);
+        getBean("teacherDAO", TeacherDAO.class).insertAll(teachers);
+        fillStudents();
+        fillLectures();
+    }
+
+    private void fillStudents() throws DAOException {
+        List<Student> students = new ArrayList<>(groups * STUDENTS_PER_GROUP);
+        for (int i = 1; i <= groups * STUDENTS_PER_GROUP; i++) {
+            students.add(new Student("studentFirstName" + i, "studentLastName" + i,
+                    new Group((i - 1) / STUDENTS_PER_GROUP + 1),
+                    List.of(new Course(i % COURSES + 1), new Course((i + 7) % COURSES + 1))));
+        }
+        StudentDAO studentDAO = getBean("studentDAO", StudentDAO.class);
+        studentDAO.insertAll(students);
+        studentDAO.insertRelationshipStudentsToCourses(students);
+    }
+
+    private void fillLectures() throws DAOException {
+        long minutes = ChronoUnit.MINUTES.between(START, START.plusYears(YEARS));
+        Duration duration = Duration.ofMinutes(Math.min(DEFAULT_LECTURE_DURATION, minutes * CLASS_ROOMS / lectures));
+        List<Lecture> lectureList = new ArrayList<>(lectures);
+        for (int i = 0; i < lectures; i++) {
+            lectureList.add(new Lecture(0, "lecture" + i, START.plusMinutes(minutes * i / lectures), duration,
+                    new Teacher(i % groups + 1), new ClassRoom(FIRST_CLASS_ROOM + i % CLASS_ROOMS),
+                    new Group(i % groups + 1), new Course(i % COURSES + 1)));
+        }
+        getBean("lectureDAO", LectureDAO.class).insertAll(lectureList);
+    }
+}
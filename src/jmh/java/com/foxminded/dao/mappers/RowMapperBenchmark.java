@@ -0,0 +1,141 @@
+package com.foxminded.dao.mappers;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a page of rows from an in-memory result set with every row mapper, the same mapper instance
+ * serving one query as in the DAOs. Measures the mapping alone, without JDBC driver and database.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=RowMapperBenchmark
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowMapperBenchmark {
+    @Param({"1000"})
+    public int rows;
+
+    private SimpleResultSet classRooms;
+    private SimpleResultSet named;
+    private SimpleResultSet lectures;
+    private SimpleResultSet lectureDetails;
+    private SimpleResultSet studentCourses;
+    private SimpleResultSet students;
+    private SimpleResultSet teachers;
+
+    @Setup
+    public void setUp() {
+        classRooms = createResultSet("id", Types.INTEGER, "name", Types.VARCHAR, "capacity", Types.INTEGER);
+        named = createResultSet("id", Types.INTEGER, "name", Types.VARCHAR);
+        lectures = createResultSet("id", Types.INTEGER, "name", Types.VARCHAR, "date", Types.TIMESTAMP,
+                "duration", Types.INTEGER, "class_room_id", Types.INTEGER, "teacher_id", Types.INTEGER, "group_id", Types.INTEGER,
+                "course_id", Types.INTEGER);
+        lectureDetails = createResultSet("id", Types.INTEGER, "name", Types.VARCHAR, "date", Types.TIMESTAMP,
+                "duration", Types.INTEGER, "class_room_id", Types.INTEGER, "teacher_id", Types.INTEGER, "group_id", Types.INTEGER,
+                "course_id", Types.INTEGER, "class_room_name", Types.VARCHAR, "class_room_capacity", Types.INTEGER,
+                "teacher_first_name", Types.VARCHAR, "teacher_last_name", Types.VARCHAR,
+                "teacher_course_id", Types.INTEGER, "teacher_department_id", Types.INTEGER,
+                "group_name", Types.VARCHAR, "course_name", Types.VARCHAR);
+        studentCourses = createResultSet("student_id", Types.INTEGER, "course_id", Types.INTEGER);
+        students = createResultSet("id", Types.INTEGER, "first_name", Types.VARCHAR, "last_name", Types.VARCHAR,
+                "group_id", Types.INTEGER);
+        teachers = createResultSet("id", Types.INTEGER, "first_name", Types.VARCHAR, "last_name", Types.VARCHAR,
+                "course_id", Types.INTEGER, "department_id", Types.INTEGER);
+    }
+
+    @Benchmark
+    public void classRoomMapper(Blackhole blackhole) throws SQLException {
+        map(classRooms, new ClassRoomMapper(), blackhole);
+    }
+
+    @Benchmark
+    public void courseMapper(Blackhole blackhole) throws SQLException {
+        map(named, new CourseMapper(), blackhole);
+    }
+
+    @Benchmark
+    public void departmentMapper(Blackhole blackhole) throws SQLException {
+        map(named, new DepartmentMapper(), blackhole);
+    }
+
+    @Benchmark
+    public void groupMapper(Blackhole blackhole) throws SQLException {
+        map(named, new GroupMapper(), blackhole);
+    }
+
+    @Benchmark
+    public void lectureMapper(Blackhole blackhole) throws SQLException {
+        map(lectures, new LectureMapper(), blackhole);
+    }
+
+    @Benchmark
+    public void lectureDetailsMapper(Blackhole blackhole) throws SQLException {
+        map(lectureDetails, new LectureDetailsMapper(), blackhole);
+    }
+
+    @Benchmark
+    public void studentCourseMapper(Blackhole blackhole) throws SQLException {
+        map(studentCourses, new StudentCourseMapper(), blackhole);
+    }
+
+    @Benchmark
+    public void studentMapper(Blackhole blackhole) throws SQLException {
+        map(students, new StudentMapper(), blackhole);
+    }
+
+    @Benchmark
+    public void teacherMapper(Blackhole blackhole) throws SQLException {
+        map(teachers, new TeacherMapper(), blackhole);
+    }
+
+    private void map(ResultSet rs, RowMapper<?> mapper, Blackhole blackhole) throws SQLException {
+        rs.beforeFirst();
+        int rowNum = 0;
+        while (rs.next()) {
+            blackhole.consume(mapper.mapRow(rs, rowNum++));
+        }
+    }
+
+    /**
+     * Creates a result set with the passed columns, pairs of a name and a type, and the rows of this benchmark.
+     * Ids repeat every 50 rows, so the details of a lecture are mostly found among already mapped ones.
+     */
+    private SimpleResultSet createResultSet(Object... columns) {
+        SimpleResultSet rs = new SimpleResultSet();
+        rs.setAutoClose(false);
+        for (int i = 0; i < columns.length; i += 2) {
+            rs.addColumn((String) columns[i], (Integer) columns[i + 1], 0, 0);
+        }
+        LocalDateTime date = LocalDateTime.of(2020, 1, 1, 9, 0);
+        for (int row = 0; row < rows; row++) {
+            Object[] values = new Object[columns.length / 2];
+            for (int i = 0; i < values.length; i++) {
+                int type = (Integer) columns[i * 2 + 1];
+                if (type == Types.INTEGER) {
+                    values[i] = i == 0 ? row + 1 : row % 50 + 1;
+                } else if (type == Types.TIMESTAMP) {
+                    values[i] = Timestamp.valueOf(date.plusHours(row));
+                } else {
+                    values[i] = columns[i * 2] + String.valueOf(row);
+                }
+            }
+            rs.addRow(values);
+        }
+        return rs;
+    }
+}
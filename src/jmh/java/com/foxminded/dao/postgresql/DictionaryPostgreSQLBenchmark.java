@@ -0,0 +1,168 @@
+package com.foxminded.dao.postgresql;
+
+import com.foxminded.dao.SeededDatabase;
+import com.foxminded.dao.layers.ClassRoomDAO;
+import com.foxminded.dao.layers.CourseDAO;
+import com.foxminded.dao.layers.DepartmentDAO;
+import com.foxminded.dao.layers.GroupDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.ClassRoom;
+import com.foxminded.model.Course;
+import com.foxminded.model.Department;
+import com.foxminded.model.Group;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.foxminded.dao.SeededDatabase.FIRST_CLASS_ROOM;
+
+/**
+ * Queries of ClassRoomPostgreSQL, CoursePostgreSQL, DepartmentPostgreSQL and GroupPostgreSQL
+ * against the embedded H2 seeded with 1k, 100k and 1M lectures. Only the number of groups grows with
+ * the lectures, 50 class rooms, 20 courses and 5 departments are seeded at every scale.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=DictionaryPostgreSQLBenchmark -Djmh.options="-p lectures=1000"
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class DictionaryPostgreSQLBenchmark {
+    public static final int PAGE_SIZE = 50;
+
+    @Param({"1000", "100000", "1000000"})
+    public int lectures;
+
+    private SeededDatabase database;
+    private ClassRoomDAO classRoomDAO;
+    private CourseDAO courseDAO;
+    private DepartmentDAO departmentDAO;
+    private GroupDAO groupDAO;
+    private ClassRoom classRoom;
+    private Course course;
+    private Department department;
+    private Group group;
+
+    @Setup
+    public void setUp() throws DAOException {
+        database = new SeededDatabase(lectures, false);
+        classRoomDAO = database.getBean("classRoomDAO", ClassRoomDAO.class);
+        courseDAO = database.getBean("courseDAO", CourseDAO.class);
+        departmentDAO = database.getBean("departmentDAO", DepartmentDAO.class);
+        groupDAO = database.getBean("groupDAO", GroupDAO.class);
+        classRoom = classRoomDAO.getById(FIRST_CLASS_ROOM);
+        course = courseDAO.getById(1);
+        department = departmentDAO.getById(1);
+        group = groupDAO.getById(database.getGroup().getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public ClassRoom classRoomGetById() throws DAOException {
+        return classRoomDAO.getById(classRoom.getId());
+    }
+
+    @Benchmark
+    public ClassRoom classRoomGetByName() throws DAOException {
+        return classRoomDAO.getByName(classRoom.getName());
+    }
+
+    @Benchmark
+    public List<ClassRoom> classRoomGetAll() {
+        return classRoomDAO.getAll();
+    }
+
+    @Benchmark
+    public List<ClassRoom> classRoomGetPage() {
+        return classRoomDAO.getPage(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public boolean classRoomUpdate() throws DAOException {
+        return classRoomDAO.update(classRoom);
+    }
+
+    @Benchmark
+    public Course courseGetById() throws DAOException {
+        return courseDAO.getById(course.getId());
+    }
+
+    @Benchmark
+    public Course courseGetByName() throws DAOException {
+        return courseDAO.getByName(course.getName());
+    }
+
+    @Benchmark
+    public List<Course> courseGetAll() {
+        return courseDAO.getAll();
+    }
+
+    @Benchmark
+    public List<Course> courseGetPage() {
+        return courseDAO.getPage(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public boolean courseUpdate() throws DAOException {
+        return courseDAO.update(course);
+    }
+
+    @Benchmark
+    public Department departmentGetById() throws DAOException {
+        return departmentDAO.getById(department.getId());
+    }
+
+    @Benchmark
+    public Department departmentGetByName() throws DAOException {
+        return departmentDAO.getByName(department.getName());
+    }
+
+    @Benchmark
+    public List<Department> departmentGetAll() {
+        return departmentDAO.getAll();
+    }
+
+    @Benchmark
+    public List<Department> departmentGetPage() {
+        return departmentDAO.getPage(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public boolean departmentUpdate() throws DAOException {
+        return departmentDAO.update(department);
+    }
+
+    @Benchmark
+    public Group groupGetById() throws DAOException {
+        return groupDAO.getById(group.getId());
+    }
+
+    @Benchmark
+    public Group groupGetByName() throws DAOException {
+        return groupDAO.getByName(group.getName());
+    }
+
+    @Benchmark
+    public List<Group> groupGetAll() {
+        return groupDAO.getAll();
+    }
+
+    @Benchmark
+    public List<Group> groupGetPage() {
+        return groupDAO.getPage(group.getId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public boolean groupUpdate() throws DAOException {
+        return groupDAO.update(group);
+    }
+}
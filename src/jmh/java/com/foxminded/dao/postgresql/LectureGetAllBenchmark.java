@@ -0,0 +1,115 @@
+package com.foxminded.dao.postgresql;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.ContextInitializer;
+import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.joran.spi.JoranException;
+import com.foxminded.dao.SeededDatabase;
+import com.foxminded.dao.layers.LectureDAO;
+import com.foxminded.dao.mappers.LectureMapper;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Lecture;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gets all lectures with the per-row debug logging the mappers had on a synchronous console,
+ * with the rows counted per query on the same console, and with the rows counted per query
+ * under the production logback.xml. Logging is set up after the database is seeded.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=LectureGetAllBenchmark
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LectureGetAllBenchmark {
+    public static final String PER_ROW_DEBUG = "perRowDebug";
+    public static final String AGGREGATE_DEBUG = "aggregateDebug";
+    public static final String AGGREGATE_PRODUCTION = "aggregateProduction";
+
+    @Param({"5000"})
+    public int lectures;
+
+    @Param({PER_ROW_DEBUG, AGGREGATE_DEBUG, AGGREGATE_PRODUCTION})
+    public String logging;
+
+    private SeededDatabase database;
+    private LectureDAO lectureDAO;
+    private JdbcTemplate jdbcTemplate;
+    private RowMapper<Lecture> perRowLogging;
+    private LoggerContext loggerContext;
+
+    @Setup
+    public void setUp() throws DAOException {
+        database = new SeededDatabase(lectures, false);
+        lectureDAO = database.getBean("lectureDAO", LectureDAO.class);
+        jdbcTemplate = new JdbcTemplate(database.getBean("getDataSource", DataSource.class));
+        perRowLogging = new PerRowLoggingMapper();
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        if (!AGGREGATE_PRODUCTION.equals(logging)) {
+            useSynchronousDebugConsole();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws JoranException {
+        loggerContext.reset();
+        new ContextInitializer(loggerContext).autoConfig();
+        database.close();
+    }
+
+    @Benchmark
+    public List<Lecture> getAll() {
+        if (PER_ROW_DEBUG.equals(logging)) {
+            return jdbcTemplate.query("select * from lectures;", perRowLogging);
+        }
+        return lectureDAO.getAll();
+    }
+
+    private void useSynchronousDebugConsole() {
+        loggerContext.reset();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{HH:mm:ss.SSS} [%t] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        ConsoleAppender<ILoggingEvent> console = new ConsoleAppender<>();
+        console.setContext(loggerContext);
+        console.setEncoder(encoder);
+        console.start();
+        ch.qos.logback.classic.Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.DEBUG);
+        root.addAppender(console);
+    }
+
+    /**
+     * Maps lectures as the mappers did before, logging every row twice.
+     */
+    private static class PerRowLoggingMapper implements RowMapper<Lecture> {
+        private static final Logger LOGGER = LoggerFactory.getLogger(LectureMapper.class);
+        private final LectureMapper mapper = new LectureMapper();
+
+        public Lecture mapRow(ResultSet rs, int rowNum) throws SQLException {
+            LOGGER.debug("ResultSet: {}, rowNum: {}", rs, rowNum);
+            Lecture lecture = mapper.mapRow(rs, rowNum);
+            LOGGER.debug("Returned lecture: {}", lecture);
+            return lecture;
+        }
+    }
+}
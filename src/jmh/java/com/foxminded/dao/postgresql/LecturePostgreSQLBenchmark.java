@@ -0,0 +1,192 @@
+package com.foxminded.dao.postgresql;
+
+import com.foxminded.dao.SeededDatabase;
+import com.foxminded.dao.layers.LectureDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Group;
+import com.foxminded.model.Lecture;
+import com.foxminded.model.Student;
+import com.foxminded.model.Teacher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries of LecturePostgreSQL against the embedded H2 seeded with 1k, 100k and 1M lectures.
+ * Updates write the values a lecture already has, so the data stays the same between invocations.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=LecturePostgreSQLBenchmark -Djmh.options="-p lectures=1000"
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LecturePostgreSQLBenchmark {
+    public static final LocalDateTime MONTH = LocalDateTime.of(2019, Month.MARCH, 1, 0, 0);
+    public static final int PAGE_SIZE = 50;
+
+    @Param({"1000", "100000", "1000000"})
+    public int lectures;
+
+    private SeededDatabase database;
+    private LectureDAO lectureDAO;
+    private Lecture lecture;
+    private Group group;
+    private Teacher teacher;
+    private Student student;
+
+    @Setup
+    public void setUp() throws DAOException {
+        database = new SeededDatabase(lectures, false);
+        lectureDAO = database.getBean("lectureDAO", LectureDAO.class);
+        lecture = lectureDAO.getById(lectures / 2);
+        group = database.getGroup();
+        teacher = database.getTeacher();
+        student = database.getStudent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Lecture getById() throws DAOException {
+        return lectureDAO.getById(lecture.getId());
+    }
+
+    @Benchmark
+    public Lecture getByName() throws DAOException {
+        return lectureDAO.getByName(lecture.getName());
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByGroup() {
+        return lectureDAO.getLecturesByGroup(group);
+    }
+
+    @Benchmark
+    public List<Lecture> getLectureByTeacher() {
+        return lectureDAO.getLectureByTeacher(teacher);
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByYear() {
+        return lectureDAO.getLecturesByYear(MONTH.getYear());
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByMonth() {
+        return lectureDAO.getLecturesByMonth(MONTH.getMonthValue(), MONTH.getYear());
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByGroupForYear() {
+        return lectureDAO.getLecturesByGroupForYear(MONTH.getYear(), group);
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByTeacherForYear() {
+        return lectureDAO.getLecturesByTeacherForYear(MONTH.getYear(), teacher);
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByGroupForMonth() {
+        return lectureDAO.getLecturesByGroupForMonth(MONTH.getMonthValue(), MONTH.getYear(), group);
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByTeacherForMonth() {
+        return lectureDAO.getLecturesByTeacherForMonth(MONTH.getMonthValue(), MONTH.getYear(), teacher);
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesForPeriod() {
+        return lectureDAO.getLecturesForPeriod(MONTH, MONTH.plusWeeks(1));
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByGroupForPeriod() {
+        return lectureDAO.getLecturesByGroupForPeriod(MONTH, MONTH.plusMonths(1), group);
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByTeacherForPeriod() {
+        return lectureDAO.getLecturesByTeacherForPeriod(MONTH, MONTH.plusMonths(1), teacher);
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByStudent() throws DAOException {
+        return lectureDAO.getLecturesByStudent(student.getFirstName(), student.getLastName());
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByStudentForPeriod() throws DAOException {
+        return lectureDAO.getLecturesByStudentForPeriod(MONTH, MONTH.plusMonths(1),
+                student.getFirstName(), student.getLastName());
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByTeacherName() throws DAOException {
+        return lectureDAO.getLecturesByTeacherName(teacher.getFirstName(), teacher.getLastName());
+    }
+
+    @Benchmark
+    public List<Lecture> getLecturesByTeacherNameForPeriod() throws DAOException {
+        return lectureDAO.getLecturesByTeacherNameForPeriod(MONTH, MONTH.plusMonths(1),
+                teacher.getFirstName(), teacher.getLastName());
+    }
+
+    @Benchmark
+    public List<Lecture> getAll() {
+        return lectureDAO.getAll();
+    }
+
+    @Benchmark
+    public List<Lecture> getPage() {
+        return lectureDAO.getPage(lectures / 2, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void forEach(Blackhole blackhole) {
+        lectureDAO.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public List<Lecture> getAllWithDetails() {
+        return lectureDAO.getAllWithDetails();
+    }
+
+    @Benchmark
+    public List<Lecture> getPageWithDetails() {
+        return lectureDAO.getPageWithDetails(lectures / 2, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public boolean update() throws DAOException {
+        return lectureDAO.update(lecture);
+    }
+
+    @Benchmark
+    public boolean changeTeacher() throws DAOException {
+        return lectureDAO.changeTeacher(lecture, lecture.getTeacher());
+    }
+
+    @Benchmark
+    public boolean changeClassRoom() throws DAOException {
+        return lectureDAO.changeClassRoom(lecture, lecture.getClassRoom());
+    }
+
+    @Benchmark
+    public boolean changeGroup() throws DAOException {
+        return lectureDAO.changeGroup(lecture, lecture.getGroup());
+    }
+}
@@ -0,0 +1,105 @@
+package com.foxminded.dao.postgresql;
+
+import com.foxminded.dao.SeededDatabase;
+import com.foxminded.dao.layers.StudentDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Course;
+import com.foxminded.model.Student;
+import com.foxminded.model.StudentCourse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries of StudentPostgreSQL against the embedded H2 seeded with 1k, 100k and 1M lectures,
+ * that is 250, 2500 and 25000 students.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=StudentPostgreSQLBenchmark -Djmh.options="-p lectures=1000"
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class StudentPostgreSQLBenchmark {
+    public static final int PAGE_SIZE = 50;
+
+    @Param({"1000", "100000", "1000000"})
+    public int lectures;
+
+    private SeededDatabase database;
+    private StudentDAO studentDAO;
+    private Student student;
+
+    @Setup
+    public void setUp() throws DAOException {
+        database = new SeededDatabase(lectures, false);
+        studentDAO = database.getBean("studentDAO", StudentDAO.class);
+        student = studentDAO.getById(database.getStudent().getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Student getById() throws DAOException {
+        return studentDAO.getById(student.getId());
+    }
+
+    @Benchmark
+    public Student getByName() throws DAOException {
+        return studentDAO.getByName(student.getFirstName(), student.getLastName());
+    }
+
+    @Benchmark
+    public List<Student> getStudentsByCourse() {
+        return studentDAO.getStudentsByCourse(new Course(1));
+    }
+
+    @Benchmark
+    public List<Student> getStudentsByGroup() {
+        return studentDAO.getStudentsByGroup(student.getGroup());
+    }
+
+    @Benchmark
+    public List<Student> getAll() {
+        return studentDAO.getAll();
+    }
+
+    @Benchmark
+    public List<Student> getPage() {
+        return studentDAO.getPage(student.getId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void forEach(Blackhole blackhole) {
+        studentDAO.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public List<StudentCourse> getAllStudentCourse() {
+        return studentDAO.getAllStudentCourse();
+    }
+
+    @Benchmark
+    public List<Course> getCoursesByStudent() {
+        return studentDAO.getCoursesByStudent(student);
+    }
+
+    @Benchmark
+    public boolean update() throws DAOException {
+        return studentDAO.update(student);
+    }
+
+    @Benchmark
+    public boolean changeGroup() {
+        return studentDAO.changeGroup(student, student.getGroup());
+    }
+}
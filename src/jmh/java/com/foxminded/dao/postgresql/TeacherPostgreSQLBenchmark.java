@@ -0,0 +1,77 @@
+package com.foxminded.dao.postgresql;
+
+import com.foxminded.dao.SeededDatabase;
+import com.foxminded.dao.layers.TeacherDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Teacher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries of TeacherPostgreSQL against the embedded H2 seeded with 1k, 100k and 1M lectures,
+ * that is 10, 100 and 1000 teachers.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=TeacherPostgreSQLBenchmark -Djmh.options="-p lectures=1000"
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TeacherPostgreSQLBenchmark {
+    public static final int PAGE_SIZE = 50;
+
+    @Param({"1000", "100000", "1000000"})
+    public int lectures;
+
+    private SeededDatabase database;
+    private TeacherDAO teacherDAO;
+    private Teacher teacher;
+
+    @Setup
+    public void setUp() throws DAOException {
+        database = new SeededDatabase(lectures, false);
+        teacherDAO = database.getBean("teacherDAO", TeacherDAO.class);
+        teacher = teacherDAO.getById(database.getTeacher().getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Teacher getById() throws DAOException {
+        return teacherDAO.getById(teacher.getId());
+    }
+
+    @Benchmark
+    public Teacher getByName() throws DAOException {
+        return teacherDAO.getByName(teacher.getFirstName(), teacher.getLastName());
+    }
+
+    @Benchmark
+    public List<Teacher> getTeachersByDepartment() {
+        return teacherDAO.getTeachersByDepartment(teacher.getDepartment());
+    }
+
+    @Benchmark
+    public List<Teacher> getAll() {
+        return teacherDAO.getAll();
+    }
+
+    @Benchmark
+    public List<Teacher> getPage() {
+        return teacherDAO.getPage(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public boolean update() throws DAOException {
+        return teacherDAO.update(teacher);
+    }
+}
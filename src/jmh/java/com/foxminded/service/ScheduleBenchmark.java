@@ -0,0 +1,87 @@
+package com.foxminded.service;
+
+import com.foxminded.dao.SeededDatabase;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Schedule;
+import com.foxminded.model.Student;
+import com.foxminded.model.Teacher;
+import com.foxminded.service.layers.StudentService;
+import com.foxminded.service.layers.TeacherService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules of a student and a teacher from the services against the embedded H2 seeded with 1k, 100k
+ * and 1M lectures, with the schedule cache enabled as in production and disabled to measure the queries.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=ScheduleBenchmark -Djmh.options="-p lectures=1000"
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ScheduleBenchmark {
+    public static final int YEAR = 2019;
+    public static final int MONTH = 3;
+
+    @Param({"1000", "100000", "1000000"})
+    public int lectures;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private SeededDatabase database;
+    private StudentService studentService;
+    private TeacherService teacherService;
+    private Student student;
+    private Teacher teacher;
+
+    @Setup
+    public void setUp() throws DAOException {
+        database = new SeededDatabase(lectures, cache);
+        studentService = database.getBean("studentService", StudentService.class);
+        teacherService = database.getBean("teacherService", TeacherService.class);
+        student = database.getStudent();
+        teacher = database.getTeacher();
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Schedule studentFullSchedule() throws DAOException {
+        return studentService.getFullSchedule(student.getFirstName(), student.getLastName());
+    }
+
+    @Benchmark
+    public Schedule studentScheduleForYear() throws DAOException {
+        return studentService.getScheduleForYear(YEAR, student.getFirstName(), student.getLastName());
+    }
+
+    @Benchmark
+    public Schedule studentScheduleForMonth() throws DAOException {
+        return studentService.getScheduleForMonth(MONTH, YEAR, student.getFirstName(), student.getLastName());
+    }
+
+    @Benchmark
+    public Schedule teacherFullSchedule() throws DAOException {
+        return teacherService.getFullSchedule(teacher.getFirstName(), teacher.getLastName());
+    }
+
+    @Benchmark
+    public Schedule teacherScheduleForYear() throws DAOException {
+        return teacherService.getScheduleForYear(YEAR, teacher.getFirstName(), teacher.getLastName());
+    }
+
+    @Benchmark
+    public Schedule teacherScheduleForMonth() throws DAOException {
+        return teacherService.getScheduleForMonth(MONTH, YEAR, teacher.getFirstName(), teacher.getLastName());
+    }
+}
@@ -0,0 +1,93 @@
+package com.foxminded.service;
+
+import com.foxminded.model.*;
+import com.foxminded.model.Group;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timetable of 100 and 500 groups with 32 lectures of 16 courses a week in 40 weekly slots, with 30 students
+ * in a group, a class room for every lecture of a slot and a teacher of every course for 18 groups, searched
+ * by 1 thread and by all processors. The generated timetable is checked to be complete.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=TimetableGeneratorBenchmark -Djmh.options="-p groups=500"
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TimetableGeneratorBenchmark {
+    public static final LocalDate MONDAY = LocalDate.of(2020, 9, 7);
+    public static final List<LocalTime> LECTURE_TIMES = List.of(LocalTime.of(8, 0), LocalTime.of(9, 45),
+            LocalTime.of(11, 30), LocalTime.of(13, 30), LocalTime.of(15, 15), LocalTime.of(17, 0),
+            LocalTime.of(18, 45), LocalTime.of(20, 30));
+    public static final int COURSES = 16;
+    public static final int LECTURES = 2;
+    public static final int STUDENTS = 30;
+    public static final int GROUPS_PER_TEACHER = 18;
+
+    @Param({"100", "500"})
+    public int groups;
+
+    @Param({"1", "0"})
+    public int parallelism;
+
+    private TimetableGenerator generator;
+    private List<Group> groupList;
+    private List<Teacher> teachers;
+    private List<ClassRoom> classRooms;
+    private Map<Course, Integer> lecturesPerCourse;
+
+    @Setup
+    public void setUp() {
+        generator = new TimetableGenerator(LECTURE_TIMES, 5, Duration.ofMinutes(90), Duration.ofMinutes(1),
+                parallelism);
+        groupList = new ArrayList<>();
+        for (int g = 1; g <= groups; g++) {
+            Group group = new Group(g, "group" + g);
+            group.setStudents(Collections.nCopies(STUDENTS, new Student()));
+            groupList.add(group);
+        }
+        lecturesPerCourse = new LinkedHashMap<>();
+        teachers = new ArrayList<>();
+        for (int c = 1; c <= COURSES; c++) {
+            Course course = new Course(c, "course" + c);
+            lecturesPerCourse.put(course, LECTURES);
+            for (int i = 0; i < groups / GROUPS_PER_TEACHER + 1; i++) {
+                teachers.add(new Teacher(teachers.size() + 1, "firstName", "lastName", course, new Department(1)));
+            }
+        }
+        classRooms = new ArrayList<>();
+        for (int r = 0; r < groups * COURSES * LECTURES / (LECTURE_TIMES.size() * 5); r++) {
+            classRooms.add(new ClassRoom(r + 1, "classRoom" + r, STUDENTS + r % 10));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        generator.shutdown();
+    }
+
+    @Benchmark
+    public Timetable generate() {
+        Timetable timetable = generator.generate(MONDAY, 1, groupList, teachers, classRooms, lecturesPerCourse,
+                Collections.emptyList());
+        if (timetable.getCompleteness() < 1) {
+            throw new IllegalStateException("Incomplete timetable: " + timetable);
+        }
+        return timetable;
+    }
+}
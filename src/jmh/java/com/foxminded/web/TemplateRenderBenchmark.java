@@ -0,0 +1,109 @@
+package com.foxminded.web;
+
+import com.foxminded.model.*;
+import com.foxminded.model.Group;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.FileTemplateResolver;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.foxminded.constants.Constants.CHARACTER_ENCODING;
+
+/**
+ * Renders lectures.html with 10k rows without the template cache, as the dev profile does,
+ * and with it, as in production. Templates are read from the sources, so it runs from the project directory.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=TemplateRenderBenchmark
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateRenderBenchmark {
+    public static final String TEMPLATES = "src/main/webapp/WEB-INF/templates/";
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean cacheable;
+
+    private SpringTemplateEngine engine;
+    private MockServletContext servletContext;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        engine = createEngine();
+        servletContext = new MockServletContext();
+        variables = createVariables();
+    }
+
+    @Benchmark
+    public StringWriter render() {
+        WebContext context = new WebContext(new MockHttpServletRequest(servletContext),
+                new MockHttpServletResponse(), servletContext, Locale.ENGLISH, variables);
+        StringWriter writer = new StringWriter(rows * 512);
+        engine.process("lectures", context, writer);
+        return writer;
+    }
+
+    private SpringTemplateEngine createEngine() {
+        FileTemplateResolver resolver = new FileTemplateResolver();
+        resolver.setPrefix(TEMPLATES);
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(CHARACTER_ENCODING);
+        resolver.setCacheable(cacheable);
+        resolver.setCacheTTLMs(TimeUnit.HOURS.toMillis(1));
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding(CHARACTER_ENCODING);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        templateEngine.setEnableSpringELCompiler(true);
+        return templateEngine;
+    }
+
+    private Map<String, Object> createVariables() {
+        Course course = new Course(1, "course");
+        Teacher teacher = new Teacher(1, "firstName", "lastName", course, new Department(1));
+        ClassRoom classRoom = new ClassRoom(1, "classRoom", 100);
+        Group group = new Group(1, "group");
+        LocalDateTime date = LocalDateTime.of(2020, 1, 1, 9, 0);
+        List<Lecture> lectures = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            lectures.add(new Lecture(i, "lecture" + i, date.plusHours(i), teacher, classRoom, group, course));
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("lectures", lectures);
+        result.put("after", 0);
+        result.put("size", rows);
+        result.put("nextAfter", null);
+        result.put(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+                new ThymeleafEvaluationContext(new StaticApplicationContext(), new DefaultFormattingConversionService()));
+        return result;
+    }
+}
@@ -4,6 +4,7 @@ import com.foxminded.configs.SpringConfig;
 import com.foxminded.configs.WebConfig;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.filter.CharacterEncodingFilter;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
 import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatcherServletInitializer;
 
 import javax.servlet.Filter;
@@ -47,6 +48,7 @@ public class WebAppInitializer extends AbstractAnnotationConfigDispatcherServlet
         final CharacterEncodingFilter encodingFilter = new CharacterEncodingFilter();
         encodingFilter.setEncoding(CHARACTER_ENCODING);
         encodingFilter.setForceEncoding(true);
-        return new Filter[] {encodingFilter};
+        // rewrites links to static resources to URLs with the hash of their content
+        return new Filter[] {encodingFilter, new ResourceUrlEncodingFilter()};
     }
 }
@@ -1,17 +1,37 @@
 package com.foxminded.configs;
 
 import com.foxminded.dao.ExecutorQuery;
+import com.foxminded.dao.MeteredDataSource;
+import com.foxminded.dao.ReplicaRoutingDataSource;
+import com.foxminded.dao.TableVersions;
+import com.foxminded.dao.cache.*;
 import com.foxminded.dao.layers.*;
 import com.foxminded.dao.postgresql.*;
 import com.foxminded.service.*;
 import com.foxminded.service.layers.*;
+import com.zaxxer.hikari.HikariDataSource;
 import org.apache.commons.dbcp.BasicDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableMBeanExport;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jmx.export.MBeanExportOperations;
+import org.springframework.jmx.support.RegistrationPolicy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.management.MalformedObjectNameException;
 import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -19,8 +39,14 @@ import javax.sql.DataSource;
  */
 
 @Configuration
+@EnableMBeanExport(registration = RegistrationPolicy.REPLACE_EXISTING)
+@EnableTransactionManagement
 @PropertySource("classpath:properties/postgresql.properties")
+@PropertySource("classpath:properties/application.properties")
 public class SpringConfig {
+    public static final String HIKARI = "hikari";
+    public static final String POOL_NAME = "university";
+    public static final String REPLICA = "replica-";
 
     @Value("${postgresql.url}")
     private String url;
@@ -30,17 +56,162 @@ public class SpringConfig {
     private String password;
     @Value("${postgresql.driverClassName}")
     private String driver;
+    @Value("${postgresql.batchSize}")
+    private int batchSize;
+    @Value("${postgresql.fetchSize}")
+    private int fetchSize;
+    @Value("${postgresql.pool.type}")
+    private String poolType;
+    @Value("${postgresql.pool.maxActive}")
+    private int maxActive;
+    @Value("${postgresql.pool.minIdle}")
+    private int minIdle;
+    @Value("${postgresql.pool.maxIdle}")
+    private int maxIdle;
+    @Value("${postgresql.pool.maxWait}")
+    private long maxWait;
+    @Value("${postgresql.pool.statementPoolSize}")
+    private int statementPoolSize;
+    @Value("${postgresql.pool.validationQuery}")
+    private String validationQuery;
+    @Value("${postgresql.pool.validationTimeout}")
+    private int validationTimeout;
+    @Value("${postgresql.pool.testOnBorrow}")
+    private boolean testOnBorrow;
+    @Value("${postgresql.pool.testWhileIdle}")
+    private boolean testWhileIdle;
+    @Value("${postgresql.pool.evictionRunInterval}")
+    private long evictionRunInterval;
+    @Value("${postgresql.pool.minEvictableIdleTime}")
+    private long minEvictableIdleTime;
+    @Value("${postgresql.replica.urls}")
+    private String replicaUrls;
+    @Value("${postgresql.replica.evictionTime}")
+    private long replicaEvictionTime;
+    @Value("${postgresql.replica.healthCheckInterval}")
+    private long replicaHealthCheckInterval;
+    @Value("${cache.enabled}")
+    private boolean cacheEnabled;
+    @Value("${cache.maxSize}")
+    private int cacheMaxSize;
+    @Value("${cache.ttl}")
+    private long cacheTtl;
+    @Value("${cache.schedule.maxSize}")
+    private int scheduleCacheMaxSize;
+    @Value("${cache.schedule.ttl}")
+    private long scheduleCacheTtl;
+    @Value("${availability.origin}")
+    private String availabilityOrigin;
+    @Value("${availability.slot}")
+    private long availabilitySlot;
+    @Value("${timetable.lectureTimes}")
+    private String timetableLectureTimes;
+    @Value("${timetable.days}")
+    private int timetableDays;
+    @Value("${timetable.duration}")
+    private long timetableDuration;
+    @Value("${timetable.budget}")
+    private long timetableBudget;
+    @Value("${timetable.parallelism}")
+    private int timetableParallelism;
+    @Value("${async.timeout}")
+    private long asyncTimeout;
+    @Autowired
+    private MBeanExportOperations mbeanExporter;
 
+    /**
+     * Creates the connection pool chosen by postgresql.pool.type, dbcp or hikari.
+     * When postgresql.replica.urls lists replicas, read-only transactions are routed to them
+     * and validated every postgresql.replica.healthCheckInterval, the metrics of the primary
+     * and of every replica pool are exported over JMX.
+     *
+     * @return - DataSource
+     */
     @Bean
     public DataSource getDataSource() {
+        MeteredDataSource primary = new MeteredDataSource(createPool(url, POOL_NAME));
+        List<MeteredDataSource> replicas = new ArrayList<>();
+        for (String replicaUrl : replicaUrls.split(",")) {
+            if (!replicaUrl.trim().isEmpty()) {
+                String name = REPLICA + replicas.size();
+                replicas.add(new MeteredDataSource(createPool(replicaUrl.trim(), POOL_NAME + "-" + name), name));
+            }
+        }
+        if (replicas.isEmpty()) {
+            return primary;
+        }
+        // the pools behind the routing data source are not beans, so the exporter doesn't find them
+        export(primary);
+        replicas.forEach(this::export);
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(primary, new ArrayList<>(replicas), replicaEvictionTime);
+        routing.startHealthChecks(replicaHealthCheckInterval);
+        return routing;
+    }
+
+    private void export(MeteredDataSource pool) {
+        try {
+            mbeanExporter.registerManagedResource(pool, pool.getObjectName());
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException("Can't export the pool", e);
+        }
+    }
+
+    private DataSource createPool(String jdbcUrl, String poolName) {
+        return HIKARI.equalsIgnoreCase(poolType) ? createHikariPool(jdbcUrl, poolName) : createDbcpPool(jdbcUrl);
+    }
+
+    private DataSource createDbcpPool(String jdbcUrl) {
         BasicDataSource dataSource = new BasicDataSource();
-        dataSource.setUrl(url);
+        dataSource.setUrl(jdbcUrl);
         dataSource.setUsername(username);
         dataSource.setPassword(password);
         dataSource.setDriverClassName(driver);
+        dataSource.setMaxActive(maxActive);
+        dataSource.setMinIdle(minIdle);
+        dataSource.setMaxIdle(maxIdle);
+        dataSource.setMaxWait(maxWait);
+        dataSource.setPoolPreparedStatements(statementPoolSize > 0);
+        dataSource.setMaxOpenPreparedStatements(statementPoolSize);
+        dataSource.setValidationQuery(validationQuery);
+        dataSource.setValidationQueryTimeout(validationTimeout);
+        dataSource.setTestOnBorrow(testOnBorrow);
+        dataSource.setTestWhileIdle(testWhileIdle);
+        dataSource.setTimeBetweenEvictionRunsMillis(evictionRunInterval);
+        dataSource.setMinEvictableIdleTimeMillis(minEvictableIdleTime);
         return dataSource;
     }
 
+    private DataSource createHikariPool(String jdbcUrl, String poolName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driver);
+        dataSource.setMaximumPoolSize(maxActive);
+        dataSource.setMinimumIdle(minIdle);
+        dataSource.setConnectionTimeout(maxWait);
+        dataSource.setValidationTimeout(TimeUnit.SECONDS.toMillis(validationTimeout));
+        dataSource.setKeepaliveTime(evictionRunInterval);
+        dataSource.setIdleTimeout(minEvictableIdleTime);
+        // HikariCP has no statement pool of its own, the PostgreSQL driver caches prepared statements
+        dataSource.addDataSourceProperty("preparedStatementCacheQueries", statementPoolSize);
+        dataSource.setRegisterMbeans(true);
+        return dataSource;
+    }
+
+    /**
+     * Binds one connection to every @Transactional service call, so all DAO calls of the method
+     * share it. Read-only transactions mark the connection read-only.
+     *
+     * @return - PlatformTransactionManager
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new DataSourceTransactionManager(getDataSource());
+    }
+
     @Bean
     public ExecutorQuery executorQuery() {
         return new ExecutorQuery(getDataSource());
@@ -48,73 +219,214 @@ public class SpringConfig {
 
     @Bean
     public ClassRoomDAO classRoomDAO() {
-        return new ClassRoomPostgreSQL(getDataSource());
+        ClassRoomPostgreSQL classRoomDAO = new ClassRoomPostgreSQL(getDataSource());
+        classRoomDAO.setBatchSize(batchSize);
+        classRoomDAO.setQueryTimeout(queryTimeout());
+        classRoomDAO.setTableVersions(tableVersions());
+        return cacheEnabled ? new CachedClassRoomDAO(classRoomDAO, classRoomCache()) : classRoomDAO;
+    }
+
+    @Bean
+    public EntityCache classRoomCache() {
+        return new EntityCache("classRoom", cacheMaxSize, cacheTtl);
     }
 
     @Bean
     public CourseDAO courseDAO() {
-        return new CoursePostgreSQL(getDataSource());
+        CoursePostgreSQL courseDAO = new CoursePostgreSQL(getDataSource());
+        courseDAO.setBatchSize(batchSize);
+        courseDAO.setQueryTimeout(queryTimeout());
+        courseDAO.setTableVersions(tableVersions());
+        return cacheEnabled ? new CachedCourseDAO(courseDAO, courseCache()) : courseDAO;
+    }
+
+    @Bean
+    public EntityCache courseCache() {
+        return new EntityCache("course", cacheMaxSize, cacheTtl);
     }
 
     @Bean
     public DepartmentDAO departmentDAO() {
-        return new DepartmentPostgreSQL(getDataSource());
+        DepartmentPostgreSQL departmentDAO = new DepartmentPostgreSQL(getDataSource());
+        departmentDAO.setBatchSize(batchSize);
+        departmentDAO.setQueryTimeout(queryTimeout());
+        departmentDAO.setTableVersions(tableVersions());
+        return cacheEnabled ? new CachedDepartmentDAO(departmentDAO, departmentCache()) : departmentDAO;
+    }
+
+    @Bean
+    public EntityCache departmentCache() {
+        return new EntityCache("department", cacheMaxSize, cacheTtl);
     }
 
     @Bean
     public GroupDAO groupDAO() {
-        return new GroupPostgreSQL(getDataSource());
+        GroupPostgreSQL groupDAO = new GroupPostgreSQL(getDataSource());
+        groupDAO.setBatchSize(batchSize);
+        groupDAO.setQueryTimeout(queryTimeout());
+        groupDAO.setTableVersions(tableVersions());
+        return cacheEnabled ? new CachedGroupDAO(groupDAO, groupCache()) : groupDAO;
+    }
+
+    @Bean
+    public EntityCache groupCache() {
+        return new EntityCache("group", cacheMaxSize, cacheTtl);
     }
 
     @Bean
     public LectureDAO lectureDAO() {
-        return new LecturePostgreSQL(getDataSource());
+        LecturePostgreSQL lectureDAO = new LecturePostgreSQL(getDataSource());
+        lectureDAO.setBatchSize(batchSize);
+        lectureDAO.setQueryTimeout(queryTimeout());
+        lectureDAO.setTableVersions(tableVersions());
+        lectureDAO.setFetchSize(fetchSize);
+        return lectureDAO;
     }
 
     @Bean
     public StudentDAO studentDAO() {
-        return new StudentPostgreSQL(getDataSource());
+        StudentPostgreSQL studentDAO = new StudentPostgreSQL(getDataSource());
+        studentDAO.setBatchSize(batchSize);
+        studentDAO.setQueryTimeout(queryTimeout());
+        studentDAO.setTableVersions(tableVersions());
+        studentDAO.setFetchSize(fetchSize);
+        return studentDAO;
     }
 
     @Bean
     public TeacherDAO teacherDAO() {
-        return new TeacherPostgreSQL(getDataSource());
+        TeacherPostgreSQL teacherDAO = new TeacherPostgreSQL(getDataSource());
+        teacherDAO.setBatchSize(batchSize);
+        teacherDAO.setQueryTimeout(queryTimeout());
+        teacherDAO.setTableVersions(tableVersions());
+        return teacherDAO;
+    }
+
+    @Bean
+    public CopyLoader copyLoader() {
+        CopyLoader copyLoader = new CopyLoader(getDataSource());
+        copyLoader.setBatchSize(batchSize);
+        copyLoader.setTableVersions(tableVersions());
+        return copyLoader;
+    }
+
+    @Bean
+    public TableVersions tableVersions() {
+        return new TableVersions();
+    }
+
+    @Bean
+    public ScheduleCache scheduleCache() {
+        return new ScheduleCache(cacheEnabled ? scheduleCacheMaxSize : 0, scheduleCacheTtl);
+    }
+
+    @Bean
+    public LectureConflictIndex lectureConflictIndex() {
+        LectureConflictIndex lectureConflictIndex = new LectureConflictIndex(lectureDAO());
+        lectureConflictIndex.setTransactionManager(transactionManager());
+        return lectureConflictIndex;
+    }
+
+    @Bean
+    public ClassRoomOccupancyIndex classRoomOccupancyIndex() {
+        return new ClassRoomOccupancyIndex(classRoomDAO(), lectureDAO(), tableVersions(),
+                LocalDate.parse(availabilityOrigin), Duration.ofMinutes(availabilitySlot));
+    }
+
+    /**
+     * Creates the timetable generator with the lecture times of a day and the search pool of
+     * timetable.parallelism threads, the pool is shut down with the context.
+     *
+     * @return - TimetableGenerator
+     */
+    @Bean(destroyMethod = "shutdown")
+    public TimetableGenerator timetableGenerator() {
+        return new TimetableGenerator(lectureTimes(), timetableDays, Duration.ofMinutes(timetableDuration),
+                Duration.ofMillis(timetableBudget), timetableParallelism);
     }
 
     @Bean
     public ClassRoomService classRoomService() {
-        return new ClassRoomServiceImp(classRoomDAO());
+        return new ClassRoomServiceImp(classRoomDAO(), scheduleCache(), classRoomOccupancyIndex());
     }
 
     @Bean
     public CourseService courseService() {
-        return new CourseServiceImp(courseDAO(), studentDAO());
+        return new CourseServiceImp(courseDAO(), studentDAO(), scheduleCache());
     }
 
     @Bean
     public DepartmentService departmentService() {
-        return new DepartmentServiceImp(departmentDAO(), teacherDAO());
+        return new DepartmentServiceImp(departmentDAO(), teacherDAO(), scheduleCache());
+    }
+
+    /**
+     * Creates the free slot service working from the first lecture time to the end of the last lecture
+     * on the working days of the timetable.
+     *
+     * @return - FreeSlotService
+     */
+    @Bean
+    public FreeSlotService freeSlotService() {
+        List<LocalTime> lectureTimes = lectureTimes();
+        return new FreeSlotServiceImp(teacherDAO(), groupDAO(), lectureDAO(), classRoomOccupancyIndex(),
+                Collections.min(lectureTimes),
+                Collections.max(lectureTimes).plusMinutes(timetableDuration), timetableDays);
     }
 
     @Bean
     public GroupService groupService() {
-        return new GroupServiceImp(studentDAO(), groupDAO());
+        return new GroupServiceImp(studentDAO(), groupDAO(), scheduleCache());
+    }
+
+    @Bean
+    public ImportService importService() {
+        return new ImportServiceImp(departmentDAO(), teacherDAO(),
+                classRoomDAO(), groupDAO(), studentDAO(), lectureDAO(), scheduleCache(), lectureConflictIndex(),
+                classRoomOccupancyIndex());
     }
 
     @Bean
     public LectureService lectureService() {
         return new LectureServiceImp(lectureDAO(),
-                teacherDAO(), groupDAO(), classRoomDAO(), courseDAO());
+                teacherDAO(), groupDAO(), classRoomDAO(), courseDAO(), scheduleCache(), lectureConflictIndex(),
+                classRoomOccupancyIndex());
     }
 
     @Bean
     public StudentService studentService() {
-        return new StudentServiceImp(studentDAO(), groupDAO(), lectureDAO());
+        return new StudentServiceImp(studentDAO(), groupDAO(), lectureDAO(), scheduleCache());
     }
 
     @Bean
     public TeacherService teacherService() {
         return new TeacherServiceImp(courseDAO(),
-                departmentDAO(), teacherDAO(), lectureDAO());
+                departmentDAO(), teacherDAO(), lectureDAO(), scheduleCache());
+    }
+
+    @Bean
+    public TimetableService timetableService() {
+        return new TimetableServiceImp(timetableGenerator(), courseDAO(), groupDAO(), studentDAO(),
+                teacherDAO(), classRoomDAO(), lectureDAO(), scheduleCache(), lectureConflictIndex(),
+                classRoomOccupancyIndex());
+    }
+
+    /**
+     * Gets the query timeout in seconds matching async.timeout, so a statement of a request written
+     * asynchronously is cancelled by the driver when the request times out. Exports, imports and builds
+     * of the indexes stream or batch whole tables and are not limited.
+     *
+     * @return - int
+     */
+    private int queryTimeout() {
+        return (int) TimeUnit.MILLISECONDS.toSeconds(asyncTimeout + TimeUnit.SECONDS.toMillis(1) - 1);
+    }
+
+    private List<LocalTime> lectureTimes() {
+        List<LocalTime> lectureTimes = new ArrayList<>();
+        for (String time : timetableLectureTimes.split(",")) {
+            lectureTimes.add(LocalTime.parse(time.trim()));
+        }
+        return lectureTimes;
     }
 }
@@ -1,25 +1,39 @@
 package com.foxminded.configs;
 
+import com.foxminded.dao.TableVersions;
+import com.foxminded.web.async.AsyncResponseWriter;
+import com.foxminded.web.caching.ConditionalGetInterceptor;
 import com.foxminded.web.conversion.DateFormatter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.env.Profiles;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.*;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 import org.thymeleaf.spring5.templateresolver.SpringResourceTemplateResolver;
 import org.thymeleaf.spring5.view.ThymeleafViewResolver;
 import org.thymeleaf.templatemode.TemplateMode;
 
 import java.util.Locale;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static com.foxminded.constants.Constants.CHARACTER_ENCODING;
+import static com.foxminded.dao.TableVersions.*;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -30,9 +44,31 @@ import static com.foxminded.constants.Constants.CHARACTER_ENCODING;
 @ComponentScan(basePackages = {
         "com.foxminded.web.controllers"
 })
+@PropertySource("classpath:properties/application.properties")
 public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
+    public static final int MODEL_ATTRIBUTE_THREADS = 8;
+    public static final int MODEL_ATTRIBUTE_QUEUE = 64;
+    public static final String DEV_PROFILE = "dev";
 
     private ApplicationContext applicationContext;
+    @Value("${thymeleaf.cache.ttl}")
+    private long templateCacheTtl;
+    @Value("${thymeleaf.cache.maxSize}")
+    private int templateCacheMaxSize;
+    @Value("${static.cache.maxAge}")
+    private long staticCacheMaxAge;
+    @Value("${async.threads}")
+    private int asyncThreads;
+    @Value("${async.queueCapacity}")
+    private int asyncQueueCapacity;
+    @Value("${async.timeout}")
+    private long asyncTimeout;
+    @Value("${export.threads}")
+    private int exportThreads;
+    @Value("${export.queueCapacity}")
+    private int exportQueueCapacity;
+    @Autowired
+    private TableVersions tableVersions;
 
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) {
@@ -46,7 +82,10 @@ public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
         templateResolver.setPrefix("/WEB-INF/templates/");
         templateResolver.setSuffix(".html");
         templateResolver.setTemplateMode(TemplateMode.HTML);
-        templateResolver.setCacheable(false);
+        templateResolver.setCharacterEncoding(CHARACTER_ENCODING);
+        // the dev profile re-reads templates on every request to show changes without a restart
+        templateResolver.setCacheable(!isDevProfile());
+        templateResolver.setCacheTTLMs(templateCacheTtl);
         return templateResolver;
     }
 
@@ -55,6 +94,9 @@ public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
         SpringTemplateEngine templateEngine = new SpringTemplateEngine();
         templateEngine.setTemplateResolver(templateResolver());
         templateEngine.setEnableSpringELCompiler(true);
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(templateCacheMaxSize);
+        templateEngine.setCacheManager(cacheManager);
         return templateEngine;
     }
 
@@ -67,11 +109,32 @@ public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
         registry.viewResolver(resolver);
     }
 
+    /**
+     * Serves static resources under URLs with the hash of their content, e.g. /css/style-{hash}.css,
+     * so browsers may keep them for static.cache.maxAge seconds. Links in templates are rewritten
+     * to these URLs by the ResourceUrlEncodingFilter. The dev profile does not cache resources.
+     *
+     * @param registry - registry
+     */
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/images/**").addResourceLocations("/images/");
-        registry.addResourceHandler("/css/**").addResourceLocations("/css/");
-        registry.addResourceHandler("/js/**").addResourceLocations("/js/");
+        addVersionedResources(registry, "/images/");
+        addVersionedResources(registry, "/css/");
+        addVersionedResources(registry, "/js/");
+    }
+
+    private void addVersionedResources(ResourceHandlerRegistry registry, String location) {
+        boolean dev = isDevProfile();
+        registry.addResourceHandler(location + "**")
+                .addResourceLocations(location)
+                .setCacheControl(dev ? CacheControl.noCache()
+                        : CacheControl.maxAge(staticCacheMaxAge, TimeUnit.SECONDS).cachePublic())
+                .resourceChain(!dev)
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    private boolean isDevProfile() {
+        return applicationContext.getEnvironment().acceptsProfiles(Profiles.of(DEV_PROFILE));
     }
 
     @Bean
@@ -99,9 +162,24 @@ public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
         return localeChangeInterceptor;
     }
 
+    /**
+     * Registers the locale change first, because the ETags of list pages depend on the locale.
+     * Every list page lists the tables it shows and the tables whose deletes cascade to them.
+     *
+     * @param registry - registry
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(localeChangeInterceptor());
+        registry.addInterceptor(new ConditionalGetInterceptor(tableVersions, GROUPS))
+                .addPathPatterns("/groups");
+        registry.addInterceptor(new ConditionalGetInterceptor(tableVersions, STUDENTS, GROUPS))
+                .addPathPatterns("/students");
+        registry.addInterceptor(new ConditionalGetInterceptor(tableVersions, TEACHERS, COURSES, DEPARTMENTS))
+                .addPathPatterns("/teachers");
+        registry.addInterceptor(new ConditionalGetInterceptor(tableVersions, LECTURES, CLASS_ROOMS, COURSES,
+                DEPARTMENTS, GROUPS, TEACHERS))
+                .addPathPatterns("/lectures");
     }
 
     @Override
@@ -114,4 +192,73 @@ public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
         return new DateFormatter();
     }
 
+    /**
+     * Loads model attributes in parallel. When all threads are busy and the queue is full
+     * the request thread loads the attribute itself.
+     *
+     * @return - ThreadPoolTaskExecutor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor modelAttributeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("model-");
+        executor.setCorePoolSize(MODEL_ATTRIBUTE_THREADS);
+        executor.setMaxPoolSize(MODEL_ATTRIBUTE_THREADS);
+        executor.setQueueCapacity(MODEL_ATTRIBUTE_QUEUE);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Runs slow requests, e.g. yearly schedules and exports, apart from the container threads.
+     * Requests over the queue capacity are rejected instead of waiting.
+     *
+     * @return - ThreadPoolTaskExecutor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor asyncRequestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("async-");
+        executor.setCorePoolSize(asyncThreads);
+        executor.setMaxPoolSize(asyncThreads);
+        executor.setQueueCapacity(asyncQueueCapacity);
+        return executor;
+    }
+
+    @Bean
+    public AsyncResponseWriter asyncResponseWriter() {
+        return new AsyncResponseWriter(asyncRequestExecutor(), asyncTimeout);
+    }
+
+    /**
+     * Runs exports of whole tables on their own threads, so they neither wait behind slow requests
+     * nor take their threads. Exports over the queue capacity are rejected instead of waiting.
+     *
+     * @return - ThreadPoolTaskExecutor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("export-");
+        executor.setCorePoolSize(exportThreads);
+        executor.setMaxPoolSize(exportThreads);
+        executor.setQueueCapacity(exportQueueCapacity);
+        return executor;
+    }
+
+    /**
+     * Writes exports without a deadline, as their time depends on the size of the tables.
+     *
+     * @return - AsyncResponseWriter
+     */
+    @Bean
+    public AsyncResponseWriter exportResponseWriter() {
+        return new AsyncResponseWriter(exportExecutor(), AsyncResponseWriter.NO_TIMEOUT);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncRequestExecutor());
+        configurer.setDefaultTimeout(asyncTimeout);
+    }
 }
@@ -1,5 +1,6 @@
 package com.foxminded.configs;
 
+import com.foxminded.dao.TableVersions;
 import com.foxminded.service.layers.*;
 import org.mockito.Mockito;
 import org.springframework.context.annotation.Bean;
@@ -23,6 +24,11 @@ public class WebTestConfig {
         return messageSource;
     }
 
+    @Bean
+    public TableVersions tableVersions() {
+        return new TableVersions();
+    }
+
     @Bean
     public ClassRoomService classRoomService() {
         return Mockito.mock(ClassRoomService.class);
@@ -38,6 +44,11 @@ public class WebTestConfig {
         return Mockito.mock(DepartmentService.class);
     }
 
+    @Bean
+    public FreeSlotService freeSlotService() {
+        return Mockito.mock(FreeSlotService.class);
+    }
+
     @Bean
     public GroupService groupService() {
         return Mockito.mock(GroupService.class);
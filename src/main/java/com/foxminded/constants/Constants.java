@@ -7,4 +7,8 @@ package com.foxminded.constants;
 public final class Constants {
     public static final String NULL_WAS_PASSED = "Null was passed";
     public static final String CHARACTER_ENCODING = "UTF-8";
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    public static final int DEFAULT_LECTURE_DURATION = 90;
 }
@@ -0,0 +1,125 @@
+package com.foxminded.dao;
+
+import com.foxminded.exceptions.DAOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+
+/**
+ * Executes insert statements in JDBC batches of a configurable size.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class BatchExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchExecutor.class);
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private JdbcTemplate jdbcTemplate;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    public BatchExecutor(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of statements sent to the database in one batch.
+     *
+     * @param batchSize - batch size
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            LOGGER.error("Batch size must be positive: {}", batchSize);
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Inserts all items in batches.
+     *
+     * @param sql    - insert statement
+     * @param items  - items
+     * @param setter - sets statement parameters of one item
+     * @param <T>    - type of items
+     * @return - number of inserted rows
+     * @throws DAOException - on unique index or primary key violation
+     */
+    public <T> int insertAll(String sql, List<T> items, ParameterizedPreparedStatementSetter<T> setter)
+            throws DAOException {
+        return insertAll(sql, items, setter, null);
+    }
+
+    /**
+     * Inserts all items in batches and passes generated ids back to the items.
+     *
+     * @param sql       - insert statement
+     * @param items     - items
+     * @param setter    - sets statement parameters of one item
+     * @param keySetter - sets generated id to the item, null when ids are not generated
+     * @param <T>       - type of items
+     * @return - number of inserted rows
+     * @throws DAOException - on unique index or primary key violation
+     */
+    public <T> int insertAll(String sql, List<T> items, ParameterizedPreparedStatementSetter<T> setter,
+                             ObjIntConsumer<T> keySetter) throws DAOException {
+        if (sql == null || items == null || setter == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        LOGGER.debug("Insert in batches of {}, size of items: {}", batchSize, items.size());
+        if (items.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Integer inserted = jdbcTemplate.execute((Connection connection) -> {
+                int count = 0;
+                try (PreparedStatement ps = keySetter == null
+                        ? connection.prepareStatement(sql)
+                        : connection.prepareStatement(sql, new String[]{"id"})) {
+                    for (int from = 0; from < items.size(); from += batchSize) {
+                        List<T> batch = items.subList(from, Math.min(from + batchSize, items.size()));
+                        for (T item : batch) {
+                            setter.setValues(ps, item);
+                            ps.addBatch();
+                        }
+                        for (int result : ps.executeBatch()) {
+                            count += result == Statement.SUCCESS_NO_INFO ? 1 : result;
+                        }
+                        if (keySetter != null) {
+                            try (ResultSet keys = ps.getGeneratedKeys()) {
+                                for (T item : batch) {
+                                    keys.next();
+                                    keySetter.accept(item, keys.getInt(1));
+                                }
+                            }
+                        }
+                    }
+                }
+                return count;
+            });
+            LOGGER.debug("Inserted rows: {}", inserted);
+            return inserted == null ? 0 : inserted;
+        } catch (DuplicateKeyException e) {
+            LOGGER.warn("Unique index or primary key violation");
+            throw new DAOException("Unique index or primary key violation", e);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.stereotype.Repository;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
@@ -22,6 +24,7 @@ public class ExecutorQuery {
 
     private DataSource dataSource;
     private JdbcTemplate jdbcTemplate;
+    private String platform;
 
     @Autowired
     public ExecutorQuery(DataSource dataSource) {
@@ -29,6 +32,13 @@ public class ExecutorQuery {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
     }
 
+    /**
+     * Executes the script and then the script of the same name suffixed with the database platform,
+     * e.g. sql/tablesCreation-postgresql.sql, when it exists. Statements the databases do not share
+     * are kept in the platform scripts.
+     *
+     * @param fileName - classpath of the script
+     */
     public void executeQuery(String fileName) {
         LOGGER.debug("Execute query from file name: {}", fileName);
         if (fileName == null) {
@@ -37,6 +47,37 @@ public class ExecutorQuery {
         }
         Resource resource = new ClassPathResource(fileName);
         ResourceDatabasePopulator databasePopulator = new ResourceDatabasePopulator(resource);
+        Resource platformResource = new ClassPathResource(platformFileName(fileName));
+        if (platformResource.exists()) {
+            LOGGER.debug("Execute platform query from file name: {}", platformResource.getDescription());
+            databasePopulator.addScript(platformResource);
+        }
         databasePopulator.execute(dataSource);
     }
+
+    private String platformFileName(String fileName) {
+        int extension = fileName.lastIndexOf('.');
+        if (extension < 0) {
+            extension = fileName.length();
+        }
+        return fileName.substring(0, extension) + '-' + getPlatform() + fileName.substring(extension);
+    }
+
+    /**
+     * Gets the name of the database in lower case, e.g. postgresql or h2.
+     *
+     * @return - String
+     */
+    private synchronized String getPlatform() {
+        if (platform == null) {
+            try {
+                String productName = JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName");
+                platform = JdbcUtils.commonDatabaseName(productName).toLowerCase();
+            } catch (MetaDataAccessException e) {
+                LOGGER.warn("Can't get the name of the database", e);
+                return "unknown";
+            }
+        }
+        return platform;
+    }
 }
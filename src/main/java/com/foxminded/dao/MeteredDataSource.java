@@ -0,0 +1,146 @@
+package com.foxminded.dao;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.apache.commons.dbcp.BasicDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.export.naming.SelfNaming;
+import org.springframework.jmx.support.ObjectNameManager;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pool that measures how long callers wait for a connection and exposes
+ * the wait time together with the active and idle connections of the pool over JMX.
+ * Pools other than commons-dbcp and HikariCP report -1 for active and idle connections.
+ * The pool is exported as com.foxminded:type=DataSource,name=&lt;name&gt;, so several pools
+ * can be exported side by side.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ManagedResource(description = "Connection pool metrics")
+public class MeteredDataSource extends DelegatingDataSource implements AutoCloseable, SelfNaming {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MeteredDataSource.class);
+    public static final String DEFAULT_NAME = "pool";
+
+    private final String name;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public MeteredDataSource(DataSource dataSource) {
+        this(dataSource, DEFAULT_NAME);
+    }
+
+    /**
+     * Constructor of the class.
+     *
+     * @param dataSource - connection pool
+     * @param name       - name of the pool in the JMX object name
+     */
+    public MeteredDataSource(DataSource dataSource, String name) {
+        super(dataSource);
+        this.name = name;
+    }
+
+    @Override
+    public ObjectName getObjectName() throws MalformedObjectNameException {
+        return ObjectNameManager.getInstance("com.foxminded:type=DataSource,name=" + name);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    private void record(long waitNanos) {
+        requests.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    @ManagedAttribute(description = "Number of connections in use")
+    public int getActiveConnections() {
+        DataSource target = getTargetDataSource();
+        if (target instanceof BasicDataSource) {
+            return ((BasicDataSource) target).getNumActive();
+        }
+        HikariPoolMXBean pool = getHikariPool(target);
+        return pool == null ? -1 : pool.getActiveConnections();
+    }
+
+    @ManagedAttribute(description = "Number of open connections waiting in the pool")
+    public int getIdleConnections() {
+        DataSource target = getTargetDataSource();
+        if (target instanceof BasicDataSource) {
+            return ((BasicDataSource) target).getNumIdle();
+        }
+        HikariPoolMXBean pool = getHikariPool(target);
+        return pool == null ? -1 : pool.getIdleConnections();
+    }
+
+    @ManagedAttribute(description = "Number of connections requested from the pool")
+    public long getConnectionRequests() {
+        return requests.sum();
+    }
+
+    @ManagedAttribute(description = "Average time in milliseconds spent waiting for a connection")
+    public double getAverageWaitMillis() {
+        long count = requests.sum();
+        return count == 0 ? 0 : (double) totalWaitNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @ManagedAttribute(description = "Longest time in milliseconds spent waiting for a connection")
+    public double getMaxWaitMillis() {
+        return (double) maxWaitNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static HikariPoolMXBean getHikariPool(DataSource target) {
+        return target instanceof HikariDataSource ? ((HikariDataSource) target).getHikariPoolMXBean() : null;
+    }
+
+    /**
+     * Closes the pool.
+     *
+     * @throws Exception - when the pool can't be closed
+     */
+    @Override
+    public void close() throws Exception {
+        DataSource target = getTargetDataSource();
+        LOGGER.debug("Close pool, connection requests: {}, average wait: {} ms, max wait: {} ms",
+                getConnectionRequests(), getAverageWaitMillis(), getMaxWaitMillis());
+        if (target instanceof BasicDataSource) {
+            ((BasicDataSource) target).close();
+        } else if (target instanceof AutoCloseable) {
+            ((AutoCloseable) target).close();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.foxminded.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+
+/**
+ * Sends connections of read-only transactions to the replicas in round-robin order
+ * and all other connections to the primary. A replica which fails to give a connection
+ * is evicted for the eviction time, when no replica is available the primary is used.
+ * Once health checks are started, the replicas are also validated periodically, so a failed replica
+ * is evicted before a read hits it and a recovered one returns before its eviction time ends.
+ *
+ * The physical connection is fetched lazily on the first statement, because the transaction
+ * manager opens the connection before it marks the transaction read-only.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ManagedResource(objectName = "com.foxminded:type=DataSource,name=routing",
+        description = "Routing of read-only transactions to replicas")
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    public static final int VALIDATION_TIMEOUT = 5;
+    public static final String HEALTH_CHECK_THREAD = "replica-health-check";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long evictionTime;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+    private ScheduledExecutorService healthChecks;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param primary      - primary data source
+     * @param replicas     - replica data sources
+     * @param evictionTime - milliseconds a failed replica is not used
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long evictionTime) {
+        if (primary == null || replicas == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica(i, replicas.get(i)));
+        }
+        this.evictionTime = evictionTime;
+        setTargetDataSource(new Router());
+        afterPropertiesSet();
+    }
+
+    @ManagedAttribute(description = "Number of configured replicas")
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    @ManagedAttribute(description = "Number of replicas which are not evicted")
+    public int getHealthyReplicaCount() {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (Replica replica : replicas) {
+            if (replica.isAvailable(now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @ManagedAttribute(description = "Number of read-only connections served by replicas")
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    @ManagedAttribute(description = "Number of read-only connections served by the primary")
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    /**
+     * Validates every replica, evicts the failed ones and returns the healthy ones to the rotation.
+     *
+     * @return - number of healthy replicas
+     */
+    @ManagedOperation(description = "Validates the replicas")
+    public int checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT)) {
+                    replica.evictedUntil = 0;
+                } else {
+                    evict(replica, null);
+                }
+            } catch (SQLException e) {
+                evict(replica, e);
+            }
+        }
+        return getHealthyReplicaCount();
+    }
+
+    /**
+     * Starts validating the replicas every interval on a daemon thread, until the data source is closed.
+     *
+     * @param interval - milliseconds between the checks
+     */
+    public synchronized void startHealthChecks(long interval) {
+        if (interval <= 0) {
+            LOGGER.error("Health check interval must be positive");
+            throw new IllegalArgumentException("Health check interval must be positive");
+        }
+        if (healthChecks != null || replicas.isEmpty()) {
+            return;
+        }
+        healthChecks = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, HEALTH_CHECK_THREAD);
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecks.scheduleWithFixedDelay(this::checkHealthQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkHealthQuietly() {
+        try {
+            LOGGER.debug("Healthy replicas: {}", checkHealth());
+        } catch (RuntimeException e) {
+            LOGGER.error("Can't check the replicas", e);
+        }
+    }
+
+    private Connection route(String username, String password) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return getConnection(primary, username, password);
+        }
+        if (!replicas.isEmpty()) {
+            long now = System.currentTimeMillis();
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.isAvailable(now)) {
+                    continue;
+                }
+                try {
+                    Connection connection = getConnection(replica.dataSource, username, password);
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    evict(replica, e);
+                }
+            }
+            LOGGER.warn("No healthy replica, read from the primary");
+        }
+        primaryReads.increment();
+        return getConnection(primary, username, password);
+    }
+
+    private void evict(Replica replica, SQLException e) {
+        LOGGER.warn("Evict replica {} for {} ms", replica.index, evictionTime, e);
+        replica.evictedUntil = System.currentTimeMillis() + evictionTime;
+    }
+
+    private static Connection getConnection(DataSource dataSource, String username, String password)
+            throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    /**
+     * Stops the health checks and closes the primary and the replicas.
+     *
+     * @throws Exception - when a data source can't be closed
+     */
+    @Override
+    public void close() throws Exception {
+        synchronized (this) {
+            if (healthChecks != null) {
+                healthChecks.shutdownNow();
+                healthChecks = null;
+            }
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) replica.dataSource).close();
+            }
+        }
+        if (primary instanceof AutoCloseable) {
+            ((AutoCloseable) primary).close();
+        }
+    }
+
+    /**
+     * Replica with the time until it is evicted.
+     */
+    private static class Replica {
+        private final int index;
+        private final DataSource dataSource;
+        private volatile long evictedUntil;
+
+        Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+
+        boolean isAvailable(long now) {
+            return evictedUntil <= now;
+        }
+    }
+
+    /**
+     * Chooses the data source when the physical connection is fetched.
+     */
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route(null, null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return route(username, password);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.foxminded.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Versions of tables changed through the DAOs. Every change gives the table the next number of
+ * a sequence shared by all tables, so the version of several tables is the greatest of their versions.
+ * Tables which were not changed since the start have the version 0 and the start time as the last
+ * modification time. Changes made past the DAOs, e.g. by hand in the database, are not seen until
+ * changedAll() is invoked.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ManagedResource(description = "Versions of tables")
+public class TableVersions {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TableVersions.class);
+    public static final String CLASS_ROOMS = "class_rooms";
+    public static final String COURSES = "courses";
+    public static final String DEPARTMENTS = "departments";
+    public static final String GROUPS = "groups";
+    public static final String LECTURES = "lectures";
+    public static final String STUDENTS = "students";
+    public static final String STUDENT_COURSES = "student_courses";
+    public static final String TEACHERS = "teachers";
+
+    private final LongSupplier clock;
+    private final long started;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    public TableVersions() {
+        this(System::currentTimeMillis);
+    }
+
+    TableVersions(LongSupplier clock) {
+        this.clock = clock;
+        this.started = clock.getAsLong();
+    }
+
+    /**
+     * Gives the table a new version. Inside a transaction the table gets one more version after
+     * the transaction completes, so pages read concurrently before the commit are not kept
+     * under the version of the change.
+     *
+     * @param table - table name
+     */
+    public void changed(String table) {
+        bump(table);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(table);
+                }
+            });
+        }
+    }
+
+    private void bump(String table) {
+        Version version = new Version(sequence.incrementAndGet(), clock.getAsLong());
+        LOGGER.debug("Table {} changed, version {}", table, version.number);
+        versions.merge(table, version, (old, changed) -> old.number > changed.number ? old : changed);
+    }
+
+    /**
+     * Gives all known tables a new version.
+     */
+    @ManagedOperation(description = "Marks all tables as changed")
+    public void changedAll() {
+        for (String table : new String[]{CLASS_ROOMS, COURSES, DEPARTMENTS, GROUPS, LECTURES, STUDENTS,
+                STUDENT_COURSES, TEACHERS}) {
+            changed(table);
+        }
+    }
+
+    /**
+     * Gets the greatest version of the tables.
+     *
+     * @param tables - table names
+     * @return - version, 0 when none of the tables was changed
+     */
+    public long getVersion(String... tables) {
+        long result = 0;
+        for (String table : tables) {
+            Version version = versions.get(table);
+            if (version != null) {
+                result = Math.max(result, version.number);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the time of the latest change of the tables.
+     *
+     * @param tables - table names
+     * @return - milliseconds since the epoch, the start time when none of the tables was changed
+     */
+    public long getLastModified(String... tables) {
+        long result = started;
+        for (String table : tables) {
+            Version version = versions.get(table);
+            if (version != null) {
+                result = Math.max(result, version.modified);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the start time, which tells versions of different runs apart.
+     *
+     * @return - milliseconds since the epoch
+     */
+    public long getStarted() {
+        return started;
+    }
+
+    /**
+     * Version number of a table with the time it was given.
+     */
+    private static class Version {
+        private final long number;
+        private final long modified;
+
+        Version(long number, long modified) {
+            this.number = number;
+            this.modified = modified;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.foxminded.dao.cache;
+
+import com.foxminded.dao.layers.ClassRoomDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.ClassRoom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class room DAO which keeps read class rooms in the cache. Every change invalidates the whole cache,
+ * because it may change the result of getAll(). Callers get copies of the cached class rooms,
+ * so changing them does not change the cache.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class CachedClassRoomDAO implements ClassRoomDAO {
+    private ClassRoomDAO classRoomDAO;
+    private EntityCache cache;
+
+    public CachedClassRoomDAO(ClassRoomDAO classRoomDAO, EntityCache cache) {
+        this.classRoomDAO = classRoomDAO;
+        this.cache = cache;
+    }
+
+    @Override
+    public ClassRoom getById(int id) throws DAOException {
+        return copy(cache.get("id:" + id, () -> classRoomDAO.getById(id)));
+    }
+
+    @Override
+    public ClassRoom getByName(String name) throws DAOException {
+        return copy(cache.get("name:" + name, () -> classRoomDAO.getByName(name)));
+    }
+
+    @Override
+    public List<ClassRoom> getAll() {
+        List<ClassRoom> result = new ArrayList<>();
+        for (ClassRoom classRoom : cache.get("all", classRoomDAO::getAll)) {
+            result.add(copy(classRoom));
+        }
+        return result;
+    }
+
+    @Override
+    public List<ClassRoom> getPage(int afterId, int size) {
+        return classRoomDAO.getPage(afterId, size);
+    }
+
+    @Override
+    public boolean insert(ClassRoom classRoom) throws DAOException {
+        try {
+            return classRoomDAO.insert(classRoom);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public int insertAll(List<ClassRoom> classRooms) throws DAOException {
+        try {
+            return classRoomDAO.insertAll(classRooms);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean update(ClassRoom classRoom) throws DAOException {
+        try {
+            return classRoomDAO.update(classRoom);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public ClassRoom delete(ClassRoom classRoom) throws DAOException {
+        try {
+            return classRoomDAO.delete(classRoom);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    private static ClassRoom copy(ClassRoom classRoom) {
+        return classRoom == null ? null : new ClassRoom(classRoom);
+    }
+}
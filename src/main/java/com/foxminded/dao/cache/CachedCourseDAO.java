@@ -0,0 +1,90 @@
+package com.foxminded.dao.cache;
+
+import com.foxminded.dao.layers.CourseDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Course;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Course DAO which keeps read courses in the cache. Every change invalidates the whole cache,
+ * because it may change the result of getAll(). Callers get copies of the cached courses,
+ * so changing them does not change the cache.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class CachedCourseDAO implements CourseDAO {
+    private CourseDAO courseDAO;
+    private EntityCache cache;
+
+    public CachedCourseDAO(CourseDAO courseDAO, EntityCache cache) {
+        this.courseDAO = courseDAO;
+        this.cache = cache;
+    }
+
+    @Override
+    public Course getById(int id) throws DAOException {
+        return copy(cache.get("id:" + id, () -> courseDAO.getById(id)));
+    }
+
+    @Override
+    public Course getByName(String name) throws DAOException {
+        return copy(cache.get("name:" + name, () -> courseDAO.getByName(name)));
+    }
+
+    @Override
+    public List<Course> getAll() {
+        List<Course> result = new ArrayList<>();
+        for (Course course : cache.get("all", courseDAO::getAll)) {
+            result.add(copy(course));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Course> getPage(int afterId, int size) {
+        return courseDAO.getPage(afterId, size);
+    }
+
+    @Override
+    public boolean insert(Course course) throws DAOException {
+        try {
+            return courseDAO.insert(course);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public int insertAll(List<Course> courses) throws DAOException {
+        try {
+            return courseDAO.insertAll(courses);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean update(Course course) throws DAOException {
+        try {
+            return courseDAO.update(course);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public Course delete(Course course) throws DAOException {
+        try {
+            return courseDAO.delete(course);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    private static Course copy(Course course) {
+        return course == null ? null : new Course(course);
+    }
+}
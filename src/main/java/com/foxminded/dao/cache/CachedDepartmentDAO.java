@@ -0,0 +1,90 @@
+package com.foxminded.dao.cache;
+
+import com.foxminded.dao.layers.DepartmentDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Department;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Department DAO which keeps read departments in the cache. Every change invalidates the whole cache,
+ * because it may change the result of getAll(). Callers get copies of the cached departments,
+ * so changing them does not change the cache.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class CachedDepartmentDAO implements DepartmentDAO {
+    private DepartmentDAO departmentDAO;
+    private EntityCache cache;
+
+    public CachedDepartmentDAO(DepartmentDAO departmentDAO, EntityCache cache) {
+        this.departmentDAO = departmentDAO;
+        this.cache = cache;
+    }
+
+    @Override
+    public Department getById(int id) throws DAOException {
+        return copy(cache.get("id:" + id, () -> departmentDAO.getById(id)));
+    }
+
+    @Override
+    public Department getByName(String name) throws DAOException {
+        return copy(cache.get("name:" + name, () -> departmentDAO.getByName(name)));
+    }
+
+    @Override
+    public List<Department> getAll() {
+        List<Department> result = new ArrayList<>();
+        for (Department department : cache.get("all", departmentDAO::getAll)) {
+            result.add(copy(department));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Department> getPage(int afterId, int size) {
+        return departmentDAO.getPage(afterId, size);
+    }
+
+    @Override
+    public boolean insert(Department department) throws DAOException {
+        try {
+            return departmentDAO.insert(department);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public int insertAll(List<Department> departments) throws DAOException {
+        try {
+            return departmentDAO.insertAll(departments);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean update(Department department) throws DAOException {
+        try {
+            return departmentDAO.update(department);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public Department delete(Department department) throws DAOException {
+        try {
+            return departmentDAO.delete(department);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    private static Department copy(Department department) {
+        return department == null ? null : new Department(department);
+    }
+}
@@ -0,0 +1,90 @@
+package com.foxminded.dao.cache;
+
+import com.foxminded.dao.layers.GroupDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Group;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Group DAO which keeps read groups in the cache. Every change invalidates the whole cache,
+ * because it may change the result of getAll(). Callers get copies of the cached groups,
+ * so changing them does not change the cache.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class CachedGroupDAO implements GroupDAO {
+    private GroupDAO groupDAO;
+    private EntityCache cache;
+
+    public CachedGroupDAO(GroupDAO groupDAO, EntityCache cache) {
+        this.groupDAO = groupDAO;
+        this.cache = cache;
+    }
+
+    @Override
+    public Group getById(int id) throws DAOException {
+        return copy(cache.get("id:" + id, () -> groupDAO.getById(id)));
+    }
+
+    @Override
+    public Group getByName(String name) throws DAOException {
+        return copy(cache.get("name:" + name, () -> groupDAO.getByName(name)));
+    }
+
+    @Override
+    public List<Group> getAll() {
+        List<Group> result = new ArrayList<>();
+        for (Group group : cache.get("all", groupDAO::getAll)) {
+            result.add(copy(group));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Group> getPage(int afterId, int size) {
+        return groupDAO.getPage(afterId, size);
+    }
+
+    @Override
+    public boolean insert(Group group) throws DAOException {
+        try {
+            return groupDAO.insert(group);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public int insertAll(List<Group> groups) throws DAOException {
+        try {
+            return groupDAO.insertAll(groups);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean update(Group group) throws DAOException {
+        try {
+            return groupDAO.update(group);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public Group delete(Group group) throws DAOException {
+        try {
+            return groupDAO.delete(group);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    private static Group copy(Group group) {
+        return group == null ? null : new Group(group);
+    }
+}
@@ -0,0 +1,179 @@
+package com.foxminded.dao.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Least recently used cache of entities with a time to live. Entries are evicted when the cache
+ * grows over the max size or when they are older than the time to live. Failed loads are not cached.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ManagedResource(description = "Cache of entities")
+public class EntityCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityCache.class);
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long generation;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param name    - name of the cache
+     * @param maxSize - max number of entries
+     * @param ttl     - time to live of an entry in milliseconds
+     */
+    public EntityCache(String name, int maxSize, long ttl) {
+        this(name, maxSize, ttl, System::nanoTime);
+    }
+
+    EntityCache(String name, int maxSize, long ttl, LongSupplier ticker) {
+        if (maxSize < 1 || ttl < 1) {
+            LOGGER.error("Max size and time to live must be positive: {}, {}", maxSize, ttl);
+            throw new IllegalArgumentException("Max size and time to live must be positive");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the cached value or loads and caches it.
+     *
+     * @param key    - key
+     * @param loader - loads the value on a miss
+     * @param <V>    - type of the value
+     * @param <E>    - type of the exception thrown by the loader
+     * @return - value
+     * @throws E - when the loader fails
+     */
+    @SuppressWarnings("unchecked")
+    public <V, E extends Exception> V get(String key, Loader<V, E> loader) throws E {
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && ticker.getAsLong() - entry.created < ttlNanos) {
+                hits.increment();
+                return (V) entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        V value = loader.load();
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry(value, ticker.getAsLong()));
+                evictEldest();
+            }
+        }
+        return value;
+    }
+
+    private void evictEldest() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Removes all entries. Inside a transaction the entries are removed once more after
+     * the transaction completes, so values read concurrently before the commit are dropped too.
+     */
+    @ManagedOperation(description = "Removes all entries")
+    public void invalidateAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private synchronized void clear() {
+        LOGGER.debug("Invalidate cache {}", name);
+        generation++;
+        entries.clear();
+    }
+
+    @ManagedAttribute(description = "Name of the cache")
+    public String getName() {
+        return name;
+    }
+
+    @ManagedAttribute(description = "Number of entries")
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    @ManagedAttribute(description = "Number of values found in the cache")
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @ManagedAttribute(description = "Number of values loaded from the database")
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @ManagedAttribute(description = "Number of entries evicted by size or time to live")
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Loads a value missing in the cache.
+     *
+     * @param <V> - type of the value
+     * @param <E> - type of the exception
+     */
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+
+    /**
+     * Cached value with the time it was loaded.
+     */
+    private static class Entry {
+        private final Object value;
+        private final long created;
+
+        Entry(Object value, long created) {
+            this.value = value;
+            this.created = created;
+        }
+    }
+}
@@ -37,6 +37,16 @@ public interface ClassRoomDAO {
      */
     List<ClassRoom> getAll();
 
+    /**
+     * Gets a page of class rooms ordered by id, starting after the passed id.
+     * The next page starts after the id of the last returned class room.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of class rooms
+     * @return - List<ClassRoom>
+     */
+    List<ClassRoom> getPage(int afterId, int size);
+
     /**
      * Inserts class room to the table.
      *
@@ -46,6 +56,15 @@ public interface ClassRoomDAO {
      */
     boolean insert(ClassRoom classRoom) throws DAOException;
 
+    /**
+     * Inserts class rooms to the table in batches.
+     *
+     * @param classRooms - class rooms
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    int insertAll(List<ClassRoom> classRooms) throws DAOException;
+
     /**
      * Updates a classRoom.
      *
@@ -35,6 +35,16 @@ public interface CourseDAO {
      */
     List<Course> getAll();
 
+    /**
+     * Gets a page of courses ordered by id, starting after the passed id.
+     * The next page starts after the id of the last returned course.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of courses
+     * @return - List<Course>
+     */
+    List<Course> getPage(int afterId, int size);
+
     /**
      * Inserts a course to the table.
      *
@@ -44,6 +54,15 @@ public interface CourseDAO {
      */
     boolean insert(Course course) throws DAOException;
 
+    /**
+     * Inserts courses to the table in batches and sets generated ids to them.
+     *
+     * @param courses - courses
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    int insertAll(List<Course> courses) throws DAOException;
+
     /**
      * Updates a course.
      *
@@ -35,6 +35,16 @@ public interface DepartmentDAO {
      */
     List<Department> getAll();
 
+    /**
+     * Gets a page of departments ordered by id, starting after the passed id.
+     * The next page starts after the id of the last returned department.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of departments
+     * @return - List<Department>
+     */
+    List<Department> getPage(int afterId, int size);
+
     /**
      * Inserts a department to the table.
      *
@@ -44,6 +54,15 @@ public interface DepartmentDAO {
      */
     boolean insert(Department department) throws DAOException;
 
+    /**
+     * Inserts departments to the table in batches and sets generated ids to them.
+     *
+     * @param departments - departments
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    int insertAll(List<Department> departments) throws DAOException;
+
     /**
      * Updates a department.
      *
@@ -35,6 +35,16 @@ public interface GroupDAO {
      */
     List<Group> getAll();
 
+    /**
+     * Gets a page of groups ordered by id, starting after the passed id.
+     * The next page starts after the id of the last returned group.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of groups
+     * @return - List<Group>
+     */
+    List<Group> getPage(int afterId, int size);
+
     /**
      * Inserts a Group to the table.
      *
@@ -44,6 +54,15 @@ public interface GroupDAO {
      */
     boolean insert(Group group) throws DAOException;
 
+    /**
+     * Inserts groups to the table in batches and sets generated ids to them.
+     *
+     * @param groups - groups
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    int insertAll(List<Group> groups) throws DAOException;
+
     /**
      * Updates a group.
      *
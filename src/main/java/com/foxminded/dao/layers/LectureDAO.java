@@ -5,7 +5,9 @@ import com.foxminded.model.Group;
 import com.foxminded.model.Lecture;
 import com.foxminded.model.Teacher;
 import com.foxminded.exceptions.DAOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -102,6 +104,81 @@ public interface LectureDAO {
      */
     List<Lecture> getLecturesByGroupForMonth(int month, int year, Group group);
 
+    /**
+     * Gets lectures in the period [from, to).
+     *
+     * @param from - start of the period, inclusive
+     * @param to - end of the period, exclusive
+     * @return - List<Lecture>
+     */
+    List<Lecture> getLecturesForPeriod(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Gets lectures by group in the period [from, to).
+     *
+     * @param from - start of the period, inclusive
+     * @param to - end of the period, exclusive
+     * @param group - group
+     * @return - List<Lecture>
+     */
+    List<Lecture> getLecturesByGroupForPeriod(LocalDateTime from, LocalDateTime to, Group group);
+
+    /**
+     * Gets lectures by teacher in the period [from, to).
+     *
+     * @param from - start of the period, inclusive
+     * @param to - end of the period, exclusive
+     * @param teacher - teacher
+     * @return - List<Lecture>
+     */
+    List<Lecture> getLecturesByTeacherForPeriod(LocalDateTime from, LocalDateTime to, Teacher teacher);
+
+    /**
+     * Gets lectures of the student's group in one query, joining students to lectures.
+     *
+     * @param firstName - student first name
+     * @param lastName - student last name
+     * @return - List<Lecture>
+     * @throws DAOException - if the student does not exist
+     */
+    List<Lecture> getLecturesByStudent(String firstName, String lastName) throws DAOException;
+
+    /**
+     * Gets lectures of the student's group in the period [from, to) in one query.
+     *
+     * @param from - start of the period, inclusive
+     * @param to - end of the period, exclusive
+     * @param firstName - student first name
+     * @param lastName - student last name
+     * @return - List<Lecture>
+     * @throws DAOException - if the student does not exist
+     */
+    List<Lecture> getLecturesByStudentForPeriod(LocalDateTime from, LocalDateTime to,
+                                                String firstName, String lastName) throws DAOException;
+
+    /**
+     * Gets lectures of the teacher in one query, joining teachers to lectures.
+     *
+     * @param firstName - teacher first name
+     * @param lastName - teacher last name
+     * @return - List<Lecture>
+     * @throws DAOException - if the teacher does not exist
+     */
+    List<Lecture> getLecturesByTeacherName(String firstName, String lastName) throws DAOException;
+
+    /**
+     * Gets lectures of the teacher in the period [from, to) in one query.
+     *
+     * @param from - start of the period, inclusive
+     * @param to - end of the period, exclusive
+     * @param firstName - teacher first name
+     * @param lastName - teacher last name
+     * @return - List<Lecture>
+     * @throws DAOException - if the teacher does not exist
+     */
+    List<Lecture> getLecturesByTeacherNameForPeriod(LocalDateTime from, LocalDateTime to,
+                                                    String firstName, String lastName) throws DAOException;
+
     /**
      * Gets all lectures.
      *
@@ -109,14 +186,51 @@ public interface LectureDAO {
      */
     List<Lecture> getAll();
 
+    /**
+     * Gets a page of lectures ordered by id, starting after the passed id.
+     * The next page starts after the id of the last returned lecture.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of lectures
+     * @return - List<Lecture>
+     */
+    List<Lecture> getPage(int afterId, int size);
+
+    /**
+     * Reads all lectures ordered by id one by one and passes every lecture to the action.
+     * Rows are fetched from the database in chunks of the fetch size, so the table is never held in memory.
+     * The chunks are fetched with a cursor only inside a transaction, otherwise the driver reads the whole result.
+     *
+     * @param action - action for every lecture
+     */
+    void forEach(Consumer<Lecture> action);
+
+    /**
+     * Gets all lectures with names of class room, teacher, group and course in one query.
+     *
+     * @return - List<Lecture>
+     */
+    List<Lecture> getAllWithDetails();
+
+    /**
+     * Gets a page of lectures with names of class room, teacher, group and course ordered by id,
+     * starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of lectures
+     * @return - List<Lecture>
+     */
+    List<Lecture> getPageWithDetails(int afterId, int size);
+
     /**
      * Changes a teacher and course in the lecture.
      *
      * @param lecture - lecture
      * @param teacher - teacher
      * @return - boolean
+     * @throws DAOException - when the lecture overlaps a booked lecture
      */
-    boolean changeTeacher(Lecture lecture, Teacher teacher);
+    boolean changeTeacher(Lecture lecture, Teacher teacher) throws DAOException;
 
     /**
      * Changes a class room in the lecture.
@@ -124,8 +238,9 @@ public interface LectureDAO {
      * @param lecture - lecture
      * @param classRoom - classRoom
      * @return - boolean
+     * @throws DAOException - when the lecture overlaps a booked lecture
      */
-    boolean changeClassRoom(Lecture lecture, ClassRoom classRoom);
+    boolean changeClassRoom(Lecture lecture, ClassRoom classRoom) throws DAOException;
 
     /**
      * Changes a group in the lecture.
@@ -133,8 +248,9 @@ public interface LectureDAO {
      * @param lecture - lecture
      * @param group - group
      * @return - boolean
+     * @throws DAOException - when the lecture overlaps a booked lecture
      */
-    boolean changeGroup(Lecture lecture, Group group);
+    boolean changeGroup(Lecture lecture, Group group) throws DAOException;
 
     /**
      * Inserts a lecture to the table.
@@ -145,6 +261,15 @@ public interface LectureDAO {
      */
     boolean insert(Lecture lecture) throws DAOException;
 
+    /**
+     * Inserts lectures to the table in batches and sets generated ids to them.
+     *
+     * @param lectures - lectures
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    int insertAll(List<Lecture> lectures) throws DAOException;
+
     /**
      * Updates a recorded data.
      *
@@ -7,6 +7,7 @@ import com.foxminded.exceptions.DAOException;
 import com.foxminded.model.StudentCourse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -54,6 +55,25 @@ public interface StudentDAO {
      */
     List<Student> getAll();
 
+    /**
+     * Gets a page of students ordered by id, starting after the passed id.
+     * The next page starts after the id of the last returned student.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of students
+     * @return - List<Student>
+     */
+    List<Student> getPage(int afterId, int size);
+
+    /**
+     * Reads all students ordered by id one by one and passes every student to the action.
+     * Rows are fetched from the database in chunks of the fetch size, so the table is never held in memory.
+     * The chunks are fetched with a cursor only inside a transaction, otherwise the driver reads the whole result.
+     *
+     * @param action - action for every student
+     */
+    void forEach(Consumer<Student> action);
+
     /**
      * Gets all relationship between students and courses with ids.
      *
@@ -86,11 +106,21 @@ public interface StudentDAO {
     boolean insert(Student student) throws DAOException;
 
     /**
-     * Inserts relationship: Student - Course.
+     * Inserts students to the table in batches and sets generated ids to them.
+     *
+     * @param students - students
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    int insertAll(List<Student> students) throws DAOException;
+
+    /**
+     * Inserts relationship: Student - Course in batches, skipping already existing pairs.
      *
      * @param students - students with relationship: Student - Course
+     * @return - outcome per pair in students/courses order: 1 - inserted, 0 - already existed
      */
-    void insertRelationshipStudentsToCourses(List<Student> students);
+    int[] insertRelationshipStudentsToCourses(List<Student> students);
 
     /**
      * Inserts a course to a student.
@@ -43,6 +43,16 @@ public interface TeacherDAO {
      */
     List<Teacher> getAll();
 
+    /**
+     * Gets a page of teachers ordered by id, starting after the passed id.
+     * The next page starts after the id of the last returned teacher.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of teachers
+     * @return - List<Teacher>
+     */
+    List<Teacher> getPage(int afterId, int size);
+
     /**
      * Inserts a teacher to the table.
      *
@@ -51,6 +61,15 @@ public interface TeacherDAO {
      */
     boolean insert(Teacher teacher) throws DAOException;
 
+    /**
+     * Inserts teachers to the table in batches and sets generated ids to them.
+     *
+     * @param teachers - teachers
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    int insertAll(List<Teacher> teachers) throws DAOException;
+
     /**
      * Updates a recorded data by id.
      *
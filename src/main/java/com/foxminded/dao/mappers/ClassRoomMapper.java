@@ -1,8 +1,6 @@
 package com.foxminded.dao.mappers;
 
 import com.foxminded.model.ClassRoom;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.RowMapper;
 
 import java.sql.ResultSet;
@@ -13,15 +11,11 @@ import java.sql.SQLException;
  * @since 0.1
  */
 public class ClassRoomMapper implements RowMapper<ClassRoom> {
-    private static final Logger LOGGER = LoggerFactory.getLogger(ClassRoomMapper.class);
-
     public ClassRoom mapRow(ResultSet rs, int rowNum) throws SQLException {
-        LOGGER.debug("ResultSet: {}, rowNum: {}", rs, rowNum);
         ClassRoom classRoom = new ClassRoom();
         classRoom.setId(rs.getInt("id"));
         classRoom.setName(rs.getString("name"));
         classRoom.setCapacity(rs.getInt("capacity"));
-        LOGGER.debug("Returned class room: {}", classRoom);
         return classRoom;
     }
 }
@@ -0,0 +1,79 @@
+package com.foxminded.dao.mappers;
+
+import com.foxminded.model.*;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps a lecture joined with its class room, teacher, group and course.
+ * Referenced entities are shared between rows of one result set, so a new mapper
+ * has to be created for every query.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class LectureDetailsMapper implements RowMapper<Lecture> {
+    private final Map<Integer, ClassRoom> classRooms = new HashMap<>();
+    private final Map<Integer, Teacher> teachers = new HashMap<>();
+    private final Map<Integer, Group> groups = new HashMap<>();
+    private final Map<Integer, Course> courses = new HashMap<>();
+
+    public Lecture mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Lecture lecture = new Lecture();
+        lecture.setId(rs.getInt("id"));
+        lecture.setName(rs.getString("name"));
+        lecture.setDate(rs.getTimestamp("date").toLocalDateTime());
+        lecture.setDuration(Duration.ofMinutes(rs.getInt("duration")));
+        lecture.setClassRoom(getClassRoom(rs));
+        lecture.setGroup(getGroup(rs));
+        lecture.setTeacher(getTeacher(rs));
+        lecture.setCourse(getCourse(rs));
+        return lecture;
+    }
+
+    private ClassRoom getClassRoom(ResultSet rs) throws SQLException {
+        int id = rs.getInt("class_room_id");
+        ClassRoom classRoom = classRooms.get(id);
+        if (classRoom == null) {
+            classRoom = new ClassRoom(id, rs.getString("class_room_name"), rs.getInt("class_room_capacity"));
+            classRooms.put(id, classRoom);
+        }
+        return classRoom;
+    }
+
+    private Group getGroup(ResultSet rs) throws SQLException {
+        int id = rs.getInt("group_id");
+        Group group = groups.get(id);
+        if (group == null) {
+            group = new Group(id, rs.getString("group_name"));
+            groups.put(id, group);
+        }
+        return group;
+    }
+
+    private Teacher getTeacher(ResultSet rs) throws SQLException {
+        int id = rs.getInt("teacher_id");
+        Teacher teacher = teachers.get(id);
+        if (teacher == null) {
+            teacher = new Teacher(id, rs.getString("teacher_first_name"), rs.getString("teacher_last_name"),
+                    new Course(rs.getInt("teacher_course_id")), new Department(rs.getInt("teacher_department_id")));
+            teachers.put(id, teacher);
+        }
+        return teacher;
+    }
+
+    private Course getCourse(ResultSet rs) throws SQLException {
+        int id = rs.getInt("course_id");
+        Course course = courses.get(id);
+        if (course == null) {
+            course = new Course(id, rs.getString("course_name"));
+            courses.put(id, course);
+        }
+        return course;
+    }
+}
@@ -1,6 +1,8 @@
 package com.foxminded.dao.postgresql;
 
+import com.foxminded.dao.BatchExecutor;
 import com.foxminded.dao.PropertyLoader;
+import com.foxminded.dao.TableVersions;
 import com.foxminded.dao.layers.ClassRoomDAO;
 import com.foxminded.dao.mappers.ClassRoomMapper;
 import com.foxminded.model.ClassRoom;
@@ -21,6 +23,7 @@ import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Repository;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.foxminded.dao.TableVersions.CLASS_ROOMS;
 
 /**
  * ClassRoom DAO.
@@ -36,6 +39,8 @@ public class ClassRoomPostgreSQL implements ClassRoomDAO {
     private Properties properties;
     private DataSource dataSource;
     private JdbcTemplate jdbcTemplate;
+    private BatchExecutor batchExecutor;
+    private TableVersions tableVersions = new TableVersions();
     private SimpleJdbcInsert insertClassRoom;
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
@@ -46,6 +51,7 @@ public class ClassRoomPostgreSQL implements ClassRoomDAO {
         this.insertClassRoom = new SimpleJdbcInsert(dataSource).withTableName("class_rooms").usingGeneratedKeyColumns("id");
         namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
         properties = new Properties();
+        batchExecutor = new BatchExecutor(dataSource);
         propertyLoader = new PropertyLoader();
         init();
     }
@@ -57,6 +63,35 @@ public class ClassRoomPostgreSQL implements ClassRoomDAO {
         propertyLoader.loadProperty(properties, "properties/queriesPostrgeSQL.properties");
     }
 
+    /**
+     * Sets the versions of tables given a new version on every change.
+     *
+     * @param tableVersions - table versions
+     */
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Sets the number of statements sent to the database in one batch.
+     *
+     * @param batchSize - batch size
+     */
+    public void setBatchSize(int batchSize) {
+        batchExecutor.setBatchSize(batchSize);
+    }
+
+    /**
+     * Sets the seconds a statement may run before the driver cancels it, 0 for no limit.
+     *
+     * @param queryTimeout - query timeout in seconds
+     */
+    public void setQueryTimeout(int queryTimeout) {
+        jdbcTemplate.setQueryTimeout(queryTimeout);
+        namedParameterJdbcTemplate.getJdbcTemplate().setQueryTimeout(queryTimeout);
+        insertClassRoom.getJdbcTemplate().setQueryTimeout(queryTimeout);
+    }
+
     /**
      * Gets class room by id.
      *
@@ -110,7 +145,29 @@ public class ClassRoomPostgreSQL implements ClassRoomDAO {
     @Override
     public List<ClassRoom> getAll() {
         String sql = properties.getProperty("getAllClassRooms");
-        return jdbcTemplate.query(sql, new ClassRoomMapper());
+        List<ClassRoom> classRooms = jdbcTemplate.query(sql, new ClassRoomMapper());
+        LOGGER.debug("Returned size of classRooms: {}", classRooms.size());
+        return classRooms;
+    }
+
+    /**
+     * Gets a page of class rooms ordered by id, starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of class rooms
+     * @return - List<ClassRoom>
+     */
+    @Override
+    public List<ClassRoom> getPage(int afterId, int size) {
+        LOGGER.debug("Invoke method getPage({}, {})", afterId, size);
+        if (size < 1) {
+            LOGGER.error("Page size must be positive: {}", size);
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String sql = properties.getProperty("getClassRoomPage");
+        List<ClassRoom> classRooms = jdbcTemplate.query(sql, new ClassRoomMapper(), afterId, size);
+        LOGGER.debug("Returned size of classRooms: {}", classRooms.size());
+        return classRooms;
     }
 
     /**
@@ -136,6 +193,7 @@ public class ClassRoomPostgreSQL implements ClassRoomDAO {
 
         try {
             int result = namedParameterJdbcTemplate.update(sql, namedParameters);
+            tableVersions.changed(CLASS_ROOMS);
             return result > 0;
         } catch (DuplicateKeyException e) {
             LOGGER.warn("Unique index or primary key violation");
@@ -143,6 +201,32 @@ public class ClassRoomPostgreSQL implements ClassRoomDAO {
         }
     }
 
+    /**
+     * Inserts class rooms to the table in batches.
+     *
+     * @param classRooms - class rooms
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    @Override
+    public int insertAll(List<ClassRoom> classRooms) throws DAOException {
+        if (classRooms == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        LOGGER.debug("Insert class rooms, size of class rooms: {}", classRooms.size());
+        String sql = properties.getProperty("insertClassRoomBatch");
+        try {
+            return batchExecutor.insertAll(sql, classRooms, (ps, classRoom) -> {
+                ps.setInt(1, classRoom.getId());
+                ps.setString(2, classRoom.getName());
+                ps.setInt(3, classRoom.getCapacity());
+            });
+        } finally {
+            tableVersions.changed(CLASS_ROOMS);
+        }
+    }
+
     /**
      * Updates a classRoom.
      *
@@ -164,6 +248,7 @@ public class ClassRoomPostgreSQL implements ClassRoomDAO {
             LOGGER.warn("The class room does not exist: {}", classRoom);
             throw new DAOException("The class room does not exist");
         }
+        tableVersions.changed(CLASS_ROOMS);
         return true;
     }
 
@@ -187,6 +272,7 @@ public class ClassRoomPostgreSQL implements ClassRoomDAO {
             LOGGER.warn("The class room does not exist: {}", classRoom);
             throw new DAOException("The class room does not exist");
         }
+        tableVersions.changed(CLASS_ROOMS);
         return classRoom;
     }
 }
\ No newline at end of file
@@ -0,0 +1,373 @@
+package com.foxminded.dao.postgresql;
+
+import com.foxminded.dao.BatchExecutor;
+import com.foxminded.dao.PropertyLoader;
+import com.foxminded.dao.TableVersions;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.exceptions.LectureConflictException;
+import com.foxminded.model.*;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.function.Function;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.foxminded.dao.TableVersions.LECTURES;
+import static com.foxminded.dao.TableVersions.STUDENT_COURSES;
+
+/**
+ * Loads large amounts of lectures and student-course relationships with the PostgreSQL COPY protocol.
+ * Rows are streamed to the server one by one, so the whole data set is never held in memory.
+ * When the connection does not belong to PostgreSQL (e.g. H2 in tests) the rows are inserted
+ * with batched INSERT statements instead, holding at most one batch in memory.
+ *
+ * CSV files have no header, lectures are written as
+ * {@code name,date,class_room_id,teacher_id,group_id,course_id} with the date as
+ * {@code yyyy-mm-dd hh:mm:ss} and the default duration, student-course relationships as
+ * {@code student_id,course_id}.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@Repository
+public class CopyLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CopyLoader.class);
+
+    private Properties properties;
+    private PropertyLoader propertyLoader;
+    private JdbcTemplate jdbcTemplate;
+    private int batchSize = BatchExecutor.DEFAULT_BATCH_SIZE;
+    private TableVersions tableVersions = new TableVersions();
+
+    public CopyLoader(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        properties = new Properties();
+        propertyLoader = new PropertyLoader();
+        init();
+    }
+
+    /**
+     * Initialisation properties.
+     */
+    private void init() {
+        propertyLoader.loadProperty(properties, "properties/queriesPostrgeSQL.properties");
+    }
+
+    /**
+     * Sets the versions of tables given a new version on every change.
+     *
+     * @param tableVersions - table versions
+     */
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Sets the number of rows sent in one batch when COPY is not available.
+     *
+     * @param batchSize - batch size
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            LOGGER.error("Batch size must be positive: {}", batchSize);
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Loads lectures taken from the iterator.
+     *
+     * @param lectures - lectures
+     * @return - number of loaded rows
+     * @throws DAOException - DAOException
+     */
+    public long copyLectures(Iterator<Lecture> lectures) throws DAOException {
+        LOGGER.debug("Invoke method copyLectures()");
+        return load(LECTURES, properties.getProperty("copyLectures"),
+                properties.getProperty("insertLectureBatch"), lectures, CopyLoader::toCsv, CopyLoader::setLecture);
+    }
+
+    /**
+     * Loads student-course relationships taken from the iterator.
+     *
+     * @param studentCourses - student-course relationships
+     * @return - number of loaded rows
+     * @throws DAOException - DAOException
+     */
+    public long copyStudentCourses(Iterator<StudentCourse> studentCourses) throws DAOException {
+        LOGGER.debug("Invoke method copyStudentCourses()");
+        return load(STUDENT_COURSES, properties.getProperty("copyStudentCourses"),
+                properties.getProperty("insertCourseToStudentById"), studentCourses, CopyLoader::toCsv,
+                CopyLoader::setStudentCourse);
+    }
+
+    /**
+     * Loads lectures from CSV data.
+     *
+     * @param csv - CSV data
+     * @return - number of loaded rows
+     * @throws DAOException - DAOException
+     */
+    public long copyLecturesFromCsv(Reader csv) throws DAOException {
+        LOGGER.debug("Invoke method copyLecturesFromCsv()");
+        return loadCsv(LECTURES, properties.getProperty("copyLecturesFromCsv"),
+                properties.getProperty("insertLectureBatch"), csv, CopyLoader::toLecture, CopyLoader::setLecture);
+    }
+
+    /**
+     * Loads student-course relationships from CSV data.
+     *
+     * @param csv - CSV data
+     * @return - number of loaded rows
+     * @throws DAOException - DAOException
+     */
+    public long copyStudentCoursesFromCsv(Reader csv) throws DAOException {
+        LOGGER.debug("Invoke method copyStudentCoursesFromCsv()");
+        return loadCsv(STUDENT_COURSES, properties.getProperty("copyStudentCourses"),
+                properties.getProperty("insertCourseToStudentById"), csv, CopyLoader::toStudentCourse,
+                CopyLoader::setStudentCourse);
+    }
+
+    private <T> long load(String table, String copySql, String insertSql, Iterator<T> items,
+                          Function<T, String> toCsv, ParameterizedPreparedStatementSetter<T> setter)
+            throws DAOException {
+        if (items == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        return execute(table, connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return insertInBatches(insertSql, items, setter);
+            }
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            CopyIn copyIn = copyManager.copyIn(copySql);
+            try {
+                while (items.hasNext()) {
+                    byte[] row = toCsv.apply(items.next()).getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(row, 0, row.length);
+                }
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+    }
+
+    private <T> long loadCsv(String table, String copySql, String insertSql, Reader csv,
+                             Function<String[], T> parser, ParameterizedPreparedStatementSetter<T> setter)
+            throws DAOException {
+        if (csv == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        return execute(table, connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return insertInBatches(insertSql, new CsvIterator<>(new BufferedReader(csv), parser), setter);
+            }
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql, csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private long execute(String table, ConnectionCallback<Long> action) throws DAOException {
+        try {
+            Long loaded = jdbcTemplate.execute(action);
+            LOGGER.debug("Loaded rows: {}", loaded);
+            return loaded == null ? 0 : loaded;
+        } catch (DuplicateKeyException e) {
+            LOGGER.warn("Unique index or primary key violation");
+            throw new DAOException("Unique index or primary key violation", e);
+        } catch (DataIntegrityViolationException e) {
+            if (LecturePostgreSQL.isOverlap(e)) {
+                LOGGER.warn("Loaded lecture overlaps a booked lecture");
+                throw new LectureConflictException("Loaded lecture overlaps a booked lecture", e);
+            }
+            throw e;
+        } catch (UncheckedIOException e) {
+            LOGGER.error("Can't read CSV data", e);
+            throw new DAOException("Can't read CSV data", e.getCause());
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Malformed CSV data", e);
+            throw new DAOException("Malformed CSV data", e);
+        } finally {
+            tableVersions.changed(table);
+        }
+    }
+
+    private <T> long insertInBatches(String sql, Iterator<T> items,
+                                     ParameterizedPreparedStatementSetter<T> setter) {
+        LOGGER.debug("COPY is not supported by the database, insert in batches of {}", batchSize);
+        long count = 0;
+        List<T> batch = new ArrayList<>(batchSize);
+        while (items.hasNext()) {
+            batch.add(items.next());
+            if (batch.size() == batchSize || !items.hasNext()) {
+                jdbcTemplate.batchUpdate(sql, batch, batch.size(), setter);
+                count += batch.size();
+                batch.clear();
+            }
+        }
+        return count;
+    }
+
+    private static void setLecture(PreparedStatement ps, Lecture lecture) throws SQLException {
+        ps.setString(1, lecture.getName());
+        ps.setTimestamp(2, Timestamp.valueOf(lecture.getDate()));
+        ps.setLong(3, lecture.getDuration().toMinutes());
+        ps.setInt(4, lecture.getClassRoom().getId());
+        ps.setInt(5, lecture.getTeacher().getId());
+        ps.setInt(6, lecture.getGroup().getId());
+        ps.setInt(7, lecture.getCourse().getId());
+    }
+
+    private static void setStudentCourse(PreparedStatement ps, StudentCourse studentCourse)
+            throws SQLException {
+        ps.setInt(1, studentCourse.getStudentId());
+        ps.setInt(2, studentCourse.getCourseId());
+    }
+
+    private static String toCsv(Lecture lecture) {
+        return quote(lecture.getName()) + ','
+                + Timestamp.valueOf(lecture.getDate()) + ','
+                + lecture.getDuration().toMinutes() + ','
+                + lecture.getClassRoom().getId() + ','
+                + lecture.getTeacher().getId() + ','
+                + lecture.getGroup().getId() + ','
+                + lecture.getCourse().getId() + '\n';
+    }
+
+    private static String toCsv(StudentCourse studentCourse) {
+        return studentCourse.getStudentId() + "," + studentCourse.getCourseId() + '\n';
+    }
+
+    private static Lecture toLecture(String[] fields) {
+        checkFields(fields, 6);
+        return new Lecture(fields[0], Timestamp.valueOf(fields[1]).toLocalDateTime(),
+                new Teacher(Integer.parseInt(fields[3])), new ClassRoom(Integer.parseInt(fields[2])),
+                new Group(Integer.parseInt(fields[4])), new Course(Integer.parseInt(fields[5])));
+    }
+
+    private static StudentCourse toStudentCourse(String[] fields) {
+        checkFields(fields, 2);
+        return new StudentCourse(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]));
+    }
+
+    private static void checkFields(String[] fields, int expected) {
+        if (fields.length != expected) {
+            throw new IllegalArgumentException("Expected " + expected + " fields but was " + fields.length);
+        }
+    }
+
+    private static String quote(String value) {
+        return value == null ? "" : '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Splits a CSV line the way COPY does: fields may be quoted, a doubled quote inside quotes
+     * is a quote and an empty unquoted field is null.
+     *
+     * @param line - CSV line
+     * @return - fields
+     */
+    static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Reads CSV lines lazily and maps every line to an item.
+     *
+     * @param <T> - type of items
+     */
+    private static class CsvIterator<T> implements Iterator<T> {
+        private final BufferedReader reader;
+        private final Function<String[], T> parser;
+        private String next;
+
+        CsvIterator(BufferedReader reader, Function<String[], T> parser) {
+            this.reader = reader;
+            this.parser = parser;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            T item = parser.apply(parseCsvLine(next));
+            advance();
+            return item;
+        }
+
+        private void advance() {
+            try {
+                do {
+                    next = reader.readLine();
+                } while (next != null && next.isEmpty());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.foxminded.dao.postgresql;
 
+import com.foxminded.dao.BatchExecutor;
 import com.foxminded.dao.PropertyLoader;
+import com.foxminded.dao.TableVersions;
 import com.foxminded.dao.layers.CourseDAO;
 import com.foxminded.dao.mappers.CourseMapper;
 import com.foxminded.exceptions.DAOException;
@@ -21,6 +23,7 @@ import java.util.List;
 import java.util.Properties;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.foxminded.dao.TableVersions.COURSES;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -34,12 +37,15 @@ public class CoursePostgreSQL implements CourseDAO {
     private Properties properties;
     private DataSource dataSource;
     private JdbcTemplate jdbcTemplate;
+    private BatchExecutor batchExecutor;
+    private TableVersions tableVersions = new TableVersions();
 
     @Autowired
     public CoursePostgreSQL(DataSource dataSource) {
         this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         properties = new Properties();
+        batchExecutor = new BatchExecutor(dataSource);
         propertyLoader = new PropertyLoader();
         init();
     }
@@ -51,6 +57,33 @@ public class CoursePostgreSQL implements CourseDAO {
         propertyLoader.loadProperty(properties, "properties/queriesPostrgeSQL.properties");
     }
 
+    /**
+     * Sets the versions of tables given a new version on every change.
+     *
+     * @param tableVersions - table versions
+     */
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Sets the number of statements sent to the database in one batch.
+     *
+     * @param batchSize - batch size
+     */
+    public void setBatchSize(int batchSize) {
+        batchExecutor.setBatchSize(batchSize);
+    }
+
+    /**
+     * Sets the seconds a statement may run before the driver cancels it, 0 for no limit.
+     *
+     * @param queryTimeout - query timeout in seconds
+     */
+    public void setQueryTimeout(int queryTimeout) {
+        jdbcTemplate.setQueryTimeout(queryTimeout);
+    }
+
     /**
      * Gets course by id.
      *
@@ -103,7 +136,29 @@ public class CoursePostgreSQL implements CourseDAO {
     @Override
     public List<Course> getAll() {
         String sql = properties.getProperty("getAllCourses");
-        return jdbcTemplate.query(sql, new CourseMapper());
+        List<Course> courses = jdbcTemplate.query(sql, new CourseMapper());
+        LOGGER.debug("Returned size of courses: {}", courses.size());
+        return courses;
+    }
+
+    /**
+     * Gets a page of courses ordered by id, starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of courses
+     * @return - List<Course>
+     */
+    @Override
+    public List<Course> getPage(int afterId, int size) {
+        LOGGER.debug("Invoke method getPage({}, {})", afterId, size);
+        if (size < 1) {
+            LOGGER.error("Page size must be positive: {}", size);
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String sql = properties.getProperty("getCoursePage");
+        List<Course> courses = jdbcTemplate.query(sql, new CourseMapper(), afterId, size);
+        LOGGER.debug("Returned size of courses: {}", courses.size());
+        return courses;
     }
 
     /**
@@ -137,9 +192,34 @@ public class CoursePostgreSQL implements CourseDAO {
             LOGGER.warn("Unique index or primary key violation");
             throw new DAOException("Unique index or primary key violation", e);
         }
+        tableVersions.changed(COURSES);
         return result > 0;
     }
 
+    /**
+     * Inserts courses to the table in batches and sets generated ids to them.
+     *
+     * @param courses - courses
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    @Override
+    public int insertAll(List<Course> courses) throws DAOException {
+        if (courses == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        LOGGER.debug("Insert courses, size of courses: {}", courses.size());
+        String sql = properties.getProperty("insertCourse");
+        try {
+            return batchExecutor.insertAll(sql, courses, (ps, course) -> {
+                ps.setString(1, course.getName());
+            }, Course::setId);
+        } finally {
+            tableVersions.changed(COURSES);
+        }
+    }
+
     /**
      * Updates a course.
      *
@@ -161,6 +241,7 @@ public class CoursePostgreSQL implements CourseDAO {
             LOGGER.warn("The course does not exist: {}", course);
             throw new DAOException("The course does not exist");
         }
+        tableVersions.changed(COURSES);
         return true;
     }
 
@@ -185,6 +266,7 @@ public class CoursePostgreSQL implements CourseDAO {
             LOGGER.warn("The course does not exist: {}", course);
             throw new DAOException("The course does not exist");
         }
+        tableVersions.changed(COURSES);
         return course;
     }
 }
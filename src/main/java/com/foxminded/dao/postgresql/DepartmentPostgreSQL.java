@@ -1,6 +1,8 @@
 package com.foxminded.dao.postgresql;
 
+import com.foxminded.dao.BatchExecutor;
 import com.foxminded.dao.PropertyLoader;
+import com.foxminded.dao.TableVersions;
 import com.foxminded.dao.layers.DepartmentDAO;
 import com.foxminded.dao.mappers.DepartmentMapper;
 import com.foxminded.exceptions.DAOException;
@@ -21,6 +23,7 @@ import java.util.List;
 import java.util.Properties;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.foxminded.dao.TableVersions.DEPARTMENTS;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -34,12 +37,15 @@ public class DepartmentPostgreSQL implements DepartmentDAO {
     private Properties properties;
     private DataSource dataSource;
     private JdbcTemplate jdbcTemplate;
+    private BatchExecutor batchExecutor;
+    private TableVersions tableVersions = new TableVersions();
 
     @Autowired
     public DepartmentPostgreSQL(DataSource dataSource) {
         this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         properties = new Properties();
+        batchExecutor = new BatchExecutor(dataSource);
         propertyLoader = new PropertyLoader();
         init();
     }
@@ -51,6 +57,33 @@ public class DepartmentPostgreSQL implements DepartmentDAO {
         propertyLoader.loadProperty(properties, "properties/queriesPostrgeSQL.properties");
     }
 
+    /**
+     * Sets the versions of tables given a new version on every change.
+     *
+     * @param tableVersions - table versions
+     */
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Sets the number of statements sent to the database in one batch.
+     *
+     * @param batchSize - batch size
+     */
+    public void setBatchSize(int batchSize) {
+        batchExecutor.setBatchSize(batchSize);
+    }
+
+    /**
+     * Sets the seconds a statement may run before the driver cancels it, 0 for no limit.
+     *
+     * @param queryTimeout - query timeout in seconds
+     */
+    public void setQueryTimeout(int queryTimeout) {
+        jdbcTemplate.setQueryTimeout(queryTimeout);
+    }
+
     /**
      * Gets department by id.
      *
@@ -103,7 +136,29 @@ public class DepartmentPostgreSQL implements DepartmentDAO {
     @Override
     public List<Department> getAll() {
         String sql = properties.getProperty("getAllDepartments");
-        return jdbcTemplate.query(sql, new DepartmentMapper());
+        List<Department> departments = jdbcTemplate.query(sql, new DepartmentMapper());
+        LOGGER.debug("Returned size of departments: {}", departments.size());
+        return departments;
+    }
+
+    /**
+     * Gets a page of departments ordered by id, starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of departments
+     * @return - List<Department>
+     */
+    @Override
+    public List<Department> getPage(int afterId, int size) {
+        LOGGER.debug("Invoke method getPage({}, {})", afterId, size);
+        if (size < 1) {
+            LOGGER.error("Page size must be positive: {}", size);
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String sql = properties.getProperty("getDepartmentPage");
+        List<Department> departments = jdbcTemplate.query(sql, new DepartmentMapper(), afterId, size);
+        LOGGER.debug("Returned size of departments: {}", departments.size());
+        return departments;
     }
 
     /**
@@ -137,9 +192,34 @@ public class DepartmentPostgreSQL implements DepartmentDAO {
             LOGGER.warn("Unique index or primary key violation");
             throw new DAOException("Unique index or primary key violation", e);
         }
+        tableVersions.changed(DEPARTMENTS);
         return result > 0;
     }
 
+    /**
+     * Inserts departments to the table in batches and sets generated ids to them.
+     *
+     * @param departments - departments
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    @Override
+    public int insertAll(List<Department> departments) throws DAOException {
+        if (departments == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        LOGGER.debug("Insert departments, size of departments: {}", departments.size());
+        String sql = properties.getProperty("insertDepartment");
+        try {
+            return batchExecutor.insertAll(sql, departments, (ps, department) -> {
+                ps.setString(1, department.getName());
+            }, Department::setId);
+        } finally {
+            tableVersions.changed(DEPARTMENTS);
+        }
+    }
+
     /**
      * Updates a department.
      *
@@ -161,6 +241,7 @@ public class DepartmentPostgreSQL implements DepartmentDAO {
             LOGGER.warn("The department does not exist: {}", department);
             throw new DAOException("The department does not exist");
         }
+        tableVersions.changed(DEPARTMENTS);
         return true;
     }
 
@@ -185,6 +266,7 @@ public class DepartmentPostgreSQL implements DepartmentDAO {
             LOGGER.warn("The department does not exist: {}", department);
             throw new DAOException("The department does not exist");
         }
+        tableVersions.changed(DEPARTMENTS);
         return department;
     }
 }
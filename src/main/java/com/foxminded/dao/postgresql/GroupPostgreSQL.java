@@ -1,6 +1,8 @@
 package com.foxminded.dao.postgresql;
 
+import com.foxminded.dao.BatchExecutor;
 import com.foxminded.dao.PropertyLoader;
+import com.foxminded.dao.TableVersions;
 import com.foxminded.dao.layers.GroupDAO;
 import com.foxminded.dao.mappers.GroupMapper;
 import com.foxminded.model.Group;
@@ -20,6 +22,7 @@ import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.foxminded.dao.TableVersions.GROUPS;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -33,12 +36,15 @@ public class GroupPostgreSQL implements GroupDAO {
     private Properties properties;
     private DataSource dataSource;
     private JdbcTemplate jdbcTemplate;
+    private BatchExecutor batchExecutor;
+    private TableVersions tableVersions = new TableVersions();
 
     @Autowired
     public GroupPostgreSQL(DataSource dataSource) {
         this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         properties = new Properties();
+        batchExecutor = new BatchExecutor(dataSource);
         propertyLoader = new PropertyLoader();
         init();
     }
@@ -50,6 +56,33 @@ public class GroupPostgreSQL implements GroupDAO {
         propertyLoader.loadProperty(properties, "properties/queriesPostrgeSQL.properties");
     }
 
+    /**
+     * Sets the versions of tables given a new version on every change.
+     *
+     * @param tableVersions - table versions
+     */
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Sets the number of statements sent to the database in one batch.
+     *
+     * @param batchSize - batch size
+     */
+    public void setBatchSize(int batchSize) {
+        batchExecutor.setBatchSize(batchSize);
+    }
+
+    /**
+     * Sets the seconds a statement may run before the driver cancels it, 0 for no limit.
+     *
+     * @param queryTimeout - query timeout in seconds
+     */
+    public void setQueryTimeout(int queryTimeout) {
+        jdbcTemplate.setQueryTimeout(queryTimeout);
+    }
+
     /**
      * Gets group by id.
      *
@@ -103,7 +136,29 @@ public class GroupPostgreSQL implements GroupDAO {
     @Override
     public List<Group> getAll() {
         String sql = properties.getProperty("getAllGroups");
-        return jdbcTemplate.query(sql, new GroupMapper());
+        List<Group> groups = jdbcTemplate.query(sql, new GroupMapper());
+        LOGGER.debug("Returned size of groups: {}", groups.size());
+        return groups;
+    }
+
+    /**
+     * Gets a page of groups ordered by id, starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of groups
+     * @return - List<Group>
+     */
+    @Override
+    public List<Group> getPage(int afterId, int size) {
+        LOGGER.debug("Invoke method getPage({}, {})", afterId, size);
+        if (size < 1) {
+            LOGGER.error("Page size must be positive: {}", size);
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String sql = properties.getProperty("getGroupPage");
+        List<Group> groups = jdbcTemplate.query(sql, new GroupMapper(), afterId, size);
+        LOGGER.debug("Returned size of groups: {}", groups.size());
+        return groups;
     }
 
     /**
@@ -138,9 +193,34 @@ public class GroupPostgreSQL implements GroupDAO {
             LOGGER.warn("Unique index or primary key violation");
             throw new DAOException("Unique index or primary key violation", e);
         }
+        tableVersions.changed(GROUPS);
         return result > 0;
     }
 
+    /**
+     * Inserts groups to the table in batches and sets generated ids to them.
+     *
+     * @param groups - groups
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    @Override
+    public int insertAll(List<Group> groups) throws DAOException {
+        if (groups == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        LOGGER.debug("Insert groups, size of groups: {}", groups.size());
+        String sql = properties.getProperty("insertGroup");
+        try {
+            return batchExecutor.insertAll(sql, groups, (ps, group) -> {
+                ps.setString(1, group.getName());
+            }, Group::setId);
+        } finally {
+            tableVersions.changed(GROUPS);
+        }
+    }
+
     /**
      * Updates a group.
      *
@@ -162,6 +242,7 @@ public class GroupPostgreSQL implements GroupDAO {
             LOGGER.warn("The group does not exist: {}", group);
             throw new DAOException("The group does not exist");
         }
+        tableVersions.changed(GROUPS);
         return true;
     }
 
@@ -185,6 +266,7 @@ public class GroupPostgreSQL implements GroupDAO {
             LOGGER.warn("The group does not exist: {}", group);
             throw new DAOException("The group does not exist");
         }
+        tableVersions.changed(GROUPS);
         return group;
     }
 }
@@ -1,23 +1,35 @@
 package com.foxminded.dao.postgresql;
 
+import com.foxminded.dao.BatchExecutor;
 import com.foxminded.dao.PropertyLoader;
+import com.foxminded.dao.TableVersions;
 import com.foxminded.dao.layers.LectureDAO;
 
+import com.foxminded.dao.mappers.LectureDetailsMapper;
 import com.foxminded.dao.mappers.LectureMapper;
 import com.foxminded.model.ClassRoom;
 import com.foxminded.model.Group;
 import com.foxminded.model.Lecture;
 import com.foxminded.model.Teacher;
 import com.foxminded.exceptions.DAOException;
+import com.foxminded.exceptions.LectureConflictException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
@@ -26,7 +38,9 @@ import org.springframework.stereotype.Repository;
 
 import static java.sql.Timestamp.valueOf;
 
+import static com.foxminded.constants.Constants.DEFAULT_FETCH_SIZE;
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.foxminded.dao.TableVersions.LECTURES;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -34,12 +48,17 @@ import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
  */
 @Repository
 public class LecturePostgreSQL implements LectureDAO {
+    public static final String EXCLUSION_VIOLATION = "23P01";
+    public static final String WRONG_DURATION = "Duration of the lecture must be at least a minute";
     private static final Logger LOGGER = LoggerFactory.getLogger(LecturePostgreSQL.class);
 
     private Properties properties;
     private PropertyLoader propertyLoader;
     private DataSource dataSource;
     private JdbcTemplate jdbcTemplate;
+    private JdbcTemplate streamingJdbcTemplate;
+    private BatchExecutor batchExecutor;
+    private TableVersions tableVersions = new TableVersions();
     private SimpleJdbcInsert insertLecture;
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
@@ -47,9 +66,12 @@ public class LecturePostgreSQL implements LectureDAO {
     public LecturePostgreSQL(DataSource dataSource) {
         this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(DEFAULT_FETCH_SIZE);
         this.insertLecture = new SimpleJdbcInsert(dataSource).withTableName("lectures").usingGeneratedKeyColumns("id");
         namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
         properties = new Properties();
+        batchExecutor = new BatchExecutor(dataSource);
         propertyLoader = new PropertyLoader();
         init();
     }
@@ -61,6 +83,49 @@ public class LecturePostgreSQL implements LectureDAO {
         propertyLoader.loadProperty(properties, "properties/queriesPostrgeSQL.properties");
     }
 
+    /**
+     * Sets the versions of tables given a new version on every change.
+     *
+     * @param tableVersions - table versions
+     */
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Sets the number of statements sent to the database in one batch.
+     *
+     * @param batchSize - batch size
+     */
+    public void setBatchSize(int batchSize) {
+        batchExecutor.setBatchSize(batchSize);
+    }
+
+    /**
+     * Sets the seconds a statement may run before the driver cancels it, 0 for no limit.
+     * Statements of forEach() and of batches are not limited, as they read or write whole tables.
+     *
+     * @param queryTimeout - query timeout in seconds
+     */
+    public void setQueryTimeout(int queryTimeout) {
+        jdbcTemplate.setQueryTimeout(queryTimeout);
+        namedParameterJdbcTemplate.getJdbcTemplate().setQueryTimeout(queryTimeout);
+        insertLecture.getJdbcTemplate().setQueryTimeout(queryTimeout);
+    }
+
+    /**
+     * Sets the number of rows fetched from the database at once by forEach().
+     *
+     * @param fetchSize - fetch size
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            LOGGER.error("Fetch size must be positive: {}", fetchSize);
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
     /**
      * Gets lecture by id with id, name, date, class room, teacher, group.
      *
@@ -152,10 +217,7 @@ public class LecturePostgreSQL implements LectureDAO {
     @Override
     public List<Lecture> getLecturesByYear(int year) {
         LOGGER.debug("Invoke method getLecturesByYear({})", year);
-        String sql = properties.getProperty("getScheduleByYear");
-        List<Lecture> lectures = jdbcTemplate.query(sql, new Object[]{year}, new LectureMapper());
-        LOGGER.debug("Returned size of lectures: {}", lectures.size());
-        return lectures;
+        return getLecturesForPeriod(startOfYear(year), startOfYear(year + 1));
     }
 
     /**
@@ -168,10 +230,8 @@ public class LecturePostgreSQL implements LectureDAO {
     @Override
     public List<Lecture> getLecturesByMonth(int month, int year) {
         LOGGER.debug("Invoke method getLecturesByMonth({}, {})", month, year);
-        String sql = properties.getProperty("getScheduleByMonthYear");
-        List<Lecture> lectures = jdbcTemplate.query(sql, new Object[]{month, year}, new LectureMapper());
-        LOGGER.debug("Returned size of lectures: {}", lectures.size());
-        return lectures;
+        LocalDateTime from = startOfMonth(month, year);
+        return getLecturesForPeriod(from, from.plusMonths(1));
     }
 
     /**
@@ -188,10 +248,7 @@ public class LecturePostgreSQL implements LectureDAO {
             LOGGER.error(NULL_WAS_PASSED);
             throw new IllegalArgumentException(NULL_WAS_PASSED);
         }
-        String sql = properties.getProperty("getGroupScheduleByYear");
-        List<Lecture> lectures = jdbcTemplate.query(sql, new Object[]{year, group.getId()}, new LectureMapper());
-        LOGGER.debug("Returned size of lectures: {}", lectures.size());
-        return lectures;
+        return getLecturesByGroupForPeriod(startOfYear(year), startOfYear(year + 1), group);
     }
 
     /**
@@ -208,10 +265,7 @@ public class LecturePostgreSQL implements LectureDAO {
             LOGGER.error(NULL_WAS_PASSED);
             throw new IllegalArgumentException(NULL_WAS_PASSED);
         }
-        String sql = properties.getProperty("getTeacherScheduleByYear");
-        List<Lecture> lectures = jdbcTemplate.query(sql, new Object[]{year, teacher.getId()}, new LectureMapper());
-        LOGGER.debug("Returned size of lectures: {}", lectures.size());
-        return lectures;
+        return getLecturesByTeacherForPeriod(startOfYear(year), startOfYear(year + 1), teacher);
     }
 
     /**
@@ -229,10 +283,8 @@ public class LecturePostgreSQL implements LectureDAO {
             LOGGER.error(NULL_WAS_PASSED);
             throw new IllegalArgumentException(NULL_WAS_PASSED);
         }
-        String sql = properties.getProperty("getTeacherScheduleByMonth");
-        List<Lecture> lectures = jdbcTemplate.query(sql, new Object[]{month, year, teacher.getId()}, new LectureMapper());
-        LOGGER.debug("Returned size of lectures: {}", lectures.size());
-        return lectures;
+        LocalDateTime from = startOfMonth(month, year);
+        return getLecturesByTeacherForPeriod(from, from.plusMonths(1), teacher);
     }
 
     /**
@@ -250,12 +302,158 @@ public class LecturePostgreSQL implements LectureDAO {
             LOGGER.error(NULL_WAS_PASSED);
             throw new IllegalArgumentException(NULL_WAS_PASSED);
         }
-        String sql = properties.getProperty("getGroupScheduleByMonth");
-        List<Lecture> lectures = jdbcTemplate.query(sql, new Object[]{month, year, group.getId()}, new LectureMapper());
+        LocalDateTime from = startOfMonth(month, year);
+        return getLecturesByGroupForPeriod(from, from.plusMonths(1), group);
+    }
+
+    /**
+     * Gets lectures in the period [from, to).
+     *
+     * @param from - start of the period, inclusive
+     * @param to   - end of the period, exclusive
+     * @return - List<Lecture>
+     */
+    @Override
+    public List<Lecture> getLecturesForPeriod(LocalDateTime from, LocalDateTime to) {
+        LOGGER.debug("Invoke method getLecturesForPeriod({}, {})", from, to);
+        if (from == null || to == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        String sql = properties.getProperty("getScheduleByPeriod");
+        List<Lecture> lectures = jdbcTemplate.query(sql, new Object[]{valueOf(from), valueOf(to)}, new LectureMapper());
         LOGGER.debug("Returned size of lectures: {}", lectures.size());
         return lectures;
     }
 
+    /**
+     * Gets lectures by group in the period [from, to).
+     *
+     * @param from  - start of the period, inclusive
+     * @param to    - end of the period, exclusive
+     * @param group - group
+     * @return - List<Lecture>
+     */
+    @Override
+    public List<Lecture> getLecturesByGroupForPeriod(LocalDateTime from, LocalDateTime to, Group group) {
+        LOGGER.debug("Invoke method getLecturesByGroupForPeriod({}, {}, {})", from, to, group);
+        if (from == null || to == null || group == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        String sql = properties.getProperty("getGroupScheduleByPeriod");
+        List<Lecture> lectures = jdbcTemplate.query(sql,
+                new Object[]{group.getId(), valueOf(from), valueOf(to)}, new LectureMapper());
+        LOGGER.debug("Returned size of lectures: {}", lectures.size());
+        return lectures;
+    }
+
+    /**
+     * Gets lectures by teacher in the period [from, to).
+     *
+     * @param from    - start of the period, inclusive
+     * @param to      - end of the period, exclusive
+     * @param teacher - teacher
+     * @return - List<Lecture>
+     */
+    @Override
+    public List<Lecture> getLecturesByTeacherForPeriod(LocalDateTime from, LocalDateTime to, Teacher teacher) {
+        LOGGER.debug("Invoke method getLecturesByTeacherForPeriod({}, {}, {})", from, to, teacher);
+        if (from == null || to == null || teacher == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        String sql = properties.getProperty("getTeacherScheduleByPeriod");
+        List<Lecture> lectures = jdbcTemplate.query(sql,
+                new Object[]{teacher.getId(), valueOf(from), valueOf(to)}, new LectureMapper());
+        LOGGER.debug("Returned size of lectures: {}", lectures.size());
+        return lectures;
+    }
+
+    /**
+     * Gets lectures of the student's group in one query, joining students to lectures.
+     *
+     * @param firstName - student first name
+     * @param lastName  - student last name
+     * @return - List<Lecture>
+     * @throws DAOException - if the student does not exist
+     */
+    @Override
+    public List<Lecture> getLecturesByStudent(String firstName, String lastName) throws DAOException {
+        LOGGER.debug("Invoke method getLecturesByStudent({}, {})", firstName, lastName);
+        if (firstName == null || lastName == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        String sql = properties.getProperty("getScheduleByStudentName");
+        return queryScheduleByOwner(sql, new Object[]{firstName, lastName}, "Can't find student by passed name");
+    }
+
+    /**
+     * Gets lectures of the student's group in the period [from, to) in one query.
+     *
+     * @param from      - start of the period, inclusive
+     * @param to        - end of the period, exclusive
+     * @param firstName - student first name
+     * @param lastName  - student last name
+     * @return - List<Lecture>
+     * @throws DAOException - if the student does not exist
+     */
+    @Override
+    public List<Lecture> getLecturesByStudentForPeriod(LocalDateTime from, LocalDateTime to,
+                                                       String firstName, String lastName) throws DAOException {
+        LOGGER.debug("Invoke method getLecturesByStudentForPeriod({}, {}, {}, {})", from, to, firstName, lastName);
+        if (from == null || to == null || firstName == null || lastName == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        String sql = properties.getProperty("getStudentScheduleByPeriod");
+        return queryScheduleByOwner(sql, new Object[]{valueOf(from), valueOf(to), firstName, lastName},
+                "Can't find student by passed name");
+    }
+
+    /**
+     * Gets lectures of the teacher in one query, joining teachers to lectures.
+     *
+     * @param firstName - teacher first name
+     * @param lastName  - teacher last name
+     * @return - List<Lecture>
+     * @throws DAOException - if the teacher does not exist
+     */
+    @Override
+    public List<Lecture> getLecturesByTeacherName(String firstName, String lastName) throws DAOException {
+        LOGGER.debug("Invoke method getLecturesByTeacherName({}, {})", firstName, lastName);
+        if (firstName == null || lastName == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        String sql = properties.getProperty("getScheduleByTeacherName");
+        return queryScheduleByOwner(sql, new Object[]{firstName, lastName}, "Can't find teacher by passed name");
+    }
+
+    /**
+     * Gets lectures of the teacher in the period [from, to) in one query.
+     *
+     * @param from      - start of the period, inclusive
+     * @param to        - end of the period, exclusive
+     * @param firstName - teacher first name
+     * @param lastName  - teacher last name
+     * @return - List<Lecture>
+     * @throws DAOException - if the teacher does not exist
+     */
+    @Override
+    public List<Lecture> getLecturesByTeacherNameForPeriod(LocalDateTime from, LocalDateTime to,
+                                                           String firstName, String lastName) throws DAOException {
+        LOGGER.debug("Invoke method getLecturesByTeacherNameForPeriod({}, {}, {}, {})", from, to, firstName, lastName);
+        if (from == null || to == null || firstName == null || lastName == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        String sql = properties.getProperty("getTeacherScheduleByNameAndPeriod");
+        return queryScheduleByOwner(sql, new Object[]{valueOf(from), valueOf(to), firstName, lastName},
+                "Can't find teacher by passed name");
+    }
+
     /**
      * Gets all lectures with id, name, date, class room, teacher, group.
      *
@@ -264,7 +462,84 @@ public class LecturePostgreSQL implements LectureDAO {
     @Override
     public List<Lecture> getAll() {
         String sql = properties.getProperty("getAllLectures");
-        return jdbcTemplate.query(sql, new LectureMapper());
+        List<Lecture> lectures = jdbcTemplate.query(sql, new LectureMapper());
+        LOGGER.debug("Returned size of lectures: {}", lectures.size());
+        return lectures;
+    }
+
+    /**
+     * Gets a page of lectures ordered by id, starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of lectures
+     * @return - List<Lecture>
+     */
+    @Override
+    public List<Lecture> getPage(int afterId, int size) {
+        LOGGER.debug("Invoke method getPage({}, {})", afterId, size);
+        if (size < 1) {
+            LOGGER.error("Page size must be positive: {}", size);
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String sql = properties.getProperty("getLecturePage");
+        List<Lecture> lectures = jdbcTemplate.query(sql, new LectureMapper(), afterId, size);
+        LOGGER.debug("Returned size of lectures: {}", lectures.size());
+        return lectures;
+    }
+
+    /**
+     * Reads all lectures ordered by id one by one and passes every lecture to the action.
+     *
+     * @param action - action for every lecture
+     */
+    @Override
+    public void forEach(Consumer<Lecture> action) {
+        LOGGER.debug("Invoke method forEach()");
+        if (action == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        String sql = properties.getProperty("streamLectures");
+        LectureMapper mapper = new LectureMapper();
+        AtomicInteger rowNum = new AtomicInteger();
+        streamingJdbcTemplate.query(sql, (RowCallbackHandler) rs ->
+                action.accept(mapper.mapRow(rs, rowNum.getAndIncrement())));
+        LOGGER.debug("Streamed lectures: {}", rowNum.get());
+    }
+
+    /**
+     * Gets a page of lectures with class room, teacher, group and course resolved in one joined query,
+     * ordered by id and starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of lectures
+     * @return - List<Lecture>
+     */
+    @Override
+    public List<Lecture> getPageWithDetails(int afterId, int size) {
+        LOGGER.debug("Invoke method getPageWithDetails({}, {})", afterId, size);
+        if (size < 1) {
+            LOGGER.error("Page size must be positive: {}", size);
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String sql = properties.getProperty("getLecturePageWithDetails");
+        List<Lecture> lectures = jdbcTemplate.query(sql, new LectureDetailsMapper(), afterId, size);
+        LOGGER.debug("Returned size of lectures: {}", lectures.size());
+        return lectures;
+    }
+
+    /**
+     * Gets all lectures with class room, teacher, group and course resolved in one joined query.
+     * Lectures sharing a class room, teacher, group or course reference the same instance.
+     *
+     * @return - List<Lecture>
+     */
+    @Override
+    public List<Lecture> getAllWithDetails() {
+        String sql = properties.getProperty("getAllLecturesWithDetails");
+        List<Lecture> lectures = jdbcTemplate.query(sql, new LectureDetailsMapper());
+        LOGGER.debug("Returned size of lectures: {}", lectures.size());
+        return lectures;
     }
 
     /**
@@ -273,20 +548,27 @@ public class LecturePostgreSQL implements LectureDAO {
      * @param lecture - lecture
      * @param teacher - teacher
      * @return - boolean
+     * @throws DAOException - when the lecture overlaps a booked lecture
      */
     @Override
-    public boolean changeTeacher(Lecture lecture, Teacher teacher) {
+    public boolean changeTeacher(Lecture lecture, Teacher teacher) throws DAOException {
         LOGGER.debug("Invoke method changeTeacher({}, {})", lecture, teacher);
         if (lecture == null || teacher == null) {
             LOGGER.error(NULL_WAS_PASSED);
             throw new IllegalArgumentException(NULL_WAS_PASSED);
         }
         String sql = properties.getProperty("ChangeTeacherInLecture");
-        boolean result = jdbcTemplate.update(sql, teacher.getId(), teacher.getCourse().getId(), lecture.getId()) > 0;
+        boolean result;
+        try {
+            result = jdbcTemplate.update(sql, teacher.getId(), teacher.getCourse().getId(), lecture.getId()) > 0;
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e);
+        }
         if (!result) {
             LOGGER.warn("Something went wrong while changing teacher...");
             return false;
         }
+        tableVersions.changed(LECTURES);
         return true;
     }
 
@@ -296,20 +578,27 @@ public class LecturePostgreSQL implements LectureDAO {
      * @param lecture   - lecture
      * @param classRoom - classRoom
      * @return - boolean
+     * @throws DAOException - when the lecture overlaps a booked lecture
      */
     @Override
-    public boolean changeClassRoom(Lecture lecture, ClassRoom classRoom) {
+    public boolean changeClassRoom(Lecture lecture, ClassRoom classRoom) throws DAOException {
         LOGGER.debug("Invoke method changeClassRoom({}, {})", lecture, classRoom);
         if (lecture == null || classRoom == null) {
             LOGGER.error(NULL_WAS_PASSED);
             throw new IllegalArgumentException(NULL_WAS_PASSED);
         }
         String sql = properties.getProperty("ChangeClassRoomInLecture");
-        boolean result = jdbcTemplate.update(sql, classRoom.getId(), lecture.getId()) > 0;
+        boolean result;
+        try {
+            result = jdbcTemplate.update(sql, classRoom.getId(), lecture.getId()) > 0;
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e);
+        }
         if (!result) {
             LOGGER.warn("Something went wrong while changing class room...");
             return false;
         }
+        tableVersions.changed(LECTURES);
         return true;
     }
 
@@ -319,20 +608,27 @@ public class LecturePostgreSQL implements LectureDAO {
      * @param lecture - lecture
      * @param group   - group
      * @return - boolean
+     * @throws DAOException - when the lecture overlaps a booked lecture
      */
     @Override
-    public boolean changeGroup(Lecture lecture, Group group) {
+    public boolean changeGroup(Lecture lecture, Group group) throws DAOException {
         LOGGER.debug("Invoke method changeGroup({}, {})", lecture, group);
         if (lecture == null || group == null) {
             LOGGER.error(NULL_WAS_PASSED);
             throw new IllegalArgumentException(NULL_WAS_PASSED);
         }
         String sql = properties.getProperty("ChangeGroupInLecture");
-        boolean result = jdbcTemplate.update(sql, group.getId(), lecture.getId()) > 0;
+        boolean result;
+        try {
+            result = jdbcTemplate.update(sql, group.getId(), lecture.getId()) > 0;
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e);
+        }
         if (!result) {
             LOGGER.warn("Something went wrong while changing group...");
             return false;
         }
+        tableVersions.changed(LECTURES);
         return true;
     }
 
@@ -350,10 +646,12 @@ public class LecturePostgreSQL implements LectureDAO {
             LOGGER.error(NULL_WAS_PASSED);
             throw new IllegalArgumentException(NULL_WAS_PASSED);
         }
+        checkDuration(lecture);
 
         SqlParameterSource namedParameters = new MapSqlParameterSource()
                 .addValue("name", lecture.getName())
                 .addValue("date", valueOf(lecture.getDate()))
+                .addValue("duration", lecture.getDuration().toMinutes())
                 .addValue("class_room_id", lecture.getClassRoom().getId())
                 .addValue("teacher_id", lecture.getTeacher().getId())
                 .addValue("group_id", lecture.getGroup().getId())
@@ -365,10 +663,48 @@ public class LecturePostgreSQL implements LectureDAO {
         } catch (DuplicateKeyException e) {
             LOGGER.warn("Unique index or primary key violation");
             throw new DAOException("Unique index or primary key violation", e);
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e);
         }
+        tableVersions.changed(LECTURES);
         return true;
     }
 
+    /**
+     * Inserts lectures to the table in batches and sets generated ids to them.
+     *
+     * @param lectures - lectures
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    @Override
+    public int insertAll(List<Lecture> lectures) throws DAOException {
+        if (lectures == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        LOGGER.debug("Insert lectures, size of lectures: {}", lectures.size());
+        for (Lecture lecture : lectures) {
+            checkDuration(lecture);
+        }
+        String sql = properties.getProperty("insertLectureBatch");
+        try {
+            return batchExecutor.insertAll(sql, lectures, (ps, lecture) -> {
+                ps.setString(1, lecture.getName());
+                ps.setTimestamp(2, valueOf(lecture.getDate()));
+                ps.setLong(3, lecture.getDuration().toMinutes());
+                ps.setInt(4, lecture.getClassRoom().getId());
+                ps.setInt(5, lecture.getTeacher().getId());
+                ps.setInt(6, lecture.getGroup().getId());
+                ps.setInt(7, lecture.getCourse().getId());
+            }, Lecture::setId);
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e);
+        } finally {
+            tableVersions.changed(LECTURES);
+        }
+    }
+
     /**
      * Updates a recorded data.
      *
@@ -383,23 +719,31 @@ public class LecturePostgreSQL implements LectureDAO {
             LOGGER.error(NULL_WAS_PASSED);
             throw new IllegalArgumentException(NULL_WAS_PASSED);
         }
+        checkDuration(lecture);
 
         String sql = properties.getProperty("updateLecture");
 
         SqlParameterSource namedParameters = new MapSqlParameterSource()
                 .addValue("name", lecture.getName())
                 .addValue("date", valueOf(lecture.getDate()))
+                .addValue("duration", lecture.getDuration().toMinutes())
                 .addValue("class_room_id", lecture.getClassRoom().getId())
                 .addValue("teacher_id", lecture.getTeacher().getId())
                 .addValue("group_id", lecture.getGroup().getId())
                 .addValue("course_id", lecture.getCourse().getId())
                 .addValue("id", lecture.getId());
 
-        boolean result = namedParameterJdbcTemplate.update(sql, namedParameters) > 0;
+        boolean result;
+        try {
+            result = namedParameterJdbcTemplate.update(sql, namedParameters) > 0;
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e);
+        }
         if (!result) {
             LOGGER.warn("The lecture does not exist: {}", lecture);
             throw new DAOException("The lecture does not exist");
         }
+        tableVersions.changed(LECTURES);
         return true;
     }
 
@@ -423,6 +767,103 @@ public class LecturePostgreSQL implements LectureDAO {
             LOGGER.warn("The lecture does not exist: {}", lecture);
             throw new DAOException("The lecture does not exist");
         }
+        tableVersions.changed(LECTURES);
         return lecture;
     }
+
+    /**
+     * Converts the violation of an exclusion constraint of the lectures table to LectureConflictException,
+     * other violations are rethrown.
+     *
+     * @param e - violation
+     * @return - LectureConflictException
+     */
+    private static LectureConflictException toConflict(DataIntegrityViolationException e) {
+        if (!isOverlap(e)) {
+            throw e;
+        }
+        LOGGER.warn("Lecture overlaps a booked lecture: {}", e.getMostSpecificCause().getMessage());
+        return new LectureConflictException("Lecture overlaps a booked lecture", e);
+    }
+
+    /**
+     * Checks that the lecture lasts at least a minute. A shorter lecture would be stored with an empty
+     * or inverted time range, which the overlap constraints can't check.
+     *
+     * @param lecture - lecture
+     */
+    private static void checkDuration(Lecture lecture) {
+        if (lecture.getDuration() == null || lecture.getDuration().toMinutes() < 1) {
+            LOGGER.error(WRONG_DURATION + ": {}", lecture);
+            throw new IllegalArgumentException(WRONG_DURATION);
+        }
+    }
+
+    /**
+     * Checks whether the database rejected a lecture overlapping a booked lecture of its class room,
+     * teacher or group.
+     *
+     * @param e - violation
+     * @return - boolean
+     */
+    static boolean isOverlap(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs a schedule query that left joins lectures to its owner (student or teacher).
+     * No rows means the owner does not exist, a single row of nulls means the owner has no lectures.
+     *
+     * @param sql             - sql
+     * @param args            - query arguments
+     * @param notFoundMessage - message of the exception when the owner does not exist
+     * @return - List<Lecture>
+     * @throws DAOException - if the owner does not exist
+     */
+    private List<Lecture> queryScheduleByOwner(String sql, Object[] args, String notFoundMessage) throws DAOException {
+        LectureMapper lectureMapper = new LectureMapper();
+        List<Lecture> lectures = new ArrayList<>();
+        Boolean ownerFound = jdbcTemplate.query(sql, args, rs -> {
+            boolean found = false;
+            while (rs.next()) {
+                found = true;
+                if (rs.getObject("id") != null) {
+                    lectures.add(lectureMapper.mapRow(rs, lectures.size()));
+                }
+            }
+            return found;
+        });
+        if (!Boolean.TRUE.equals(ownerFound)) {
+            LOGGER.warn(notFoundMessage);
+            throw new DAOException(notFoundMessage);
+        }
+        LOGGER.debug("Returned size of lectures: {}", lectures.size());
+        return lectures;
+    }
+
+    /**
+     * Gets the first moment of the year.
+     *
+     * @param year - year (yyyy)
+     * @return - LocalDateTime
+     */
+    private static LocalDateTime startOfYear(int year) {
+        return LocalDate.of(year, 1, 1).atStartOfDay();
+    }
+
+    /**
+     * Gets the first moment of the month.
+     *
+     * @param month - month (1-12)
+     * @param year  - year (yyyy)
+     * @return - LocalDateTime
+     */
+    private static LocalDateTime startOfMonth(int month, int year) {
+        return LocalDate.of(year, month, 1).atStartOfDay();
+    }
 }
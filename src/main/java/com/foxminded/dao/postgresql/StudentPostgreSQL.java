@@ -1,6 +1,8 @@
 package com.foxminded.dao.postgresql;
 
+import com.foxminded.dao.BatchExecutor;
 import com.foxminded.dao.PropertyLoader;
+import com.foxminded.dao.TableVersions;
 import com.foxminded.dao.layers.StudentDAO;
 import com.foxminded.dao.mappers.CourseMapper;
 import com.foxminded.dao.mappers.StudentCourseMapper;
@@ -16,6 +18,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
@@ -25,10 +28,17 @@ import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
 import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+import static com.foxminded.constants.Constants.DEFAULT_FETCH_SIZE;
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.foxminded.dao.TableVersions.STUDENTS;
+import static com.foxminded.dao.TableVersions.STUDENT_COURSES;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -38,19 +48,24 @@ import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
 public class StudentPostgreSQL implements StudentDAO {
     private static final Logger LOGGER = LoggerFactory.getLogger(StudentPostgreSQL.class);
 
-
     private PropertyLoader propertyLoader;
     private Properties properties;
     private DataSource dataSource;
     private JdbcTemplate jdbcTemplate;
+    private JdbcTemplate streamingJdbcTemplate;
+    private BatchExecutor batchExecutor;
+    private TableVersions tableVersions = new TableVersions();
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     @Autowired
     public StudentPostgreSQL(DataSource dataSource) {
         this.dataSource = dataSource;
         jdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(DEFAULT_FETCH_SIZE);
         namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
         properties = new Properties();
+        batchExecutor = new BatchExecutor(dataSource);
         propertyLoader = new PropertyLoader();
         init();
     }
@@ -62,6 +77,48 @@ public class StudentPostgreSQL implements StudentDAO {
         propertyLoader.loadProperty(properties, "properties/queriesPostrgeSQL.properties");
     }
 
+    /**
+     * Sets the versions of tables given a new version on every change.
+     *
+     * @param tableVersions - table versions
+     */
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Sets the number of statements sent to the database in one batch.
+     *
+     * @param batchSize - batch size
+     */
+    public void setBatchSize(int batchSize) {
+        batchExecutor.setBatchSize(batchSize);
+    }
+
+    /**
+     * Sets the seconds a statement may run before the driver cancels it, 0 for no limit.
+     * Statements of forEach() and of batches are not limited, as they read or write whole tables.
+     *
+     * @param queryTimeout - query timeout in seconds
+     */
+    public void setQueryTimeout(int queryTimeout) {
+        jdbcTemplate.setQueryTimeout(queryTimeout);
+        namedParameterJdbcTemplate.getJdbcTemplate().setQueryTimeout(queryTimeout);
+    }
+
+    /**
+     * Sets the number of rows fetched from the database at once by forEach().
+     *
+     * @param fetchSize - fetch size
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            LOGGER.error("Fetch size must be positive: {}", fetchSize);
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
     /**
      * Gets student by id with id, name, group with id.
      *
@@ -170,7 +227,49 @@ public class StudentPostgreSQL implements StudentDAO {
     @Override
     public List<Student> getAll() {
         String sql = properties.getProperty("getAllStudents");
-        return jdbcTemplate.query(sql, new StudentMapper());
+        List<Student> students = jdbcTemplate.query(sql, new StudentMapper());
+        LOGGER.debug("Returned size of students: {}", students.size());
+        return students;
+    }
+
+    /**
+     * Gets a page of students ordered by id, starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of students
+     * @return - List<Student>
+     */
+    @Override
+    public List<Student> getPage(int afterId, int size) {
+        LOGGER.debug("Invoke method getPage({}, {})", afterId, size);
+        if (size < 1) {
+            LOGGER.error("Page size must be positive: {}", size);
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String sql = properties.getProperty("getStudentPage");
+        List<Student> students = jdbcTemplate.query(sql, new StudentMapper(), afterId, size);
+        LOGGER.debug("Returned size of students: {}", students.size());
+        return students;
+    }
+
+    /**
+     * Reads all students ordered by id one by one and passes every student to the action.
+     *
+     * @param action - action for every student
+     */
+    @Override
+    public void forEach(Consumer<Student> action) {
+        LOGGER.debug("Invoke method forEach()");
+        if (action == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        String sql = properties.getProperty("streamStudents");
+        StudentMapper mapper = new StudentMapper();
+        AtomicInteger rowNum = new AtomicInteger();
+        streamingJdbcTemplate.query(sql, (RowCallbackHandler) rs ->
+                action.accept(mapper.mapRow(rs, rowNum.getAndIncrement())));
+        LOGGER.debug("Streamed students: {}", rowNum.get());
     }
 
     /**
@@ -181,7 +280,9 @@ public class StudentPostgreSQL implements StudentDAO {
     @Override
     public List<StudentCourse> getAllStudentCourse() {
         String sql = properties.getProperty("getAllStudentCourse");
-        return jdbcTemplate.query(sql, new StudentCourseMapper());
+        List<StudentCourse> studentCourses = jdbcTemplate.query(sql, new StudentCourseMapper());
+        LOGGER.debug("Returned size of studentCourses: {}", studentCourses.size());
+        return studentCourses;
     }
 
     /**
@@ -204,6 +305,7 @@ public class StudentPostgreSQL implements StudentDAO {
             LOGGER.warn("Something went wrong while changing group...");
             return false;
         }
+        tableVersions.changed(STUDENTS);
         return true;
     }
 
@@ -240,19 +342,68 @@ public class StudentPostgreSQL implements StudentDAO {
             LOGGER.warn("Unique index or primary key violation");
             throw new DAOException("Unique index or primary key violation", e);
         }
+        tableVersions.changed(STUDENTS);
         return result > 0;
     }
 
     /**
-     * Inserts relationship: Student - Course.
+     * Inserts students to the table in batches and sets generated ids to them.
+     *
+     * @param students - students
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    @Override
+    public int insertAll(List<Student> students) throws DAOException {
+        if (students == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        LOGGER.debug("Insert students, size of students: {}", students.size());
+        String sql = properties.getProperty("insertStudent");
+        try {
+            return batchExecutor.insertAll(sql, students, (ps, student) -> {
+                ps.setString(1, student.getFirstName());
+                ps.setString(2, student.getLastName());
+                ps.setInt(3, student.getGroup().getId());
+            }, Student::setId);
+        } finally {
+            tableVersions.changed(STUDENTS);
+        }
+    }
+
+    /**
+     * Inserts relationship: Student - Course in batches, skipping already existing pairs.
      *
      * @param students - students with relationship: Student - Course
+     * @return - outcome per pair in students/courses order: 1 - inserted, 0 - already existed
      */
     @Override
-    public void insertRelationshipStudentsToCourses(List<Student> students) {
+    public int[] insertRelationshipStudentsToCourses(List<Student> students) {
+        if (students == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
         LOGGER.debug("insert relationship students To courses student, size of students: {}", students.size());
+        List<StudentCourse> pairs = new ArrayList<>();
         students.forEach(student -> student.getCourses()
-                .forEach(course -> insertCourseToStudent(student, course)));
+                .forEach(course -> pairs.add(new StudentCourse(student.getId(), course.getId()))));
+
+        String sql = properties.getProperty("insertCourseToStudentIfAbsent");
+        int[][] batches = jdbcTemplate.batchUpdate(sql, pairs, batchExecutor.getBatchSize(), (ps, pair) -> {
+            ps.setInt(1, pair.getStudentId());
+            ps.setInt(2, pair.getCourseId());
+            ps.setInt(3, pair.getStudentId());
+            ps.setInt(4, pair.getCourseId());
+        });
+
+        int[] result = Arrays.stream(batches).flatMapToInt(Arrays::stream).toArray();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Inserted relationships: {} of {}", Arrays.stream(result).filter(count -> count > 0).count(),
+                    pairs.size());
+        }
+        tableVersions.changed(STUDENT_COURSES);
+        return result;
     }
 
     /**
@@ -275,6 +426,7 @@ public class StudentPostgreSQL implements StudentDAO {
             LOGGER.warn("Something went wrong while inserting course to the student...");
             return false;
         }
+        tableVersions.changed(STUDENT_COURSES);
         return true;
     }
 
@@ -304,6 +456,7 @@ public class StudentPostgreSQL implements StudentDAO {
             LOGGER.warn("The student does not exist: {}", student);
             throw new DAOException("The student does not exist");
         }
+        tableVersions.changed(STUDENTS);
         return true;
     }
 
@@ -327,6 +480,7 @@ public class StudentPostgreSQL implements StudentDAO {
             LOGGER.warn("The student does not exist: {}", student);
             throw new DAOException("The student does not exist");
         }
+        tableVersions.changed(STUDENTS);
         return student;
     }
 }
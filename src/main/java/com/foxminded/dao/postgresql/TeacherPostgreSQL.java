@@ -1,6 +1,8 @@
 package com.foxminded.dao.postgresql;
 
+import com.foxminded.dao.BatchExecutor;
 import com.foxminded.dao.PropertyLoader;
+import com.foxminded.dao.TableVersions;
 import com.foxminded.dao.layers.TeacherDAO;
 import com.foxminded.dao.mappers.TeacherMapper;
 import com.foxminded.model.Department;
@@ -22,6 +24,7 @@ import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Repository;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.foxminded.dao.TableVersions.TEACHERS;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -35,6 +38,8 @@ public class TeacherPostgreSQL implements TeacherDAO {
     private Properties properties;
     private DataSource dataSource;
     private JdbcTemplate jdbcTemplate;
+    private BatchExecutor batchExecutor;
+    private TableVersions tableVersions = new TableVersions();
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     private SimpleJdbcInsert insertTeacher;
 
@@ -45,6 +50,7 @@ public class TeacherPostgreSQL implements TeacherDAO {
         namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
         this.insertTeacher = new SimpleJdbcInsert(dataSource).withTableName("teachers").usingGeneratedKeyColumns("id");
         properties = new Properties();
+        batchExecutor = new BatchExecutor(dataSource);
         propertyLoader = new PropertyLoader();
         init();
     }
@@ -56,6 +62,35 @@ public class TeacherPostgreSQL implements TeacherDAO {
         propertyLoader.loadProperty(properties, "properties/queriesPostrgeSQL.properties");
     }
 
+    /**
+     * Sets the versions of tables given a new version on every change.
+     *
+     * @param tableVersions - table versions
+     */
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Sets the number of statements sent to the database in one batch.
+     *
+     * @param batchSize - batch size
+     */
+    public void setBatchSize(int batchSize) {
+        batchExecutor.setBatchSize(batchSize);
+    }
+
+    /**
+     * Sets the seconds a statement may run before the driver cancels it, 0 for no limit.
+     *
+     * @param queryTimeout - query timeout in seconds
+     */
+    public void setQueryTimeout(int queryTimeout) {
+        jdbcTemplate.setQueryTimeout(queryTimeout);
+        namedParameterJdbcTemplate.getJdbcTemplate().setQueryTimeout(queryTimeout);
+        insertTeacher.getJdbcTemplate().setQueryTimeout(queryTimeout);
+    }
+
     /**
      * Gets teacher by id with id, first name, last name, department, course.
      *
@@ -125,7 +160,29 @@ public class TeacherPostgreSQL implements TeacherDAO {
     @Override
     public List<Teacher> getAll() {
         String sql = properties.getProperty("getAllTeachers");
-        return jdbcTemplate.query(sql, new TeacherMapper());
+        List<Teacher> teachers = jdbcTemplate.query(sql, new TeacherMapper());
+        LOGGER.debug("Returned size of teachers: {}", teachers.size());
+        return teachers;
+    }
+
+    /**
+     * Gets a page of teachers ordered by id, starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of teachers
+     * @return - List<Teacher>
+     */
+    @Override
+    public List<Teacher> getPage(int afterId, int size) {
+        LOGGER.debug("Invoke method getPage({}, {})", afterId, size);
+        if (size < 1) {
+            LOGGER.error("Page size must be positive: {}", size);
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String sql = properties.getProperty("getTeacherPage");
+        List<Teacher> teachers = jdbcTemplate.query(sql, new TeacherMapper(), afterId, size);
+        LOGGER.debug("Returned size of teachers: {}", teachers.size());
+        return teachers;
     }
 
 
@@ -157,9 +214,37 @@ public class TeacherPostgreSQL implements TeacherDAO {
             LOGGER.warn("Unique index or primary key violation");
             throw new DAOException("Unique index or primary key violation", e);
         }
+        tableVersions.changed(TEACHERS);
         return true;
     }
 
+    /**
+     * Inserts teachers to the table in batches and sets generated ids to them.
+     *
+     * @param teachers - teachers
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    @Override
+    public int insertAll(List<Teacher> teachers) throws DAOException {
+        if (teachers == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        LOGGER.debug("Insert teachers, size of teachers: {}", teachers.size());
+        String sql = properties.getProperty("insertTeacherBatch");
+        try {
+            return batchExecutor.insertAll(sql, teachers, (ps, teacher) -> {
+                ps.setString(1, teacher.getFirstName());
+                ps.setString(2, teacher.getLastName());
+                ps.setInt(3, teacher.getCourse().getId());
+                ps.setInt(4, teacher.getDepartment().getId());
+            }, Teacher::setId);
+        } finally {
+            tableVersions.changed(TEACHERS);
+        }
+    }
+
     /**
      * Updates a recorded data by id.
      *
@@ -188,6 +273,7 @@ public class TeacherPostgreSQL implements TeacherDAO {
             LOGGER.warn("The teacher does not exist: {}", teacher);
             throw new DAOException("The teacher does not exist");
         }
+        tableVersions.changed(TEACHERS);
         return true;
     }
 
@@ -210,6 +296,7 @@ public class TeacherPostgreSQL implements TeacherDAO {
             LOGGER.warn("The teacher does not exist: {}", teacher);
             throw new DAOException("The teacher does not exist");
         }
+        tableVersions.changed(TEACHERS);
         return teacher;
     }
 }
@@ -0,0 +1,21 @@
+package com.foxminded.exceptions;
+
+/**
+ * Thrown when a request times out after its response has been committed. The response can't be answered
+ * with an error status any more, so the exception is left to the container, which ends the response
+ * with an error instead of completing it, and the client sees that it is incomplete.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class IncompleteResponseException extends RuntimeException {
+
+    /**
+     * Constructor of the class.
+     *
+     * @param msg - massage
+     */
+    public IncompleteResponseException(String msg) {
+        super(msg);
+    }
+}
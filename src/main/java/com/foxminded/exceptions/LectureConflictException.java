@@ -0,0 +1,40 @@
+package com.foxminded.exceptions;
+
+import com.foxminded.model.LectureConflict;
+
+import java.util.List;
+
+/**
+ * Thrown when a lecture books a class room, teacher or group already booked at the same time.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class LectureConflictException extends DAOException {
+    private final transient List<LectureConflict> conflicts;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param conflicts - conflicts of the lecture
+     */
+    public LectureConflictException(List<LectureConflict> conflicts) {
+        super("Lecture conflicts with booked lectures: " + conflicts);
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    /**
+     * Constructor of the class used when the database rejects the lecture, the conflicting lectures are unknown.
+     *
+     * @param message - the detail message
+     * @param cause   - violation of the database constraint
+     */
+    public LectureConflictException(String message, Throwable cause) {
+        super(message, cause);
+        this.conflicts = List.of();
+    }
+
+    public List<LectureConflict> getConflicts() {
+        return conflicts;
+    }
+}
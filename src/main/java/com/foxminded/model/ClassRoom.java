@@ -31,6 +31,15 @@ public class ClassRoom {
         this.capacity = capacity;
     }
 
+    /**
+     * Copies the class room.
+     *
+     * @param classRoom - class room to copy
+     */
+    public ClassRoom(ClassRoom classRoom) {
+        this(classRoom.id, classRoom.name, classRoom.capacity);
+    }
+
     public int getId() {
         return id;
     }
@@ -36,6 +36,16 @@ public class Course {
         this.name = name;
     }
 
+    /**
+     * Copies the course, the list of students is copied, the students themselves are shared.
+     *
+     * @param course - course to copy
+     */
+    public Course(Course course) {
+        this(course.id, course.name);
+        this.students = course.students == null ? null : new ArrayList<>(course.students);
+    }
+
     public int getId() {
         return id;
     }
@@ -35,6 +35,16 @@ public class Department {
         this.name = name;
     }
 
+    /**
+     * Copies the department, the list of teachers is copied, the teachers themselves are shared.
+     *
+     * @param department - department to copy
+     */
+    public Department(Department department) {
+        this(department.id, department.name);
+        this.teachers = department.teachers == null ? null : new ArrayList<>(department.teachers);
+    }
+
     public int getId() {
         return id;
     }
@@ -0,0 +1,93 @@
+package com.foxminded.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Time free for a teacher and groups, with the class rooms free from its start when they were asked for.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class FreeSlot {
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private List<ClassRoom> classRooms;
+
+    public FreeSlot() {
+    }
+
+    public FreeSlot(LocalDateTime start, LocalDateTime end, List<ClassRoom> classRooms) {
+        this.start = start;
+        this.end = end;
+        this.classRooms = classRooms;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+
+    /**
+     * Gets the class rooms free for the asked duration from the start, empty when no class rooms were asked for.
+     *
+     * @return - List<ClassRoom> ordered by capacity
+     */
+    public List<ClassRoom> getClassRooms() {
+        return classRooms;
+    }
+
+    public void setClassRooms(List<ClassRoom> classRooms) {
+        this.classRooms = classRooms;
+    }
+
+    /**
+     * Gets the length of the slot in minutes.
+     *
+     * @return - long
+     */
+    public long getMinutes() {
+        return start == null || end == null ? 0 : Duration.between(start, end).toMinutes();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FreeSlot freeSlot = (FreeSlot) o;
+        return Objects.equals(start, freeSlot.start)
+                && Objects.equals(end, freeSlot.end)
+                && Objects.equals(classRooms, freeSlot.classRooms);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end, classRooms);
+    }
+
+    @Override
+    public String toString() {
+        return "FreeSlot{"
+                + "start=" + start
+                + ", end=" + end
+                + ", classRooms=" + classRooms
+                + '}';
+    }
+}
@@ -44,6 +44,16 @@ public class Group {
         this.name = name;
     }
 
+    /**
+     * Copies the group, the list of students is copied, the students themselves are shared.
+     *
+     * @param group - group to copy
+     */
+    public Group(Group group) {
+        this(group.id, group.name);
+        this.students = group.students == null ? null : new ArrayList<>(group.students);
+    }
+
     public int getId() {
         return id;
     }
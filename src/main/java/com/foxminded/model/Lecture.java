@@ -1,8 +1,11 @@
 package com.foxminded.model;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+import static com.foxminded.constants.Constants.DEFAULT_LECTURE_DURATION;
+
 /**
  * Lecture class.
  *
@@ -13,6 +16,7 @@ public class Lecture {
     private int id;
     private String name;
     private LocalDateTime date;
+    private Duration duration = Duration.ofMinutes(DEFAULT_LECTURE_DURATION);
     private Teacher teacher;
     private Group group;
     private ClassRoom classRoom;
@@ -74,6 +78,12 @@ public class Lecture {
         this.course = course;
     }
 
+    public Lecture(int id, String name, LocalDateTime date, Duration duration, Teacher teacher, ClassRoom classRoom,
+                   Group group, Course course) {
+        this(id, name, date, teacher, classRoom, group, course);
+        this.duration = duration;
+    }
+
     public int getId() {
         return id;
     }
@@ -98,6 +108,19 @@ public class Lecture {
         return date;
     }
 
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the moment the lecture ends.
+     *
+     * @return - LocalDateTime, null when the date or duration is unknown
+     */
+    public LocalDateTime getEnd() {
+        return date == null || duration == null ? null : date.plus(duration);
+    }
+
     public Course getCourse() {
         return course;
     }
@@ -106,6 +129,10 @@ public class Lecture {
         this.date = date;
     }
 
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
     public void setTeacher(Teacher teacher) {
         this.teacher = teacher;
     }
@@ -142,6 +169,7 @@ public class Lecture {
         return id == lecture.id
                 && Objects.equals(name, lecture.name)
                 && Objects.equals(date, lecture.date)
+                && Objects.equals(duration, lecture.duration)
                 && Objects.equals(teacher, lecture.teacher)
                 && Objects.equals(group, lecture.group)
                 && Objects.equals(classRoom, lecture.classRoom)
@@ -150,7 +178,7 @@ public class Lecture {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, date, teacher, group, classRoom, course);
+        return Objects.hash(id, name, date, duration, teacher, group, classRoom, course);
     }
 
     @Override
@@ -159,6 +187,7 @@ public class Lecture {
                 + "id=" + id
                 + ", name='" + name + '\''
                 + ", date=" + date
+                + ", duration=" + duration
                 + ", teacher=" + teacher
                 + ", group=" + group
                 + ", classRoom=" + classRoom
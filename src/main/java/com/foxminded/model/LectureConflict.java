@@ -0,0 +1,92 @@
+package com.foxminded.model;
+
+import java.util.Objects;
+
+/**
+ * Lecture booking a class room, teacher or group already booked by another lecture at the same time.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class LectureConflict {
+    private Resource resource;
+    private int resourceId;
+    private Lecture lecture;
+    private Lecture booked;
+
+    public LectureConflict() {
+    }
+
+    public LectureConflict(Resource resource, int resourceId, Lecture lecture, Lecture booked) {
+        this.resource = resource;
+        this.resourceId = resourceId;
+        this.lecture = lecture;
+        this.booked = booked;
+    }
+
+    public Resource getResource() {
+        return resource;
+    }
+
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    public int getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(int resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public Lecture getLecture() {
+        return lecture;
+    }
+
+    public void setLecture(Lecture lecture) {
+        this.lecture = lecture;
+    }
+
+    public Lecture getBooked() {
+        return booked;
+    }
+
+    public void setBooked(Lecture booked) {
+        this.booked = booked;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LectureConflict that = (LectureConflict) o;
+        return resourceId == that.resourceId
+                && resource == that.resource
+                && Objects.equals(lecture, that.lecture)
+                && Objects.equals(booked, that.booked);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resource, resourceId, lecture, booked);
+    }
+
+    @Override
+    public String toString() {
+        return "LectureConflict{" + "resource=" + resource + ", resourceId=" + resourceId
+                + ", lecture=" + (lecture == null ? null : lecture.getName())
+                + ", booked=" + (booked == null ? null : booked.getName()) + '}';
+    }
+
+    /**
+     * Booked resource of a lecture.
+     */
+    public enum Resource {
+        CLASS_ROOM, TEACHER, GROUP
+    }
+}
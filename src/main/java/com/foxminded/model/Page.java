@@ -0,0 +1,80 @@
+package com.foxminded.model;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Page of items ordered by id with the id after which the next page starts.
+ *
+ * @param <T> - type of items
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class Page<T> {
+    private List<T> items;
+    private Integer nextAfter;
+
+    public Page() {
+    }
+
+    public Page(List<T> items, Integer nextAfter) {
+        this.items = items;
+        this.nextAfter = nextAfter;
+    }
+
+    /**
+     * Makes a page from items fetched with one extra row, the extra row only tells that the next page exists.
+     *
+     * @param fetched - up to size + 1 items ordered by id
+     * @param size    - page size
+     * @param id      - gets id of an item
+     * @param <T>     - type of items
+     * @return - Page
+     */
+    public static <T> Page<T> of(List<T> fetched, int size, ToIntFunction<T> id) {
+        if (fetched.size() <= size) {
+            return new Page<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new Page<>(items, id.applyAsInt(items.get(size - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Integer getNextAfter() {
+        return nextAfter;
+    }
+
+    public void setNextAfter(Integer nextAfter) {
+        this.nextAfter = nextAfter;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Page<?> page = (Page<?>) o;
+        return Objects.equals(items, page.items) && Objects.equals(nextAfter, page.nextAfter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(items, nextAfter);
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" + "items=" + items + ", nextAfter=" + nextAfter + '}';
+    }
+}
@@ -0,0 +1,162 @@
+package com.foxminded.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Generated timetable with its quality.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class Timetable {
+    private List<Lecture> lectures;
+    private List<Lecture> unplaced;
+    private int required;
+    private int gaps;
+    private int attempts;
+    private long elapsed;
+
+    public Timetable() {
+    }
+
+    public Timetable(List<Lecture> lectures, List<Lecture> unplaced, int required, int gaps, int attempts,
+                     long elapsed) {
+        this.lectures = lectures;
+        this.unplaced = unplaced;
+        this.required = required;
+        this.gaps = gaps;
+        this.attempts = attempts;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Gets the lectures of all weeks of the timetable.
+     *
+     * @return - List<Lecture>
+     */
+    public List<Lecture> getLectures() {
+        return lectures;
+    }
+
+    /**
+     * Gets the weekly lectures that did not fit, with their group and course only.
+     *
+     * @return - List<Lecture>
+     */
+    public List<Lecture> getUnplaced() {
+        return unplaced;
+    }
+
+    /**
+     * Gets the number of lectures required in a week.
+     *
+     * @return - int
+     */
+    public int getRequired() {
+        return required;
+    }
+
+    /**
+     * Gets the number of lectures placed in a week.
+     *
+     * @return - int
+     */
+    public int getPlaced() {
+        return required - (unplaced == null ? 0 : unplaced.size());
+    }
+
+    /**
+     * Gets the share of the required lectures placed in a week.
+     *
+     * @return - double from 0 to 1
+     */
+    public double getCompleteness() {
+        return required == 0 ? 1 : (double) getPlaced() / required;
+    }
+
+    /**
+     * Gets the number of free slots between lectures of a group in a day, summed over groups and days of a week.
+     *
+     * @return - int
+     */
+    public int getGaps() {
+        return gaps;
+    }
+
+    /**
+     * Gets the number of searches run to find the timetable.
+     *
+     * @return - int
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Gets the time spent on the search in milliseconds.
+     *
+     * @return - long
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    public void setLectures(List<Lecture> lectures) {
+        this.lectures = lectures;
+    }
+
+    public void setUnplaced(List<Lecture> unplaced) {
+        this.unplaced = unplaced;
+    }
+
+    public void setRequired(int required) {
+        this.required = required;
+    }
+
+    public void setGaps(int gaps) {
+        this.gaps = gaps;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public void setElapsed(long elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Timetable timetable = (Timetable) o;
+        return required == timetable.required
+                && gaps == timetable.gaps
+                && attempts == timetable.attempts
+                && elapsed == timetable.elapsed
+                && Objects.equals(lectures, timetable.lectures)
+                && Objects.equals(unplaced, timetable.unplaced);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lectures, unplaced, required, gaps, attempts, elapsed);
+    }
+
+    @Override
+    public String toString() {
+        return "Timetable{"
+                + "lectures=" + (lectures == null ? 0 : lectures.size())
+                + ", required=" + required
+                + ", placed=" + getPlaced()
+                + ", gaps=" + gaps
+                + ", attempts=" + attempts
+                + ", elapsed=" + elapsed
+                + '}';
+    }
+}
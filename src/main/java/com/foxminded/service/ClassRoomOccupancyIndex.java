@@ -0,0 +1,387 @@
+package com.foxminded.service;
+
+import com.foxminded.dao.TableVersions;
+import com.foxminded.dao.layers.ClassRoomDAO;
+import com.foxminded.dao.layers.LectureDAO;
+import com.foxminded.model.ClassRoom;
+import com.foxminded.model.FreeSlot;
+import com.foxminded.model.Lecture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.foxminded.dao.TableVersions.*;
+
+/**
+ * Occupancy of every class room on a grid of equal slots starting at the origin, one bit per slot, so the
+ * free class rooms of a time are found by looking for a set bit in the slots of the time of every class
+ * room large enough. A lecture occupies every slot it touches, a class room is free only when no lecture
+ * touches a slot of the asked time.
+ * The index is built from all class rooms and lectures on first use and updated by the service on every
+ * change of a lecture. It is built again when class rooms change or lectures are deleted by cascade with
+ * their group, teacher, course or department. The index holds committed lectures only, changes made in
+ * a transaction are applied after its commit and forgotten on rollback.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ManagedResource(objectName = "com.foxminded:type=Index,name=classRoomOccupancy",
+        description = "Occupied slots of class rooms")
+public class ClassRoomOccupancyIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassRoomOccupancyIndex.class);
+    private static final String[] WATCHED = {CLASS_ROOMS, COURSES, DEPARTMENTS, GROUPS, TEACHERS};
+
+    private final ClassRoomDAO classRoomDAO;
+    private final LectureDAO lectureDAO;
+    private final TableVersions tableVersions;
+    private final LocalDateTime origin;
+    private final long slotMinutes;
+    private final long slotsPerWeek;
+    private ClassRoom[] classRooms = new ClassRoom[0];
+    private BitSet[] occupied = new BitSet[0];
+    private final Map<Integer, Integer> positions = new HashMap<>();
+    private final Map<Integer, Booking> bookings = new HashMap<>();
+    private final List<Map<Integer, Booking>> bookingsByClassRoom = new ArrayList<>();
+    private long version = -1;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param classRoomDAO  - source of the class rooms
+     * @param lectureDAO    - source of the lectures
+     * @param tableVersions - versions of the tables, the index is built again when class rooms change
+     * @param origin        - first day of the grid, lectures before it are not indexed
+     * @param slot          - length of a slot of the grid, a whole number of minutes dividing a week
+     */
+    public ClassRoomOccupancyIndex(ClassRoomDAO classRoomDAO, LectureDAO lectureDAO, TableVersions tableVersions,
+                                   LocalDate origin, Duration slot) {
+        if (classRoomDAO == null || lectureDAO == null || tableVersions == null || origin == null || slot == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        long weekMinutes = Duration.ofDays(7).toMinutes();
+        if (slot.toMinutes() < 1 || weekMinutes % slot.toMinutes() != 0) {
+            LOGGER.error("Slot must divide a week in whole minutes: {}", slot);
+            throw new IllegalArgumentException("Slot must divide a week in whole minutes");
+        }
+        this.classRoomDAO = classRoomDAO;
+        this.lectureDAO = lectureDAO;
+        this.tableVersions = tableVersions;
+        this.origin = origin.atStartOfDay();
+        this.slotMinutes = slot.toMinutes();
+        this.slotsPerWeek = weekMinutes / slotMinutes;
+    }
+
+    /**
+     * Finds the class rooms large enough that are free from the start to the end of the time in each of
+     * the weeks starting from the week of the time.
+     *
+     * @param from     - start of the time
+     * @param to       - end of the time
+     * @param capacity - least capacity
+     * @param weeks    - number of weeks the time repeats in
+     * @return - List<ClassRoom> ordered by capacity
+     */
+    public synchronized List<ClassRoom> findFree(LocalDateTime from, LocalDateTime to, int capacity, int weeks) {
+        if (from == null || to == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        if (!to.isAfter(from) || weeks < 1) {
+            LOGGER.error("Wrong time: from {} to {} for {} weeks", from, to, weeks);
+            throw new IllegalArgumentException("Time must end after it starts and repeat at least once");
+        }
+        if (from.isBefore(origin)) {
+            LOGGER.error("Time {} is before the origin of the index {}", from, origin);
+            throw new IllegalArgumentException("Time must not be before " + origin.toLocalDate());
+        }
+        build();
+        int start = Math.toIntExact(floor(from));
+        int end = Math.toIntExact(ceil(to));
+        List<ClassRoom> free = new ArrayList<>();
+        for (int r = lowerBound(capacity); r < classRooms.length; r++) {
+            if (isFree(occupied[r], start, end, weeks)) {
+                free.add(classRooms[r]);
+            }
+        }
+        LOGGER.debug("Free class rooms from {} to {} for {} weeks: {}", from, to, weeks, free.size());
+        return free;
+    }
+
+    /**
+     * Finds the earliest start on the grid within the time when a class room large enough is free for
+     * the duration. Every class room skips its occupied runs with one jump from a set bit to the next clear
+     * bit, so the time is never probed slot by slot.
+     *
+     * @param from     - start of the time
+     * @param to       - end of the time
+     * @param duration - time the class room is needed for
+     * @param capacity - least capacity
+     * @return - FreeSlot from the earliest start to the end of the time with the class rooms free for
+     * the duration from the start, null when no class room is free long enough
+     */
+    public synchronized FreeSlot findFirstFree(LocalDateTime from, LocalDateTime to, Duration duration,
+                                               int capacity) {
+        if (from == null || to == null || duration == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        if (duration.toMinutes() < 1 || from.plus(duration).isAfter(to)) {
+            LOGGER.error("Wrong time: from {} to {} for {}", from, to, duration);
+            throw new IllegalArgumentException("Time must be at least as long as the duration");
+        }
+        if (from.isBefore(origin)) {
+            LOGGER.error("Time {} is before the origin of the index {}", from, origin);
+            throw new IllegalArgumentException("Time must not be before " + origin.toLocalDate());
+        }
+        build();
+        int length = Math.toIntExact(-Math.floorDiv(-duration.toMinutes(), slotMinutes));
+        int first = Math.toIntExact(ceil(from));
+        int last = Math.toIntExact(Math.floorDiv(Duration.between(origin, to).toMinutes() - duration.toMinutes(),
+                slotMinutes));
+        int best = Integer.MAX_VALUE;
+        int low = lowerBound(capacity);
+        for (int r = low; r < classRooms.length; r++) {
+            int start = first;
+            while (start <= last && start < best) {
+                int next = occupied[r].nextSetBit(start);
+                if (next < 0 || next >= start + length) {
+                    best = start;
+                    break;
+                }
+                start = occupied[r].nextClearBit(next);
+            }
+        }
+        if (best == Integer.MAX_VALUE) {
+            return null;
+        }
+        List<ClassRoom> free = new ArrayList<>();
+        for (int r = low; r < classRooms.length; r++) {
+            if (isFree(occupied[r], best, best + length, 1)) {
+                free.add(classRooms[r]);
+            }
+        }
+        return new FreeSlot(origin.plusMinutes(best * slotMinutes), to, free);
+    }
+
+    /**
+     * Occupies the class room of the lecture, replacing the previous booking of the lecture,
+     * inside a transaction after the commit.
+     *
+     * @param lecture - stored lecture with its id
+     */
+    public void book(Lecture lecture) {
+        if (lecture == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        change(lecture.getId(), new Lecture(lecture.getId(), lecture.getName(), lecture.getDate(),
+                lecture.getDuration(), lecture.getTeacher(), lecture.getClassRoom(), lecture.getGroup(),
+                lecture.getCourse()));
+    }
+
+    /**
+     * Frees the slots occupied by the lecture, inside a transaction after the commit.
+     *
+     * @param lecture - lecture
+     */
+    public void remove(Lecture lecture) {
+        if (lecture == null) {
+            return;
+        }
+        change(lecture.getId(), null);
+    }
+
+    /**
+     * Drops all bookings, the index is built again from the database on next use.
+     */
+    @ManagedOperation(description = "Builds the index again from the database on next use")
+    public synchronized void invalidate() {
+        version = -1;
+        classRooms = new ClassRoom[0];
+        occupied = new BitSet[0];
+        positions.clear();
+        bookings.clear();
+        bookingsByClassRoom.clear();
+    }
+
+    @ManagedAttribute(description = "Number of indexed lectures")
+    public synchronized int getSize() {
+        return bookings.size();
+    }
+
+    @ManagedAttribute(description = "Memory taken by the occupancy bits in bytes")
+    public synchronized long getBytes() {
+        long bytes = 0;
+        for (BitSet bits : occupied) {
+            bytes += bits.size() / Byte.SIZE;
+        }
+        return bytes;
+    }
+
+    /**
+     * Checks every week for a set bit from the first to the last slot of the time.
+     */
+    private boolean isFree(BitSet bits, int start, int end, int weeks) {
+        for (int w = 0; w < weeks; w++) {
+            int shift = Math.toIntExact(w * slotsPerWeek);
+            int next = bits.nextSetBit(start + shift);
+            if (next >= 0 && next < end + shift) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void build() {
+        long current = tableVersions.getVersion(WATCHED);
+        if (version == current) {
+            return;
+        }
+        invalidate();
+        version = current;
+        List<ClassRoom> all = new ArrayList<>(classRoomDAO.getAll());
+        all.sort(Comparator.comparingInt(ClassRoom::getCapacity));
+        classRooms = all.toArray(new ClassRoom[0]);
+        occupied = new BitSet[classRooms.length];
+        for (int r = 0; r < classRooms.length; r++) {
+            positions.put(classRooms[r].getId(), r);
+            occupied[r] = new BitSet();
+            bookingsByClassRoom.add(new HashMap<>());
+        }
+        lectureDAO.forEach(this::put);
+        LOGGER.debug("Indexed lectures of {} class rooms: {}", classRooms.length, bookings.size());
+    }
+
+    private void put(Lecture lecture) {
+        unbook(lecture.getId());
+        Integer position = lecture.getClassRoom() == null ? null : positions.get(lecture.getClassRoom().getId());
+        if (position == null || lecture.getEnd() == null) {
+            return;
+        }
+        long start = Math.max(0, floor(lecture.getDate()));
+        long end = ceil(lecture.getEnd());
+        if (end <= start) {
+            return;
+        }
+        Booking booking = new Booking(position, Math.toIntExact(start), Math.toIntExact(end));
+        bookings.put(lecture.getId(), booking);
+        bookingsByClassRoom.get(position).put(lecture.getId(), booking);
+        occupied[position].set(booking.start, booking.end);
+    }
+
+    /**
+     * Clears the slots of the lecture and sets again the slots of the other lectures of the class room
+     * sharing a slot with it.
+     */
+    private void unbook(int lectureId) {
+        Booking removed = bookings.remove(lectureId);
+        if (removed == null) {
+            return;
+        }
+        Map<Integer, Booking> others = bookingsByClassRoom.get(removed.position);
+        others.remove(lectureId);
+        BitSet bits = occupied[removed.position];
+        bits.clear(removed.start, removed.end);
+        for (Booking other : others.values()) {
+            if (other.start < removed.end && removed.start < other.end) {
+                bits.set(other.start, other.end);
+            }
+        }
+    }
+
+    private int lowerBound(int capacity) {
+        int low = 0;
+        int high = classRooms.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (classRooms[middle].getCapacity() < capacity) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long floor(LocalDateTime time) {
+        return Math.floorDiv(Duration.between(origin, time).toMinutes(), slotMinutes);
+    }
+
+    private long ceil(LocalDateTime time) {
+        return -Math.floorDiv(-Duration.between(origin, time).toMinutes(), slotMinutes);
+    }
+
+    /**
+     * Applies the change of the lecture to the index, or keeps it for the commit of the current transaction.
+     *
+     * @param lectureId - id of the lecture
+     * @param lecture   - new booking of the lecture, null when the lecture is removed
+     */
+    @SuppressWarnings("unchecked")
+    private void change(int lectureId, Lecture lecture) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(Collections.singletonMap(lectureId, lecture));
+            return;
+        }
+        Map<Integer, Lecture> changes = (Map<Integer, Lecture>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Map<Integer, Lecture> bound = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ClassRoomOccupancyIndex.this);
+                }
+            });
+            changes = bound;
+        }
+        changes.put(lectureId, lecture);
+    }
+
+    /**
+     * Applies committed changes, unless the index is not built and will read them from the database.
+     */
+    private synchronized void apply(Map<Integer, Lecture> committed) {
+        if (version < 0) {
+            return;
+        }
+        committed.forEach((lectureId, lecture) -> {
+            if (lecture == null) {
+                unbook(lectureId);
+            } else {
+                put(lecture);
+            }
+        });
+    }
+
+    /**
+     * Slots from start inclusive to end exclusive occupied by a lecture in the class room at the position.
+     */
+    private static final class Booking {
+        private final int position;
+        private final int start;
+        private final int end;
+
+        Booking(int position, int start, int end) {
+            this.position = position;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -23,10 +24,15 @@ public class ClassRoomServiceImp implements ClassRoomService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ClassRoomServiceImp.class);
 
     private ClassRoomDAO classRoomDAO;
+    private ScheduleCache scheduleCache;
+    private ClassRoomOccupancyIndex classRoomOccupancyIndex;
 
     @Autowired
-    public ClassRoomServiceImp(ClassRoomDAO classRoomDAO) {
+    public ClassRoomServiceImp(ClassRoomDAO classRoomDAO, ScheduleCache scheduleCache,
+                               ClassRoomOccupancyIndex classRoomOccupancyIndex) {
         this.classRoomDAO = classRoomDAO;
+        this.scheduleCache = scheduleCache;
+        this.classRoomOccupancyIndex = classRoomOccupancyIndex;
     }
 
 
@@ -54,6 +60,23 @@ public class ClassRoomServiceImp implements ClassRoomService {
         return classRoomDAO.getAll();
     }
 
+    /**
+     * Gets the free class rooms from the occupancy index, which reads all class rooms and lectures
+     * on first use.
+     *
+     * @param from     - start of the time
+     * @param to       - end of the time
+     * @param capacity - least capacity
+     * @param weeks    - number of weeks the time repeats in, starting from the week of the time
+     * @return - List<ClassRoom> ordered by capacity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClassRoom> getFree(LocalDateTime from, LocalDateTime to, int capacity, int weeks) {
+        LOGGER.debug("Invoke method getFree({}, {}, {}, {})", from, to, capacity, weeks);
+        return classRoomOccupancyIndex.findFree(from, to, capacity, weeks);
+    }
+
     /**
      * Inserts class room to the table.
      *
@@ -61,7 +84,7 @@ public class ClassRoomServiceImp implements ClassRoomService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean insert(ClassRoom classRoom) throws DAOException {
         LOGGER.debug("Invoke method insert({})", classRoom);
         return classRoomDAO.insert(classRoom);
@@ -74,7 +97,7 @@ public class ClassRoomServiceImp implements ClassRoomService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean update(ClassRoom classRoom) throws DAOException {
         LOGGER.debug("Invoke method update({})", classRoom);
         return classRoomDAO.update(classRoom);
@@ -87,10 +110,13 @@ public class ClassRoomServiceImp implements ClassRoomService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public ClassRoom delete(int classRoomId) throws DAOException {
         LOGGER.debug("Invoke method delete({})", classRoomId);
         ClassRoom classRoom = classRoomDAO.getById(classRoomId);
-        return classRoomDAO.delete(classRoom);
+        ClassRoom deleted = classRoomDAO.delete(classRoom);
+        // lectures in the class room are deleted by cascade
+        scheduleCache.invalidateAll();
+        return deleted;
     }
 }
@@ -26,11 +26,13 @@ public class CourseServiceImp implements CourseService {
 
     private CourseDAO courseDAO;
     private StudentDAO studentDAO;
+    private ScheduleCache scheduleCache;
 
     @Autowired
-    public CourseServiceImp(CourseDAO courseDAO, StudentDAO studentDAO) {
+    public CourseServiceImp(CourseDAO courseDAO, StudentDAO studentDAO, ScheduleCache scheduleCache) {
         this.courseDAO = courseDAO;
         this.studentDAO = studentDAO;
+        this.scheduleCache = scheduleCache;
     }
 
     /**
@@ -78,7 +80,7 @@ public class CourseServiceImp implements CourseService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean insert(Course course) throws DAOException {
         LOGGER.debug("Invoke method insert({})", course);
         return courseDAO.insert(course);
@@ -91,7 +93,7 @@ public class CourseServiceImp implements CourseService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean update(Course course) throws DAOException {
         LOGGER.debug("Invoke method update({})", course);
         return courseDAO.update(course);
@@ -104,10 +106,13 @@ public class CourseServiceImp implements CourseService {
      * @return - Course
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public Course delete(String courseName) throws DAOException {
         LOGGER.debug("Invoke method delete({})", courseName);
         Course course = courseDAO.getByName(courseName);
-        return courseDAO.delete(course);
+        Course deleted = courseDAO.delete(course);
+        // lectures of the course are deleted by cascade
+        scheduleCache.invalidateAll();
+        return deleted;
     }
 }
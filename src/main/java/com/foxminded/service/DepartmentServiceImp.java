@@ -26,11 +26,13 @@ public class DepartmentServiceImp implements DepartmentService {
 
     private DepartmentDAO departmentDAO;
     private TeacherDAO teacherDAO;
+    private ScheduleCache scheduleCache;
 
     @Autowired
-    public DepartmentServiceImp(DepartmentDAO departmentDAO, TeacherDAO teacherDAO) {
+    public DepartmentServiceImp(DepartmentDAO departmentDAO, TeacherDAO teacherDAO, ScheduleCache scheduleCache) {
         this.departmentDAO = departmentDAO;
         this.teacherDAO = teacherDAO;
+        this.scheduleCache = scheduleCache;
     }
 
     /**
@@ -78,7 +80,7 @@ public class DepartmentServiceImp implements DepartmentService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean insert(Department department) throws DAOException {
         LOGGER.debug("Invoke method insert({})", department);
         return departmentDAO.insert(department);
@@ -91,7 +93,7 @@ public class DepartmentServiceImp implements DepartmentService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean update(Department department) throws DAOException {
         LOGGER.debug("Invoke method update({})", department);
         return departmentDAO.update(department);
@@ -104,10 +106,13 @@ public class DepartmentServiceImp implements DepartmentService {
      * @return - Department
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public Department delete(String departmentName) throws DAOException {
         LOGGER.debug("Invoke method delete({})", departmentName);
         Department department = departmentDAO.getByName(departmentName);
-        return departmentDAO.delete(department);
+        Department deleted = departmentDAO.delete(department);
+        // teachers of the department and their lectures are deleted by cascade
+        scheduleCache.invalidateAll();
+        return deleted;
     }
 }
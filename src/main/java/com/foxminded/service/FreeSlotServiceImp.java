@@ -0,0 +1,229 @@
+package com.foxminded.service;
+
+import com.foxminded.dao.layers.GroupDAO;
+import com.foxminded.dao.layers.LectureDAO;
+import com.foxminded.dao.layers.TeacherDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.FreeSlot;
+import com.foxminded.model.Lecture;
+import com.foxminded.model.Teacher;
+import com.foxminded.service.layers.FreeSlotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@Component
+@Service("freeSlotService")
+public class FreeSlotServiceImp implements FreeSlotService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FreeSlotServiceImp.class);
+
+    private TeacherDAO teacherDAO;
+    private GroupDAO groupDAO;
+    private LectureDAO lectureDAO;
+    private ClassRoomOccupancyIndex classRoomOccupancyIndex;
+    private LocalTime dayStart;
+    private LocalTime dayEnd;
+    private int days;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param teacherDAO              - teacherDAO
+     * @param groupDAO                - groupDAO
+     * @param lectureDAO              - lectureDAO
+     * @param classRoomOccupancyIndex - free class rooms
+     * @param dayStart                - start of the working hours
+     * @param dayEnd                  - end of the working hours
+     * @param days                    - number of working days of a week starting from Monday
+     */
+    @Autowired
+    public FreeSlotServiceImp(TeacherDAO teacherDAO, GroupDAO groupDAO, LectureDAO lectureDAO,
+                              ClassRoomOccupancyIndex classRoomOccupancyIndex, LocalTime dayStart,
+                              LocalTime dayEnd, int days) {
+        if (dayStart == null || dayEnd == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        if (!dayEnd.isAfter(dayStart) || days < 1 || days > 7) {
+            LOGGER.error("Wrong working hours: from {} to {} for {} days", dayStart, dayEnd, days);
+            throw new IllegalArgumentException("Working hours must end after they start on 1 to 7 days");
+        }
+        this.teacherDAO = teacherDAO;
+        this.groupDAO = groupDAO;
+        this.lectureDAO = lectureDAO;
+        this.classRoomOccupancyIndex = classRoomOccupancyIndex;
+        this.dayStart = dayStart;
+        this.dayEnd = dayEnd;
+        this.days = days;
+    }
+
+    /**
+     * Loads the lectures of the teacher and of every group with one query each, merges the lists sorted
+     * by start into busy times and sweeps the working hours of the period against them in one pass.
+     * When a capacity is passed every slot starts at the earliest time a class room is free for the duration
+     * and slots without such a class room are dropped.
+     *
+     * @param teacherFirstName - teacherFirstName
+     * @param teacherLastName  - teacherLastName
+     * @param groupNames       - names of the groups
+     * @param from             - first day of the period
+     * @param to               - day after the last day of the period
+     * @param duration         - least length of a slot
+     * @param capacity         - least capacity of a class room, null when class rooms are not needed
+     * @return - List<FreeSlot> ordered by start
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreeSlot> getCommonFreeSlots(String teacherFirstName, String teacherLastName,
+                                             List<String> groupNames, LocalDate from, LocalDate to,
+                                             Duration duration, Integer capacity) throws DAOException {
+        LOGGER.debug("Invoke method getCommonFreeSlots({}, {}, {}, {}, {}, {}, {})", teacherFirstName,
+                teacherLastName, groupNames, from, to, duration, capacity);
+        if (groupNames == null || from == null || to == null || duration == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        if (!to.isAfter(from) || duration.toMinutes() < 1) {
+            LOGGER.error("Wrong period: from {} to {} for {}", from, to, duration);
+            throw new IllegalArgumentException("Period must end after it starts and duration must be positive");
+        }
+        // lectures of the day before the period may run into its first day
+        LocalDateTime start = from.minusDays(1).atStartOfDay();
+        LocalDateTime end = to.atStartOfDay();
+        List<List<Lecture>> resources = new ArrayList<>();
+        Teacher teacher = teacherDAO.getByName(teacherFirstName, teacherLastName);
+        resources.add(lectureDAO.getLecturesByTeacherForPeriod(start, end, teacher));
+        for (String groupName : new LinkedHashSet<>(groupNames)) {
+            resources.add(lectureDAO.getLecturesByGroupForPeriod(start, end, groupDAO.getByName(groupName)));
+        }
+        List<FreeSlot> slots = sweep(from, to, duration, merge(resources));
+        if (capacity == null) {
+            return slots;
+        }
+        List<FreeSlot> joined = new ArrayList<>();
+        for (FreeSlot slot : slots) {
+            FreeSlot withClassRooms = classRoomOccupancyIndex.findFirstFree(slot.getStart(), slot.getEnd(),
+                    duration, capacity);
+            if (withClassRooms != null) {
+                joined.add(withClassRooms);
+            }
+        }
+        return joined;
+    }
+
+    /**
+     * Merges the lectures of every resource, each sorted by start, into disjoint busy times ordered by start.
+     */
+    private static List<Busy> merge(List<List<Lecture>> resources) {
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator.comparing(cursor -> cursor.peek().getDate()));
+        for (List<Lecture> lectures : resources) {
+            List<Lecture> sorted = new ArrayList<>(lectures.size());
+            for (Lecture lecture : lectures) {
+                if (lecture.getEnd() != null) {
+                    sorted.add(lecture);
+                }
+            }
+            if (!sorted.isEmpty()) {
+                sorted.sort(Comparator.comparing(Lecture::getDate));
+                queue.add(new Cursor(sorted));
+            }
+        }
+        List<Busy> busy = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            Lecture lecture = cursor.lectures.get(cursor.position++);
+            if (cursor.position < cursor.lectures.size()) {
+                queue.add(cursor);
+            }
+            Busy last = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+            if (last != null && !lecture.getDate().isAfter(last.end)) {
+                if (lecture.getEnd().isAfter(last.end)) {
+                    last.end = lecture.getEnd();
+                }
+            } else {
+                busy.add(new Busy(lecture.getDate(), lecture.getEnd()));
+            }
+        }
+        return busy;
+    }
+
+    /**
+     * Walks the working hours of the days of the period and the busy times together, both ordered by start,
+     * and keeps the gaps at least as long as the duration.
+     */
+    private List<FreeSlot> sweep(LocalDate from, LocalDate to, Duration duration, List<Busy> busy) {
+        List<FreeSlot> slots = new ArrayList<>();
+        int next = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            if (day.getDayOfWeek().ordinal() >= days) {
+                continue;
+            }
+            LocalDateTime free = day.atTime(dayStart);
+            LocalDateTime close = day.atTime(dayEnd);
+            while (next < busy.size() && !busy.get(next).end.isAfter(free)) {
+                next++;
+            }
+            for (int b = next; b < busy.size() && busy.get(b).start.isBefore(close); b++) {
+                add(slots, free, busy.get(b).start, duration);
+                free = busy.get(b).end;
+            }
+            add(slots, free, close, duration);
+        }
+        return slots;
+    }
+
+    private static void add(List<FreeSlot> slots, LocalDateTime start, LocalDateTime end, Duration duration) {
+        if (!start.plus(duration).isAfter(end)) {
+            slots.add(new FreeSlot(start, end, Collections.emptyList()));
+        }
+    }
+
+    /**
+     * Busy time of the teacher or a group.
+     */
+    private static final class Busy {
+        private final LocalDateTime start;
+        private LocalDateTime end;
+
+        Busy(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Next lecture of a resource in the merge.
+     */
+    private static final class Cursor {
+        private final List<Lecture> lectures;
+        private int position;
+
+        Cursor(List<Lecture> lectures) {
+            this.lectures = lectures;
+        }
+
+        Lecture peek() {
+            return lectures.get(position);
+        }
+    }
+}
@@ -26,11 +26,13 @@ public class GroupServiceImp implements GroupService {
 
     private StudentDAO studentDAO;
     private GroupDAO groupDAO;
+    private ScheduleCache scheduleCache;
 
     @Autowired
-    public GroupServiceImp(StudentDAO studentDAO, GroupDAO groupDAO) {
+    public GroupServiceImp(StudentDAO studentDAO, GroupDAO groupDAO, ScheduleCache scheduleCache) {
         this.studentDAO = studentDAO;
         this.groupDAO = groupDAO;
+        this.scheduleCache = scheduleCache;
     }
 
     /**
@@ -91,7 +93,7 @@ public class GroupServiceImp implements GroupService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean insert(Group group) throws DAOException {
         LOGGER.debug("Invoke method insert({})", group);
         return groupDAO.insert(group);
@@ -104,7 +106,7 @@ public class GroupServiceImp implements GroupService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean update(Group group) throws DAOException {
         LOGGER.debug("Invoke method update({})", group);
         return groupDAO.update(group);
@@ -117,10 +119,13 @@ public class GroupServiceImp implements GroupService {
      * @return - Group
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public Group delete(String groupName) throws DAOException {
         LOGGER.debug("Invoke method delete({})", groupName);
         Group group = groupDAO.getByName(groupName);
-        return groupDAO.delete(group);
+        Group deleted = groupDAO.delete(group);
+        // lectures of the group are deleted by cascade
+        scheduleCache.invalidateAll();
+        return deleted;
     }
 }
@@ -0,0 +1,121 @@
+package com.foxminded.service;
+
+import com.foxminded.dao.layers.*;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.*;
+import com.foxminded.service.layers.ImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@Component
+@Service("importService")
+public class ImportServiceImp implements ImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportServiceImp.class);
+
+    private DepartmentDAO departmentDAO;
+    private TeacherDAO teacherDAO;
+    private ClassRoomDAO classRoomDAO;
+    private GroupDAO groupDAO;
+    private StudentDAO studentDAO;
+    private LectureDAO lectureDAO;
+    private ScheduleCache scheduleCache;
+    private LectureConflictIndex lectureConflictIndex;
+    private ClassRoomOccupancyIndex classRoomOccupancyIndex;
+
+    @Autowired
+    public ImportServiceImp(DepartmentDAO departmentDAO, TeacherDAO teacherDAO, ClassRoomDAO classRoomDAO,
+                            GroupDAO groupDAO, StudentDAO studentDAO, LectureDAO lectureDAO,
+                            ScheduleCache scheduleCache, LectureConflictIndex lectureConflictIndex,
+                            ClassRoomOccupancyIndex classRoomOccupancyIndex) {
+        this.departmentDAO = departmentDAO;
+        this.teacherDAO = teacherDAO;
+        this.classRoomDAO = classRoomDAO;
+        this.groupDAO = groupDAO;
+        this.studentDAO = studentDAO;
+        this.lectureDAO = lectureDAO;
+        this.scheduleCache = scheduleCache;
+        this.lectureConflictIndex = lectureConflictIndex;
+        this.classRoomOccupancyIndex = classRoomOccupancyIndex;
+    }
+
+    /**
+     * Imports a university in dependency order inside one transaction. Generated ids are set
+     * to the passed objects, so lectures referencing the imported teachers and groups
+     * are inserted with their new ids. Teachers and students get id-only references to their
+     * department and group to keep the object graph acyclic.
+     *
+     * @param university - university
+     * @return - number of inserted records
+     */
+    @Override
+    @Transactional(rollbackFor = DAOException.class)
+    public int importUniversity(University university) throws DAOException {
+        LOGGER.debug("Invoke method importUniversity()");
+        if (university == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        int inserted = 0;
+
+        List<Department> departments = orEmpty(university.getDepartments());
+        inserted += departmentDAO.insertAll(departments);
+        List<Teacher> teachers = new ArrayList<>();
+        for (Department department : departments) {
+            for (Teacher teacher : orEmpty(department.getTeachers())) {
+                teacher.setDepartment(new Department(department.getId()));
+                teachers.add(teacher);
+            }
+        }
+        inserted += teacherDAO.insertAll(teachers);
+
+        inserted += classRoomDAO.insertAll(orEmpty(university.getClassRooms()));
+
+        List<Group> groups = orEmpty(university.getGroups());
+        inserted += groupDAO.insertAll(groups);
+        List<Student> students = new ArrayList<>();
+        for (Group group : groups) {
+            for (Student student : orEmpty(group.getStudents())) {
+                student.setGroup(new Group(group.getId()));
+                students.add(student);
+            }
+        }
+        inserted += studentDAO.insertAll(students);
+        List<Student> enrolled = new ArrayList<>();
+        for (Student student : students) {
+            if (student.getCourses() != null) {
+                enrolled.add(student);
+            }
+        }
+        for (int result : studentDAO.insertRelationshipStudentsToCourses(enrolled)) {
+            inserted += result > 0 ? result : 0;
+        }
+
+        Schedule schedule = university.getSchedule();
+        if (schedule != null) {
+            inserted += lectureDAO.insertAll(orEmpty(schedule.getLectures()));
+            scheduleCache.invalidateAll();
+            lectureConflictIndex.invalidate();
+            classRoomOccupancyIndex.invalidate();
+        }
+        LOGGER.debug("Imported records: {}", inserted);
+        return inserted;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? Collections.emptyList() : list;
+    }
+}
@@ -0,0 +1,485 @@
+package com.foxminded.service;
+
+import com.foxminded.dao.layers.LectureDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.exceptions.LectureConflictException;
+import com.foxminded.model.*;
+import com.foxminded.model.LectureConflict.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+
+/**
+ * Booked slots of every class room, teacher and group, ordered by the start of the lecture, so a conflict
+ * of a lecture is found in memory by looking at the lectures of its resources starting within the longest
+ * booked duration before it. The index is built from all lectures at startup and updated by the service on every
+ * change of a lecture. Lectures changed bypassing the service may leave stale bookings, so the booked
+ * lectures are read again from the database before a lecture is rejected.
+ * The index holds committed lectures only. Changes made in a transaction are seen by that transaction at once
+ * and by others after the commit, so two transactions running at the same time may both pass the index and
+ * the overlap constraints of the database decide which one is stored.
+ * The database is never read holding the lock of the index. A build reads the lectures in a transaction
+ * of its own, so it neither sees uncommitted changes of the caller nor makes writers wait behind the scan,
+ * and the built bookings replace the dropped ones at once, with the changes committed during the build.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ManagedResource(objectName = "com.foxminded:type=Index,name=lectureConflicts",
+        description = "Booked slots of class rooms, teachers and groups")
+public class LectureConflictIndex implements SmartInitializingSingleton {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LectureConflictIndex.class);
+
+    private final LectureDAO lectureDAO;
+    private final List<Map<Integer, Lecture>> committedDuringBuilds = new ArrayList<>();
+    private TransactionTemplate buildTransaction;
+    private Bookings bookings;
+    private long generation;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param lectureDAO - source of the lectures
+     */
+    public LectureConflictIndex(LectureDAO lectureDAO) {
+        if (lectureDAO == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        this.lectureDAO = lectureDAO;
+    }
+
+    /**
+     * Sets the transaction manager starting the transactions builds read the lectures in.
+     * Without it builds read the lectures in the transaction of the caller.
+     *
+     * @param transactionManager - transaction manager
+     */
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        buildTransaction = new TransactionTemplate(transactionManager);
+        buildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Builds the index when the context starts, so requests do not scan the lectures. When the lectures
+     * can't be read yet the index is built on first use.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            bookings();
+        } catch (DataAccessException e) {
+            LOGGER.warn("Lectures can't be booked at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Finds the booked lectures overlapping the lecture in its class room, teacher or group, together with
+     * the lectures booked by the current transaction.
+     *
+     * @param lecture - lecture
+     * @return - List<LectureConflict>, empty when the lecture can be booked
+     */
+    public List<LectureConflict> findConflicts(Lecture lecture) {
+        if (lecture == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        Bookings current = bookings();
+        if (lecture.getEnd() == null) {
+            return new ArrayList<>();
+        }
+        Map<Integer, Lecture> changes = changes();
+        synchronized (this) {
+            return current.findConflicts(lecture, changes);
+        }
+    }
+
+    /**
+     * Checks that the lecture can be stored, before it is written to the database.
+     *
+     * @param lecture - lecture to store
+     * @throws LectureConflictException - when the lecture overlaps booked lectures
+     */
+    public void check(Lecture lecture) throws LectureConflictException {
+        List<LectureConflict> conflicts = findConflicts(lecture);
+        if (!conflicts.isEmpty()) {
+            conflicts = verify(lecture, conflicts);
+        }
+        if (!conflicts.isEmpty()) {
+            LOGGER.warn("Lecture {} conflicts with booked lectures: {}", lecture.getName(), conflicts);
+            throw new LectureConflictException(conflicts);
+        }
+    }
+
+    /**
+     * Books the class room, teacher and group of the stored lecture, replacing the previous booking
+     * of the lecture. The lecture is checked before it is stored. Inside a transaction the booking is seen
+     * by other transactions after the commit and dropped on rollback. Before the index is built bookings are
+     * skipped, the build reads the stored lectures.
+     *
+     * @param lecture - stored lecture with its id
+     */
+    public void book(Lecture lecture) {
+        if (lecture == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        change(lecture.getId(), copyOf(lecture));
+    }
+
+    /**
+     * Frees the slots booked by the lecture, inside a transaction after the commit.
+     *
+     * @param lecture - lecture
+     */
+    public void remove(Lecture lecture) {
+        if (lecture == null) {
+            return;
+        }
+        change(lecture.getId(), null);
+    }
+
+    /**
+     * Drops all bookings, the index is built again from the database on next use. Inside a transaction
+     * the bookings are dropped again after it completes, so a build reading the lectures before the commit
+     * is not kept.
+     */
+    @ManagedOperation(description = "Builds the index again from the database on next use")
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * Finds all overlapping lectures of the passed schedule, ignoring the bookings of the index.
+     * Lectures of every class room, teacher and group are sorted and checked in parallel.
+     *
+     * @param schedule - lectures
+     * @return - List<LectureConflict>, one conflict per lecture overlapping an earlier lecture of the resource
+     */
+    public List<LectureConflict> validate(Collection<Lecture> schedule) {
+        if (schedule == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        Map<ResourceKey, List<Lecture>> byResource = new HashMap<>();
+        for (Lecture lecture : schedule) {
+            if (lecture.getEnd() == null) {
+                continue;
+            }
+            for (Resource resource : Resource.values()) {
+                Integer id = idOf(resource, lecture);
+                if (id != null) {
+                    byResource.computeIfAbsent(new ResourceKey(resource, id), key -> new ArrayList<>()).add(lecture);
+                }
+            }
+        }
+        List<LectureConflict> conflicts = byResource.entrySet().parallelStream()
+                .flatMap(entry -> sweep(entry.getKey(), entry.getValue()).stream())
+                .collect(Collectors.toList());
+        LOGGER.debug("Conflicts found in {} lectures: {}", schedule.size(), conflicts.size());
+        return conflicts;
+    }
+
+    @ManagedAttribute(description = "Number of booked lectures")
+    public synchronized int getSize() {
+        return bookings == null ? 0 : bookings.lectures.size();
+    }
+
+    private List<LectureConflict> sweep(ResourceKey key, List<Lecture> booked) {
+        booked.sort(Comparator.comparing(Lecture::getDate));
+        List<LectureConflict> conflicts = new ArrayList<>();
+        Lecture latest = null;
+        for (Lecture lecture : booked) {
+            if (latest != null && latest.getEnd().isAfter(lecture.getDate())) {
+                conflicts.add(new LectureConflict(key.resource, key.id, lecture, latest));
+            }
+            if (latest == null || lecture.getEnd().isAfter(latest.getEnd())) {
+                latest = lecture;
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Reads the committed conflicting lectures again, fixes their bookings and finds the conflicts that remain.
+     * Inside a transaction the fixes are kept by the transaction until the commit, because the lectures it
+     * reads may differ from the committed ones.
+     */
+    private List<LectureConflict> verify(Lecture lecture, List<LectureConflict> conflicts) {
+        Map<Integer, Lecture> changes = changes();
+        Set<Integer> ids = new HashSet<>();
+        for (LectureConflict conflict : conflicts) {
+            if (!changes.containsKey(conflict.getBooked().getId())) {
+                ids.add(conflict.getBooked().getId());
+            }
+        }
+        for (int id : ids) {
+            try {
+                change(id, lectureDAO.getById(id));
+            } catch (DAOException e) {
+                LOGGER.debug("Booked lecture {} does not exist anymore", id);
+                change(id, null);
+            }
+        }
+        return findConflicts(lecture);
+    }
+
+    /**
+     * Applies the change of the lecture to the index, or keeps it for the commit of the current transaction.
+     *
+     * @param lectureId - id of the lecture
+     * @param lecture   - new booking of the lecture, null when the lecture is removed
+     */
+    private void change(int lectureId, Lecture lecture) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(Collections.singletonMap(lectureId, lecture));
+            return;
+        }
+        Map<Integer, Lecture> changes = changes();
+        if (!TransactionSynchronizationManager.hasResource(this)) {
+            Map<Integer, Lecture> bound = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LectureConflictIndex.this);
+                }
+            });
+            changes = bound;
+        }
+        changes.put(lectureId, lecture);
+    }
+
+    /**
+     * Applies committed changes to the bookings and keeps them for the builds reading the lectures meanwhile.
+     */
+    private synchronized void apply(Map<Integer, Lecture> committed) {
+        if (bookings != null) {
+            committed.forEach(bookings::apply);
+        }
+        for (Map<Integer, Lecture> build : committedDuringBuilds) {
+            build.putAll(committed);
+        }
+    }
+
+    /**
+     * Gets the changes kept by the current transaction.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Integer, Lecture> changes() {
+        Object changes = TransactionSynchronizationManager.getResource(this);
+        return changes == null ? Collections.emptyMap() : (Map<Integer, Lecture>) changes;
+    }
+
+    private synchronized void clear() {
+        generation++;
+        bookings = null;
+    }
+
+    /**
+     * Gets the bookings, building them first when the index is not built. The lectures are read without
+     * the lock, the built bookings are kept unless the index was invalidated during the build.
+     */
+    private Bookings bookings() {
+        Map<Integer, Lecture> committed = new LinkedHashMap<>();
+        long buildGeneration;
+        synchronized (this) {
+            if (bookings != null) {
+                return bookings;
+            }
+            buildGeneration = generation;
+            committedDuringBuilds.add(committed);
+        }
+        Bookings built = new Bookings();
+        try {
+            if (buildTransaction == null) {
+                lectureDAO.forEach(built::put);
+            } else {
+                buildTransaction.executeWithoutResult(status -> lectureDAO.forEach(built::put));
+            }
+        } finally {
+            synchronized (this) {
+                committedDuringBuilds.removeIf(build -> build == committed);
+            }
+        }
+        synchronized (this) {
+            committed.forEach(built::apply);
+            if (bookings == null && buildGeneration == generation) {
+                bookings = built;
+                LOGGER.debug("Booked lectures: {}", built.lectures.size());
+            }
+            return bookings == null ? built : bookings;
+        }
+    }
+
+    private static Lecture copyOf(Lecture lecture) {
+        return new Lecture(lecture.getId(), lecture.getName(), lecture.getDate(), lecture.getDuration(),
+                lecture.getTeacher(), lecture.getClassRoom(), lecture.getGroup(), lecture.getCourse());
+    }
+
+    private static boolean overlaps(Lecture lecture, Lecture other) {
+        return other.getId() != lecture.getId() && other.getEnd() != null
+                && other.getDate().isBefore(lecture.getEnd()) && other.getEnd().isAfter(lecture.getDate());
+    }
+
+    private static Integer idOf(Resource resource, Lecture lecture) {
+        switch (resource) {
+            case CLASS_ROOM:
+                return lecture.getClassRoom() == null ? null : lecture.getClassRoom().getId();
+            case TEACHER:
+                return lecture.getTeacher() == null ? null : lecture.getTeacher().getId();
+            default:
+                return lecture.getGroup() == null ? null : lecture.getGroup().getId();
+        }
+    }
+
+    /**
+     * Booked lectures by id and their slots by resource.
+     */
+    private static final class Bookings {
+        private final Map<Resource, Map<Integer, NavigableMap<LocalDateTime, List<Lecture>>>> slots =
+                new EnumMap<>(Resource.class);
+        private final Map<Integer, Lecture> lectures = new HashMap<>();
+        private Duration longest = Duration.ZERO;
+
+        Bookings() {
+            for (Resource resource : Resource.values()) {
+                slots.put(resource, new HashMap<>());
+            }
+        }
+
+        List<LectureConflict> findConflicts(Lecture lecture, Map<Integer, Lecture> changes) {
+            List<LectureConflict> conflicts = new ArrayList<>();
+            LocalDateTime end = lecture.getEnd();
+            for (Resource resource : Resource.values()) {
+                Integer id = idOf(resource, lecture);
+                NavigableMap<LocalDateTime, List<Lecture>> booked = id == null ? null : slots.get(resource).get(id);
+                if (booked != null) {
+                    for (List<Lecture> starting : booked.subMap(lecture.getDate().minus(longest), false, end, false)
+                            .values()) {
+                        for (Lecture other : starting) {
+                            if (!changes.containsKey(other.getId()) && overlaps(lecture, other)) {
+                                conflicts.add(new LectureConflict(resource, id, lecture, other));
+                            }
+                        }
+                    }
+                }
+                for (Lecture other : changes.values()) {
+                    if (other != null && id != null && id.equals(idOf(resource, other)) && overlaps(lecture, other)) {
+                        conflicts.add(new LectureConflict(resource, id, lecture, other));
+                    }
+                }
+            }
+            return conflicts;
+        }
+
+        void apply(int lectureId, Lecture lecture) {
+            if (lecture == null) {
+                unbook(lectureId);
+            } else {
+                put(lecture);
+            }
+        }
+
+        void put(Lecture lecture) {
+            unbook(lecture.getId());
+            if (lecture.getEnd() == null) {
+                return;
+            }
+            Lecture booked = copyOf(lecture);
+            lectures.put(booked.getId(), booked);
+            if (booked.getDuration().compareTo(longest) > 0) {
+                longest = booked.getDuration();
+            }
+            for (Resource resource : Resource.values()) {
+                Integer id = idOf(resource, booked);
+                if (id != null) {
+                    slots.get(resource).computeIfAbsent(id, key -> new TreeMap<>())
+                            .computeIfAbsent(booked.getDate(), key -> new ArrayList<>(1)).add(booked);
+                }
+            }
+        }
+
+        void unbook(int lectureId) {
+            Lecture removed = lectures.remove(lectureId);
+            if (removed == null) {
+                return;
+            }
+            for (Resource resource : Resource.values()) {
+                Integer id = idOf(resource, removed);
+                NavigableMap<LocalDateTime, List<Lecture>> booked = id == null ? null : slots.get(resource).get(id);
+                if (booked == null) {
+                    continue;
+                }
+                List<Lecture> starting = booked.get(removed.getDate());
+                starting.removeIf(other -> other.getId() == lectureId);
+                if (starting.isEmpty()) {
+                    booked.remove(removed.getDate());
+                }
+                if (booked.isEmpty()) {
+                    slots.get(resource).remove(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Class room, teacher or group.
+     */
+    private static final class ResourceKey {
+        private final Resource resource;
+        private final int id;
+
+        ResourceKey(Resource resource, int id) {
+            this.resource = resource;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ResourceKey that = (ResourceKey) o;
+            return id == that.id && resource == that.resource;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(resource, id);
+        }
+    }
+}
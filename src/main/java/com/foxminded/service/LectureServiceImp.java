@@ -5,6 +5,8 @@ import com.foxminded.exceptions.DAOException;
 import com.foxminded.model.ClassRoom;
 import com.foxminded.model.Group;
 import com.foxminded.model.Lecture;
+import com.foxminded.model.LectureConflict;
+import com.foxminded.model.Page;
 import com.foxminded.model.Teacher;
 import com.foxminded.service.layers.LectureService;
 import org.slf4j.Logger;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -30,14 +33,22 @@ public class LectureServiceImp implements LectureService {
     private GroupDAO groupDAO;
     private ClassRoomDAO classRoomDAO;
     private CourseDAO courseDAO;
+    private ScheduleCache scheduleCache;
+    private LectureConflictIndex lectureConflictIndex;
+    private ClassRoomOccupancyIndex classRoomOccupancyIndex;
 
     @Autowired
-    public LectureServiceImp(LectureDAO lectureDAO, TeacherDAO teacherDAO, GroupDAO groupDAO, ClassRoomDAO classRoomDAO, CourseDAO courseDAO) {
+    public LectureServiceImp(LectureDAO lectureDAO, TeacherDAO teacherDAO, GroupDAO groupDAO, ClassRoomDAO classRoomDAO, CourseDAO courseDAO,
+                             ScheduleCache scheduleCache, LectureConflictIndex lectureConflictIndex,
+                             ClassRoomOccupancyIndex classRoomOccupancyIndex) {
         this.lectureDAO = lectureDAO;
         this.teacherDAO = teacherDAO;
         this.groupDAO = groupDAO;
         this.classRoomDAO = classRoomDAO;
         this.courseDAO = courseDAO;
+        this.scheduleCache = scheduleCache;
+        this.lectureConflictIndex = lectureConflictIndex;
+        this.classRoomOccupancyIndex = classRoomOccupancyIndex;
     }
 
     /**
@@ -64,6 +75,46 @@ public class LectureServiceImp implements LectureService {
         return lectureDAO.getAll();
     }
 
+    /**
+     * Gets all lectures with class room, teacher, group and course details.
+     *
+     * @return - List<Lecture>
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Lecture> getAllWithDetails() {
+        return lectureDAO.getAllWithDetails();
+    }
+
+    /**
+     * Gets a page of lectures with class room, teacher, group and course details ordered by id,
+     * starting after the passed id.
+     * One extra row is read to find out whether the next page exists.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of lectures
+     * @return - Page<Lecture>
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Lecture> getPage(int afterId, int size) {
+        LOGGER.debug("Invoke method getPage({}, {})", afterId, size);
+        return Page.of(lectureDAO.getPageWithDetails(afterId, size + 1), size, Lecture::getId);
+    }
+
+    /**
+     * Reads all lectures ordered by id one by one and passes every lecture to the action.
+     * The read-only transaction lets the driver fetch the rows with a cursor.
+     *
+     * @param action - action for every lecture
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<Lecture> action) {
+        LOGGER.debug("Invoke method forEach()");
+        lectureDAO.forEach(action);
+    }
+
     /**
      * Changes a teacher and course in the lecture.
      *
@@ -73,12 +124,21 @@ public class LectureServiceImp implements LectureService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean changeTeacher(String lectureName, String teacherFirstName, String teacherLastName) throws DAOException {
         LOGGER.debug("Invoke method changeTeacher({}, {}, {})", lectureName, teacherFirstName, teacherLastName);
         Teacher teacher = teacherDAO.getByName(teacherFirstName, teacherLastName);
         Lecture lecture = lectureDAO.getByName(lectureName);
-        return lectureDAO.changeTeacher(lecture, teacher);
+        Lecture changedLecture = new Lecture(lecture.getId(), lecture.getName(), lecture.getDate(),
+                lecture.getDuration(), teacher, lecture.getClassRoom(), lecture.getGroup(), teacher.getCourse());
+        lectureConflictIndex.check(changedLecture);
+        boolean changed = lectureDAO.changeTeacher(lecture, teacher);
+        if (changed) {
+            lectureConflictIndex.book(changedLecture);
+        }
+        scheduleCache.invalidate(lecture);
+        scheduleCache.invalidateTeacher(teacher.getId(), lecture.getDate());
+        return changed;
     }
 
     /**
@@ -89,12 +149,21 @@ public class LectureServiceImp implements LectureService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean changeClassRoom(String lectureName, String classRoomName) throws DAOException {
         LOGGER.debug("Invoke method changeClassRoom({}, {})", lectureName, classRoomName);
         Lecture lecture = lectureDAO.getByName(lectureName);
         ClassRoom classRoom = classRoomDAO.getByName(classRoomName);
-        return lectureDAO.changeClassRoom(lecture, classRoom);
+        Lecture moved = new Lecture(lecture.getId(), lecture.getName(), lecture.getDate(),
+                lecture.getDuration(), lecture.getTeacher(), classRoom, lecture.getGroup(), lecture.getCourse());
+        lectureConflictIndex.check(moved);
+        boolean changed = lectureDAO.changeClassRoom(lecture, classRoom);
+        if (changed) {
+            lectureConflictIndex.book(moved);
+            classRoomOccupancyIndex.book(moved);
+        }
+        scheduleCache.invalidate(lecture);
+        return changed;
     }
 
     /**
@@ -105,38 +174,78 @@ public class LectureServiceImp implements LectureService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean changeGroup(String lectureName, String groupName) throws DAOException {
         LOGGER.debug("Invoke method changeGroup({}, {})", lectureName, groupName);
         Lecture lecture = lectureDAO.getByName(lectureName);
         Group group = groupDAO.getByName(groupName);
-        return lectureDAO.changeGroup(lecture, group);
+        Lecture changedLecture = new Lecture(lecture.getId(), lecture.getName(), lecture.getDate(),
+                lecture.getDuration(), lecture.getTeacher(), lecture.getClassRoom(), group, lecture.getCourse());
+        lectureConflictIndex.check(changedLecture);
+        boolean changed = lectureDAO.changeGroup(lecture, group);
+        if (changed) {
+            lectureConflictIndex.book(changedLecture);
+        }
+        scheduleCache.invalidate(lecture);
+        scheduleCache.invalidateGroup(group.getId(), lecture.getDate());
+        return changed;
     }
 
     /**
-     * Inserts a lecture to the table.
+     * Inserts a lecture to the table. A lecture conflicting with booked lectures is rejected before it is written.
      *
      * @param lecture - lecture
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean insert(Lecture lecture) throws DAOException {
         LOGGER.debug("Invoke method insert({})", lecture);
-        return lectureDAO.insert(lecture);
+        lectureConflictIndex.check(lecture);
+        boolean inserted = lectureDAO.insert(lecture);
+        if (inserted) {
+            lectureConflictIndex.book(lecture);
+            classRoomOccupancyIndex.book(lecture);
+        }
+        scheduleCache.invalidate(lecture);
+        return inserted;
     }
 
     /**
-     * Updates a recorded data.
+     * Updates a recorded data. A lecture conflicting with booked lectures is rejected before it is written.
      *
      * @param lecture - Lecture
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean update(Lecture lecture) throws DAOException {
         LOGGER.debug("Invoke method update({})", lecture);
-        return lectureDAO.update(lecture);
+        Lecture previous = lecture == null ? null : findById(lecture.getId());
+        lectureConflictIndex.check(lecture);
+        boolean updated = lectureDAO.update(lecture);
+        if (updated) {
+            lectureConflictIndex.book(lecture);
+            classRoomOccupancyIndex.book(lecture);
+        }
+        scheduleCache.invalidate(previous);
+        scheduleCache.invalidate(lecture);
+        return updated;
+    }
+
+    /**
+     * Finds the stored state of a lecture before it is updated.
+     *
+     * @param id - id
+     * @return - Lecture or null when there is no such lecture
+     */
+    private Lecture findById(int id) {
+        try {
+            return lectureDAO.getById(id);
+        } catch (DAOException e) {
+            LOGGER.debug("Lecture {} is not stored yet", id);
+            return null;
+        }
     }
 
     /**
@@ -146,11 +255,26 @@ public class LectureServiceImp implements LectureService {
      * @return - Lecture
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public Lecture delete(String lectureName) throws DAOException {
         LOGGER.debug("Invoke method delete({})", lectureName);
         Lecture lecture = lectureDAO.getByName(lectureName);
-        return lectureDAO.delete(lecture);
+        Lecture deleted = lectureDAO.delete(lecture);
+        lectureConflictIndex.remove(lecture);
+        classRoomOccupancyIndex.remove(lecture);
+        scheduleCache.invalidate(lecture);
+        return deleted;
     }
-}
 
+    /**
+     * Finds all lectures booking a class room, teacher or group already booked at the same time.
+     *
+     * @return - List<LectureConflict>
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<LectureConflict> validateSchedule() {
+        LOGGER.debug("Invoke method validateSchedule()");
+        return lectureConflictIndex.validate(lectureDAO.getAll());
+    }
+}
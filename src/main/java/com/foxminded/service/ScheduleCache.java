@@ -0,0 +1,396 @@
+package com.foxminded.service;
+
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Lecture;
+import com.foxminded.model.Schedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Cache of schedules keyed by a group or a teacher and a period, so all students of a group
+ * share one schedule. Cached schedules are shared between callers and must not be changed.
+ * A change of a lecture invalidates only the periods containing the lecture date
+ * of the lecture's group and teacher. The group of a student and the id of a teacher are remembered
+ * by name, so a cached schedule is found by name without reading the student or the teacher.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ManagedResource(objectName = "com.foxminded:type=Cache,name=schedule", description = "Cache of schedules")
+public class ScheduleCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduleCache.class);
+    public static final long ENTRY_BYTES = 128;
+    public static final long LECTURE_BYTES = 256;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Name, Alias> aliases = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long generation;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param maxSize - max number of schedules, 0 disables the cache
+     * @param ttl     - time to live of a schedule in milliseconds
+     */
+    public ScheduleCache(int maxSize, long ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    ScheduleCache(int maxSize, long ttl, LongSupplier ticker) {
+        if (maxSize < 0 || ttl < 1) {
+            LOGGER.error("Max size must not be negative and time to live must be positive: {}, {}", maxSize, ttl);
+            throw new IllegalArgumentException("Max size must not be negative and time to live must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the cached schedule of the student's group or loads it by the student's name in one query.
+     * A loaded schedule is cached for the group of its lectures, a schedule without lectures is not cached.
+     *
+     * @param firstName - student first name
+     * @param lastName  - student last name
+     * @param from      - start of the period inclusive, null for the full schedule
+     * @param to        - end of the period exclusive, null for the full schedule
+     * @param loader    - loads the schedule by the student's name on a miss
+     * @return - Schedule
+     * @throws DAOException - when the loader fails
+     */
+    public Schedule getStudentSchedule(String firstName, String lastName, LocalDateTime from, LocalDateTime to,
+                                       Loader loader) throws DAOException {
+        return get(new Name(Owner.GROUP, firstName, lastName), from, to,
+                lecture -> lecture.getGroup() == null ? null : lecture.getGroup().getId(), loader);
+    }
+
+    /**
+     * Returns the cached schedule of the teacher or loads it by the teacher's name in one query.
+     * A loaded schedule is cached for the teacher of its lectures, a schedule without lectures is not cached.
+     *
+     * @param firstName - teacher first name
+     * @param lastName  - teacher last name
+     * @param from      - start of the period inclusive, null for the full schedule
+     * @param to        - end of the period exclusive, null for the full schedule
+     * @param loader    - loads the schedule by the teacher's name on a miss
+     * @return - Schedule
+     * @throws DAOException - when the loader fails
+     */
+    public Schedule getTeacherSchedule(String firstName, String lastName, LocalDateTime from, LocalDateTime to,
+                                       Loader loader) throws DAOException {
+        return get(new Name(Owner.TEACHER, firstName, lastName), from, to,
+                lecture -> lecture.getTeacher() == null ? null : lecture.getTeacher().getId(), loader);
+    }
+
+    private Schedule get(Name name, LocalDateTime from, LocalDateTime to, Function<Lecture, Integer> ownerOf,
+                         Loader loader) throws DAOException {
+        long loadGeneration;
+        synchronized (this) {
+            Alias alias = aliases.get(name);
+            if (alias != null && ticker.getAsLong() - alias.created < ttlNanos) {
+                Schedule cached = cached(new Key(name.owner, alias.id, from, to));
+                if (cached != null) {
+                    return cached;
+                }
+            } else {
+                if (alias != null) {
+                    aliases.remove(name);
+                }
+                misses.increment();
+            }
+            loadGeneration = generation;
+        }
+
+        Schedule schedule = loader.load();
+        List<Lecture> lectures = schedule.getLectures();
+        Integer id = lectures == null || lectures.isEmpty() ? null : ownerOf.apply(lectures.get(0));
+
+        synchronized (this) {
+            if (maxSize > 0 && loadGeneration == generation && id != null) {
+                aliases.put(name, new Alias(id, ticker.getAsLong()));
+                evict(aliases);
+                store(new Key(name.owner, id, from, to), schedule);
+            }
+        }
+        return schedule;
+    }
+
+    /**
+     * Gets a fresh cached schedule counting a hit or a miss, drops an expired one.
+     */
+    private Schedule cached(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && ticker.getAsLong() - entry.created < ttlNanos) {
+            hits.increment();
+            return entry.schedule;
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+    private void store(Key key, Schedule schedule) {
+        entries.put(key, new Entry(schedule, ticker.getAsLong()));
+        evict(entries);
+    }
+
+    private void evict(Map<?, ?> map) {
+        Iterator<?> iterator = map.values().iterator();
+        while (map.size() > maxSize) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Invalidates the schedules of the lecture's group and teacher for periods including the lecture date.
+     *
+     * @param lecture - lecture
+     */
+    public void invalidate(Lecture lecture) {
+        if (lecture == null) {
+            return;
+        }
+        if (lecture.getGroup() != null) {
+            invalidateGroup(lecture.getGroup().getId(), lecture.getDate());
+        }
+        if (lecture.getTeacher() != null) {
+            invalidateTeacher(lecture.getTeacher().getId(), lecture.getDate());
+        }
+    }
+
+    /**
+     * Invalidates the schedules of the group for periods including the date.
+     *
+     * @param groupId - group id
+     * @param date    - date, null for all periods
+     */
+    public void invalidateGroup(int groupId, LocalDateTime date) {
+        invalidateMatching(key -> key.owner == Owner.GROUP && key.id == groupId && key.contains(date));
+    }
+
+    /**
+     * Invalidates the schedules of the teacher for periods including the date.
+     *
+     * @param teacherId - teacher id
+     * @param date      - date, null for all periods
+     */
+    public void invalidateTeacher(int teacherId, LocalDateTime date) {
+        invalidateMatching(key -> key.owner == Owner.TEACHER && key.id == teacherId && key.contains(date));
+    }
+
+    /**
+     * Forgets the groups of students by name, when a student is renamed, moved to another group or deleted.
+     */
+    public void invalidateStudents() {
+        invalidateMatching(key -> false, name -> name.owner == Owner.GROUP);
+    }
+
+    /**
+     * Forgets the ids of teachers by name, when a teacher is renamed or deleted.
+     */
+    public void invalidateTeachers() {
+        invalidateMatching(key -> false, name -> name.owner == Owner.TEACHER);
+    }
+
+    /**
+     * Invalidates all schedules.
+     */
+    @ManagedOperation(description = "Removes all schedules")
+    public void invalidateAll() {
+        invalidateMatching(key -> true, name -> true);
+    }
+
+    private void invalidateMatching(Predicate<Key> affected) {
+        invalidateMatching(affected, name -> false);
+    }
+
+    private void invalidateMatching(Predicate<Key> affected, Predicate<Name> affectedNames) {
+        remove(affected, affectedNames);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(affected, affectedNames);
+                }
+            });
+        }
+    }
+
+    private synchronized void remove(Predicate<Key> affected, Predicate<Name> affectedNames) {
+        generation++;
+        entries.keySet().removeIf(affected);
+        aliases.keySet().removeIf(affectedNames);
+        LOGGER.debug("Schedules left in the cache: {}", entries.size());
+    }
+
+    @ManagedAttribute(description = "Number of cached schedules")
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    @ManagedAttribute(description = "Estimated memory used by cached schedules in bytes")
+    public synchronized long getEstimatedBytes() {
+        long bytes = 0;
+        for (Entry entry : entries.values()) {
+            bytes += ENTRY_BYTES;
+            if (entry.schedule != null && entry.schedule.getLectures() != null) {
+                for (Lecture lecture : entry.schedule.getLectures()) {
+                    bytes += LECTURE_BYTES + (lecture.getName() == null ? 0 : 2L * lecture.getName().length());
+                }
+            }
+        }
+        return bytes;
+    }
+
+    @ManagedAttribute(description = "Share of schedules found in the cache")
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @ManagedAttribute(description = "Number of schedules found in the cache")
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @ManagedAttribute(description = "Number of schedules loaded from the database")
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Loads a schedule missing in the cache.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        Schedule load() throws DAOException;
+    }
+
+    private enum Owner {
+        GROUP, TEACHER
+    }
+
+    /**
+     * Group or teacher with a period.
+     */
+    private static final class Key {
+        private final Owner owner;
+        private final int id;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        Key(Owner owner, int id, LocalDateTime from, LocalDateTime to) {
+            this.owner = owner;
+            this.id = id;
+            this.from = from;
+            this.to = to;
+        }
+
+        boolean contains(LocalDateTime date) {
+            return date == null
+                    || (from == null || !date.isBefore(from)) && (to == null || date.isBefore(to));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return id == key.id && owner == key.owner && Objects.equals(from, key.from) && Objects.equals(to, key.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(owner, id, from, to);
+        }
+    }
+
+    /**
+     * Name of a student or a teacher, resolved to the id of a group or a teacher.
+     */
+    private static final class Name {
+        private final Owner owner;
+        private final String firstName;
+        private final String lastName;
+
+        Name(Owner owner, String firstName, String lastName) {
+            this.owner = owner;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Name name = (Name) o;
+            return owner == name.owner && Objects.equals(firstName, name.firstName)
+                    && Objects.equals(lastName, name.lastName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(owner, firstName, lastName);
+        }
+    }
+
+    /**
+     * Id of a group or a teacher with the time it was resolved.
+     */
+    private static class Alias {
+        private final int id;
+        private final long created;
+
+        Alias(int id, long created) {
+            this.id = id;
+            this.created = created;
+        }
+    }
+
+    /**
+     * Cached schedule with the time it was loaded.
+     */
+    private static class Entry {
+        private final Schedule schedule;
+        private final long created;
+
+        Entry(Schedule schedule, long created) {
+            this.schedule = schedule;
+            this.created = created;
+        }
+    }
+}
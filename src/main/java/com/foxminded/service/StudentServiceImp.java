@@ -13,7 +13,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -27,12 +30,15 @@ public class StudentServiceImp implements StudentService {
     private StudentDAO studentDAO;
     private GroupDAO groupDAO;
     private LectureDAO lectureDAO;
+    private ScheduleCache scheduleCache;
 
     @Autowired
-    public StudentServiceImp(StudentDAO studentDAO, GroupDAO groupDAO, LectureDAO lectureDAO) {
+    public StudentServiceImp(StudentDAO studentDAO, GroupDAO groupDAO, LectureDAO lectureDAO,
+                             ScheduleCache scheduleCache) {
         this.studentDAO = studentDAO;
         this.groupDAO = groupDAO;
         this.lectureDAO = lectureDAO;
+        this.scheduleCache = scheduleCache;
     }
 
     /**
@@ -66,6 +72,34 @@ public class StudentServiceImp implements StudentService {
         return studentDAO.getAll();
     }
 
+    /**
+     * Gets a page of students ordered by id, starting after the passed id.
+     * One extra row is read to find out whether the next page exists.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of students
+     * @return - Page<Student>
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Student> getPage(int afterId, int size) {
+        LOGGER.debug("Invoke method getPage({}, {})", afterId, size);
+        return Page.of(studentDAO.getPage(afterId, size + 1), size, Student::getId);
+    }
+
+    /**
+     * Reads all students ordered by id one by one and passes every student to the action.
+     * The read-only transaction lets the driver fetch the rows with a cursor.
+     *
+     * @param action - action for every student
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<Student> action) {
+        LOGGER.debug("Invoke method forEach()");
+        studentDAO.forEach(action);
+    }
+
     /**
      * Gets all relationship between students and courses with ids.
      *
@@ -102,8 +136,8 @@ public class StudentServiceImp implements StudentService {
     @Transactional(readOnly = true)
     public Schedule getFullSchedule(String studentFirstName, String studentLastName) throws DAOException {
         LOGGER.debug("Invoke method getFullSchedule({}, {})", studentFirstName, studentLastName);
-        Student student = studentDAO.getByName(studentFirstName, studentLastName);
-        return new Schedule(lectureDAO.getLecturesByGroup(student.getGroup()));
+        return scheduleCache.getStudentSchedule(studentFirstName, studentLastName, null, null, () ->
+                new Schedule(lectureDAO.getLecturesByStudent(studentFirstName, studentLastName)));
     }
 
     /**
@@ -119,8 +153,8 @@ public class StudentServiceImp implements StudentService {
     @Transactional(readOnly = true)
     public Schedule getScheduleForMonth(int month, int year, String studentFirstName, String studentLastName) throws DAOException {
         LOGGER.debug("Invoke method getScheduleForMonth({}, {}, {}, {})", month, year, studentFirstName, studentLastName);
-        Student student = studentDAO.getByName(studentFirstName, studentLastName);
-        return new Schedule(lectureDAO.getLecturesByGroupForMonth(month, year, student.getGroup()));
+        LocalDateTime from = LocalDate.of(year, month, 1).atStartOfDay();
+        return getGroupSchedule(from, from.plusMonths(1), studentFirstName, studentLastName);
     }
 
     /**
@@ -135,8 +169,23 @@ public class StudentServiceImp implements StudentService {
     @Transactional(readOnly = true)
     public Schedule getScheduleForYear(int year, String studentFirstName, String studentLastName) throws DAOException {
         LOGGER.debug("Invoke method getScheduleForYear({}, {}, {})", year, studentFirstName, studentLastName);
-        Student student = studentDAO.getByName(studentFirstName, studentLastName);
-        return new Schedule(lectureDAO.getLecturesByGroupForYear(year, student.getGroup()));
+        LocalDateTime from = LocalDate.of(year, 1, 1).atStartOfDay();
+        return getGroupSchedule(from, from.plusYears(1), studentFirstName, studentLastName);
+    }
+
+    /**
+     * Gets the schedule of the student's group for the period, shared by all students of the group.
+     *
+     * @param from             - start of the period inclusive
+     * @param to               - end of the period exclusive
+     * @param studentFirstName - studentFirstName
+     * @param studentLastName  - studentLastName
+     * @return - Schedule
+     */
+    private Schedule getGroupSchedule(LocalDateTime from, LocalDateTime to,
+                                      String studentFirstName, String studentLastName) throws DAOException {
+        return scheduleCache.getStudentSchedule(studentFirstName, studentLastName, from, to, () ->
+                new Schedule(lectureDAO.getLecturesByStudentForPeriod(from, to, studentFirstName, studentLastName)));
     }
 
     /**
@@ -148,12 +197,14 @@ public class StudentServiceImp implements StudentService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean changeGroup(String studentFirstName, String studentLastName, String groupName) throws DAOException {
         LOGGER.debug("Invoke method changeGroup({}, {}, {})", studentFirstName, studentLastName, groupName);
         Student student = studentDAO.getByName(studentFirstName, studentLastName);
         Group group = groupDAO.getByName(groupName);
-        return studentDAO.changeGroup(student, group);
+        boolean changed = studentDAO.changeGroup(student, group);
+        scheduleCache.invalidateStudents();
+        return changed;
     }
 
     /**
@@ -163,7 +214,7 @@ public class StudentServiceImp implements StudentService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean insert(Student student) throws DAOException {
         LOGGER.debug("Invoke method insert({})", student);
         return studentDAO.insert(student);
@@ -178,7 +229,7 @@ public class StudentServiceImp implements StudentService {
      * @return - added\didn't add - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean insertCourseToStudent(String studentFirstName, String studentLastName, Course course) throws DAOException {
         LOGGER.debug("Invoke method insertCourseToStudent({}, {}, {})", studentFirstName, studentLastName, course);
         Student student = studentDAO.getByName(studentFirstName, studentLastName);
@@ -186,15 +237,16 @@ public class StudentServiceImp implements StudentService {
     }
 
     /**
-     * Inserts relationship: Student - Course.
+     * Inserts relationship: Student - Course in batches, skipping already existing pairs.
      *
      * @param students - students with relationship: Student - Course
+     * @return - outcome per pair in students/courses order: 1 - inserted, 0 - already existed
      */
     @Override
-    @Transactional
-    public void insertRelationshipStudentsToCourses(List<Student> students) {
+    @Transactional(rollbackFor = DAOException.class)
+    public int[] insertRelationshipStudentsToCourses(List<Student> students) {
         LOGGER.debug("insert relationship students To courses student, size of students: {}", students.size());
-        studentDAO.insertRelationshipStudentsToCourses(students);
+        return studentDAO.insertRelationshipStudentsToCourses(students);
     }
 
     /**
@@ -204,10 +256,12 @@ public class StudentServiceImp implements StudentService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean update(Student student) throws DAOException {
         LOGGER.debug("Invoke method update({})", student);
-        return studentDAO.update(student);
+        boolean updated = studentDAO.update(student);
+        scheduleCache.invalidateStudents();
+        return updated;
     }
 
     /**
@@ -218,10 +272,12 @@ public class StudentServiceImp implements StudentService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public Student delete(String studentFirstName, String studentLastName) throws DAOException {
         LOGGER.debug("Invoke method delete({}, {})", studentFirstName, studentLastName);
         Student student = studentDAO.getByName(studentFirstName, studentLastName);
-        return studentDAO.delete(student);
+        Student deleted = studentDAO.delete(student);
+        scheduleCache.invalidateStudents();
+        return deleted;
     }
 }
@@ -6,6 +6,7 @@ import com.foxminded.dao.layers.LectureDAO;
 import com.foxminded.dao.layers.TeacherDAO;
 import com.foxminded.exceptions.DAOException;
 import com.foxminded.model.Schedule;
+import com.foxminded.model.Page;
 import com.foxminded.model.Teacher;
 import com.foxminded.service.layers.TeacherService;
 import org.slf4j.Logger;
@@ -15,6 +16,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -30,13 +33,16 @@ public class TeacherServiceImp implements TeacherService {
     private DepartmentDAO departmentDAO;
     private TeacherDAO teacherDAO;
     private LectureDAO lectureDAO;
+    private ScheduleCache scheduleCache;
 
     @Autowired
-    public TeacherServiceImp(CourseDAO courseDAO, DepartmentDAO departmentDAO, TeacherDAO teacherDAO, LectureDAO lectureDAO) {
+    public TeacherServiceImp(CourseDAO courseDAO, DepartmentDAO departmentDAO, TeacherDAO teacherDAO, LectureDAO lectureDAO,
+                             ScheduleCache scheduleCache) {
         this.courseDAO = courseDAO;
         this.departmentDAO = departmentDAO;
         this.teacherDAO = teacherDAO;
         this.lectureDAO = lectureDAO;
+        this.scheduleCache = scheduleCache;
     }
 
     /**
@@ -63,6 +69,21 @@ public class TeacherServiceImp implements TeacherService {
         return teacherDAO.getAll();
     }
 
+    /**
+     * Gets a page of teachers ordered by id, starting after the passed id.
+     * One extra row is read to find out whether the next page exists.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of teachers
+     * @return - Page<Teacher>
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Teacher> getPage(int afterId, int size) {
+        LOGGER.debug("Invoke method getPage({}, {})", afterId, size);
+        return Page.of(teacherDAO.getPage(afterId, size + 1), size, Teacher::getId);
+    }
+
     /**
      * Gets full schedule for the teacher.
      *
@@ -74,8 +95,8 @@ public class TeacherServiceImp implements TeacherService {
     @Transactional(readOnly = true)
     public Schedule getFullSchedule(String teacherFirstName, String teacherLastName) throws DAOException {
         LOGGER.debug("Invoke method getFullSchedule({}, {})", teacherFirstName, teacherLastName);
-        Teacher teacher = teacherDAO.getByName(teacherFirstName, teacherLastName);
-        return new Schedule(lectureDAO.getLectureByTeacher(teacher));
+        return scheduleCache.getTeacherSchedule(teacherFirstName, teacherLastName, null, null, () ->
+                new Schedule(lectureDAO.getLecturesByTeacherName(teacherFirstName, teacherLastName)));
     }
 
     /**
@@ -91,8 +112,8 @@ public class TeacherServiceImp implements TeacherService {
     @Transactional(readOnly = true)
     public Schedule getScheduleForMonth(int month, int year, String teacherFirstName, String teacherLastName) throws DAOException {
         LOGGER.debug("Invoke method getScheduleForMonth({}, {}, {}, {})", month, year, teacherFirstName, teacherLastName);
-        Teacher teacher = teacherDAO.getByName(teacherFirstName, teacherLastName);
-        return new Schedule(lectureDAO.getLecturesByTeacherForMonth(month, year, teacher));
+        LocalDateTime from = LocalDate.of(year, month, 1).atStartOfDay();
+        return getTeacherSchedule(from, from.plusMonths(1), teacherFirstName, teacherLastName);
     }
 
     /**
@@ -107,8 +128,24 @@ public class TeacherServiceImp implements TeacherService {
     @Transactional(readOnly = true)
     public Schedule getScheduleForYear(int year, String teacherFirstName, String teacherLastName) throws DAOException {
         LOGGER.debug("Invoke method getScheduleForYear({}, {}, {})", year, teacherFirstName, teacherLastName);
-        Teacher teacher = teacherDAO.getByName(teacherFirstName, teacherLastName);
-        return new Schedule(lectureDAO.getLecturesByTeacherForYear(year, teacher));
+        LocalDateTime from = LocalDate.of(year, 1, 1).atStartOfDay();
+        return getTeacherSchedule(from, from.plusYears(1), teacherFirstName, teacherLastName);
+    }
+
+    /**
+     * Gets the schedule of the teacher for the period.
+     *
+     * @param from             - start of the period inclusive
+     * @param to               - end of the period exclusive
+     * @param teacherFirstName - teacherFirstName
+     * @param teacherLastName  - teacherLastName
+     * @return - Schedule
+     */
+    private Schedule getTeacherSchedule(LocalDateTime from, LocalDateTime to,
+                                        String teacherFirstName, String teacherLastName) throws DAOException {
+        return scheduleCache.getTeacherSchedule(teacherFirstName, teacherLastName, from, to, () ->
+                new Schedule(lectureDAO.getLecturesByTeacherNameForPeriod(from, to, teacherFirstName,
+                        teacherLastName)));
     }
 
     /**
@@ -118,7 +155,7 @@ public class TeacherServiceImp implements TeacherService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean insert(Teacher teacher) throws DAOException {
         LOGGER.debug("Invoke method insert({})", teacher);
         return teacherDAO.insert(teacher);
@@ -131,10 +168,12 @@ public class TeacherServiceImp implements TeacherService {
      * @return - boolean
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public boolean update(Teacher teacher) throws DAOException {
         LOGGER.debug("Invoke method update({})", teacher);
-        return teacherDAO.update(teacher);
+        boolean updated = teacherDAO.update(teacher);
+        scheduleCache.invalidateTeachers();
+        return updated;
     }
 
     /**
@@ -145,10 +184,13 @@ public class TeacherServiceImp implements TeacherService {
      * @return - Teacher
      */
     @Override
-    @Transactional
+    @Transactional(rollbackFor = DAOException.class)
     public Teacher delete(String teacherFirstName, String teacherLastName) throws DAOException {
         LOGGER.debug("Invoke method delete({},{})", teacherFirstName, teacherLastName);
         Teacher teacher = teacherDAO.getByName(teacherFirstName, teacherLastName);
-        return teacherDAO.delete(teacher);
+        Teacher deleted = teacherDAO.delete(teacher);
+        // lectures of the teacher are deleted by cascade
+        scheduleCache.invalidateAll();
+        return deleted;
     }
 }
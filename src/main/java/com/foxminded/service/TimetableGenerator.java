@@ -0,0 +1,746 @@
+package com.foxminded.service;
+
+import com.foxminded.model.ClassRoom;
+import com.foxminded.model.Course;
+import com.foxminded.model.Group;
+import com.foxminded.model.Lecture;
+import com.foxminded.model.Teacher;
+import com.foxminded.model.Timetable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+
+/**
+ * Generates a weekly timetable of groups repeated over the passed number of weeks. Every group gets the
+ * required number of lectures of every course, each lecture read by a teacher of the course in a class room
+ * large enough for the group, so no group, teacher or class room has two lectures at a time.
+ *
+ * The search places the hardest lectures first, courses with the fewest teachers per lecture and then the
+ * largest groups, next to the other lectures of the group in a day to avoid gaps and in the slots with the
+ * most free class rooms. Lectures that do not fit are placed by a tabu search taking out the fewest placed
+ * lectures in the way and placing them again.
+ * Searches starting from differently shuffled orders run in parallel in a fork/join pool, each one restarts
+ * until the timetable is complete or the time budget is spent, and the best timetable is returned.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class TimetableGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimetableGenerator.class);
+    private static final int FREE = -1;
+    private static final int BOOKED = -2;
+    private static final long MINUTES_PER_WEEK = Duration.ofDays(7).toMinutes();
+    private static final int MAX_STALLED_ITERATIONS = 100000;
+    private static final int MAX_STALLED_ATTEMPTS = 3;
+    private static final int TABU_TENURE = 10;
+    private static final int DEADLINE_CHECK = 256;
+
+    private final List<LocalTime> lectureTimes;
+    private final int days;
+    private final Duration duration;
+    private final Duration budget;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param lectureTimes - start times of the lectures of a day
+     * @param days         - number of days with lectures in a week, starting from the first day of the week
+     * @param duration     - duration of a lecture
+     * @param budget       - time given to the search
+     * @param parallelism  - number of parallel searches, 0 for the number of processors
+     */
+    public TimetableGenerator(List<LocalTime> lectureTimes, int days, Duration duration, Duration budget,
+                              int parallelism) {
+        if (lectureTimes == null || duration == null || budget == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        if (lectureTimes.isEmpty() || days < 1 || days > 7 || parallelism < 0) {
+            LOGGER.error("Wrong timetable settings: {} lectures a day, {} days, parallelism {}",
+                    lectureTimes.size(), days, parallelism);
+            throw new IllegalArgumentException("Wrong timetable settings");
+        }
+        this.lectureTimes = List.copyOf(lectureTimes);
+        this.days = days;
+        this.duration = duration;
+        this.budget = budget;
+        this.pool = parallelism == 0 ? new ForkJoinPool() : new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Generates the timetable.
+     *
+     * @param week              - first day of the first week
+     * @param weeks             - number of weeks
+     * @param groups            - groups with their students, the number of students chooses the class room
+     * @param teachers          - teachers with their course
+     * @param classRooms        - class rooms with their capacity
+     * @param lecturesPerCourse - number of lectures of a course each group needs in a week
+     * @param booked            - lectures already booked in these weeks, their slots are kept free
+     * @return - Timetable
+     */
+    public Timetable generate(LocalDate week, int weeks, List<Group> groups, List<Teacher> teachers,
+                              List<ClassRoom> classRooms, Map<Course, Integer> lecturesPerCourse,
+                              List<Lecture> booked) {
+        if (week == null || groups == null || teachers == null || classRooms == null
+                || lecturesPerCourse == null || booked == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        if (weeks < 1) {
+            LOGGER.error("Number of weeks must be positive: {}", weeks);
+            throw new IllegalArgumentException("Number of weeks must be positive");
+        }
+        long start = System.nanoTime();
+        Problem problem = new Problem(week, groups, teachers, classRooms, lecturesPerCourse, booked);
+        Attempt best = pool.invoke(new Search(problem, 0, pool.getParallelism(), start + budget.toNanos()));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Timetable timetable = best.toTimetable(week, weeks, elapsed);
+        LOGGER.info("Generated timetable: {}", timetable);
+        return timetable;
+    }
+
+    /**
+     * Stops the threads of the searches.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Splits the range of searches until one is left, the best of both halves is returned.
+     */
+    private final class Search extends RecursiveTask<Attempt> {
+        private final Problem problem;
+        private final int from;
+        private final int to;
+        private final long deadline;
+
+        Search(Problem problem, int from, int to, long deadline) {
+            this.problem = problem;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Attempt compute() {
+            if (to - from == 1) {
+                return search(problem, from, deadline);
+            }
+            int middle = (from + to) >>> 1;
+            Search left = new Search(problem, from, middle, deadline);
+            left.fork();
+            Attempt right = new Search(problem, middle, to, deadline).compute();
+            Attempt first = left.join();
+            Attempt best = first.isBetterThan(right) ? first : right;
+            best.attempts = first.attempts + right.attempts;
+            return best;
+        }
+    }
+
+    /**
+     * Restarts the search with a new order until the timetable is complete, the time is over or
+     * the restarts stop finding better timetables.
+     */
+    private Attempt search(Problem problem, int seed, long deadline) {
+        Attempt best = null;
+        int attempts = 0;
+        int stalled = 0;
+        for (int next = seed; best == null || !best.isComplete() && stalled < MAX_STALLED_ATTEMPTS
+                && System.nanoTime() < deadline; next += pool.getParallelism()) {
+            Attempt attempt = new Attempt(problem, next);
+            attempt.solve(deadline);
+            attempts++;
+            if (best == null || attempt.isBetterThan(best)) {
+                best = attempt;
+                stalled = 0;
+            } else {
+                stalled++;
+            }
+        }
+        best.attempts = attempts;
+        return best;
+    }
+
+    /**
+     * Groups, teachers, class rooms and required lectures, shared by the searches.
+     */
+    private final class Problem {
+        private final Group[] groups;
+        private final int[] groupSizes;
+        private final Teacher[] teachers;
+        private final ClassRoom[] classRooms;
+        private final Course[] courses;
+        private final int[][] teachersByCourse;
+        private final int[] demandGroups;
+        private final int[] demandCourses;
+        private final double[] difficulty;
+        private final long[] slotStarts;
+        private final boolean[][] groupBooked;
+        private final boolean[][] teacherBooked;
+        private final boolean[][] classRoomBooked;
+
+        Problem(LocalDate week, List<Group> groupList, List<Teacher> teacherList, List<ClassRoom> classRoomList,
+                Map<Course, Integer> lecturesPerCourse, List<Lecture> booked) {
+            groups = groupList.toArray(new Group[0]);
+            groupSizes = new int[groups.length];
+            for (int g = 0; g < groups.length; g++) {
+                groupSizes[g] = groups[g].getStudents() == null ? 0 : groups[g].getStudents().size();
+            }
+            teachers = teacherList.toArray(new Teacher[0]);
+            classRooms = classRoomList.toArray(new ClassRoom[0]);
+            Arrays.sort(classRooms, Comparator.comparingInt(ClassRoom::getCapacity));
+            courses = lecturesPerCourse.keySet().toArray(new Course[0]);
+
+            Map<Integer, Integer> courseIndexes = new HashMap<>();
+            for (int c = 0; c < courses.length; c++) {
+                courseIndexes.put(courses[c].getId(), c);
+            }
+            List<List<Integer>> byCourse = new ArrayList<>();
+            for (int c = 0; c < courses.length; c++) {
+                byCourse.add(new ArrayList<>());
+            }
+            for (int t = 0; t < teachers.length; t++) {
+                Course course = teachers[t].getCourse();
+                Integer c = course == null ? null : courseIndexes.get(course.getId());
+                if (c != null) {
+                    byCourse.get(c).add(t);
+                }
+            }
+            teachersByCourse = new int[courses.length][];
+            for (int c = 0; c < courses.length; c++) {
+                teachersByCourse[c] = byCourse.get(c).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            slotStarts = new long[days * lectureTimes.size()];
+            for (int s = 0; s < slotStarts.length; s++) {
+                slotStarts[s] = ChronoUnit.MINUTES.between(week.atStartOfDay(),
+                        week.plusDays(s / lectureTimes.size()).atTime(lectureTimes.get(s % lectureTimes.size())));
+            }
+
+            int required = 0;
+            for (Course course : courses) {
+                required += lecturesPerCourse.get(course) * groups.length;
+            }
+            demandGroups = new int[required];
+            demandCourses = new int[required];
+            difficulty = new double[required];
+            int d = 0;
+            for (int c = 0; c < courses.length; c++) {
+                int count = lecturesPerCourse.get(courses[c]);
+                double load = (double) count * groups.length / Math.max(1, teachersByCourse[c].length);
+                for (int g = 0; g < groups.length; g++) {
+                    for (int i = 0; i < count; i++) {
+                        demandGroups[d] = g;
+                        demandCourses[d] = c;
+                        difficulty[d] = load + (double) groupSizes[g] / (1 + maxCapacity());
+                        d++;
+                    }
+                }
+            }
+
+            groupBooked = new boolean[groups.length][slotStarts.length];
+            teacherBooked = new boolean[teachers.length][slotStarts.length];
+            classRoomBooked = new boolean[classRooms.length][slotStarts.length];
+            book(week, booked);
+        }
+
+        int slots() {
+            return slotStarts.length;
+        }
+
+        private int maxCapacity() {
+            return classRooms.length == 0 ? 0 : classRooms[classRooms.length - 1].getCapacity();
+        }
+
+        /**
+         * Marks the slots overlapping the booked lectures, taken modulo a week, as busy.
+         */
+        private void book(LocalDate week, List<Lecture> booked) {
+            Map<Integer, Integer> groupIndexes = indexes(groups, Group::getId);
+            Map<Integer, Integer> teacherIndexes = indexes(teachers, Teacher::getId);
+            Map<Integer, Integer> classRoomIndexes = indexes(classRooms, ClassRoom::getId);
+            long length = duration.toMinutes();
+            for (Lecture lecture : booked) {
+                if (lecture.getEnd() == null) {
+                    continue;
+                }
+                long start = Math.floorMod(ChronoUnit.MINUTES.between(week.atStartOfDay(), lecture.getDate()),
+                        MINUTES_PER_WEEK);
+                long end = start + lecture.getDuration().toMinutes();
+                for (int s = 0; s < slotStarts.length; s++) {
+                    if (slotStarts[s] < end && start < slotStarts[s] + length) {
+                        mark(groupBooked, groupIndexes,
+                                lecture.getGroup() == null ? null : lecture.getGroup().getId(), s);
+                        mark(teacherBooked, teacherIndexes,
+                                lecture.getTeacher() == null ? null : lecture.getTeacher().getId(), s);
+                        mark(classRoomBooked, classRoomIndexes,
+                                lecture.getClassRoom() == null ? null : lecture.getClassRoom().getId(), s);
+                    }
+                }
+            }
+        }
+
+        private void mark(boolean[][] busy, Map<Integer, Integer> indexes, Integer id, int slot) {
+            Integer index = id == null ? null : indexes.get(id);
+            if (index != null) {
+                busy[index][slot] = true;
+            }
+        }
+
+        private <T> Map<Integer, Integer> indexes(T[] items, ToIntFunction<T> id) {
+            Map<Integer, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < items.length; i++) {
+                indexes.put(id.applyAsInt(items[i]), i);
+            }
+            return indexes;
+        }
+    }
+
+    /**
+     * One search: the occupation of every slot by group, teacher and class room, and the placement of
+     * every required lecture.
+     */
+    private final class Attempt {
+        private final Problem problem;
+        private final Random random;
+        private final boolean shuffle;
+        private final int perDay = lectureTimes.size();
+        private final int[][] groupAt;
+        private final int[][] teacherAt;
+        private final int[][] classRoomAt;
+        private final int[][] dayLoads;
+        private final int[] teacherLoads;
+        private final int[] classRoomLoads;
+        private final int[] slotOf;
+        private final int[] teacherOf;
+        private final int[] classRoomOf;
+        private int placed;
+        private int gaps;
+        private int attempts;
+
+        Attempt(Problem problem, int seed) {
+            this.problem = problem;
+            this.random = new Random(seed);
+            this.shuffle = seed != 0;
+            groupAt = occupation(problem.groupBooked);
+            teacherAt = occupation(problem.teacherBooked);
+            classRoomAt = occupation(problem.classRoomBooked);
+            dayLoads = new int[problem.groups.length][days];
+            teacherLoads = new int[problem.teachers.length];
+            classRoomLoads = new int[problem.slots()];
+            for (int[] slots : classRoomAt) {
+                for (int k = 0; k < slots.length; k++) {
+                    classRoomLoads[k] += slots[k] == BOOKED ? 1 : 0;
+                }
+            }
+            slotOf = new int[problem.demandGroups.length];
+            teacherOf = new int[slotOf.length];
+            classRoomOf = new int[slotOf.length];
+            Arrays.fill(slotOf, FREE);
+        }
+
+        void solve(long deadline) {
+            for (int d : order()) {
+                if (System.nanoTime() > deadline) {
+                    break;
+                }
+                place(d);
+            }
+            if (!isComplete()) {
+                repair(deadline);
+            }
+            gaps = countGaps();
+        }
+
+        boolean isComplete() {
+            return placed == slotOf.length;
+        }
+
+        boolean isBetterThan(Attempt other) {
+            return placed > other.placed || placed == other.placed && gaps < other.gaps;
+        }
+
+        /**
+         * Orders the lectures from the hardest one, the first search keeps the order of equally hard lectures
+         * and the others shuffle them.
+         */
+        private Integer[] order() {
+            Integer[] order = new Integer[slotOf.length];
+            double[] noise = new double[order.length];
+            for (int d = 0; d < order.length; d++) {
+                order[d] = d;
+                noise[d] = shuffle ? random.nextDouble() : d;
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingDouble(d -> -problem.difficulty[d])
+                    .thenComparingDouble(d -> noise[d]));
+            return order;
+        }
+
+        /**
+         * Places the lecture in the free slot of its group that opens the fewest gaps in the day, then with
+         * the most free class rooms, in the least loaded day and earliest in the day, with a free teacher and
+         * class room.
+         */
+        private boolean place(int d) {
+            int g = problem.demandGroups[d];
+            int best = FREE;
+            int bestCost = Integer.MAX_VALUE;
+            int bestTeacher = FREE;
+            int bestClassRoom = FREE;
+            for (int s = 0; s < problem.slots(); s++) {
+                if (groupAt[g][s] != FREE) {
+                    continue;
+                }
+                int cost = cost(g, s);
+                if (cost >= bestCost) {
+                    continue;
+                }
+                int t = freeTeacher(problem.demandCourses[d], s);
+                int r = t == FREE ? FREE : freeClassRoom(problem.groupSizes[g], s);
+                if (r != FREE) {
+                    best = s;
+                    bestCost = cost;
+                    bestTeacher = t;
+                    bestClassRoom = r;
+                }
+            }
+            if (best == FREE) {
+                return false;
+            }
+            assign(d, best, bestTeacher, bestClassRoom);
+            return true;
+        }
+
+        private int cost(int g, int s) {
+            int day = s / perDay;
+            int position = s % perDay;
+            int first = FREE;
+            int last = FREE;
+            for (int k = 0; k < perDay; k++) {
+                if (groupAt[g][day * perDay + k] != FREE) {
+                    first = first == FREE ? k : first;
+                    last = k;
+                }
+            }
+            int gaps;
+            if (first == FREE) {
+                gaps = 0;
+            } else if (position < first) {
+                gaps = first - position - 1;
+            } else if (position > last) {
+                gaps = position - last - 1;
+            } else {
+                gaps = -1;
+            }
+            return ((gaps + 1) * (problem.classRooms.length + 1) + classRoomLoads[s]) * (perDay + 1) * perDay
+                    + dayLoads[g][day] * perDay + position;
+        }
+
+        /**
+         * Places the lectures left over in the slot where the fewest placed lectures are in the way, those
+         * lectures are taken out and placed again. A lecture placed this way is not taken out for a number
+         * of iterations, so the search does not go round in circles. Returns to the best timetable found
+         * when no better one is found for a while.
+         */
+        private void repair(long deadline) {
+            List<Integer> unplaced = new ArrayList<>();
+            for (int d = 0; d < slotOf.length; d++) {
+                if (slotOf[d] == FREE) {
+                    unplaced.add(d);
+                }
+            }
+            int[] tabu = new int[slotOf.length];
+            int[] bestSlots = slotOf.clone();
+            int[] bestTeachers = teacherOf.clone();
+            int[] bestClassRooms = classRoomOf.clone();
+            int bestPlaced = placed;
+            int stalled = 0;
+            for (int iteration = 1; !unplaced.isEmpty() && stalled < MAX_STALLED_ITERATIONS; iteration++) {
+                if (iteration % DEADLINE_CHECK == 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+                int i = random.nextInt(unplaced.size());
+                int d = unplaced.get(i);
+                unplaced.set(i, unplaced.get(unplaced.size() - 1));
+                unplaced.remove(unplaced.size() - 1);
+                if (!place(d)) {
+                    eject(d, iteration, tabu, unplaced);
+                }
+                if (placed > bestPlaced) {
+                    bestPlaced = placed;
+                    System.arraycopy(slotOf, 0, bestSlots, 0, slotOf.length);
+                    System.arraycopy(teacherOf, 0, bestTeachers, 0, slotOf.length);
+                    System.arraycopy(classRoomOf, 0, bestClassRooms, 0, slotOf.length);
+                    stalled = 0;
+                } else {
+                    stalled++;
+                }
+            }
+            if (placed < bestPlaced) {
+                restore(bestSlots, bestTeachers, bestClassRooms);
+            }
+        }
+
+        private void eject(int d, int iteration, int[] tabu, List<Integer> unplaced) {
+            int g = problem.demandGroups[d];
+            int c = problem.demandCourses[d];
+            int best = FREE;
+            int bestCost = Integer.MAX_VALUE;
+            int bestTeacher = FREE;
+            int bestClassRoom = FREE;
+            int offset = random.nextInt(problem.slots());
+            for (int i = 0; i < problem.slots(); i++) {
+                int s = (i + offset) % problem.slots();
+                int blocking = groupAt[g][s];
+                if (!isMovable(blocking, iteration, tabu)) {
+                    continue;
+                }
+                int t = freeTeacher(c, s);
+                if (t == FREE) {
+                    t = movableTeacher(c, s, iteration, tabu);
+                }
+                int r = t == FREE ? FREE : freeClassRoom(problem.groupSizes[g], s);
+                if (t != FREE && r == FREE) {
+                    r = movableClassRoom(problem.groupSizes[g], s, iteration, tabu);
+                }
+                if (r == FREE) {
+                    continue;
+                }
+                int cost = 2 * ((blocking >= 0 ? 1 : 0) + (teacherAt[t][s] >= 0 ? 1 : 0)
+                        + (classRoomAt[r][s] >= 0 ? 1 : 0));
+                if (cost == 2 && cost < bestCost && canMove(Math.max(blocking,
+                        Math.max(teacherAt[t][s], classRoomAt[r][s])), s)) {
+                    cost = 1;
+                }
+                if (cost < bestCost) {
+                    best = s;
+                    bestCost = cost;
+                    bestTeacher = t;
+                    bestClassRoom = r;
+                    if (cost == 1) {
+                        break;
+                    }
+                }
+            }
+            if (best == FREE) {
+                unplaced.add(d);
+                return;
+            }
+            List<Integer> taken = new ArrayList<>(3);
+            for (int blocking : new int[]{groupAt[g][best], teacherAt[bestTeacher][best],
+                    classRoomAt[bestClassRoom][best]}) {
+                if (blocking >= 0 && !taken.contains(blocking)) {
+                    unassign(blocking);
+                    taken.add(blocking);
+                }
+            }
+            assign(d, best, bestTeacher, bestClassRoom);
+            tabu[d] = iteration + TABU_TENURE + random.nextInt(TABU_TENURE);
+            for (int e : taken) {
+                if (!place(e)) {
+                    unplaced.add(e);
+                }
+            }
+        }
+
+        /**
+         * Checks whether the placed lecture fits another slot as it is, so taking it out costs nothing.
+         */
+        private boolean canMove(int d, int excluded) {
+            int g = problem.demandGroups[d];
+            for (int s = 0; s < problem.slots(); s++) {
+                if (s != excluded && groupAt[g][s] == FREE && freeTeacher(problem.demandCourses[d], s) != FREE
+                        && freeClassRoom(problem.groupSizes[g], s) != FREE) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isMovable(int d, int iteration, int[] tabu) {
+            return d == FREE || d >= 0 && tabu[d] <= iteration;
+        }
+
+        private int movableTeacher(int c, int s, int iteration, int[] tabu) {
+            int[] teachers = problem.teachersByCourse[c];
+            int offset = teachers.length == 0 ? 0 : random.nextInt(teachers.length);
+            for (int i = 0; i < teachers.length; i++) {
+                int t = teachers[(i + offset) % teachers.length];
+                if (teacherAt[t][s] >= 0 && isMovable(teacherAt[t][s], iteration, tabu)) {
+                    return t;
+                }
+            }
+            return FREE;
+        }
+
+        private int movableClassRoom(int size, int s, int iteration, int[] tabu) {
+            for (int r = lowerBound(size); r < problem.classRooms.length; r++) {
+                if (classRoomAt[r][s] >= 0 && isMovable(classRoomAt[r][s], iteration, tabu)) {
+                    return r;
+                }
+            }
+            return FREE;
+        }
+
+        private int freeTeacher(int c, int s) {
+            int best = FREE;
+            for (int t : problem.teachersByCourse[c]) {
+                if (teacherAt[t][s] == FREE && (best == FREE || teacherLoads[t] < teacherLoads[best])) {
+                    best = t;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Finds the smallest free class room the group fits in.
+         */
+        private int freeClassRoom(int size, int s) {
+            if (classRoomLoads[s] == problem.classRooms.length) {
+                return FREE;
+            }
+            for (int r = lowerBound(size); r < problem.classRooms.length; r++) {
+                if (classRoomAt[r][s] == FREE) {
+                    return r;
+                }
+            }
+            return FREE;
+        }
+
+        private int lowerBound(int size) {
+            int low = 0;
+            int high = problem.classRooms.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (problem.classRooms[middle].getCapacity() < size) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private void assign(int d, int s, int t, int r) {
+            int g = problem.demandGroups[d];
+            slotOf[d] = s;
+            teacherOf[d] = t;
+            classRoomOf[d] = r;
+            groupAt[g][s] = d;
+            teacherAt[t][s] = d;
+            classRoomAt[r][s] = d;
+            classRoomLoads[s]++;
+            dayLoads[g][s / perDay]++;
+            teacherLoads[t]++;
+            placed++;
+        }
+
+        private void unassign(int d) {
+            int g = problem.demandGroups[d];
+            int s = slotOf[d];
+            groupAt[g][s] = FREE;
+            teacherAt[teacherOf[d]][s] = FREE;
+            classRoomAt[classRoomOf[d]][s] = FREE;
+            classRoomLoads[s]--;
+            dayLoads[g][s / perDay]--;
+            teacherLoads[teacherOf[d]]--;
+            slotOf[d] = FREE;
+            placed--;
+        }
+
+        private void restore(int[] slots, int[] teachers, int[] classRooms) {
+            for (int d = 0; d < slotOf.length; d++) {
+                if (slotOf[d] != FREE) {
+                    unassign(d);
+                }
+            }
+            for (int d = 0; d < slotOf.length; d++) {
+                if (slots[d] != FREE) {
+                    assign(d, slots[d], teachers[d], classRooms[d]);
+                }
+            }
+        }
+
+        private int countGaps() {
+            int count = 0;
+            for (int[] slots : groupAt) {
+                for (int day = 0; day < days; day++) {
+                    int first = FREE;
+                    int last = FREE;
+                    int busy = 0;
+                    for (int k = 0; k < perDay; k++) {
+                        if (slots[day * perDay + k] != FREE) {
+                            first = first == FREE ? k : first;
+                            last = k;
+                            busy++;
+                        }
+                    }
+                    count += first == FREE ? 0 : last - first + 1 - busy;
+                }
+            }
+            return count;
+        }
+
+        Timetable toTimetable(LocalDate week, int weeks, long elapsed) {
+            List<Lecture> lectures = new ArrayList<>(placed * weeks);
+            List<Lecture> unplaced = new ArrayList<>(slotOf.length - placed);
+            for (int w = 0; w < weeks; w++) {
+                LocalDateTime weekStart = week.plusWeeks(w).atStartOfDay();
+                for (int d = 0; d < slotOf.length; d++) {
+                    if (slotOf[d] == FREE) {
+                        continue;
+                    }
+                    Group group = problem.groups[problem.demandGroups[d]];
+                    Course course = problem.courses[problem.demandCourses[d]];
+                    LocalDateTime date = weekStart.plusMinutes(problem.slotStarts[slotOf[d]]);
+                    lectures.add(new Lecture(0, course.getName() + ' ' + group.getName() + ' ' + date, date,
+                            duration, problem.teachers[teacherOf[d]], problem.classRooms[classRoomOf[d]],
+                            new Group(group.getId(), group.getName()), course));
+                }
+            }
+            for (int d = 0; d < slotOf.length; d++) {
+                if (slotOf[d] == FREE) {
+                    Group group = problem.groups[problem.demandGroups[d]];
+                    Course course = problem.courses[problem.demandCourses[d]];
+                    Lecture lecture = new Lecture(course.getName() + ' ' + group.getName());
+                    lecture.setGroup(new Group(group.getId(), group.getName()));
+                    lecture.setCourse(course);
+                    unplaced.add(lecture);
+                }
+            }
+            return new Timetable(lectures, unplaced, slotOf.length, gaps, attempts, elapsed);
+        }
+
+        private int[][] occupation(boolean[][] booked) {
+            int[][] occupation = new int[booked.length][];
+            for (int i = 0; i < booked.length; i++) {
+                occupation[i] = new int[booked[i].length];
+                for (int s = 0; s < booked[i].length; s++) {
+                    occupation[i][s] = booked[i][s] ? BOOKED : FREE;
+                }
+            }
+            return occupation;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.foxminded.service;
+
+import com.foxminded.dao.layers.*;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.*;
+import com.foxminded.service.layers.TimetableService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@Component
+@Service("timetableService")
+public class TimetableServiceImp implements TimetableService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimetableServiceImp.class);
+
+    private TimetableGenerator timetableGenerator;
+    private CourseDAO courseDAO;
+    private GroupDAO groupDAO;
+    private StudentDAO studentDAO;
+    private TeacherDAO teacherDAO;
+    private ClassRoomDAO classRoomDAO;
+    private LectureDAO lectureDAO;
+    private ScheduleCache scheduleCache;
+    private LectureConflictIndex lectureConflictIndex;
+    private ClassRoomOccupancyIndex classRoomOccupancyIndex;
+
+    @Autowired
+    public TimetableServiceImp(TimetableGenerator timetableGenerator, CourseDAO courseDAO, GroupDAO groupDAO,
+                               StudentDAO studentDAO, TeacherDAO teacherDAO, ClassRoomDAO classRoomDAO,
+                               LectureDAO lectureDAO, ScheduleCache scheduleCache,
+                               LectureConflictIndex lectureConflictIndex,
+                               ClassRoomOccupancyIndex classRoomOccupancyIndex) {
+        this.timetableGenerator = timetableGenerator;
+        this.courseDAO = courseDAO;
+        this.groupDAO = groupDAO;
+        this.studentDAO = studentDAO;
+        this.teacherDAO = teacherDAO;
+        this.classRoomDAO = classRoomDAO;
+        this.lectureDAO = lectureDAO;
+        this.scheduleCache = scheduleCache;
+        this.lectureConflictIndex = lectureConflictIndex;
+        this.classRoomOccupancyIndex = classRoomOccupancyIndex;
+    }
+
+    /**
+     * Generates the timetable and inserts the placed lectures of all weeks with one batch inside
+     * one transaction, so nothing is stored when a lecture is rejected. Lectures that did not fit are
+     * only reported. Students are attached to copies of the groups, the groups of the DAO may be shared.
+     *
+     * @param week              - first day of the first week
+     * @param weeks             - number of weeks
+     * @param lecturesPerCourse - number of lectures a group needs in a week by course id
+     * @return - Timetable
+     */
+    @Override
+    @Transactional(rollbackFor = DAOException.class)
+    public Timetable generate(LocalDate week, int weeks, Map<Integer, Integer> lecturesPerCourse)
+            throws DAOException {
+        LOGGER.debug("Invoke method generate()");
+        if (week == null || lecturesPerCourse == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        Map<Course, Integer> courses = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Integer> entry : lecturesPerCourse.entrySet()) {
+            courses.put(courseDAO.getById(entry.getKey()), entry.getValue());
+        }
+        Map<Integer, List<Student>> students = new HashMap<>();
+        for (Student student : studentDAO.getAll()) {
+            students.computeIfAbsent(student.getGroup().getId(), id -> new ArrayList<>()).add(student);
+        }
+        List<Group> groups = new ArrayList<>();
+        for (Group cached : groupDAO.getAll()) {
+            Group group = new Group(cached.getId(), cached.getName());
+            group.setStudents(students.getOrDefault(group.getId(), new ArrayList<>()));
+            groups.add(group);
+        }
+        List<Lecture> booked = lectureDAO.getLecturesForPeriod(week.atStartOfDay(),
+                week.plusWeeks(weeks).atStartOfDay());
+
+        Timetable timetable = timetableGenerator.generate(week, weeks, groups, teacherDAO.getAll(),
+                classRoomDAO.getAll(), courses, booked);
+        lectureDAO.insertAll(timetable.getLectures());
+        scheduleCache.invalidateAll();
+        lectureConflictIndex.invalidate();
+        classRoomOccupancyIndex.invalidate();
+        return timetable;
+    }
+}
@@ -3,6 +3,7 @@ package com.foxminded.service.layers;
 import com.foxminded.exceptions.DAOException;
 import com.foxminded.model.ClassRoom;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -27,6 +28,18 @@ public interface ClassRoomService {
      */
     List<ClassRoom> getAll();
 
+    /**
+     * Gets the class rooms with at least the capacity that are free from the start to the end of the time
+     * in each of the weeks.
+     *
+     * @param from     - start of the time
+     * @param to       - end of the time
+     * @param capacity - least capacity
+     * @param weeks    - number of weeks the time repeats in, starting from the week of the time
+     * @return - List<ClassRoom> ordered by capacity
+     */
+    List<ClassRoom> getFree(LocalDateTime from, LocalDateTime to, int capacity, int weeks);
+
     /**
      * Inserts class room to the table.
      *
@@ -0,0 +1,34 @@
+package com.foxminded.service.layers;
+
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.FreeSlot;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public interface FreeSlotService {
+
+    /**
+     * Gets the times of the working days of the period when the teacher and all the groups are free
+     * at least for the duration.
+     *
+     * @param teacherFirstName - teacherFirstName
+     * @param teacherLastName  - teacherLastName
+     * @param groupNames       - names of the groups
+     * @param from             - first day of the period
+     * @param to               - day after the last day of the period
+     * @param duration         - least length of a slot
+     * @param capacity         - least capacity of a class room free for the duration from the start of a slot,
+     *                         null when class rooms are not needed
+     * @return - List<FreeSlot> ordered by start
+     * @throws DAOException - when the teacher or a group does not exist
+     */
+    List<FreeSlot> getCommonFreeSlots(String teacherFirstName, String teacherLastName, List<String> groupNames,
+                                      LocalDate from, LocalDate to, Duration duration, Integer capacity)
+            throws DAOException;
+}
@@ -0,0 +1,22 @@
+package com.foxminded.service.layers;
+
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.University;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public interface ImportService {
+
+    /**
+     * Imports a university in dependency order: departments with their teachers, class rooms,
+     * groups with their students, enrolments of the students and the schedule lectures.
+     * Courses referenced by teachers, students and lectures must already exist.
+     *
+     * @param university - university
+     * @return - number of inserted records
+     * @throws DAOException - DAOException
+     */
+    int importUniversity(University university) throws DAOException;
+}
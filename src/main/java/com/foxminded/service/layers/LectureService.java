@@ -1,8 +1,12 @@
 package com.foxminded.service.layers;
 
 import com.foxminded.model.Lecture;
+import com.foxminded.model.LectureConflict;
+import com.foxminded.model.Page;
 import com.foxminded.exceptions.DAOException;
+import com.foxminded.exceptions.LectureConflictException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -26,6 +30,31 @@ public interface LectureService {
      */
     List<Lecture> getAll();
 
+    /**
+     * Gets all lectures with class room, teacher, group and course details.
+     *
+     * @return - List<Lecture>
+     */
+    List<Lecture> getAllWithDetails();
+
+    /**
+     * Gets a page of lectures with class room, teacher, group and course details ordered by id,
+     * starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of lectures
+     * @return - Page<Lecture>
+     */
+    Page<Lecture> getPage(int afterId, int size);
+
+    /**
+     * Reads all lectures ordered by id one by one and passes every lecture to the action,
+     * without holding the whole table in memory.
+     *
+     * @param action - action for every lecture
+     */
+    void forEach(Consumer<Lecture> action);
+
     /**
      * Changes a teacher and course in the lecture.
      *
@@ -34,6 +63,7 @@ public interface LectureService {
      * @param teacherLastName - teacherName
      * @return - boolean
      * @throws DAOException - DAOException
+     * @throws LectureConflictException - when the class room, teacher or group is booked at that time
      */
     boolean changeTeacher(String lectureName, String teacherFirstName, String teacherLastName) throws DAOException;
 
@@ -44,6 +74,7 @@ public interface LectureService {
      * @param classRoomName - classRoomName
      * @return - boolean
      * @throws DAOException - DAOException
+     * @throws LectureConflictException - when the class room, teacher or group is booked at that time
      */
     boolean changeClassRoom(String lectureName, String classRoomName) throws DAOException;
 
@@ -54,6 +85,7 @@ public interface LectureService {
      * @param groupName - groupName
      * @return - boolean
      * @throws DAOException - DAOException
+     * @throws LectureConflictException - when the class room, teacher or group is booked at that time
      */
     boolean changeGroup(String lectureName, String groupName) throws DAOException;
 
@@ -63,6 +95,7 @@ public interface LectureService {
      * @param lecture - lecture
      * @return - boolean
      * @throws DAOException - DAOException
+     * @throws LectureConflictException - when the class room, teacher or group is booked at that time
      */
     boolean insert(Lecture lecture) throws DAOException;
 
@@ -72,6 +105,7 @@ public interface LectureService {
      * @param lecture - Lecture
      * @return - boolean
      * @throws DAOException - DAOException
+     * @throws LectureConflictException - when the class room, teacher or group is booked at that time
      */
     boolean update(Lecture lecture) throws DAOException;
 
@@ -83,4 +117,11 @@ public interface LectureService {
      * @throws DAOException - DAOException
      */
     Lecture delete(String lectureName) throws DAOException;
+
+    /**
+     * Finds all lectures booking a class room, teacher or group already booked at the same time.
+     *
+     * @return - List<LectureConflict>
+     */
+    List<LectureConflict> validateSchedule();
 }
@@ -2,11 +2,13 @@ package com.foxminded.service.layers;
 
 import com.foxminded.model.Course;
 import com.foxminded.model.Schedule;
+import com.foxminded.model.Page;
 import com.foxminded.model.Student;
 import com.foxminded.exceptions.DAOException;
 import com.foxminded.model.StudentCourse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -29,6 +31,23 @@ public interface StudentService {
      */
     List<Student> getAll();
 
+    /**
+     * Gets a page of students ordered by id, starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of students
+     * @return - Page<Student>
+     */
+    Page<Student> getPage(int afterId, int size);
+
+    /**
+     * Reads all students ordered by id one by one and passes every student to the action,
+     * without holding the whole table in memory.
+     *
+     * @param action - action for every student
+     */
+    void forEach(Consumer<Student> action);
+
     /**
      * Gets all relationship between students and courses with ids.
      *
@@ -111,11 +130,12 @@ public interface StudentService {
     boolean insertCourseToStudent(String studentFirstName, String studentLastName, Course course) throws DAOException;
 
     /**
-     * Inserts relationship: Student - Course.
+     * Inserts relationship: Student - Course in batches, skipping already existing pairs.
      *
      * @param students - students with relationship: Student - Course
+     * @return - outcome per pair in students/courses order: 1 - inserted, 0 - already existed
      */
-    void insertRelationshipStudentsToCourses(List<Student> students);
+    int[] insertRelationshipStudentsToCourses(List<Student> students);
 
     /**
      * Updates a recorded data by id.
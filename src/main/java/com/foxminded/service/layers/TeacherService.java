@@ -1,6 +1,7 @@
 package com.foxminded.service.layers;
 
 import com.foxminded.model.Schedule;
+import com.foxminded.model.Page;
 import com.foxminded.model.Teacher;
 import com.foxminded.exceptions.DAOException;
 import java.util.List;
@@ -27,6 +28,15 @@ public interface TeacherService {
      */
     List<Teacher> getAll();
 
+    /**
+     * Gets a page of teachers ordered by id, starting after the passed id.
+     *
+     * @param afterId - id after which the page starts, 0 for the first page
+     * @param size    - max number of teachers
+     * @return - Page<Teacher>
+     */
+    Page<Teacher> getPage(int afterId, int size);
+
     /**
      * Gets full schedule for the teacher.
      *
@@ -0,0 +1,27 @@
+package com.foxminded.service.layers;
+
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Timetable;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public interface TimetableService {
+
+    /**
+     * Generates a timetable of all groups, teachers and class rooms around the lectures already booked
+     * in these weeks and inserts the placed lectures.
+     *
+     * @param week              - first day of the first week
+     * @param weeks             - number of weeks
+     * @param lecturesPerCourse - number of lectures a group needs in a week by course id
+     * @return - Timetable
+     * @throws DAOException - DAOException
+     * @throws com.foxminded.exceptions.LectureConflictException - when a generated lecture overlaps a stored one
+     */
+    Timetable generate(LocalDate week, int weeks, Map<Integer, Integer> lecturesPerCourse) throws DAOException;
+}
@@ -0,0 +1,147 @@
+package com.foxminded.web.async;
+
+import com.foxminded.exceptions.IncompleteResponseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+
+/**
+ * Writes responses of slow endpoints on a bounded executor, so the request thread goes back to
+ * the container while the database works. When all threads are busy and the queue is full the request
+ * is answered with 503 Service Unavailable at once. A response not written within the timeout
+ * is answered with 503 too and its writing is interrupted. When the writer has already committed
+ * the response, it fails with IncompleteResponseException, so the client never takes a cut response
+ * for a complete one. The result is completed either by the writer or by the timeout, never by both,
+ * and a writer still waiting in the queue when the request times out is not run at all. The interrupt
+ * does not stop a blocking JDBC call, so the DAOs cancel statements running longer than the timeout themselves.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class AsyncResponseWriter {
+    public static final long NO_TIMEOUT = 0;
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncResponseWriter.class);
+
+    private final AsyncTaskExecutor executor;
+    private final long timeout;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param executor - bounded executor
+     * @param timeout  - timeout in milliseconds, NO_TIMEOUT to write the response however long it takes
+     */
+    public AsyncResponseWriter(AsyncTaskExecutor executor, long timeout) {
+        if (executor == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        if (timeout < NO_TIMEOUT) {
+            LOGGER.error("Timeout must not be negative: {}", timeout);
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Starts writing the response on the executor. The result has no body, so handlers returning it
+     * are annotated with @ResponseBody to render no view after the response is written.
+     *
+     * @param response - response
+     * @param writer   - writes the response
+     * @return - result completed when the response is written, null when the request was rejected
+     * @throws IOException - when the rejection can't be sent
+     */
+    public DeferredResult<Void> write(HttpServletResponse response, Writer writer) throws IOException {
+        AsyncWrite write = new AsyncWrite(response, writer);
+        try {
+            write.future = executor.submit(write);
+        } catch (TaskRejectedException e) {
+            LOGGER.warn("Too many slow requests, the request is rejected");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many requests, try again later");
+            return null;
+        }
+        return write.result;
+    }
+
+    /**
+     * Writes a response.
+     */
+    @FunctionalInterface
+    public interface Writer {
+        void write() throws IOException;
+    }
+
+    private enum State {
+        QUEUED, WRITING, DONE
+    }
+
+    /**
+     * Writing of one response, completed by the writer or by the timeout, whichever comes first.
+     */
+    private final class AsyncWrite implements Runnable {
+        private final HttpServletResponse response;
+        private final Writer writer;
+        private final AtomicReference<State> state = new AtomicReference<>(State.QUEUED);
+        private final DeferredResult<Void> result = new DeferredResult<>(timeout, this::timedOut);
+        private volatile Future<?> future;
+        private volatile Exception failure;
+
+        AsyncWrite(HttpServletResponse response, Writer writer) {
+            this.response = response;
+            this.writer = writer;
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(State.QUEUED, State.WRITING)) {
+                return;
+            }
+            try {
+                writer.write();
+            } catch (Exception e) {
+                failure = e;
+            }
+            if (!state.compareAndSet(State.WRITING, State.DONE)) {
+                return;
+            }
+            if (failure == null) {
+                result.setResult(null);
+            } else {
+                result.setErrorResult(failure);
+            }
+        }
+
+        /**
+         * Gets the result of a timed out request: the outcome of the writer when it has just finished,
+         * IncompleteResponseException when the writer has committed the response, 503 Service Unavailable
+         * otherwise.
+         */
+        private Object timedOut() {
+            State previous = state.getAndSet(State.DONE);
+            if (previous == State.DONE) {
+                return failure;
+            }
+            LOGGER.warn("The response was not written within {} ms", timeout);
+            if (future != null) {
+                future.cancel(true);
+            }
+            if (previous == State.WRITING && response.isCommitted()) {
+                LOGGER.error("The response is already committed, it ends with an error");
+                return new IncompleteResponseException("The response was not written within " + timeout + " ms");
+            }
+            return new AsyncRequestTimeoutException();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.foxminded.web.async;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thymeleaf.context.LazyContextVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+
+/**
+ * Model attributes of one request which are loaded only when the template reads them.
+ * The first read starts the loads of all attributes of the group on the executor,
+ * so a page rendering several attributes waits for the slowest load instead of the sum of all loads,
+ * and a page rendering none of them doesn't load anything.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class LazyModelAttributes {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyModelAttributes.class);
+
+    private final Executor executor;
+    private final List<Attribute<?>> attributes = new ArrayList<>();
+
+    public LazyModelAttributes(Executor executor) {
+        if (executor == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Adds an attribute to the group.
+     *
+     * @param loader - loads the value of the attribute
+     * @param <T>    - type of the value
+     * @return - LazyContextVariable to put into the model
+     */
+    public synchronized <T> LazyContextVariable<T> add(Supplier<T> loader) {
+        Attribute<T> attribute = new Attribute<>(loader);
+        attributes.add(attribute);
+        return attribute;
+    }
+
+    private synchronized void startAll() {
+        for (Attribute<?> attribute : attributes) {
+            attribute.start();
+        }
+    }
+
+    /**
+     * Attribute which waits for its load started together with the other attributes of the group.
+     *
+     * @param <T> - type of the value
+     */
+    private class Attribute<T> extends LazyContextVariable<T> {
+        private final Supplier<T> loader;
+        private CompletableFuture<T> future;
+
+        Attribute(Supplier<T> loader) {
+            this.loader = loader;
+        }
+
+        private void start() {
+            if (future == null) {
+                future = CompletableFuture.supplyAsync(loader, executor);
+            }
+        }
+
+        @Override
+        protected T loadValue() {
+            startAll();
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
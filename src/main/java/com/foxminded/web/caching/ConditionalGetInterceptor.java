@@ -0,0 +1,62 @@
+package com.foxminded.web.caching;
+
+import com.foxminded.dao.TableVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+
+/**
+ * Answers GET requests of a page with 304 Not Modified when none of the tables shown on the page
+ * changed since the version the browser has. The check runs before the controller, so neither
+ * model attributes are loaded nor the template is rendered. The ETag holds the versions of the tables
+ * and the locale of the page, the Last-Modified header the time of the latest change of the tables.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConditionalGetInterceptor.class);
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final TableVersions tableVersions;
+    private final String[] tables;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param tableVersions - table versions
+     * @param tables        - tables shown on the page, including tables whose deletes cascade to them
+     */
+    public ConditionalGetInterceptor(TableVersions tableVersions, String... tables) {
+        if (tableVersions == null || tables == null) {
+            LOGGER.error(NULL_WAS_PASSED);
+            throw new IllegalArgumentException(NULL_WAS_PASSED);
+        }
+        this.tableVersions = tableVersions;
+        this.tables = tables.clone();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        String etag = "W/\"" + Long.toString(tableVersions.getStarted(), Character.MAX_RADIX) + '-'
+                + tableVersions.getVersion(tables) + '-' + RequestContextUtils.getLocale(request).toLanguageTag() + '"';
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, tableVersions.getLastModified(tables))) {
+            LOGGER.debug("Not modified: {} {}", request.getRequestURI(), etag);
+            return false;
+        }
+        return true;
+    }
+}
@@ -5,10 +5,16 @@ import com.foxminded.service.layers.ClassRoomService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 /**
@@ -32,6 +38,38 @@ public class ClassRoomController {
         return "classRooms";
     }
 
+    /**
+     * Shows the class rooms with at least the capacity that are free for the minutes from the time
+     * of the day, in each of the weeks when the time repeats.
+     *
+     * @param date     - day
+     * @param time     - start time(HH:mm)
+     * @param minutes  - length of the time in minutes
+     * @param capacity - least capacity
+     * @param weeks    - number of weeks the time repeats in
+     * @param model    - model
+     * @return - view name
+     */
+    @GetMapping(value = {"freeClassRooms"})
+    public String findFreeClassRooms(@RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                             LocalDate date,
+                                     @RequestParam("time") @DateTimeFormat(pattern = "HH:mm") LocalTime time,
+                                     @RequestParam(value = "minutes", defaultValue = "90") int minutes,
+                                     @RequestParam(value = "capacity", defaultValue = "0") int capacity,
+                                     @RequestParam(value = "weeks", defaultValue = "1") int weeks,
+                                     Model model) {
+        LOGGER.debug("Invoke method findFreeClassRooms({}, {}, {}, {}, {})", date, time, minutes, capacity, weeks);
+        LocalDateTime from = date.atTime(time);
+        try {
+            model.addAttribute("freeClassRooms", classRoomService.getFree(from, from.plusMinutes(minutes),
+                    capacity, weeks));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn(e.getMessage());
+            model.addAttribute("freeError", e.getMessage());
+        }
+        return "classRooms";
+    }
+
     @ModelAttribute("classRooms")
     public List<ClassRoom> getGroups() {
         return classRoomService.getAll();
@@ -0,0 +1,133 @@
+package com.foxminded.web.controllers;
+
+import com.foxminded.model.Lecture;
+import com.foxminded.model.Student;
+import com.foxminded.service.layers.LectureService;
+import com.foxminded.service.layers.StudentService;
+import com.foxminded.web.async.AsyncResponseWriter;
+import com.foxminded.web.export.ExportWriter;
+import com.foxminded.web.export.ExportWriter.Column;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.foxminded.constants.Constants.CHARACTER_ENCODING;
+
+/**
+ * Exports whole tables as CSV or JSON. Rows are written to the response as they are read
+ * from the database, so memory use does not depend on the size of the table. Exports are written
+ * on their own threads, apart from the container threads, and have no deadline.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@Controller
+@RequestMapping("export")
+public class ExportController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportController.class);
+    public static final String CSV = "csv";
+    public static final String JSON = "json";
+
+    static final List<Column<Lecture>> LECTURE_COLUMNS = List.of(
+            new Column<>("id", Lecture::getId),
+            new Column<>("name", Lecture::getName),
+            new Column<>("date", Lecture::getDate),
+            new Column<>("class_room_id", lecture -> lecture.getClassRoom().getId()),
+            new Column<>("teacher_id", lecture -> lecture.getTeacher().getId()),
+            new Column<>("group_id", lecture -> lecture.getGroup().getId()),
+            new Column<>("course_id", lecture -> lecture.getCourse().getId()));
+    private static final List<Column<Student>> STUDENT_COLUMNS = List.of(
+            new Column<>("id", Student::getId),
+            new Column<>("first_name", Student::getFirstName),
+            new Column<>("last_name", Student::getLastName),
+            new Column<>("group_id", student -> student.getGroup() == null ? null : student.getGroup().getId()));
+
+    private LectureService lectureService;
+    private StudentService studentService;
+    private AsyncResponseWriter asyncResponseWriter;
+
+    @Autowired
+    public void setLectureService(LectureService lectureService) {
+        this.lectureService = lectureService;
+    }
+
+    @Autowired
+    public void setStudentService(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    @Autowired
+    public void setAsyncResponseWriter(@Qualifier("exportResponseWriter") AsyncResponseWriter asyncResponseWriter) {
+        this.asyncResponseWriter = asyncResponseWriter;
+    }
+
+    /**
+     * Writes all lectures ordered by id to the response.
+     *
+     * @param format   - csv or json
+     * @param response - response
+     * @return - result completed when the export is written
+     * @throws IOException - when the error response can't be sent
+     */
+    @GetMapping("lectures")
+    @ResponseBody
+    public DeferredResult<Void> exportLectures(@RequestParam(value = "format", defaultValue = CSV) String format,
+                                               HttpServletResponse response) throws IOException {
+        return export("lectures", format, response, LECTURE_COLUMNS, lectureService::forEach);
+    }
+
+    /**
+     * Writes all students ordered by id to the response.
+     *
+     * @param format   - csv or json
+     * @param response - response
+     * @return - result completed when the export is written
+     * @throws IOException - when the error response can't be sent
+     */
+    @GetMapping("students")
+    @ResponseBody
+    public DeferredResult<Void> exportStudents(@RequestParam(value = "format", defaultValue = CSV) String format,
+                                               HttpServletResponse response) throws IOException {
+        return export("students", format, response, STUDENT_COLUMNS, studentService::forEach);
+    }
+
+    private <T> DeferredResult<Void> export(String name, String format, HttpServletResponse response,
+                                            List<Column<T>> columns, Consumer<Consumer<T>> rows) throws IOException {
+        LOGGER.debug("Invoke method export({}, {})", name, format);
+        boolean json = JSON.equalsIgnoreCase(format);
+        if (!json && !CSV.equalsIgnoreCase(format)) {
+            LOGGER.warn("Unsupported export format: {}", format);
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format: " + format);
+            return null;
+        }
+        return asyncResponseWriter.write(response, () -> export(name, json, response, columns, rows));
+    }
+
+    private <T> void export(String name, boolean json, HttpServletResponse response, List<Column<T>> columns,
+                            Consumer<Consumer<T>> rows) throws IOException {
+        response.setContentType(json ? "application/json" : "text/csv");
+        response.setCharacterEncoding(CHARACTER_ENCODING);
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"" + name + '.' + (json ? JSON : CSV) + '"');
+        try (ExportWriter<T> writer = json ? ExportWriter.json(response.getOutputStream(), columns)
+                : ExportWriter.csv(response.getOutputStream(), columns)) {
+            rows.accept(writer::accept);
+        } catch (UncheckedIOException e) {
+            LOGGER.warn("Export of {} was interrupted", name);
+            throw e.getCause();
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package com.foxminded.web.controllers;
 
-import com.foxminded.model.*;
 import com.foxminded.service.layers.*;
+import com.foxminded.web.async.LazyModelAttributes;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 
-import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -25,50 +27,30 @@ public class HomeController {
     private LectureService lectureService;
     private StudentService studentService;
     private TeacherService teacherService;
+    private Executor executor;
 
     @GetMapping(value = {"/", "home"})
     public String showPage() {
         return "home";
     }
 
-    @ModelAttribute("allClassRooms")
-    public List<ClassRoom> getClassRooms() {
-        return classRoomService.getAll();
-    }
-
-    @ModelAttribute("allCourses")
-    public List<Course> getCourses() {
-        return courseService.getAll();
-    }
-
-    @ModelAttribute("allDepartments")
-    public List<Department> getDepartments() {
-        return departmentService.getAll();
-    }
-
-    @ModelAttribute("allGroups")
-    public List<Group> getGroups() {
-        return groupService.getAll();
-    }
-
-    @ModelAttribute("allLectures")
-    public List<Lecture> getLectures() {
-        return lectureService.getAll();
-    }
-
-    @ModelAttribute("allStudents")
-    public List<Student> getStudents() {
-        return studentService.getAll();
-    }
-
-    @ModelAttribute("allTeachers")
-    public List<Teacher> getTeachers() {
-        return teacherService.getAll();
-    }
-
-    @ModelAttribute("allStudentCourse")
-    public List<StudentCourse> getAllStudentCourse() {
-        return studentService.getAllStudentCourse();
+    /**
+     * Adds the contents of all tables to the model. Nothing is read until the template renders an attribute,
+     * then all tables are read in parallel.
+     *
+     * @param model - model
+     */
+    @ModelAttribute
+    public void addAttributes(Model model) {
+        LazyModelAttributes attributes = new LazyModelAttributes(executor);
+        model.addAttribute("allClassRooms", attributes.add(classRoomService::getAll));
+        model.addAttribute("allCourses", attributes.add(courseService::getAll));
+        model.addAttribute("allDepartments", attributes.add(departmentService::getAll));
+        model.addAttribute("allGroups", attributes.add(groupService::getAll));
+        model.addAttribute("allLectures", attributes.add(lectureService::getAll));
+        model.addAttribute("allStudents", attributes.add(studentService::getAll));
+        model.addAttribute("allTeachers", attributes.add(teacherService::getAll));
+        model.addAttribute("allStudentCourse", attributes.add(studentService::getAllStudentCourse));
     }
 
     @Autowired
@@ -105,4 +87,9 @@ public class HomeController {
     public void setTeacherService(TeacherService teacherService) {
         this.teacherService = teacherService;
     }
+
+    @Autowired
+    public void setExecutor(@Qualifier("modelAttributeExecutor") Executor executor) {
+        this.executor = executor;
+    }
 }
@@ -0,0 +1,237 @@
+package com.foxminded.web.controllers;
+
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.ClassRoom;
+import com.foxminded.model.Lecture;
+import com.foxminded.model.FreeSlot;
+import com.foxminded.service.layers.FreeSlotService;
+import com.foxminded.service.layers.StudentService;
+import com.foxminded.service.layers.TeacherService;
+import com.foxminded.web.async.AsyncResponseWriter;
+import com.foxminded.web.export.ExportWriter;
+import com.foxminded.web.export.ExportWriter.Column;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import static com.foxminded.constants.Constants.CHARACTER_ENCODING;
+import static com.foxminded.web.controllers.ExportController.LECTURE_COLUMNS;
+
+/**
+ * JSON API of student and teacher schedules. A schedule is written as an array of lectures with
+ * their own fields and the ids of the class room, teacher, group and course, never the nested objects.
+ * Lectures are serialized one by one with a streaming generator and gzipped when the client accepts it.
+ * Common free slots of a teacher and groups are written the same way, with the ids of the free class rooms.
+ * Yearly schedules are slow, so schedules are loaded and written apart from the container threads.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@Controller
+@RequestMapping("api")
+public class ScheduleController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduleController.class);
+    public static final String GZIP = "gzip";
+    static final List<Column<FreeSlot>> FREE_SLOT_COLUMNS = List.of(
+            new Column<>("start", FreeSlot::getStart),
+            new Column<>("end", FreeSlot::getEnd),
+            new Column<>("minutes", FreeSlot::getMinutes),
+            new Column<>("class_room_ids", slot -> slot.getClassRooms().stream().map(ClassRoom::getId)
+                    .collect(Collectors.toList())));
+
+    private StudentService studentService;
+    private TeacherService teacherService;
+    private FreeSlotService freeSlotService;
+    private AsyncResponseWriter asyncResponseWriter;
+
+    @Autowired
+    public void setStudentService(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    @Autowired
+    public void setTeacherService(TeacherService teacherService) {
+        this.teacherService = teacherService;
+    }
+
+    @Autowired
+    public void setFreeSlotService(FreeSlotService freeSlotService) {
+        this.freeSlotService = freeSlotService;
+    }
+
+    @Autowired
+    public void setAsyncResponseWriter(@Qualifier("asyncResponseWriter") AsyncResponseWriter asyncResponseWriter) {
+        this.asyncResponseWriter = asyncResponseWriter;
+    }
+
+    /**
+     * Writes the schedule of the student for the month, or for the year when no month is passed.
+     *
+     * @param firstName      - first name of the student
+     * @param lastName       - last name of the student
+     * @param year           - year(yyyy)
+     * @param month          - month(1-12), optional
+     * @param acceptEncoding - Accept-Encoding header
+     * @param response       - response
+     * @return - result completed when the schedule is written
+     * @throws IOException - when the error response can't be sent
+     */
+    @GetMapping("students/schedule")
+    @ResponseBody
+    public DeferredResult<Void> getStudentSchedule(@RequestParam("firstName") String firstName,
+                                                   @RequestParam("lastName") String lastName,
+                                                   @RequestParam("year") int year,
+                                                   @RequestParam(value = "month", required = false) Integer month,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                                           String acceptEncoding,
+                                                   HttpServletResponse response) throws IOException {
+        LOGGER.debug("Invoke method getStudentSchedule({}, {}, {}, {})", firstName, lastName, year, month);
+        return write(month, acceptEncoding, response, () -> (month == null
+                ? studentService.getScheduleForYear(year, firstName, lastName)
+                : studentService.getScheduleForMonth(month, year, firstName, lastName)).getLectures());
+    }
+
+    /**
+     * Writes the schedule of the teacher for the month, or for the year when no month is passed.
+     *
+     * @param firstName      - first name of the teacher
+     * @param lastName       - last name of the teacher
+     * @param year           - year(yyyy)
+     * @param month          - month(1-12), optional
+     * @param acceptEncoding - Accept-Encoding header
+     * @param response       - response
+     * @return - result completed when the schedule is written
+     * @throws IOException - when the error response can't be sent
+     */
+    @GetMapping("teachers/schedule")
+    @ResponseBody
+    public DeferredResult<Void> getTeacherSchedule(@RequestParam("firstName") String firstName,
+                                                   @RequestParam("lastName") String lastName,
+                                                   @RequestParam("year") int year,
+                                                   @RequestParam(value = "month", required = false) Integer month,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                                           String acceptEncoding,
+                                                   HttpServletResponse response) throws IOException {
+        LOGGER.debug("Invoke method getTeacherSchedule({}, {}, {}, {})", firstName, lastName, year, month);
+        return write(month, acceptEncoding, response, () -> (month == null
+                ? teacherService.getScheduleForYear(year, firstName, lastName)
+                : teacherService.getScheduleForMonth(month, year, firstName, lastName)).getLectures());
+    }
+
+    /**
+     * Writes the times of the period when the teacher and all the groups are free at least for the minutes,
+     * with the class rooms free for the minutes from the start of every time when a capacity is passed.
+     *
+     * @param teacherFirstName - first name of the teacher
+     * @param teacherLastName  - last name of the teacher
+     * @param groups           - names of the groups, comma separated
+     * @param from             - first day of the period(yyyy-MM-dd)
+     * @param to               - day after the last day of the period(yyyy-MM-dd)
+     * @param minutes          - least length of a time in minutes
+     * @param capacity         - least capacity of a class room, optional
+     * @param acceptEncoding   - Accept-Encoding header
+     * @param response         - response
+     * @return - result completed when the free slots are written
+     * @throws IOException - when the error response can't be sent
+     */
+    @GetMapping("freeSlots")
+    @ResponseBody
+    public DeferredResult<Void> getFreeSlots(@RequestParam("teacherFirstName") String teacherFirstName,
+                                             @RequestParam("teacherLastName") String teacherLastName,
+                                             @RequestParam("groups") List<String> groups,
+                                             @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                     LocalDate from,
+                                             @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                     LocalDate to,
+                                             @RequestParam(value = "minutes", defaultValue = "90") long minutes,
+                                             @RequestParam(value = "capacity", required = false) Integer capacity,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                                     String acceptEncoding,
+                                             HttpServletResponse response) throws IOException {
+        LOGGER.debug("Invoke method getFreeSlots({}, {}, {}, {}, {}, {}, {})", teacherFirstName, teacherLastName,
+                groups, from, to, minutes, capacity);
+        return asyncResponseWriter.write(response, () -> write(acceptEncoding, response, FREE_SLOT_COLUMNS,
+                () -> freeSlotService.getCommonFreeSlots(teacherFirstName, teacherLastName, groups, from, to,
+                        Duration.ofMinutes(minutes), capacity)));
+    }
+
+    private DeferredResult<Void> write(Integer month, String acceptEncoding, HttpServletResponse response,
+                                       Loader<Lecture> loader) throws IOException {
+        if (month != null && (month < 1 || month > 12)) {
+            LOGGER.warn("Month is out of range: {}", month);
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Month must be from 1 to 12");
+            return null;
+        }
+        return asyncResponseWriter.write(response, () -> write(acceptEncoding, response, LECTURE_COLUMNS,
+                loader));
+    }
+
+    private <T> void write(String acceptEncoding, HttpServletResponse response, List<Column<T>> columns,
+                           Loader<T> loader) throws IOException {
+        List<T> items;
+        try {
+            items = loader.load();
+        } catch (DAOException e) {
+            LOGGER.warn(e.getMessage());
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn(e.getMessage());
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        response.setContentType("application/json");
+        response.setCharacterEncoding(CHARACTER_ENCODING);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream()) : response.getOutputStream();
+        try (ExportWriter<T> writer = ExportWriter.json(out, columns)) {
+            for (T item : items) {
+                writer.write(item);
+            }
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loads the items of a response.
+     */
+    @FunctionalInterface
+    private interface Loader<T> {
+        List<T> load() throws DAOException;
+    }
+}
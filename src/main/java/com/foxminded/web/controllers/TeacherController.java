@@ -1,15 +1,18 @@
 package com.foxminded.web.controllers;
 
+import com.foxminded.model.Page;
 import com.foxminded.model.Teacher;
 import com.foxminded.service.layers.TeacherService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
+import static com.foxminded.constants.Constants.DEFAULT_PAGE_SIZE;
+import static com.foxminded.constants.Constants.MAX_PAGE_SIZE;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -27,13 +30,25 @@ public class TeacherController {
         this.teacherService = teacherService;
     }
 
+    /**
+     * Shows one page of teachers ordered by id. The next page starts after the id of the last shown teacher,
+     * so the database seeks by the primary key instead of skipping rows.
+     *
+     * @param after - id after which the page starts, 0 for the first page
+     * @param size  - page size, limited to MAX_PAGE_SIZE
+     * @param model - model
+     * @return - view name
+     */
     @GetMapping(value = {"teachers"})
-    public String showGroupPage() {
+    public String showGroupPage(@RequestParam(value = "after", defaultValue = "0") int after,
+                                @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                Model model) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Page<Teacher> page = teacherService.getPage(after, pageSize);
+        model.addAttribute("teachers", page.getItems());
+        model.addAttribute("after", after);
+        model.addAttribute("size", pageSize);
+        model.addAttribute("nextAfter", page.getNextAfter());
         return "teachers";
     }
-
-    @ModelAttribute("teachers")
-    public List<Teacher> getGroups() {
-        return teacherService.getAll();
-    }
 }
@@ -0,0 +1,184 @@
+package com.foxminded.web.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes items one by one to an output stream as CSV with a header line or as a JSON array.
+ * Only the current item is held in memory. A collection value is written as a JSON array of its elements.
+ *
+ * @param <T> - type of items
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public abstract class ExportWriter<T> implements Closeable {
+    protected final List<Column<T>> columns;
+
+    protected ExportWriter(List<Column<T>> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Creates a CSV writer and writes the header line.
+     *
+     * @param out     - output stream
+     * @param columns - columns
+     * @param <T>     - type of items
+     * @return - ExportWriter
+     * @throws IOException - when the header can't be written
+     */
+    public static <T> ExportWriter<T> csv(OutputStream out, List<Column<T>> columns) throws IOException {
+        return new CsvWriter<>(out, columns);
+    }
+
+    /**
+     * Creates a JSON writer and opens the array.
+     *
+     * @param out     - output stream
+     * @param columns - columns
+     * @param <T>     - type of items
+     * @return - ExportWriter
+     * @throws IOException - when the array can't be opened
+     */
+    public static <T> ExportWriter<T> json(OutputStream out, List<Column<T>> columns) throws IOException {
+        return new JsonWriter<>(out, columns);
+    }
+
+    /**
+     * Writes one item.
+     *
+     * @param item - item
+     * @throws IOException - when the item can't be written
+     */
+    public abstract void write(T item) throws IOException;
+
+    /**
+     * Writes one item, for use as a callback which can't throw checked exceptions.
+     *
+     * @param item - item
+     * @throws UncheckedIOException - when the item can't be written
+     */
+    public void accept(T item) {
+        try {
+            write(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Named value of an item.
+     *
+     * @param <T> - type of items
+     */
+    public static final class Column<T> {
+        private final String name;
+        private final Function<T, Object> value;
+
+        public Column(String name, Function<T, Object> value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Object getValue(T item) {
+            return value.apply(item);
+        }
+    }
+
+    private static class CsvWriter<T> extends ExportWriter<T> {
+        private final Writer writer;
+
+        CsvWriter(OutputStream out, List<Column<T>> columns) throws IOException {
+            super(columns);
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (int i = 0; i < columns.size(); i++) {
+                writer.write(i == 0 ? "" : ",");
+                writer.write(quote(columns.get(i).getName()));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(T item) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = columns.get(i).getValue(item);
+                writer.write(i == 0 ? "" : ",");
+                writer.write(value == null ? "" : quote(value.toString()));
+            }
+            writer.write('\n');
+        }
+
+        private static String quote(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static class JsonWriter<T> extends ExportWriter<T> {
+        private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+        private final JsonGenerator generator;
+
+        JsonWriter(OutputStream out, List<Column<T>> columns) throws IOException {
+            super(columns);
+            generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+            generator.writeStartArray();
+        }
+
+        @Override
+        public void write(T item) throws IOException {
+            generator.writeStartObject();
+            for (Column<T> column : columns) {
+                Object value = column.getValue(item);
+                if (value == null) {
+                    generator.writeNullField(column.getName());
+                } else if (value instanceof Collection) {
+                    generator.writeArrayFieldStart(column.getName());
+                    for (Object element : (Collection<?>) value) {
+                        writeValue(element);
+                    }
+                    generator.writeEndArray();
+                } else {
+                    generator.writeFieldName(column.getName());
+                    writeValue(value);
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Number) {
+                generator.writeNumber(((Number) value).longValue());
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndArray();
+            generator.close();
+        }
+    }
+}
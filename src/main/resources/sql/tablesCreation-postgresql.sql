@@ -0,0 +1,20 @@
+CREATE EXTENSION if not exists btree_gist;
+
+ALTER TABLE lectures DROP CONSTRAINT if exists lectures_class_room_id_during_excl;
+
+ALTER TABLE lectures ADD CONSTRAINT lectures_class_room_id_during_excl
+    EXCLUDE USING gist (class_room_id WITH =, tsrange(date, date + duration * interval '1 minute') WITH &&);
+
+ALTER TABLE lectures DROP CONSTRAINT if exists lectures_teacher_id_during_excl;
+
+ALTER TABLE lectures ADD CONSTRAINT lectures_teacher_id_during_excl
+    EXCLUDE USING gist (teacher_id WITH =, tsrange(date, date + duration * interval '1 minute') WITH &&);
+
+ALTER TABLE lectures DROP CONSTRAINT if exists lectures_group_id_during_excl;
+
+ALTER TABLE lectures ADD CONSTRAINT lectures_group_id_during_excl
+    EXCLUDE USING gist (group_id WITH =, tsrange(date, date + duration * interval '1 minute') WITH &&);
+
+ALTER TABLE lectures DROP CONSTRAINT if exists lectures_duration_check;
+
+ALTER TABLE lectures ADD CONSTRAINT lectures_duration_check CHECK (duration > 0);
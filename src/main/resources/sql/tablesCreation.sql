@@ -55,6 +55,7 @@ CREATE table if not exists lectures (
                                       id serial primary key not null,
                                       name varchar(250),
                                       date timestamp,
+                                      duration int not null default 90 CONSTRAINT lectures_duration_check CHECK (duration > 0),
                                       class_room_id int,
                                       teacher_id int,
                                       group_id int,
@@ -64,4 +65,10 @@ CREATE table if not exists lectures (
                                       FOREIGN KEY (group_id) REFERENCES groups(id) ON UPDATE CASCADE ON DELETE CASCADE,
                                       FOREIGN KEY (course_id) REFERENCES courses(id) ON UPDATE CASCADE ON DELETE CASCADE,
                                       UNIQUE (name)
-);
\ No newline at end of file
+);
+
+CREATE INDEX if not exists lectures_date_idx ON lectures (date);
+
+CREATE INDEX if not exists lectures_group_id_date_idx ON lectures (group_id, date);
+
+CREATE INDEX if not exists lectures_teacher_id_date_idx ON lectures (teacher_id, date);
@@ -0,0 +1,76 @@
+package com.foxminded.configs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { SpringConfig.class })
+@TestPropertySource(properties = {
+        "postgresql.url=jdbc:h2:mem:primaryDB;DB_CLOSE_DELAY=-1",
+        "postgresql.replica.urls=jdbc:h2:mem:replicaOneDB;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:replicaTwoDB;DB_CLOSE_DELAY=-1",
+        "postgresql.username=sa",
+        "postgresql.password=",
+        "postgresql.driverClassName=org.h2.Driver"})
+class ReplicaPoolMetricsTest {
+    public static final String POOL = "com.foxminded:type=DataSource,name=";
+
+    public DataSource dataSource;
+    public PlatformTransactionManager transactionManager;
+    public MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    @Test
+    public void shouldExportPrimaryAndReplicaPoolsWhenReplicasAreConfigured() throws Exception {
+        assertTrue(server.isRegistered(new ObjectName(POOL + "pool")), "Should export the primary pool");
+        assertTrue(server.isRegistered(new ObjectName(POOL + "replica-0")));
+        assertTrue(server.isRegistered(new ObjectName(POOL + "replica-1")));
+    }
+
+    @Test
+    public void shouldCountConnectionsOfReplicaPoolWhenReadOnlyTransaction() throws Exception {
+        long primaryRequests = getConnectionRequests("pool");
+        long replicaRequests = getConnectionRequests("replica-0") + getConnectionRequests("replica-1");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        transaction.executeWithoutResult(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class));
+
+        assertEquals(replicaRequests + 1, getConnectionRequests("replica-0") + getConnectionRequests("replica-1"),
+                "Should meter the replica which served the read");
+        assertEquals(primaryRequests, getConnectionRequests("pool"));
+    }
+
+    private long getConnectionRequests(String pool) throws Exception {
+        return (Long) server.getAttribute(new ObjectName(POOL + pool), "ConnectionRequests");
+    }
+}
@@ -0,0 +1,141 @@
+package com.foxminded.configs;
+
+import com.foxminded.service.layers.StudentService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * H2 ignores the read-only hint of connections, so the data source keeps the hint in a wrapper
+ * to show that the transaction manager marks the connection.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { SpringTestConfig.class, SpringConfigTest.ReadOnlyHintConfig.class })
+class SpringConfigTest {
+    public DataSource dataSource;
+    public PlatformTransactionManager transactionManager;
+    public StudentService studentService;
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    @Autowired
+    public void setStudentService(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    @Test
+    public void shouldWrapServicesInTransactionalProxies() {
+        assertTrue(AopUtils.isAopProxy(studentService), "Should apply @Transactional to services");
+    }
+
+    @Test
+    public void shouldShareOneConnectionWhenInTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            Connection first = DataSourceUtils.getConnection(dataSource);
+            Connection second = DataSourceUtils.getConnection(dataSource);
+            assertSame(first, second, "Should bind one connection to the transaction");
+            assertFalse(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        });
+    }
+
+    @Test
+    public void shouldMarkTransactionReadOnlyWhenReadOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        transaction.executeWithoutResult(status -> {
+            assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            assertTrue(isReadOnly(DataSourceUtils.getConnection(dataSource)),
+                    "Should run read-only transactions on a read-only connection");
+        });
+        transaction.setReadOnly(false);
+        transaction.executeWithoutResult(status -> assertFalse(isReadOnly(DataSourceUtils.getConnection(dataSource)),
+                "Should reset the connection after a read-only transaction"));
+    }
+
+    private static boolean isReadOnly(Connection connection) {
+        try {
+            return connection.isReadOnly();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Configuration
+    static class ReadOnlyHintConfig {
+
+        @Bean
+        public static BeanPostProcessor readOnlyHint() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? new ReadOnlyHintDataSource((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Gives connections which remember the read-only hint.
+     */
+    static class ReadOnlyHintDataSource extends DelegatingDataSource {
+
+        ReadOnlyHintDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = super.getConnection();
+            boolean[] readOnly = {target.isReadOnly()};
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("isReadOnly")) {
+                            return readOnly[0];
+                        }
+                        if (method.getName().equals("setReadOnly")) {
+                            readOnly[0] = (Boolean) args[0];
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.foxminded.configs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResourceLoader;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.thymeleaf.spring5.templateresolver.SpringResourceTemplateResolver;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class WebConfigTest {
+
+    @Test
+    public void shouldCacheTemplatesWithTimeToLiveWhenNoProfileIsActive() {
+        try (AnnotationConfigWebApplicationContext context = createContext()) {
+            context.refresh();
+            SpringResourceTemplateResolver resolver = context.getBean(SpringResourceTemplateResolver.class);
+
+            assertTrue(resolver.isCacheable(), "Should cache parsed templates in production");
+            assertEquals(3600000L, resolver.getCacheTTLMs());
+        }
+    }
+
+    @Test
+    public void shouldNotCacheTemplatesWhenDevProfileIsActive() {
+        try (AnnotationConfigWebApplicationContext context = createContext()) {
+            context.getEnvironment().setActiveProfiles(WebConfig.DEV_PROFILE);
+            context.refresh();
+
+            assertFalse(context.getBean(SpringResourceTemplateResolver.class).isCacheable(),
+                    "Should re-read templates on every request in the dev profile");
+        }
+    }
+
+    @Test
+    public void shouldServeStaticResourcesUnderContentHashWhenNoProfileIsActive() throws Exception {
+        try (AnnotationConfigWebApplicationContext context = createContext()) {
+            context.refresh();
+            String url = context.getBean(ResourceUrlProvider.class).getForLookupPath("/css/style.css");
+
+            assertTrue(url.matches("/css/style-[0-9a-f]{32}\\.css"), "Should add the hash of the content: " + url);
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+            mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "max-age=31536000, public"));
+        }
+    }
+
+    private AnnotationConfigWebApplicationContext createContext() {
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext("src/main/webapp", new FileSystemResourceLoader()));
+        context.register(WebConfig.class, WebTestConfig.class);
+        return context;
+    }
+}
@@ -0,0 +1,82 @@
+package com.foxminded.dao;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.foxminded.dao.postgresql.LecturePostgreSQL.EXCLUSION_VIOLATION;
+
+/**
+ * Fallback of the PostgreSQL exclusion constraints of the lectures table for H2, which has no range types.
+ * Rejects a lecture overlapping a lecture of the same class room, teacher or group with the SQL state of
+ * an exclusion violation. Created by sql/tablesCreation-h2.sql.
+ * It is a test-only approximation: overlapping lectures are searched among the lectures starting at most
+ * {@link #MAX_DURATION} minutes earlier, the limit the script puts on durations, and concurrent
+ * transactions are not serialized, so both of two overlapping concurrent inserts may succeed.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+public class LectureOverlapTrigger implements Trigger {
+    public static final int MAX_DURATION = 1440;
+    public static final String[] RESOURCES = {"class_room_id", "teacher_id", "group_id"};
+
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(null, schemaName, tableName, null)) {
+            while (rs.next()) {
+                columns.put(rs.getString("COLUMN_NAME").toLowerCase(), rs.getInt("ORDINAL_POSITION") - 1);
+            }
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        Timestamp start = (Timestamp) newRow[columns.get("date")];
+        Number duration = (Number) newRow[columns.get("duration")];
+        if (start == null || duration == null) {
+            return;
+        }
+        Number id = (Number) newRow[columns.get("id")];
+        Timestamp end = Timestamp.valueOf(start.toLocalDateTime().plusMinutes(duration.longValue()));
+        Timestamp earliest = Timestamp.valueOf(start.toLocalDateTime().minusMinutes(MAX_DURATION));
+        for (String resource : RESOURCES) {
+            Object resourceId = newRow[columns.get(resource)];
+            if (resourceId == null) {
+                continue;
+            }
+            String sql = "SELECT id FROM lectures WHERE " + resource + " = ? AND id <> ? AND date < ? AND date > ?"
+                    + " AND DATEADD('MINUTE', duration, date) > ? LIMIT 1";
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setObject(1, resourceId);
+                ps.setInt(2, id == null ? -1 : id.intValue());
+                ps.setTimestamp(3, end);
+                ps.setTimestamp(4, earliest);
+                ps.setTimestamp(5, start);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        throw new SQLException("Lecture overlaps lecture " + rs.getInt(1) + " of the same "
+                                + resource, EXCLUSION_VIOLATION);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void remove() {
+    }
+}
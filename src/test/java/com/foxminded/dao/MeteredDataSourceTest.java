@@ -0,0 +1,78 @@
+package com.foxminded.dao;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.commons.dbcp.BasicDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class MeteredDataSourceTest {
+    public static final String URL = "jdbc:h2:mem:poolDB;DB_CLOSE_DELAY=-1";
+
+    @Test
+    public void shouldReturnCorrectedMetricsWhenDbcpPool() throws Exception {
+        BasicDataSource pool = new BasicDataSource();
+        pool.setUrl(URL);
+        pool.setUsername("sa");
+        MeteredDataSource dataSource = new MeteredDataSource(pool);
+
+        try (Connection one = dataSource.getConnection(); Connection two = dataSource.getConnection()) {
+            assertEquals(2, dataSource.getActiveConnections(), "Should count borrowed connections");
+            assertEquals(0, dataSource.getIdleConnections());
+        }
+
+        assertEquals(0, dataSource.getActiveConnections());
+        assertEquals(2, dataSource.getIdleConnections(), "Should count returned connections");
+        assertEquals(2, dataSource.getConnectionRequests());
+        assertTrue(dataSource.getMaxWaitMillis() >= dataSource.getAverageWaitMillis());
+
+        dataSource.close();
+        assertTrue(pool.isClosed(), "Should close the pool");
+    }
+
+    @Test
+    public void shouldReturnCorrectedMetricsWhenHikariPool() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(URL);
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(2);
+        pool.setMinimumIdle(2);
+        MeteredDataSource dataSource = new MeteredDataSource(pool);
+
+        assertEquals(-1, dataSource.getActiveConnections(), "Should not report a pool which is not started");
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals(1, dataSource.getActiveConnections(), "Should count borrowed connections");
+        }
+
+        assertEquals(0, dataSource.getActiveConnections());
+        assertEquals(1, dataSource.getConnectionRequests());
+
+        dataSource.close();
+        assertTrue(pool.isClosed(), "Should close the pool");
+    }
+
+    @Test
+    public void shouldReturnZeroWaitTimeWhenNoConnectionsRequested() {
+        MeteredDataSource dataSource = new MeteredDataSource(new BasicDataSource());
+
+        assertEquals(0, dataSource.getConnectionRequests());
+        assertEquals(0, dataSource.getAverageWaitMillis());
+        assertEquals(0, dataSource.getMaxWaitMillis());
+    }
+
+    @Test
+    public void shouldNameObjectByPoolWhenExported() throws Exception {
+        assertEquals("com.foxminded:type=DataSource,name=pool",
+                new MeteredDataSource(new BasicDataSource()).getObjectName().toString());
+        assertEquals("com.foxminded:type=DataSource,name=replica-0",
+                new MeteredDataSource(new BasicDataSource(), "replica-0").getObjectName().toString());
+    }
+}
@@ -0,0 +1,155 @@
+package com.foxminded.dao;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.google.inject.internal.util.ImmutableList.of;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two H2 instances stand in for the primary and the replicas, every instance
+ * knows its own name in the table "node".
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class ReplicaRoutingDataSourceTest {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA_ONE = "replicaOne";
+    public static final String REPLICA_TWO = "replicaTwo";
+    public static final String SELECT_NODE = "select name from node";
+
+    public BasicDataSource primary;
+    public BasicDataSource replicaOne;
+    public BasicDataSource replicaTwo;
+
+    @BeforeEach
+    public void setUp() {
+        primary = createNode(PRIMARY);
+        replicaOne = createNode(REPLICA_ONE);
+        replicaTwo = createNode(REPLICA_TWO);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        primary.close();
+        replicaOne.close();
+        replicaTwo.close();
+    }
+
+    @Test
+    public void shouldSendWritesToPrimaryAndReadOnlyTransactionsToReplica() {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, of(replicaOne), 1000);
+
+        assertEquals(PRIMARY, queryNode(dataSource, false), "Should send writes to the primary");
+        assertEquals(REPLICA_ONE, queryNode(dataSource, true), "Should send read-only transactions to the replica");
+        assertEquals(PRIMARY, new JdbcTemplate(dataSource).queryForObject(SELECT_NODE, String.class),
+                "Should send connections without transaction to the primary");
+        assertEquals(1, dataSource.getReplicaReads());
+    }
+
+    @Test
+    public void shouldRotateReplicasWhenReadOnly() {
+        ReplicaRoutingDataSource dataSource =
+                new ReplicaRoutingDataSource(primary, of(replicaOne, replicaTwo), 1000);
+
+        List<String> actual = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            actual.add(queryNode(dataSource, true));
+        }
+
+        assertEquals(of(REPLICA_ONE, REPLICA_TWO, REPLICA_ONE, REPLICA_TWO), actual,
+                "Should use replicas in round-robin order");
+    }
+
+    @Test
+    public void shouldEvictFailedReplicaAndFallBackToPrimary() throws Exception {
+        ReplicaRoutingDataSource dataSource =
+                new ReplicaRoutingDataSource(primary, of(replicaOne, replicaTwo), 60000);
+        replicaOne.close();
+
+        assertEquals(REPLICA_TWO, queryNode(dataSource, true), "Should skip the failed replica");
+        assertEquals(1, dataSource.getHealthyReplicaCount(), "Should evict the failed replica");
+        assertEquals(REPLICA_TWO, queryNode(dataSource, true));
+
+        replicaTwo.close();
+        assertEquals(PRIMARY, queryNode(dataSource, true), "Should read from the primary without replicas");
+        assertEquals(0, dataSource.getHealthyReplicaCount());
+        assertEquals(1, dataSource.getPrimaryReads());
+    }
+
+    @Test
+    public void shouldEvictOnlyFailedReplicasWhenCheckHealth() throws Exception {
+        ReplicaRoutingDataSource dataSource =
+                new ReplicaRoutingDataSource(primary, of(replicaOne, replicaTwo), 60000);
+        replicaTwo.close();
+
+        assertEquals(1, dataSource.checkHealth(), "Should evict the failed replica only");
+        assertEquals(REPLICA_ONE, queryNode(dataSource, true));
+        assertEquals(REPLICA_ONE, queryNode(dataSource, true));
+    }
+
+    @Test
+    public void shouldEvictFailedReplicaWithoutReadsWhenHealthChecksRun() throws Exception {
+        ReplicaRoutingDataSource dataSource =
+                new ReplicaRoutingDataSource(primary, of(replicaOne, replicaTwo), 60000);
+        dataSource.startHealthChecks(10);
+        replicaTwo.close();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dataSource.getHealthyReplicaCount() != 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, dataSource.getHealthyReplicaCount(), "Should evict the failed replica by the health check");
+        assertEquals(0, dataSource.getReplicaReads() + dataSource.getPrimaryReads());
+        dataSource.close();
+        Thread.sleep(50);
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .noneMatch(thread -> thread.getName().equals(ReplicaRoutingDataSource.HEALTH_CHECK_THREAD)),
+                "Should stop the health checks when closed");
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenHealthCheckIntervalIsNotPositive() {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, of(replicaOne), 1000);
+
+        assertThrows(IllegalArgumentException.class, () -> dataSource.startHealthChecks(0));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenPrimaryIsNull() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                new ReplicaRoutingDataSource(null, of(replicaOne), 1000));
+        assertEquals(NULL_WAS_PASSED, exception.getMessage());
+    }
+
+    private static String queryNode(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject(SELECT_NODE, String.class));
+    }
+
+    private static BasicDataSource createNode(String name) {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(250))");
+        jdbcTemplate.execute("delete from node");
+        jdbcTemplate.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
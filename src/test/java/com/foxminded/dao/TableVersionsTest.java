@@ -0,0 +1,66 @@
+package com.foxminded.dao;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.foxminded.dao.TableVersions.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class TableVersionsTest {
+    private final AtomicLong clock = new AtomicLong(1000);
+    private final TableVersions tableVersions = new TableVersions(clock::get);
+
+    @Test
+    public void shouldReturnStartTimeWhenTablesWereNotChanged() {
+        assertEquals(0, tableVersions.getVersion(GROUPS, STUDENTS));
+        assertEquals(1000, tableVersions.getLastModified(GROUPS, STUDENTS));
+        assertEquals(1000, tableVersions.getStarted());
+    }
+
+    @Test
+    public void shouldReturnLatestChangeOfTablesWhenTablesWereChanged() {
+        clock.set(2000);
+        tableVersions.changed(GROUPS);
+        clock.set(3000);
+        tableVersions.changed(STUDENTS);
+
+        assertEquals(1, tableVersions.getVersion(GROUPS));
+        assertEquals(2, tableVersions.getVersion(GROUPS, STUDENTS), "Should return the greatest version");
+        assertEquals(2000, tableVersions.getLastModified(GROUPS, TEACHERS));
+        assertEquals(3000, tableVersions.getLastModified(GROUPS, STUDENTS));
+        assertEquals(0, tableVersions.getVersion(TEACHERS), "Should not change other tables");
+    }
+
+    @Test
+    public void shouldChangeTableOnceMoreWhenTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tableVersions.changed(LECTURES);
+            assertEquals(1, tableVersions.getVersion(LECTURES));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2, tableVersions.getVersion(LECTURES),
+                "Should not keep pages read before the commit under the version of the change");
+    }
+
+    @Test
+    public void shouldChangeAllTablesWhenChangedAll() {
+        tableVersions.changedAll();
+
+        assertEquals(1, tableVersions.getVersion(CLASS_ROOMS));
+        assertEquals(8, tableVersions.getVersion(TEACHERS));
+    }
+}
@@ -0,0 +1,94 @@
+package com.foxminded.dao.cache;
+
+import com.foxminded.dao.layers.GroupDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.Group;
+import com.foxminded.model.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.inject.internal.util.ImmutableList.of;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class CachedGroupDAOTest {
+    public static final String TEST_NAME_ONE = "testNameOne";
+
+    public Group groupOne = new Group(1, TEST_NAME_ONE);
+    public GroupDAO groupPostgreSQL = mock(GroupDAO.class);
+    public EntityCache cache = new EntityCache("group", 100, 60000);
+    public GroupDAO groupDAO = new CachedGroupDAO(groupPostgreSQL, cache);
+
+    @Test
+    public void shouldReadDatabaseOnceWhenGetByNameTwice() throws DAOException {
+        when(groupPostgreSQL.getByName(TEST_NAME_ONE)).thenReturn(groupOne);
+
+        assertEquals(groupOne, groupDAO.getByName(TEST_NAME_ONE));
+        assertEquals(groupOne, groupDAO.getByName(TEST_NAME_ONE));
+
+        verify(groupPostgreSQL, times(1)).getByName(TEST_NAME_ONE);
+    }
+
+    @Test
+    public void shouldReturnCopyOfCachedListWhenGetAll() {
+        when(groupPostgreSQL.getAll()).thenReturn(of(groupOne));
+
+        List<Group> first = groupDAO.getAll();
+        first.clear();
+
+        assertEquals(of(groupOne), groupDAO.getAll(), "Should not let callers change the cached list");
+        verify(groupPostgreSQL, times(1)).getAll();
+    }
+
+    @Test
+    public void shouldNotChangeCachedGroupWhenCallerChangesIt() throws DAOException {
+        when(groupPostgreSQL.getById(1)).thenReturn(groupOne);
+        when(groupPostgreSQL.getAll()).thenReturn(of(groupOne));
+
+        Group byId = groupDAO.getById(1);
+        byId.setName("changed");
+        byId.getStudents().add(new Student(1));
+        Group fromAll = groupDAO.getAll().get(0);
+        fromAll.setStudents(of(new Student(2)));
+
+        Group expected = new Group(1, TEST_NAME_ONE);
+        assertEquals(expected, groupDAO.getById(1), "Should give copies of the cached group");
+        assertEquals(of(expected), groupDAO.getAll(), "Should give copies of the cached groups");
+        verify(groupPostgreSQL, times(1)).getById(1);
+        verify(groupPostgreSQL, times(1)).getAll();
+    }
+
+    @Test
+    public void shouldReadDatabaseAgainWhenGroupChanged() throws DAOException {
+        when(groupPostgreSQL.getById(1)).thenReturn(groupOne);
+        groupDAO.getById(1);
+
+        groupDAO.update(groupOne);
+        groupDAO.getById(1);
+        groupDAO.delete(groupOne);
+        groupDAO.getById(1);
+
+        verify(groupPostgreSQL, times(3)).getById(1);
+    }
+
+    @Test
+    public void shouldInvalidateCacheWhenInsertFails() throws DAOException {
+        when(groupPostgreSQL.getAll()).thenReturn(of(groupOne));
+        when(groupPostgreSQL.insert(groupOne)).thenThrow(new DAOException("Unique index or primary key violation"));
+        groupDAO.getAll();
+
+        assertThrows(DAOException.class, () -> groupDAO.insert(groupOne));
+        groupDAO.getAll();
+
+        verify(groupPostgreSQL, times(2)).getAll();
+    }
+}
@@ -0,0 +1,97 @@
+package com.foxminded.dao.cache;
+
+import com.foxminded.exceptions.DAOException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class EntityCacheTest {
+    public static final long TTL = 1000;
+
+    public AtomicLong time = new AtomicLong();
+    public AtomicInteger loads = new AtomicInteger();
+    public EntityCache cache = new EntityCache("test", 2, TTL, time::get);
+
+    @Test
+    public void shouldLoadOnceWhenGetSameKey() {
+        assertEquals("one", cache.get("1", () -> load("one")));
+        assertEquals("one", cache.get("1", () -> load("other")));
+
+        assertEquals(1, loads.get(), "Should load a value only once");
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void shouldLoadAgainWhenTimeToLiveExpired() {
+        cache.get("1", () -> load("one"));
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(TTL));
+
+        assertEquals("two", cache.get("1", () -> load("two")), "Should reload an expired value");
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedWhenMaxSizeExceeded() {
+        cache.get("1", () -> load("one"));
+        cache.get("2", () -> load("two"));
+        cache.get("1", () -> load("one"));
+        cache.get("3", () -> load("three"));
+
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+        assertEquals("one", cache.get("1", () -> load("reloaded")), "Should keep the recently used value");
+        assertEquals("reloaded", cache.get("2", () -> load("reloaded")), "Should evict the eldest value");
+    }
+
+    @Test
+    public void shouldLoadAgainWhenInvalidateAll() {
+        cache.get("1", () -> load("one"));
+
+        cache.invalidateAll();
+
+        assertEquals(0, cache.getSize());
+        assertEquals("two", cache.get("1", () -> load("two")));
+    }
+
+    @Test
+    public void shouldNotCacheValueWhenInvalidatedDuringLoad() {
+        cache.get("1", () -> {
+            cache.invalidateAll();
+            return load("stale");
+        });
+
+        assertEquals("fresh", cache.get("1", () -> load("fresh")),
+                "Should not cache a value loaded before the invalidation");
+    }
+
+    @Test
+    public void shouldNotCacheFailureWhenLoaderThrowsDAOException() {
+        assertThrows(DAOException.class, () -> cache.get("1", () -> {
+            throw new DAOException("Can't find");
+        }));
+
+        assertEquals("one", cache.get("1", () -> load("one")));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenMaxSizeIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new EntityCache("test", 0, TTL));
+    }
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,176 @@
+package com.foxminded.dao.postgresql;
+
+import com.foxminded.configs.SpringTestConfig;
+import com.foxminded.dao.BatchExecutor;
+import com.foxminded.dao.ExecutorQuery;
+import com.foxminded.dao.layers.*;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.google.inject.internal.util.ImmutableList.of;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs against H2, so the batched INSERT fallback of the loader is tested.
+ *
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { SpringTestConfig.class })
+class CopyLoaderTest {
+    public static final LocalDateTime DATE = LocalDateTime.of(2020, Month.JANUARY, 10, 9, 0);
+
+    public CopyLoader copyLoader;
+    public LectureDAO lectureDAO;
+    public StudentDAO studentDAO;
+    public GroupDAO groupDAO;
+    public CourseDAO courseDAO;
+    public DepartmentDAO departmentDAO;
+    public TeacherDAO teacherDAO;
+    public ClassRoomDAO classRoomDAO;
+    public ExecutorQuery executorQuery;
+
+    @Autowired
+    public void setDAOs(CopyLoader copyLoader, LectureDAO lectureDAO, StudentDAO studentDAO, GroupDAO groupDAO,
+                        CourseDAO courseDAO, DepartmentDAO departmentDAO, TeacherDAO teacherDAO,
+                        ClassRoomDAO classRoomDAO) {
+        this.copyLoader = copyLoader;
+        this.lectureDAO = lectureDAO;
+        this.studentDAO = studentDAO;
+        this.groupDAO = groupDAO;
+        this.courseDAO = courseDAO;
+        this.departmentDAO = departmentDAO;
+        this.teacherDAO = teacherDAO;
+        this.classRoomDAO = classRoomDAO;
+    }
+
+    @Autowired
+    public void setExecutorQuery(ExecutorQuery executorQuery) {
+        this.executorQuery = executorQuery;
+    }
+
+    @BeforeEach
+    public void setUp() throws DAOException {
+        executorQuery.executeQuery("sql/dropDB.sql");
+        executorQuery.executeQuery("sql/tablesCreation.sql");
+
+        courseDAO.insert(new Course("math"));
+        courseDAO.insert(new Course("art"));
+        departmentDAO.insert(new Department("department"));
+        groupDAO.insert(new Group("group"));
+        teacherDAO.insert(new Teacher("teacherFirst", "teacherLast", new Course(1), new Department(1)));
+        classRoomDAO.insert(new ClassRoom(101, "room", 30));
+        studentDAO.insert(new Student("firstOne", "lastOne", new Group(1)));
+        studentDAO.insert(new Student("firstTwo", "lastTwo", new Group(1)));
+    }
+
+    @Test
+    public void shouldLoadLecturesLazilyInBatchesWhenCopyLectures() throws DAOException {
+        int total = 7;
+        int[] produced = new int[1];
+        Iterator<Lecture> lectures = new Iterator<Lecture>() {
+            @Override
+            public boolean hasNext() {
+                return produced[0] < total;
+            }
+
+            @Override
+            public Lecture next() {
+                produced[0]++;
+                return new Lecture("lecture" + produced[0], DATE.plusDays(produced[0]),
+                        new Teacher(1), new ClassRoom(101), new Group(1), new Course(1));
+            }
+        };
+        copyLoader.setBatchSize(3);
+
+        long actual;
+        try {
+            actual = copyLoader.copyLectures(lectures);
+        } finally {
+            copyLoader.setBatchSize(BatchExecutor.DEFAULT_BATCH_SIZE);
+        }
+
+        assertEquals(total, actual, "Should load all lectures of the iterator");
+        List<Lecture> loaded = lectureDAO.getAll();
+        assertEquals(total, loaded.size());
+        assertEquals("lecture7", loaded.get(6).getName());
+        assertEquals(DATE.plusDays(7), loaded.get(6).getDate());
+    }
+
+    @Test
+    public void shouldLoadStudentCoursesWhenCopyStudentCourses() throws DAOException {
+        long actual = copyLoader.copyStudentCourses(
+                of(new StudentCourse(1, 1), new StudentCourse(1, 2), new StudentCourse(2, 2)).iterator());
+
+        assertEquals(3, actual);
+        assertEquals(of(new Course(1, "math"), new Course(2, "art")),
+                studentDAO.getCoursesByStudent(new Student(1)));
+    }
+
+    @Test
+    public void shouldLoadLecturesWhenCopyLecturesFromCsv() throws DAOException {
+        String csv = "\"math, part \"\"one\"\"\",2020-01-10 09:00:00,101,1,1,1\n"
+                + "\n"
+                + "art,2020-01-11 11:30:00,101,1,1,2\n";
+
+        long actual = copyLoader.copyLecturesFromCsv(new StringReader(csv));
+
+        assertEquals(2, actual);
+        List<Lecture> loaded = lectureDAO.getAll();
+        assertEquals("math, part \"one\"", loaded.get(0).getName());
+        assertEquals(DATE, loaded.get(0).getDate());
+        assertEquals(2, loaded.get(1).getCourse().getId());
+    }
+
+    @Test
+    public void shouldLoadStudentCoursesWhenCopyStudentCoursesFromCsv() throws DAOException {
+        long actual = copyLoader.copyStudentCoursesFromCsv(new StringReader("1,1\n2,1\n2,2\n"));
+
+        assertEquals(3, actual);
+        assertEquals(of(new Course(1, "math"), new Course(2, "art")),
+                studentDAO.getCoursesByStudent(new Student(2)));
+    }
+
+    @Test
+    public void shouldSplitQuotedAndEmptyFieldsWhenParseCsvLine() {
+        assertArrayEquals(new String[]{"a,b", null, "", "c\"d"},
+                CopyLoader.parseCsvLine("\"a,b\",,\"\",\"c\"\"d\""));
+    }
+
+    @Test
+    public void shouldThrowDAOExceptionWhenCsvIsMalformed() {
+        Exception exception = assertThrows(DAOException.class, () ->
+                copyLoader.copyStudentCoursesFromCsv(new StringReader("1;1\n")));
+        assertEquals("Malformed CSV data", exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowDAOExceptionWhenCopyDuplicatedStudentCourses() {
+        Exception exception = assertThrows(DAOException.class, () ->
+                copyLoader.copyStudentCourses(of(new StudentCourse(1, 1), new StudentCourse(1, 1)).iterator()));
+        assertEquals("Unique index or primary key violation", exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenCopyNull() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                copyLoader.copyLectures(null));
+        assertEquals(NULL_WAS_PASSED, exception.getMessage());
+    }
+}
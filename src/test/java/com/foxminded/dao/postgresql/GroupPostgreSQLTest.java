@@ -1,6 +1,7 @@
 package com.foxminded.dao.postgresql;
 
 import com.foxminded.dao.ExecutorQuery;
+import com.foxminded.dao.TableVersions;
 import com.foxminded.dao.layers.GroupDAO;
 import com.foxminded.exceptions.DAOException;
 import com.foxminded.model.Group;
@@ -12,12 +13,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import javax.sql.DataSource;
 import java.util.List;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.foxminded.dao.TableVersions.GROUPS;
 import static com.google.inject.internal.util.ImmutableList.of;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -32,6 +36,8 @@ class GroupPostgreSQLTest {
 
     public GroupDAO groupDAO;
     public ExecutorQuery executorQuery;
+    public DataSource dataSource;
+    public TableVersions tableVersions;
 
     @Autowired
     public void setGroupDAO(GroupDAO groupDAO) {
@@ -43,6 +49,16 @@ class GroupPostgreSQLTest {
         this.executorQuery = executorQuery;
     }
 
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Autowired
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
     @BeforeEach
     public void setUp() {
         executorQuery.executeQuery("sql/dropDB.sql");
@@ -191,4 +207,55 @@ class GroupPostgreSQLTest {
                 groupDAO.delete(groupTwo));
         assertEquals("The group does not exist", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldSetGeneratedIdsWhenInsertAllGroups() throws DAOException {
+        Group groupOne = new Group(TEST_NAME_ONE);
+        Group groupTwo = new Group(TEST_NAME_TWO);
+        Group groupThree = new Group(TEST_NAME_THREE);
+        GroupPostgreSQL groupPostgreSQL = new GroupPostgreSQL(dataSource);
+        groupPostgreSQL.setBatchSize(2);
+
+        int actual = groupPostgreSQL.insertAll(of(groupOne, groupTwo, groupThree));
+
+        assertEquals(3, actual, "Should insert all groups");
+        assertEquals(of(groupOne, groupTwo, groupThree), groupDAO.getAll(),
+                "Should return inserted groups with generated ids");
+        assertEquals(groupThree, groupDAO.getById(3));
+    }
+
+    @Test
+    public void shouldThrowDAOExceptionWhenInsertAllDuplicatedGroups() {
+        Group groupOne = new Group(TEST_NAME_ONE);
+        Group groupTwo = new Group(TEST_NAME_ONE);
+
+        Exception exception = assertThrows(DAOException.class, () ->
+                groupDAO.insertAll(of(groupOne, groupTwo)));
+        assertEquals("Unique index or primary key violation", exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenInsertAllNull() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                groupDAO.insertAll(null));
+        assertEquals(NULL_WAS_PASSED, exception.getMessage());
+    }
+
+    @Test
+    public void shouldChangeVersionOfGroupsWhenChangeGroups() throws DAOException {
+        Group group = new Group(TEST_NAME_ONE);
+        long version = tableVersions.getVersion(GROUPS);
+
+        groupDAO.insert(group);
+        assertTrue(tableVersions.getVersion(GROUPS) > version, "Should change the version on insert");
+        version = tableVersions.getVersion(GROUPS);
+
+        group.setName(TEST_NAME_TWO);
+        groupDAO.update(group);
+        assertTrue(tableVersions.getVersion(GROUPS) > version, "Should change the version on update");
+        version = tableVersions.getVersion(GROUPS);
+
+        groupDAO.delete(group);
+        assertTrue(tableVersions.getVersion(GROUPS) > version, "Should change the version on delete");
+    }
+}
@@ -4,22 +4,29 @@ import com.foxminded.configs.SpringTestConfig;
 import com.foxminded.dao.ExecutorQuery;
 import com.foxminded.dao.layers.*;
 import com.foxminded.exceptions.DAOException;
+import com.foxminded.exceptions.LectureConflictException;
 import com.foxminded.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import javax.sql.DataSource;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
 import static com.google.inject.internal.util.ImmutableList.of;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -66,11 +73,12 @@ class LecturePostgreSQLTest {
 
     public ApplicationContext context = new AnnotationConfigApplicationContext(SpringTestConfig.class);
     public LectureDAO lectureDAO = context.getBean("lectureDAO", LecturePostgreSQL.class);
-    public ClassRoomDAO classRoomDAO = context.getBean("classRoomDAO", ClassRoomPostgreSQL.class);
-    public DepartmentDAO departmentDAO = context.getBean("departmentDAO", DepartmentPostgreSQL.class);
-    public CourseDAO courseDAO = context.getBean("courseDAO", CoursePostgreSQL.class);
-    public GroupDAO groupDAO = context.getBean("groupDAO", GroupPostgreSQL.class);
+    public ClassRoomDAO classRoomDAO = context.getBean("classRoomDAO", ClassRoomDAO.class);
+    public DepartmentDAO departmentDAO = context.getBean("departmentDAO", DepartmentDAO.class);
+    public CourseDAO courseDAO = context.getBean("courseDAO", CourseDAO.class);
+    public GroupDAO groupDAO = context.getBean("groupDAO", GroupDAO.class);
     public TeacherDAO teacherDAO = context.getBean("teacherDAO", TeacherPostgreSQL.class);
+    public StudentDAO studentDAO = context.getBean("studentDAO", StudentPostgreSQL.class);
     public ExecutorQuery executorQuery = context.getBean("executorQuery", ExecutorQuery.class);
 
     @BeforeEach
@@ -313,6 +321,231 @@ class LecturePostgreSQLTest {
                 "Should return corrected lectures when get lectures by teacher for year");
     }
 
+    @Test
+    public void shouldReturnCorrectedLecturesWhenGetForPeriod() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(1), new Course(2));
+        Lecture lectureTree = new Lecture(TEST_NAME_THREE, DATE_THREE, new Teacher(3), new ClassRoom(204), new Group(3), new Course(3));
+
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+        lectureDAO.insert(lectureTree);
+
+        List<Lecture> actual = lectureDAO.getLecturesForPeriod(DATE_TWO, DATE_THREE);
+        List<Lecture> expected = of(lectureTwo);
+
+        assertEquals(expected, actual,
+                "Should return corrected lectures when get lectures for period [from, to)");
+    }
+
+    @Test
+    public void shouldReturnCorrectedLecturesWhenGetByGroupForPeriod() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(1), new Course(2));
+        Lecture lectureTree = new Lecture(TEST_NAME_THREE, DATE_THREE, new Teacher(3), new ClassRoom(204), new Group(3), new Course(3));
+
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+        lectureDAO.insert(lectureTree);
+
+        List<Lecture> actual = lectureDAO.getLecturesByGroupForPeriod(DATE_TWO.minusDays(7), DATE_THREE.plusDays(1), groupOne);
+        List<Lecture> expected = of(lectureTwo);
+
+        assertEquals(expected, actual,
+                "Should return corrected lectures when get lectures by group for period");
+    }
+
+    @Test
+    public void shouldReturnCorrectedLecturesWhenGetByTeacherForPeriod() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(3), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(1), new Course(2));
+        Lecture lectureTree = new Lecture(TEST_NAME_THREE, DATE_THREE, new Teacher(3), new ClassRoom(204), new Group(3), new Course(3));
+
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+        lectureDAO.insert(lectureTree);
+
+        List<Lecture> actual = lectureDAO.getLecturesByTeacherForPeriod(DATE_ONE, DATE_THREE.plusHours(1), teacherThree);
+        List<Lecture> expected = of(lectureOne, lectureTree);
+
+        assertEquals(expected, actual,
+                "Should return corrected lectures when get lectures by teacher for period");
+    }
+
+    @Test
+    public void shouldReturnCorrectedLecturesWhenGetByMonthInDecember() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, LocalDateTime.of(2018, Month.DECEMBER, 31, 23, 0),
+                new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, LocalDateTime.of(2019, Month.JANUARY, 1, 0, 0),
+                new Teacher(2), new ClassRoom(203), new Group(2), new Course(2));
+
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+
+        List<Lecture> actual = lectureDAO.getLecturesByMonth(12, 2018);
+        List<Lecture> expected = of(lectureOne);
+
+        assertEquals(expected, actual,
+                "Should return corrected lectures when get lectures by month at the end of the year");
+    }
+
+    @Test
+    public void shouldReturnCorrectedLecturesWhenGetByStudent() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(2), new Course(2));
+        Lecture lectureTree = new Lecture(TEST_NAME_THREE, DATE_THREE, new Teacher(3), new ClassRoom(204), new Group(1), new Course(3));
+        studentDAO.insert(new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1)));
+
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+        lectureDAO.insert(lectureTree);
+
+        List<Lecture> actual = lectureDAO.getLecturesByStudent(FIRST_NAME_ONE, LAST_NAME_ONE);
+        List<Lecture> expected = of(lectureOne, lectureTree);
+
+        assertEquals(expected, actual,
+                "Should return corrected lectures when get lectures by student name");
+    }
+
+    @Test
+    public void shouldReturnCorrectedLecturesWhenGetByStudentForPeriod() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(2), new Course(2));
+        Lecture lectureTree = new Lecture(TEST_NAME_THREE, DATE_THREE, new Teacher(3), new ClassRoom(204), new Group(1), new Course(3));
+        studentDAO.insert(new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1)));
+
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+        lectureDAO.insert(lectureTree);
+
+        List<Lecture> actual = lectureDAO.getLecturesByStudentForPeriod(DATE_TWO, DATE_THREE.plusDays(1),
+                FIRST_NAME_ONE, LAST_NAME_ONE);
+        List<Lecture> expected = of(lectureTree);
+
+        assertEquals(expected, actual,
+                "Should return corrected lectures when get lectures by student name for period");
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenStudentHasNoLecturesForPeriod() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        studentDAO.insert(new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1)));
+
+        lectureDAO.insert(lectureOne);
+
+        List<Lecture> actual = lectureDAO.getLecturesByStudentForPeriod(DATE_TWO, DATE_THREE,
+                FIRST_NAME_ONE, LAST_NAME_ONE);
+
+        assertEquals(of(), actual,
+                "Should return empty list when the student has no lectures for period");
+    }
+
+    @Test
+    public void shouldReturnCorrectedLecturesWhenGetByTeacherName() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(3), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(1), new Course(2));
+        Lecture lectureTree = new Lecture(TEST_NAME_THREE, DATE_THREE, new Teacher(3), new ClassRoom(204), new Group(3), new Course(3));
+
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+        lectureDAO.insert(lectureTree);
+
+        List<Lecture> actual = lectureDAO.getLecturesByTeacherName(FIRST_NAME_THREE, LAST_NAME_THREE);
+        List<Lecture> expected = of(lectureOne, lectureTree);
+
+        assertEquals(expected, actual,
+                "Should return corrected lectures when get lectures by teacher name");
+    }
+
+    @Test
+    public void shouldReturnCorrectedLecturesWhenGetByTeacherNameForPeriod() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(3), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(1), new Course(2));
+        Lecture lectureTree = new Lecture(TEST_NAME_THREE, DATE_THREE, new Teacher(3), new ClassRoom(204), new Group(3), new Course(3));
+
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+        lectureDAO.insert(lectureTree);
+
+        List<Lecture> actual = lectureDAO.getLecturesByTeacherNameForPeriod(DATE_TWO, DATE_THREE.plusDays(1),
+                FIRST_NAME_THREE, LAST_NAME_THREE);
+        List<Lecture> expected = of(lectureTree);
+
+        assertEquals(expected, actual,
+                "Should return corrected lectures when get lectures by teacher name for period");
+    }
+
+    @Test
+    public void shouldThrowDAOExceptionWhenCanNotFindStudentByNameForSchedule() {
+        Exception exception = assertThrows(DAOException.class, () ->
+                lectureDAO.getLecturesByStudent("666", "666"));
+        assertEquals("Can't find student by passed name", exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowDAOExceptionWhenCanNotFindTeacherByNameForSchedule() {
+        Exception exception = assertThrows(DAOException.class, () ->
+                lectureDAO.getLecturesByTeacherNameForPeriod(DATE_ONE, DATE_TWO, "666", "666"));
+        assertEquals("Can't find teacher by passed name", exception.getMessage());
+    }
+
+    @Test
+    public void shouldReturnHydratedLecturesWhenGetAllWithDetails() throws DAOException {
+        lectureDAO.insert(new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1)));
+        lectureDAO.insert(new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(1), new ClassRoom(202), new Group(2), new Course(1)));
+
+        Teacher teacher = new Teacher(1, FIRST_NAME_ONE, LAST_NAME_ONE, new Course(1), new Department(1));
+        ClassRoom classRoom = new ClassRoom(202, TEST_NAME_ONE, 200);
+        Course course = new Course(1, TEST_NAME_ONE);
+        Lecture lectureOne = new Lecture(1, TEST_NAME_ONE, DATE_ONE, teacher, classRoom, new Group(1, TEST_NAME_ONE), course);
+        Lecture lectureTwo = new Lecture(2, TEST_NAME_TWO, DATE_TWO, teacher, classRoom, new Group(2, TEST_NAME_TWO), course);
+
+        List<Lecture> actual = lectureDAO.getAllWithDetails();
+
+        assertEquals(of(lectureOne, lectureTwo), actual,
+                "Should return lectures with class room, teacher, group and course when getAllWithDetails()");
+        assertSame(actual.get(0).getTeacher(), actual.get(1).getTeacher(),
+                "Should share the same teacher instance between lectures");
+        assertSame(actual.get(0).getClassRoom(), actual.get(1).getClassRoom(),
+                "Should share the same class room instance between lectures");
+        assertSame(actual.get(0).getCourse(), actual.get(1).getCourse(),
+                "Should share the same course instance between lectures");
+    }
+
+    @Test
+    public void shouldReturnLecturesAfterPassedIdWhenGetPageWithDetails() throws DAOException {
+        lectureDAO.insert(new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1)));
+        lectureDAO.insert(new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(1), new ClassRoom(202), new Group(2), new Course(1)));
+        lectureDAO.insert(new Lecture(TEST_NAME_THREE, DATE_THREE, new Teacher(1), new ClassRoom(202), new Group(2), new Course(1)));
+
+        List<Lecture> first = lectureDAO.getPageWithDetails(0, 2);
+        List<Lecture> second = lectureDAO.getPageWithDetails(first.get(1).getId(), 2);
+
+        assertEquals(of(1, 2), of(first.get(0).getId(), first.get(1).getId()));
+        assertEquals(1, second.size(), "Should return the rest of lectures on the last page");
+        assertEquals(3, second.get(0).getId());
+        assertEquals(TEST_NAME_TWO, second.get(0).getGroup().getName());
+    }
+
+    @Test
+    public void shouldPassAllLecturesInIdOrderWhenForEach() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(2), new Course(2));
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+
+        List<Lecture> actual = new ArrayList<>();
+        lectureDAO.forEach(actual::add);
+
+        assertEquals(of(lectureOne, lectureTwo), actual,
+                "Should pass every lecture to the action in id order");
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenGetPageWithNotPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> lectureDAO.getPage(0, 0));
+    }
+
     @Test
     public void shouldReturnCorrectedLectureWhenUpdateLecture() throws DAOException {
         Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
@@ -349,6 +582,34 @@ class LecturePostgreSQLTest {
                 "Should return corrected lectures when getById all lectures after delete one");
     }
 
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenLectureDurationIsZero() throws DAOException {
+        assertWrongDuration(Duration.ZERO);
+        assertWrongDuration(Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenLectureDurationIsNegative() throws DAOException {
+        assertWrongDuration(Duration.ofMinutes(-90));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenLectureDurationIsNull() throws DAOException {
+        assertWrongDuration(null);
+    }
+
+    @Test
+    public void shouldRejectNotPositiveDurationWhenStoredBypassingDAO() throws DAOException {
+        lectureDAO.insert(new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1),
+                new Course(1)));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                jdbcTemplate.update("UPDATE lectures SET duration = 0"));
+        assertThrows(DataIntegrityViolationException.class, () ->
+                jdbcTemplate.update("UPDATE lectures SET duration = -1"));
+    }
+
     @Test
     public void shouldThrowDAOExceptionWhenNullWasPassedToInsertMethod() {
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
@@ -426,6 +687,27 @@ class LecturePostgreSQLTest {
         assertEquals(NULL_WAS_PASSED, exception.getMessage());
     }
 
+    @Test
+    public void shouldThrowDAOExceptionWhenNullWasPassedToGetLecturesForPeriod() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                lectureDAO.getLecturesForPeriod(null, DATE_ONE));
+        assertEquals(NULL_WAS_PASSED, exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowDAOExceptionWhenNullWasPassedToGetLecturesByGroupForPeriod() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                lectureDAO.getLecturesByGroupForPeriod(DATE_ONE, DATE_TWO, null));
+        assertEquals(NULL_WAS_PASSED, exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowDAOExceptionWhenNullWasPassedToGetLecturesByTeacherForPeriod() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                lectureDAO.getLecturesByTeacherForPeriod(DATE_ONE, DATE_TWO, null));
+        assertEquals(NULL_WAS_PASSED, exception.getMessage());
+    }
+
     @Test
     public void shouldThrowDAOExceptionWhenNullWasPassedToChangeTeacher() {
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
@@ -436,13 +718,61 @@ class LecturePostgreSQLTest {
     @Test
     public void shouldThrowDAOExceptionWhenTryToInsertDuplicateWithTheSameName() throws DAOException {
         Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_ONE, DATE_TWO, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
         lectureDAO.insert(lectureOne);
 
         Exception exception = assertThrows(DAOException.class, () ->
-                lectureDAO.insert(lectureOne));
+                lectureDAO.insert(lectureTwo));
         assertEquals("Unique index or primary key violation", exception.getMessage());
     }
 
+    @Test
+    public void shouldThrowLectureConflictExceptionWhenInsertLectureOverlappingLectureOfTheSameClassRoom()
+            throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_ONE.plusMinutes(89), new Teacher(2), new ClassRoom(202),
+                new Group(2), new Course(2));
+        lectureDAO.insert(lectureOne);
+
+        assertThrows(LectureConflictException.class, () -> lectureDAO.insert(lectureTwo));
+        assertEquals(of(lectureOne), lectureDAO.getAll(),
+                "Should not insert the overlapping lecture");
+    }
+
+    @Test
+    public void shouldInsertLectureWhenItStartsWhenLongerLectureOfTheSameGroupEnds() throws DAOException {
+        Lecture lectureOne = new Lecture(0, TEST_NAME_ONE, DATE_ONE, Duration.ofMinutes(180), new Teacher(1),
+                new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_ONE.plusMinutes(180), new Teacher(2), new ClassRoom(203),
+                new Group(1), new Course(2));
+        Lecture lectureThree = new Lecture(TEST_NAME_THREE, DATE_ONE.plusMinutes(179), new Teacher(3),
+                new ClassRoom(204), new Group(1), new Course(3));
+
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+
+        assertThrows(LectureConflictException.class, () -> lectureDAO.insert(lectureThree));
+        assertEquals(of(lectureOne, lectureTwo), lectureDAO.getAll(),
+                "Should keep the duration of the lecture and reject only the overlapping lecture");
+    }
+
+    @Test
+    public void shouldThrowLectureConflictExceptionWhenChangeTeacherOrUpdateToOverlappingLecture()
+            throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_ONE, new Teacher(2), new ClassRoom(203), new Group(2), new Course(2));
+        lectureDAO.insert(lectureOne);
+        lectureDAO.insert(lectureTwo);
+        Lecture moved = new Lecture(lectureTwo.getId(), TEST_NAME_TWO, DATE_ONE, new Teacher(2), new ClassRoom(202),
+                new Group(2), new Course(2));
+
+        assertThrows(LectureConflictException.class, () -> lectureDAO.changeTeacher(lectureTwo, teacherOne));
+        assertThrows(LectureConflictException.class, () -> lectureDAO.update(moved));
+        assertThrows(LectureConflictException.class, () -> lectureDAO.insertAll(List.of(
+                new Lecture(TEST_NAME_THREE, DATE_ONE.plusHours(1), new Teacher(3), new ClassRoom(204), new Group(1),
+                        new Course(3)))));
+    }
+
     @Test
     public void shouldThrowDAOExceptionWhenCanNotFindClassRoomById() {
         Exception exception = assertThrows(DAOException.class, () ->
@@ -478,4 +808,20 @@ class LecturePostgreSQLTest {
                 lectureDAO.delete(lectureTwo));
         assertEquals("The lecture does not exist", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    private void assertWrongDuration(Duration duration) throws DAOException {
+        Lecture stored = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1),
+                new Course(1));
+        lectureDAO.insert(stored);
+        Lecture wrong = new Lecture(stored.getId(), TEST_NAME_TWO, DATE_TWO, duration, new Teacher(2),
+                new ClassRoom(203), new Group(2), new Course(2));
+
+        Exception insert = assertThrows(IllegalArgumentException.class, () -> lectureDAO.insert(wrong));
+        assertThrows(IllegalArgumentException.class, () -> lectureDAO.update(wrong));
+        assertThrows(IllegalArgumentException.class, () -> lectureDAO.insertAll(of(wrong)));
+
+        assertEquals(LecturePostgreSQL.WRONG_DURATION, insert.getMessage());
+        assertEquals(of(stored), lectureDAO.getAll(), "Should not store the lecture");
+        lectureDAO.delete(stored);
+    }
+}
@@ -13,15 +13,20 @@ import com.foxminded.configs.SpringTestConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
 import static com.google.inject.internal.util.ImmutableList.of;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -32,6 +37,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = { SpringTestConfig.class })
 class StudentPostgreSQLTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StudentPostgreSQLTest.class);
+
     public static final String FIRST_NAME_ONE = "firstNameOne";
     public static final String FIRST_NAME_TWO = "firstNameTwo";
     public static final String FIRST_NAME_THREE = "firstNameThree";
@@ -124,6 +131,21 @@ class StudentPostgreSQLTest {
                 "Should return corrected students when getById all students");
     }
 
+    @Test
+    public void shouldReturnStudentsAfterPassedIdWhenGetPage() throws DAOException {
+        Student studentOne = new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1));
+        Student studentTwo = new Student(FIRST_NAME_TWO, LAST_NAME_TWO, new Group(2));
+        Student studentThree = new Student(FIRST_NAME_THREE, LAST_NAME_THREE, new Group(3));
+
+        studentDAO.insert(studentOne);
+        studentDAO.insert(studentTwo);
+        studentDAO.insert(studentThree);
+
+        assertEquals(of(studentOne, studentTwo), studentDAO.getPage(0, 2));
+        assertEquals(of(studentThree), studentDAO.getPage(studentTwo.getId(), 2),
+                "Should return students after the passed id");
+    }
+
     @Test
     public void shouldReturnCorrectedStudentsWhenGetStudentByName() throws DAOException {
         Student studentOne = new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1));
@@ -210,6 +232,54 @@ class StudentPostgreSQLTest {
                 "Should return corrected courses when get courses by student id");
     }
 
+    @Test
+    public void shouldSkipExistingPairsWhenInsertRelationshipStudentsToCourses() throws DAOException {
+        Student studentOne = new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1), of(courseOne, courseTwo));
+        Student studentTwo = new Student(FIRST_NAME_TWO, LAST_NAME_TWO, new Group(2), of(courseThree));
+
+        studentDAO.insert(studentOne);
+        studentDAO.insert(studentTwo);
+        studentDAO.insertCourseToStudent(studentOne, courseTwo);
+
+        int[] actual = studentDAO.insertRelationshipStudentsToCourses(Arrays.asList(studentOne, studentTwo));
+        int[] expected = {1, 0, 1};
+
+        assertArrayEquals(expected, actual,
+                "Should return outcome per pair when insertRelationshipStudentsToCourses()");
+        assertEquals(of(new StudentCourse(1, 1), new StudentCourse(1, 2), new StudentCourse(2, 3)),
+                studentDAO.getAllStudentCourse(),
+                "Should not duplicate existing pairs when insertRelationshipStudentsToCourses()");
+    }
+
+    @Test
+    public void shouldInsertAllPairsWhenInsertRelationshipStudentsToCoursesInBatches() throws DAOException {
+        List<Course> courses = of(courseOne, courseTwo, courseThree);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Student student = new Student(FIRST_NAME_ONE + i, LAST_NAME_ONE + i, new Group(i % 3 + 1), courses);
+            studentDAO.insert(student);
+            students.add(student);
+        }
+
+        long start = System.nanoTime();
+        int[] actual = studentDAO.insertRelationshipStudentsToCourses(students);
+        long elapsed = System.nanoTime() - start;
+        LOGGER.info("Inserted {} student-course pairs, {} rows/second", actual.length,
+                actual.length * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsed, 1));
+
+        assertEquals(1500, Arrays.stream(actual).filter(count -> count == 1).count(),
+                "Should insert every pair when insertRelationshipStudentsToCourses()");
+        assertEquals(1500, studentDAO.getAllStudentCourse().size(),
+                "Should store every pair when insertRelationshipStudentsToCourses()");
+    }
+
+    @Test
+    public void shouldThrowDAOExceptionWhenNullWasPassedToInsertRelationshipStudentsToCourses() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                studentDAO.insertRelationshipStudentsToCourses(null));
+        assertEquals(NULL_WAS_PASSED, exception.getMessage());
+    }
+
     @Test
     public void shouldReturnCorrectedCoursesWhenGetCoursesByIdAfterInsertCourseToStudent() throws DAOException {
         Student studentTwo = new Student(FIRST_NAME_TWO, LAST_NAME_TWO, new Group(2), of(courseTwo, courseThree));
@@ -0,0 +1,203 @@
+package com.foxminded.service;
+
+import com.foxminded.dao.TableVersions;
+import com.foxminded.dao.layers.ClassRoomDAO;
+import com.foxminded.dao.layers.LectureDAO;
+import com.foxminded.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static com.foxminded.dao.TableVersions.CLASS_ROOMS;
+import static com.foxminded.dao.TableVersions.GROUPS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class ClassRoomOccupancyIndexTest {
+    public static final LocalDate ORIGIN = LocalDate.of(2019, 12, 2);
+    public static final LocalDateTime TUESDAY = LocalDateTime.of(2020, 1, 7, 11, 0);
+
+    public ClassRoom small = new ClassRoom(101, "small", 20);
+    public ClassRoom middle = new ClassRoom(102, "middle", 40);
+    public ClassRoom large = new ClassRoom(103, "large", 60);
+
+    public ClassRoomDAO classRoomDAO = Mockito.mock(ClassRoomDAO.class);
+    public LectureDAO lectureDAO = Mockito.mock(LectureDAO.class);
+    public TableVersions tableVersions = new TableVersions();
+    public ClassRoomOccupancyIndex index = new ClassRoomOccupancyIndex(classRoomDAO, lectureDAO, tableVersions,
+            ORIGIN, Duration.ofMinutes(15));
+    public Lecture stored = new Lecture(1, "stored", TUESDAY, new Teacher(1), middle, new Group(1),
+            new Course(1));
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void init() {
+        when(classRoomDAO.getAll()).thenReturn(List.of(large, small, middle));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(stored);
+            return null;
+        }).when(lectureDAO).forEach(any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+
+    @Test
+    public void shouldFindFreeClassRoomsOrderedByCapacityWhenLectureOccupiesClassRoom() {
+        assertEquals(List.of(small, large), index.findFree(TUESDAY.plusMinutes(30), TUESDAY.plusMinutes(60), 0, 1));
+        assertEquals(List.of(small, middle, large), index.findFree(TUESDAY.plusMinutes(90),
+                TUESDAY.plusMinutes(180), 0, 1), "Should free the class room when the lecture ends");
+        assertEquals(List.of(large), index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 30, 1));
+        verify(lectureDAO, times(1)).forEach(any());
+    }
+
+    @Test
+    public void shouldFindClassRoomsFreeInEveryWeekWhenTimeRepeats() {
+        Lecture later = new Lecture(2, "later", TUESDAY.plusWeeks(2), new Teacher(1), large, new Group(1),
+                new Course(1));
+        index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1);
+
+        index.book(later);
+
+        assertEquals(List.of(small, middle), index.findFree(TUESDAY.plusWeeks(1), TUESDAY.plusWeeks(1)
+                .plusMinutes(90), 0, 2));
+        assertEquals(List.of(small), index.findFree(TUESDAY.minusWeeks(1), TUESDAY.minusWeeks(1)
+                .plusMinutes(90), 0, 4));
+    }
+
+    @Test
+    public void shouldMoveAndFreeSlotsWhenLectureIsBookedAgainAndRemoved() {
+        index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1);
+        Lecture moved = new Lecture(1, "stored", TUESDAY, new Teacher(1), small, new Group(1), new Course(1));
+
+        index.book(moved);
+
+        assertEquals(List.of(middle, large), index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1));
+
+        index.remove(moved);
+
+        assertEquals(List.of(small, middle, large), index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1));
+        assertEquals(0, index.getSize());
+    }
+
+    @Test
+    public void shouldKeepSharedSlotOccupiedWhenNeighbourLectureIsRemoved() {
+        Lecture first = new Lecture(2, "first", TUESDAY.plusHours(3), Duration.ofMinutes(50), new Teacher(2),
+                middle, new Group(2), new Course(1));
+        Lecture second = new Lecture(3, "second", TUESDAY.plusHours(3).plusMinutes(55), Duration.ofMinutes(30),
+                new Teacher(3), middle, new Group(3), new Course(1));
+        index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1);
+        index.book(first);
+        index.book(second);
+
+        index.remove(first);
+
+        assertEquals(List.of(small, large), index.findFree(TUESDAY.plusHours(3).plusMinutes(50),
+                TUESDAY.plusHours(3).plusMinutes(55), 0, 1), "Should keep the slot both lectures touch");
+        assertEquals(List.of(small, middle, large), index.findFree(TUESDAY.plusHours(3),
+                TUESDAY.plusHours(3).plusMinutes(45), 0, 1));
+    }
+
+    @Test
+    public void shouldFindEarliestStartWhenClassRoomLargeEnoughIsFreeForDuration() {
+        Duration hour = Duration.ofHours(1);
+        assertEquals(new FreeSlot(TUESDAY, TUESDAY.plusHours(3), List.of(large)),
+                index.findFirstFree(TUESDAY, TUESDAY.plusHours(3), hour, 30));
+
+        index.book(new Lecture(2, "later", TUESDAY.minusMinutes(30), new Teacher(2), large, new Group(2),
+                new Course(1)));
+
+        assertEquals(new FreeSlot(TUESDAY.plusHours(1), TUESDAY.plusHours(3), List.of(large)),
+                index.findFirstFree(TUESDAY.plusMinutes(5), TUESDAY.plusHours(3), hour, 30),
+                "Should skip the occupied slots of every class room");
+        assertEquals(new FreeSlot(TUESDAY.plusMinutes(15), TUESDAY.plusHours(3), List.of(small)),
+                index.findFirstFree(TUESDAY.plusMinutes(5), TUESDAY.plusHours(3), hour, 0));
+        assertNull(index.findFirstFree(TUESDAY, TUESDAY.plusMinutes(110), hour, 30));
+        assertThrows(IllegalArgumentException.class, () -> index.findFirstFree(TUESDAY, TUESDAY.plusMinutes(30),
+                hour, 0));
+    }
+
+    @Test
+    public void shouldBuildIndexAgainWhenClassRoomsOrCascadingTablesChange() {
+        index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1);
+        when(classRoomDAO.getAll()).thenReturn(List.of(small));
+
+        tableVersions.changed(CLASS_ROOMS);
+
+        assertEquals(List.of(small), index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1));
+
+        tableVersions.changed(GROUPS);
+        index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1);
+        index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1);
+
+        verify(lectureDAO, times(3)).forEach(any());
+    }
+
+    @Test
+    public void shouldShowBookingToOtherThreadsOnlyWhenTransactionCommits() throws Exception {
+        Lecture moved = new Lecture(1, "stored", TUESDAY, new Teacher(1), small, new Group(1), new Course(1));
+        index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.book(moved);
+
+        assertEquals(List.of(small, large), CompletableFuture.supplyAsync(() ->
+                index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1)).get(), "Should not show uncommitted booking");
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of(middle, large), index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1));
+    }
+
+    @Test
+    public void shouldKeepIndexWhenTransactionIsRolledBack() {
+        index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.remove(stored);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(List.of(small, large), index.findFree(TUESDAY, TUESDAY.plusMinutes(90), 0, 1));
+        verify(lectureDAO, times(1)).forEach(any());
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenTimeIsWrong() {
+        assertThrows(IllegalArgumentException.class, () -> index.findFree(TUESDAY, TUESDAY, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.findFree(TUESDAY, TUESDAY.plusHours(1), 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> index.findFree(ORIGIN.minusDays(1).atTime(9, 0),
+                ORIGIN.atTime(9, 0), 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ClassRoomOccupancyIndex(classRoomDAO, lectureDAO,
+                tableVersions, ORIGIN, Duration.ofMinutes(11)));
+        verify(lectureDAO, never()).forEach(any());
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
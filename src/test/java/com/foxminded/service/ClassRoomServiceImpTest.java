@@ -3,8 +3,8 @@ package com.foxminded.service;
 import com.foxminded.configs.SpringTestConfig;
 import com.foxminded.dao.ExecutorQuery;
 import com.foxminded.exceptions.DAOException;
-import com.foxminded.model.ClassRoom;
-import com.foxminded.service.layers.ClassRoomService;
+import com.foxminded.model.*;
+import com.foxminded.service.layers.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
@@ -30,7 +31,14 @@ class ClassRoomServiceImpTest {
     public static final String TEST_NAME_TWO = "testNameTwo";
     public static final String TEST_NAME_THREE = "testNameThree";
 
+    public static final LocalDateTime TUESDAY = LocalDateTime.of(2020, 1, 7, 11, 0);
+
     public ClassRoomService classRoomService;
+    public LectureService lectureService;
+    public GroupService groupService;
+    public DepartmentService departmentService;
+    public CourseService courseService;
+    public TeacherService teacherService;
     public ExecutorQuery executorQuery;
 
     @Autowired
@@ -38,6 +46,31 @@ class ClassRoomServiceImpTest {
         this.classRoomService = classRoomService;
     }
 
+    @Autowired
+    public void setLectureService(LectureService lectureService) {
+        this.lectureService = lectureService;
+    }
+
+    @Autowired
+    public void setGroupService(GroupService groupService) {
+        this.groupService = groupService;
+    }
+
+    @Autowired
+    public void setDepartmentService(DepartmentService departmentService) {
+        this.departmentService = departmentService;
+    }
+
+    @Autowired
+    public void setCourseService(CourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    @Autowired
+    public void setTeacherService(TeacherService teacherService) {
+        this.teacherService = teacherService;
+    }
+
     @Autowired
     public void setExecutorQuery(ExecutorQuery executorQuery) {
         this.executorQuery = executorQuery;
@@ -66,6 +99,38 @@ class ClassRoomServiceImpTest {
                 "Should return corrected class rooms when getById all class rooms");
     }
 
+    @Test
+    public void shouldReturnFreeClassRoomsWhenLecturesAreInsertedMovedAndDeleted() throws DAOException {
+        ClassRoom classRoomOne = new ClassRoom(202, TEST_NAME_ONE, 200);
+        ClassRoom classRoomTwo = new ClassRoom(203, TEST_NAME_TWO, 400);
+        ClassRoom classRoomThree = new ClassRoom(204, TEST_NAME_THREE, 300);
+        classRoomService.insert(classRoomOne);
+        classRoomService.insert(classRoomTwo);
+        classRoomService.insert(classRoomThree);
+        groupService.insert(new Group(TEST_NAME_ONE));
+        departmentService.insert(new Department(TEST_NAME_ONE));
+        courseService.insert(new Course(TEST_NAME_ONE));
+        teacherService.insert(new Teacher(TEST_NAME_ONE, TEST_NAME_ONE, new Course(1), new Department(1)));
+        assertEquals(of(classRoomThree, classRoomTwo), classRoomService.getFree(TUESDAY, TUESDAY.plusMinutes(90),
+                250, 1));
+
+        lectureService.insert(new Lecture(TEST_NAME_ONE, TUESDAY, new Teacher(1), new ClassRoom(203),
+                new Group(1), new Course(1)));
+
+        assertEquals(of(classRoomThree), classRoomService.getFree(TUESDAY.plusMinutes(30), TUESDAY.plusMinutes(60),
+                250, 1));
+
+        lectureService.changeClassRoom(TEST_NAME_ONE, TEST_NAME_THREE);
+
+        assertEquals(of(classRoomOne, classRoomTwo), classRoomService.getFree(TUESDAY, TUESDAY.plusMinutes(90),
+                0, 1));
+
+        lectureService.delete(TEST_NAME_ONE);
+
+        assertEquals(of(classRoomOne, classRoomThree, classRoomTwo), classRoomService.getFree(TUESDAY,
+                TUESDAY.plusMinutes(90), 0, 1));
+    }
+
     @Test
     public void shouldReturnCorrectedClassRoomWhenGetClassRoomsById() throws DAOException {
         ClassRoom classRoomOne = new ClassRoom(202, TEST_NAME_ONE, 200);
@@ -3,12 +3,8 @@ package com.foxminded.service;
 import com.foxminded.configs.SpringTestConfig;
 import com.foxminded.dao.ExecutorQuery;
 import com.foxminded.exceptions.DAOException;
-import com.foxminded.model.Course;
-import com.foxminded.model.Department;
-import com.foxminded.model.Teacher;
-import com.foxminded.service.layers.CourseService;
-import com.foxminded.service.layers.DepartmentService;
-import com.foxminded.service.layers.TeacherService;
+import com.foxminded.model.*;
+import com.foxminded.service.layers.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,10 +12,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.util.List;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
 import static com.google.inject.internal.util.ImmutableList.of;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -41,6 +40,9 @@ class DepartmentServiceImpTest {
     public static final String TEST_NAME_TWO = "testNameTwo";
     public static final String TEST_NAME_THREE = "testNameThree";
 
+    public static final LocalDateTime DATE_ONE = LocalDateTime.of(2019, Month.FEBRUARY, 1, 9, 0);
+    public static final LocalDateTime DATE_TWO = LocalDateTime.of(2019, Month.FEBRUARY, 2, 11, 0);
+
     public Course courseOne = new Course(TEST_NAME_ONE);
     public Course courseTwo = new Course(TEST_NAME_TWO);
     public Course courseThree = new Course(TEST_NAME_THREE);
@@ -52,6 +54,10 @@ class DepartmentServiceImpTest {
     public DepartmentService departmentService;
     public TeacherService teacherService;
     public CourseService courseService;
+    public GroupService groupService;
+    public StudentService studentService;
+    public LectureService lectureService;
+    public ClassRoomService classRoomService;
     public ExecutorQuery executorQuery;
 
     @Autowired
@@ -69,6 +75,26 @@ class DepartmentServiceImpTest {
         this.courseService = courseService;
     }
 
+    @Autowired
+    public void setGroupService(GroupService groupService) {
+        this.groupService = groupService;
+    }
+
+    @Autowired
+    public void setStudentService(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    @Autowired
+    public void setLectureService(LectureService lectureService) {
+        this.lectureService = lectureService;
+    }
+
+    @Autowired
+    public void setClassRoomService(ClassRoomService classRoomService) {
+        this.classRoomService = classRoomService;
+    }
+
     @Autowired
     public void setExecutorQuery(ExecutorQuery executorQuery) {
         this.executorQuery = executorQuery;
@@ -156,6 +182,34 @@ class DepartmentServiceImpTest {
                 "Should return corrected departments when getById all departments after delete one");
     }
 
+    @Test
+    public void shouldDropLecturesOfDepartmentFromCachedGroupScheduleWhenDeleteDepartment() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1),
+                new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(202), new Group(1),
+                new Course(2));
+
+        courseService.insert(courseOne);
+        courseService.insert(courseTwo);
+        departmentService.insert(new Department(TEST_NAME_ONE));
+        departmentService.insert(new Department(TEST_NAME_TWO));
+        teacherService.insert(teacherOne);
+        teacherService.insert(teacherTwo);
+        groupService.insert(new Group(TEST_NAME_ONE));
+        studentService.insert(new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1)));
+        classRoomService.insert(new ClassRoom(202, TEST_NAME_ONE, 200));
+        lectureService.insert(lectureOne);
+        lectureService.insert(lectureTwo);
+        studentService.getFullSchedule(FIRST_NAME_ONE, LAST_NAME_ONE);
+        departmentService.delete(TEST_NAME_TWO);
+
+        Schedule actual = studentService.getFullSchedule(FIRST_NAME_ONE, LAST_NAME_ONE);
+        Schedule expected = new Schedule(singletonList(lectureOne));
+
+        assertEquals(expected, actual,
+                "Should drop lectures deleted by cascade with the department from cached schedules");
+    }
+
     @Test
     public void shouldThrowDAOExceptionWhenNullWasPassedToInsertMethod() {
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
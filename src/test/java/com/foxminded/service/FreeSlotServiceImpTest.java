@@ -0,0 +1,161 @@
+package com.foxminded.service;
+
+import com.foxminded.configs.SpringTestConfig;
+import com.foxminded.dao.ExecutorQuery;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.*;
+import com.foxminded.service.layers.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { SpringTestConfig.class })
+class FreeSlotServiceImpTest {
+    public static final String TEST_NAME_ONE = "testNameOne";
+    public static final String TEST_NAME_TWO = "testNameTwo";
+    public static final String TEST_NAME_THREE = "testNameThree";
+    public static final String TEST_NAME_FOUR = "testNameFour";
+
+    public static final LocalDate MONDAY = LocalDate.of(2020, 9, 7);
+    public static final LocalDate TUESDAY = MONDAY.plusDays(1);
+    public static final Duration DURATION = Duration.ofMinutes(90);
+
+    public FreeSlotService freeSlotService;
+    public LectureService lectureService;
+    public ClassRoomService classRoomService;
+    public DepartmentService departmentService;
+    public CourseService courseService;
+    public GroupService groupService;
+    public TeacherService teacherService;
+    public ExecutorQuery executorQuery;
+
+    public ClassRoom small = new ClassRoom(202, TEST_NAME_ONE, 1);
+    public ClassRoom large = new ClassRoom(203, TEST_NAME_TWO, 30);
+
+    @Autowired
+    public void setFreeSlotService(FreeSlotService freeSlotService) {
+        this.freeSlotService = freeSlotService;
+    }
+
+    @Autowired
+    public void setLectureService(LectureService lectureService) {
+        this.lectureService = lectureService;
+    }
+
+    @Autowired
+    public void setClassRoomService(ClassRoomService classRoomService) {
+        this.classRoomService = classRoomService;
+    }
+
+    @Autowired
+    public void setDepartmentService(DepartmentService departmentService) {
+        this.departmentService = departmentService;
+    }
+
+    @Autowired
+    public void setCourseService(CourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    @Autowired
+    public void setGroupService(GroupService groupService) {
+        this.groupService = groupService;
+    }
+
+    @Autowired
+    public void setTeacherService(TeacherService teacherService) {
+        this.teacherService = teacherService;
+    }
+
+    @Autowired
+    public void setExecutorQuery(ExecutorQuery executorQuery) {
+        this.executorQuery = executorQuery;
+    }
+
+    @BeforeEach
+    public void setUp() throws DAOException {
+        executorQuery.executeQuery("sql/dropDB.sql");
+        executorQuery.executeQuery("sql/tablesCreation.sql");
+        groupService.insert(new Group(TEST_NAME_ONE));
+        groupService.insert(new Group(TEST_NAME_TWO));
+        groupService.insert(new Group(TEST_NAME_THREE));
+        departmentService.insert(new Department(TEST_NAME_ONE));
+        courseService.insert(new Course(TEST_NAME_ONE));
+        classRoomService.insert(small);
+        classRoomService.insert(large);
+        teacherService.insert(new Teacher(TEST_NAME_ONE, TEST_NAME_ONE, new Course(1), new Department(1)));
+        teacherService.insert(new Teacher(TEST_NAME_TWO, TEST_NAME_TWO, new Course(1), new Department(1)));
+        lectureService.insert(new Lecture(TEST_NAME_ONE, MONDAY.atTime(9, 0), new Teacher(1), large,
+                new Group(1), new Course(1)));
+        lectureService.insert(new Lecture(TEST_NAME_TWO, MONDAY.atTime(10, 0), new Teacher(2), small,
+                new Group(2), new Course(1)));
+        lectureService.insert(new Lecture(TEST_NAME_THREE, MONDAY.atTime(13, 0), new Teacher(2), large,
+                new Group(1), new Course(1)));
+        lectureService.insert(new Lecture(TEST_NAME_FOUR, MONDAY.atTime(15, 0), new Teacher(2), large,
+                new Group(3), new Course(1)));
+    }
+
+    @Test
+    public void shouldFindCommonFreeSlotsOfTeacherAndGroupsWhenLecturesOverlap() throws DAOException {
+        List<FreeSlot> expected = List.of(
+                new FreeSlot(MONDAY.atTime(11, 30), MONDAY.atTime(13, 0), List.of()),
+                new FreeSlot(MONDAY.atTime(14, 30), MONDAY.atTime(22, 0), List.of()),
+                new FreeSlot(TUESDAY.atTime(8, 0), TUESDAY.atTime(22, 0), List.of()));
+
+        assertEquals(expected, freeSlotService.getCommonFreeSlots(TEST_NAME_ONE, TEST_NAME_ONE,
+                List.of(TEST_NAME_ONE, TEST_NAME_TWO), MONDAY, MONDAY.plusDays(2), DURATION, null));
+    }
+
+    @Test
+    public void shouldSkipWeekendWhenPeriodCoversWholeWeek() throws DAOException {
+        List<FreeSlot> slots = freeSlotService.getCommonFreeSlots(TEST_NAME_TWO, TEST_NAME_TWO,
+                List.of(TEST_NAME_THREE), MONDAY.plusDays(1), MONDAY.plusDays(7), DURATION, null);
+
+        assertEquals(4, slots.size());
+        assertEquals(MONDAY.plusDays(4).atTime(8, 0), slots.get(3).getStart());
+    }
+
+    @Test
+    public void shouldStartSlotsWhenClassRoomIsFreeWhenCapacityIsPassed() throws DAOException {
+        List<FreeSlot> expected = List.of(
+                new FreeSlot(MONDAY.atTime(11, 30), MONDAY.atTime(13, 0), List.of(large)),
+                new FreeSlot(MONDAY.atTime(16, 30), MONDAY.atTime(22, 0), List.of(large)),
+                new FreeSlot(TUESDAY.atTime(8, 0), TUESDAY.atTime(22, 0), List.of(large)));
+
+        assertEquals(expected, freeSlotService.getCommonFreeSlots(TEST_NAME_ONE, TEST_NAME_ONE,
+                List.of(TEST_NAME_ONE, TEST_NAME_TWO), MONDAY, MONDAY.plusDays(2), DURATION, 2));
+        assertTrue(freeSlotService.getCommonFreeSlots(TEST_NAME_ONE, TEST_NAME_ONE, List.of(TEST_NAME_ONE),
+                MONDAY, MONDAY.plusDays(2), DURATION, 40).isEmpty());
+    }
+
+    @Test
+    public void shouldThrowDAOExceptionWhenGroupDoesNotExist() {
+        assertThrows(DAOException.class, () -> freeSlotService.getCommonFreeSlots(TEST_NAME_ONE, TEST_NAME_ONE,
+                List.of(TEST_NAME_ONE, "unknown"), MONDAY, TUESDAY, DURATION, null));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenPeriodIsWrong() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> freeSlotService.getCommonFreeSlots(TEST_NAME_ONE, TEST_NAME_ONE, null, MONDAY, TUESDAY,
+                        DURATION, null));
+        assertEquals(NULL_WAS_PASSED, exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> freeSlotService.getCommonFreeSlots(TEST_NAME_ONE,
+                TEST_NAME_ONE, List.of(), TUESDAY, MONDAY, DURATION, null));
+    }
+}
@@ -3,10 +3,8 @@ package com.foxminded.service;
 import com.foxminded.configs.SpringTestConfig;
 import com.foxminded.dao.ExecutorQuery;
 import com.foxminded.exceptions.DAOException;
-import com.foxminded.model.Group;
-import com.foxminded.model.Student;
-import com.foxminded.service.layers.GroupService;
-import com.foxminded.service.layers.StudentService;
+import com.foxminded.model.*;
+import com.foxminded.service.layers.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,10 +12,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.util.List;
 
 import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
 import static com.google.inject.internal.util.ImmutableList.of;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -39,12 +40,20 @@ class GroupServiceImpTest {
     public static final String TEST_NAME_TWO = "testNameTwo";
     public static final String TEST_NAME_THREE = "testNameThree";
 
+    public static final LocalDateTime DATE_ONE = LocalDateTime.of(2019, Month.FEBRUARY, 1, 9, 0);
+    public static final LocalDateTime DATE_TWO = LocalDateTime.of(2019, Month.FEBRUARY, 2, 11, 0);
+
     public Student studentOne = new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1));
     public Student studentTwo = new Student(FIRST_NAME_TWO, LAST_NAME_TWO, new Group(2));
     public Student studentThree = new Student(FIRST_NAME_THREE, LAST_NAME_THREE, new Group(2));
 
     public GroupService groupService;
     public StudentService studentService;
+    public TeacherService teacherService;
+    public LectureService lectureService;
+    public DepartmentService departmentService;
+    public CourseService courseService;
+    public ClassRoomService classRoomService;
     public ExecutorQuery executorQuery;
 
     @Autowired
@@ -57,6 +66,31 @@ class GroupServiceImpTest {
         this.studentService = studentService;
     }
 
+    @Autowired
+    public void setTeacherService(TeacherService teacherService) {
+        this.teacherService = teacherService;
+    }
+
+    @Autowired
+    public void setLectureService(LectureService lectureService) {
+        this.lectureService = lectureService;
+    }
+
+    @Autowired
+    public void setDepartmentService(DepartmentService departmentService) {
+        this.departmentService = departmentService;
+    }
+
+    @Autowired
+    public void setCourseService(CourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    @Autowired
+    public void setClassRoomService(ClassRoomService classRoomService) {
+        this.classRoomService = classRoomService;
+    }
+
     @Autowired
     public void setExecutorQuery(ExecutorQuery executorQuery) {
         this.executorQuery = executorQuery;
@@ -141,6 +175,31 @@ class GroupServiceImpTest {
                 "Should return corrected groups when getById all groups after delete one");
     }
 
+    @Test
+    public void shouldDropLecturesOfGroupFromCachedTeacherScheduleWhenDeleteGroup() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1),
+                new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(1), new ClassRoom(202), new Group(2),
+                new Course(1));
+
+        groupService.insert(new Group(TEST_NAME_ONE));
+        groupService.insert(new Group(TEST_NAME_TWO));
+        departmentService.insert(new Department(TEST_NAME_ONE));
+        courseService.insert(new Course(TEST_NAME_ONE));
+        classRoomService.insert(new ClassRoom(202, TEST_NAME_ONE, 200));
+        teacherService.insert(new Teacher(FIRST_NAME_ONE, LAST_NAME_ONE, new Course(1), new Department(1)));
+        lectureService.insert(lectureOne);
+        lectureService.insert(lectureTwo);
+        teacherService.getFullSchedule(FIRST_NAME_ONE, LAST_NAME_ONE);
+        groupService.delete(TEST_NAME_TWO);
+
+        Schedule actual = teacherService.getFullSchedule(FIRST_NAME_ONE, LAST_NAME_ONE);
+        Schedule expected = new Schedule(singletonList(lectureOne));
+
+        assertEquals(expected, actual,
+                "Should drop lectures deleted by cascade with the group from cached schedules");
+    }
+
     @Test
     public void shouldThrowDAOExceptionWhenNullWasPassedToInsertMethod() {
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
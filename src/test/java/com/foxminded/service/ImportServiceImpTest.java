@@ -0,0 +1,164 @@
+package com.foxminded.service;
+
+import com.foxminded.configs.SpringTestConfig;
+import com.foxminded.dao.ExecutorQuery;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.*;
+import com.foxminded.service.layers.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static com.google.inject.internal.util.ImmutableList.of;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { SpringTestConfig.class })
+class ImportServiceImpTest {
+    public static final LocalDateTime DATE = LocalDateTime.of(2020, Month.JANUARY, 10, 10, 0);
+
+    public ImportService importService;
+    public CourseService courseService;
+    public GroupService groupService;
+    public StudentService studentService;
+    public DepartmentService departmentService;
+    public LectureService lectureService;
+    public ExecutorQuery executorQuery;
+
+    @Autowired
+    public void setImportService(ImportService importService) {
+        this.importService = importService;
+    }
+
+    @Autowired
+    public void setCourseService(CourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    @Autowired
+    public void setGroupService(GroupService groupService) {
+        this.groupService = groupService;
+    }
+
+    @Autowired
+    public void setStudentService(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    @Autowired
+    public void setDepartmentService(DepartmentService departmentService) {
+        this.departmentService = departmentService;
+    }
+
+    @Autowired
+    public void setLectureService(LectureService lectureService) {
+        this.lectureService = lectureService;
+    }
+
+    @Autowired
+    public void setExecutorQuery(ExecutorQuery executorQuery) {
+        this.executorQuery = executorQuery;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        executorQuery.executeQuery("sql/dropDB.sql");
+        executorQuery.executeQuery("sql/tablesCreation.sql");
+    }
+
+    @Test
+    public void shouldImportUniversityInDependencyOrder() throws DAOException {
+        Course math = new Course("math");
+        Course art = new Course("art");
+        courseService.insert(math);
+        courseService.insert(art);
+
+        Teacher teacher = new Teacher("teacherFirst", "teacherLast", new Course(math.getId()));
+        Department department = new Department("department");
+        department.setTeachers(new ArrayList<>(of(teacher)));
+        ClassRoom classRoom = new ClassRoom(101, "room", 30);
+
+        Student studentOne = new Student("firstOne", "lastOne", new ArrayList<>(of(math, art)));
+        Student studentTwo = new Student("firstTwo", "lastTwo", new ArrayList<>(of(math)));
+        Group group = new Group("group");
+        group.setStudents(new ArrayList<>(of(studentOne, studentTwo)));
+
+        Lecture lecture = new Lecture("lecture", DATE, teacher, classRoom, group, math);
+        University university = new University(of(department), of(classRoom), of(group),
+                new Schedule(of(lecture)));
+
+        int actual = importService.importUniversity(university);
+
+        assertEquals(10, actual, "Should insert all records of the university");
+        assertEquals(teacher.getId(), departmentService.getTeachers("department").get(0).getId());
+        assertEquals(group.getId(), groupService.getByName("group").getId());
+        List<Student> students = groupService.getStudents("group");
+        assertEquals(studentOne.getId(), students.get(0).getId());
+        assertEquals(studentTwo.getId(), students.get(1).getId());
+        assertEquals(of(math, art), studentService.getCourses("firstOne", "lastOne"));
+
+        Lecture actualLecture = lectureService.getById(lecture.getId());
+        assertEquals(teacher.getId(), actualLecture.getTeacher().getId());
+        assertEquals(group.getId(), actualLecture.getGroup().getId());
+        assertEquals(classRoom.getId(), actualLecture.getClassRoom().getId());
+    }
+
+    @Test
+    public void shouldImportUniversityWithoutSchedule() throws DAOException {
+        Group group = new Group("group");
+        University university = new University(null, null, of(group), null);
+
+        int actual = importService.importUniversity(university);
+
+        assertEquals(1, actual, "Should insert only the group");
+        assertEquals(group.getId(), groupService.getByName("group").getId());
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenImportNull() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                importService.importUniversity(null));
+        assertEquals(NULL_WAS_PASSED, exception.getMessage());
+    }
+
+    @Test
+    public void shouldRollbackImportedGroupsWhenStudentsAreDuplicated() throws DAOException {
+        Group group = new Group("group");
+        group.setStudents(new ArrayList<>(of(new Student("first", "last"), new Student("first", "last"))));
+        University university = new University(null, null, of(group), null);
+
+        Exception exception = assertThrows(DAOException.class, () ->
+                importService.importUniversity(university));
+
+        assertEquals("Unique index or primary key violation", exception.getMessage());
+        assertEquals(0, groupService.getAll().size(), "Should rollback groups inserted before the failure");
+    }
+
+    @Test
+    public void shouldRollbackImportedGroupsWhenLectureReferencesMissingTeacher() {
+        Group group = new Group("group");
+        Lecture lecture = new Lecture("lecture", DATE, new Teacher(42), new ClassRoom(42), group, new Course(42));
+        University university = new University(null, null, of(group), new Schedule(of(lecture)));
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                importService.importUniversity(university));
+
+        assertEquals(0, groupService.getAll().size(), "Should rollback groups inserted before the failure");
+        assertEquals(0, lectureService.getAll().size());
+    }
+}
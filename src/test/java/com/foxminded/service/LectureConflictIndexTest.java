@@ -0,0 +1,275 @@
+package com.foxminded.service;
+
+import com.foxminded.dao.layers.LectureDAO;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.exceptions.LectureConflictException;
+import com.foxminded.model.*;
+import com.foxminded.model.LectureConflict.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class LectureConflictIndexTest {
+    public static final LocalDateTime NINE = LocalDateTime.of(2020, 1, 6, 9, 0);
+
+    public LectureDAO lectureDAO = Mockito.mock(LectureDAO.class);
+    public LectureConflictIndex index = new LectureConflictIndex(lectureDAO);
+    public Lecture stored = new Lecture(1, "stored", NINE, new Teacher(1), new ClassRoom(101), new Group(1),
+            new Course(1));
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void init() {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(stored);
+            return null;
+        }).when(lectureDAO).forEach(any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+
+    @Test
+    public void shouldFindConflictsOfEveryResourceWhenLectureOverlapsStoredLecture() {
+        Lecture lecture = new Lecture(2, "overlapping", NINE.plusMinutes(60), new Teacher(1), new ClassRoom(101),
+                new Group(2), new Course(1));
+
+        List<LectureConflict> conflicts = index.findConflicts(lecture);
+
+        assertEquals(List.of(new LectureConflict(Resource.CLASS_ROOM, 101, lecture, stored),
+                new LectureConflict(Resource.TEACHER, 1, lecture, stored)), conflicts);
+        verify(lectureDAO, times(1)).forEach(any());
+    }
+
+    @Test
+    public void shouldNotFindConflictsWhenLectureStartsWhenStoredLectureEnds() throws Exception {
+        Lecture after = new Lecture(2, "after", NINE.plusMinutes(90), new Teacher(1), new ClassRoom(101),
+                new Group(1), new Course(1));
+        Lecture before = new Lecture(3, "before", NINE.minusMinutes(90), new Teacher(1), new ClassRoom(101),
+                new Group(1), new Course(1));
+
+        index.check(after);
+        index.book(after);
+        index.check(before);
+        index.book(before);
+
+        assertTrue(index.findConflicts(stored).isEmpty());
+        assertEquals(3, index.getSize());
+    }
+
+    @Test
+    public void shouldFindConflictWhenLongerLectureStartedBeforeLecture() throws Exception {
+        Lecture seminar = new Lecture(2, "seminar", NINE.plusDays(1), Duration.ofMinutes(240), new Teacher(2),
+                new ClassRoom(102), new Group(2), new Course(1));
+        Lecture lecture = new Lecture(3, "lecture", NINE.plusDays(1).plusMinutes(180), new Teacher(3),
+                new ClassRoom(102), new Group(3), new Course(1));
+
+        index.check(seminar);
+        index.book(seminar);
+
+        assertEquals(List.of(new LectureConflict(Resource.CLASS_ROOM, 102, lecture, seminar)),
+                index.findConflicts(lecture));
+    }
+
+    @Test
+    public void shouldRejectLectureWhenBookedLectureIsStillStored() throws Exception {
+        when(lectureDAO.getById(1)).thenReturn(stored);
+        Lecture lecture = new Lecture(2, "overlapping", NINE.plusMinutes(30), new Teacher(2), new ClassRoom(102),
+                new Group(1), new Course(1));
+
+        LectureConflictException exception = assertThrows(LectureConflictException.class, () -> index.check(lecture));
+
+        assertEquals(List.of(new LectureConflict(Resource.GROUP, 1, lecture, stored)), exception.getConflicts());
+        assertEquals(1, index.getSize(), "Should not book the rejected lecture");
+    }
+
+    @Test
+    public void shouldBookLectureWhenBookedLectureWasDeletedBypassingIndex() throws Exception {
+        when(lectureDAO.getById(1)).thenThrow(new DAOException("Can't find lecture by passed id"));
+        Lecture lecture = new Lecture(2, "overlapping", NINE, new Teacher(1), new ClassRoom(101),
+                new Group(1), new Course(1));
+
+        index.check(lecture);
+        index.book(lecture);
+
+        assertEquals(1, index.getSize());
+        assertEquals(3, index.findConflicts(stored).size(), "Should keep the booked lecture instead of the stale one");
+    }
+
+    @Test
+    public void shouldMoveBookingWhenLectureIsBookedAgain() throws Exception {
+        Lecture moved = new Lecture(1, "stored", NINE.plusDays(1), new Teacher(1), new ClassRoom(101),
+                new Group(1), new Course(1));
+        Lecture lecture = new Lecture(2, "lecture", NINE, new Teacher(1), new ClassRoom(101), new Group(1),
+                new Course(1));
+
+        index.check(moved);
+        index.book(moved);
+
+        assertTrue(index.findConflicts(lecture).isEmpty());
+        assertEquals(1, index.findConflicts(new Lecture(3, "lecture", NINE.plusDays(1), new Teacher(1),
+                new ClassRoom(202), new Group(2), new Course(1))).size());
+    }
+
+    @Test
+    public void shouldBuildIndexAgainWhenInvalidated() {
+        index.findConflicts(stored);
+        index.remove(stored);
+        assertEquals(0, index.getSize());
+
+        index.invalidate();
+
+        assertEquals(1, index.findConflicts(new Lecture(2, "lecture", NINE, new Teacher(1), new ClassRoom(202),
+                new Group(2), new Course(1))).size());
+        verify(lectureDAO, times(2)).forEach(any());
+    }
+
+    @Test
+    public void shouldShowBookingToOtherThreadsOnlyWhenTransactionCommits() throws Exception {
+        Lecture booked = new Lecture(2, "booked", NINE.plusDays(1), new Teacher(1), new ClassRoom(101),
+                new Group(1), new Course(1));
+        Lecture overlapping = new Lecture(3, "overlapping", NINE.plusDays(1).plusMinutes(30), new Teacher(1),
+                new ClassRoom(102), new Group(2), new Course(1));
+        index.findConflicts(stored);
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.book(booked);
+
+        assertEquals(1, index.findConflicts(overlapping).size(), "Should see own booking before the commit");
+        assertTrue(CompletableFuture.supplyAsync(() -> index.findConflicts(overlapping)).get().isEmpty());
+        assertEquals(1, index.getSize());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(2, index.getSize());
+        assertEquals(1, index.findConflicts(overlapping).size());
+    }
+
+    @Test
+    public void shouldKeepBookingWhenBookedLectureIsNotFoundInRolledBackTransaction() throws Exception {
+        when(lectureDAO.getById(1)).thenThrow(new DAOException("Can't find lecture by passed id"));
+        Lecture lecture = new Lecture(2, "overlapping", NINE, new Teacher(1), new ClassRoom(101),
+                new Group(1), new Course(1));
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.check(lecture);
+        index.book(lecture);
+
+        assertEquals(3, CompletableFuture.supplyAsync(() -> index.findConflicts(lecture)).get().size(),
+                "Should not unbook the lecture for other transactions before the commit");
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(3, index.findConflicts(lecture).size());
+    }
+
+    @Test
+    public void shouldBuildIndexOnceWhenContextStarts() {
+        index.afterSingletonsInstantiated();
+        index.findConflicts(stored);
+
+        assertEquals(1, index.getSize());
+        verify(lectureDAO, times(1)).forEach(any());
+    }
+
+    @Test
+    public void shouldBuildIndexOnFirstUseWhenLecturesCanNotBeReadAtStartup() {
+        doThrow(new DataAccessResourceFailureException("Table LECTURES not found")).when(lectureDAO).forEach(any());
+        index.afterSingletonsInstantiated();
+        init();
+
+        assertEquals(1, index.findConflicts(new Lecture(2, "lecture", NINE, new Teacher(1), new ClassRoom(202),
+                new Group(2), new Course(1))).size());
+        verify(lectureDAO, times(2)).forEach(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldBookLecturesWithoutWaitingForBuildAndKeepThemWhenBuildEnds() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            invocation.getArgument(0, Consumer.class).accept(stored);
+            return null;
+        }).when(lectureDAO).forEach(any());
+        Lecture booked = new Lecture(2, "booked", NINE.plusDays(1), new Teacher(1), new ClassRoom(101),
+                new Group(1), new Course(1));
+        CompletableFuture<List<LectureConflict>> build = CompletableFuture.supplyAsync(() ->
+                index.findConflicts(stored));
+        assertTrue(reading.await(1, TimeUnit.SECONDS));
+
+        CompletableFuture.runAsync(() -> index.book(booked)).get(1, TimeUnit.SECONDS);
+        assertEquals(0, index.getSize(), "Should not hold the lock while the lectures are read");
+        release.countDown();
+
+        assertTrue(build.get(1, TimeUnit.SECONDS).isEmpty());
+        assertEquals(2, index.getSize(), "Should keep the lecture booked during the build");
+    }
+
+    @Test
+    public void shouldReadLecturesInNewTransactionWhenBuild() {
+        PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        index.setTransactionManager(transactionManager);
+
+        index.findConflicts(stored);
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+        assertEquals(1, index.getSize());
+    }
+
+    @Test
+    public void shouldFindOverlappingLecturesOfEveryResourceWhenValidateSchedule() {
+        Lecture sameRoom = new Lecture(2, "sameRoom", NINE.plusMinutes(45), new Teacher(2), new ClassRoom(101),
+                new Group(2), new Course(1));
+        Lecture sameTeacher = new Lecture(3, "sameTeacher", NINE.plusMinutes(80), new Teacher(1),
+                new ClassRoom(103), new Group(3), new Course(1));
+        Lecture free = new Lecture(4, "free", NINE.plusMinutes(135), new Teacher(2), new ClassRoom(101),
+                new Group(2), new Course(1));
+
+        List<LectureConflict> conflicts = index.validate(List.of(free, sameTeacher, sameRoom, stored));
+
+        assertEquals(2, conflicts.size());
+        assertTrue(conflicts.contains(new LectureConflict(Resource.CLASS_ROOM, 101, sameRoom, stored)));
+        assertTrue(conflicts.contains(new LectureConflict(Resource.TEACHER, 1, sameTeacher, stored)));
+        verify(lectureDAO, never()).forEach(any());
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -3,6 +3,7 @@ package com.foxminded.service;
 import com.foxminded.configs.SpringTestConfig;
 import com.foxminded.dao.ExecutorQuery;
 import com.foxminded.exceptions.DAOException;
+import com.foxminded.exceptions.LectureConflictException;
 import com.foxminded.service.layers.*;
 import com.foxminded.model.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -230,6 +231,35 @@ class LectureServiceImpTest {
                 "Should return corrected lectures when getById all lectures after delete one");
     }
 
+    @Test
+    public void shouldRejectLectureWhenClassRoomIsBookedAtThatTime() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_ONE.plusMinutes(30), new Teacher(2), new ClassRoom(202),
+                new Group(2), new Course(2));
+
+        lectureService.insert(lectureOne);
+        LectureConflictException exception = assertThrows(LectureConflictException.class, () ->
+                lectureService.insert(lectureTwo));
+        assertEquals(1, exception.getConflicts().size(), "Should reject the lecture before it is written");
+        assertEquals(of(lectureOne), lectureService.getAll(),
+                "Should not keep the rejected lecture");
+    }
+
+    @Test
+    public void shouldRejectChangeTeacherWhenTeacherIsBookedAtThatTime() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_ONE, new Teacher(2), new ClassRoom(203), new Group(2), new Course(2));
+
+        lectureService.insert(lectureOne);
+        lectureService.insert(lectureTwo);
+
+        LectureConflictException exception = assertThrows(LectureConflictException.class, () ->
+                lectureService.changeTeacher(TEST_NAME_TWO, FIRST_NAME_ONE, LAST_NAME_ONE));
+        assertEquals(1, exception.getConflicts().size(), "Should reject the change before it is written");
+        assertEquals(of(lectureOne, lectureTwo), lectureService.getAll(),
+                "Should keep the previous teacher");
+    }
+
     @Test
     public void shouldThrowDAOExceptionWhenNullWasPassedToInsertMethod() {
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
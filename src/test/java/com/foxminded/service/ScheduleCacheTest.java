@@ -0,0 +1,169 @@
+package com.foxminded.service;
+
+import com.foxminded.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class ScheduleCacheTest {
+    public static final long TTL = 1000;
+    public static final LocalDateTime JANUARY = LocalDateTime.of(2020, 1, 1, 0, 0);
+    public static final LocalDateTime FEBRUARY = JANUARY.plusMonths(1);
+    public static final LocalDateTime MARCH = JANUARY.plusMonths(2);
+
+    public AtomicLong time = new AtomicLong();
+    public AtomicInteger loads = new AtomicInteger();
+    public ScheduleCache cache = new ScheduleCache(10, TTL, time::get);
+
+    @Test
+    public void shouldShareScheduleWhenGetSameGroupAndPeriod() throws Exception {
+        Schedule first = cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1));
+        Schedule second = cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1));
+        Schedule classmate = cache.getStudentSchedule("Olga", "Sidorova", JANUARY, FEBRUARY, group(1));
+
+        assertSame(first, second, "Should return the cached schedule");
+        assertSame(classmate, cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1)),
+                "Should share the schedule of the group between students");
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getSize());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    public void shouldKeepGroupAndTeacherApartWhenIdsAreEqual() throws Exception {
+        Schedule group = cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1));
+        Schedule teacher = cache.getTeacherSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, teacher(1));
+
+        assertNotSame(group, teacher);
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    public void shouldInvalidateOnlyAffectedPeriodsWhenLectureChanged() throws Exception {
+        Schedule january = cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1));
+        Schedule february = cache.getStudentSchedule("Ivan", "Petrov", FEBRUARY, MARCH, group(1));
+        Schedule full = cache.getStudentSchedule("Ivan", "Petrov", null, null, group(1));
+        Schedule otherGroup = cache.getStudentSchedule("Olga", "Sidorova", JANUARY, FEBRUARY, group(2));
+        Schedule teacher = cache.getTeacherSchedule("Anna", "Ivanova", JANUARY, FEBRUARY, teacher(3));
+
+        cache.invalidate(new Lecture("Lecture", JANUARY.plusDays(3), new Teacher(3),
+                new ClassRoom(1), new Group(1), new Course(1)));
+
+        assertNotSame(january, cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1)));
+        assertNotSame(full, cache.getStudentSchedule("Ivan", "Petrov", null, null, group(1)));
+        assertNotSame(teacher, cache.getTeacherSchedule("Anna", "Ivanova", JANUARY, FEBRUARY, teacher(3)));
+        assertSame(february, cache.getStudentSchedule("Ivan", "Petrov", FEBRUARY, MARCH, group(1)),
+                "Should keep a period without the lecture");
+        assertSame(otherGroup, cache.getStudentSchedule("Olga", "Sidorova", JANUARY, FEBRUARY, group(2)),
+                "Should keep a schedule of another group");
+    }
+
+    @Test
+    public void shouldInvalidateAllPeriodsWhenDateIsNull() throws Exception {
+        cache.getTeacherSchedule("Anna", "Ivanova", JANUARY, FEBRUARY, teacher(1));
+        cache.getTeacherSchedule("Anna", "Ivanova", FEBRUARY, MARCH, teacher(1));
+
+        cache.invalidateTeacher(1, null);
+
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void shouldLoadScheduleOfAnotherGroupWhenStudentsAreInvalidated() throws Exception {
+        Schedule first = cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1));
+
+        cache.invalidateStudents();
+        Schedule moved = cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(2));
+
+        assertNotSame(first, moved);
+        assertSame(moved, cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(2)));
+        assertEquals(2, cache.getSize(), "Should keep the schedule of the first group");
+    }
+
+    @Test
+    public void shouldLoadScheduleOfAnotherTeacherWhenTeachersAreInvalidated() throws Exception {
+        Schedule first = cache.getTeacherSchedule("Anna", "Ivanova", JANUARY, FEBRUARY, teacher(1));
+        Schedule student = cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1));
+
+        cache.invalidateTeachers();
+
+        assertNotSame(first, cache.getTeacherSchedule("Anna", "Ivanova", JANUARY, FEBRUARY, teacher(2)));
+        assertSame(student, cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1)),
+                "Should keep the groups of students");
+    }
+
+    @Test
+    public void shouldNotCacheScheduleWithoutLectures() throws Exception {
+        cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, this::load);
+        cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void shouldLoadAgainWhenTimeToLiveExpired() throws Exception {
+        Schedule first = cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1));
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(TTL));
+
+        assertNotSame(first, cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1)));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void shouldNotCacheScheduleWhenInvalidatedDuringLoad() throws Exception {
+        Schedule stale = cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, () -> {
+            cache.invalidateAll();
+            return group(1).load();
+        });
+
+        assertNotSame(stale, cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1)));
+    }
+
+    @Test
+    public void shouldNotCacheWhenMaxSizeIsZero() throws Exception {
+        ScheduleCache disabled = new ScheduleCache(0, TTL, time::get);
+
+        disabled.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1));
+        disabled.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.getSize());
+    }
+
+    @Test
+    public void shouldEstimateBytesOfCachedLectures() throws Exception {
+        cache.getStudentSchedule("Ivan", "Petrov", JANUARY, FEBRUARY, group(1));
+
+        assertEquals(ScheduleCache.ENTRY_BYTES + ScheduleCache.LECTURE_BYTES + 8, cache.getEstimatedBytes());
+    }
+
+    private ScheduleCache.Loader group(int groupId) {
+        return () -> load(new Teacher(1), new Group(groupId));
+    }
+
+    private ScheduleCache.Loader teacher(int teacherId) {
+        return () -> load(new Teacher(teacherId), new Group(1));
+    }
+
+    private Schedule load(Teacher teacher, Group group) {
+        Schedule schedule = load();
+        schedule.getLectures().add(new Lecture("Math", JANUARY, teacher, new ClassRoom(1), group, new Course(1)));
+        return schedule;
+    }
+
+    private Schedule load() {
+        loads.incrementAndGet();
+        return new Schedule(new ArrayList<>());
+    }
+}
@@ -46,7 +46,7 @@ class StudentServiceImpTest {
     public static final LocalDateTime DATE_THREE = LocalDateTime.of(2019, Month.MAY, 3, 13, 0);
     public static final LocalDateTime DATE_FOUR = LocalDateTime.of(2018, Month.FEBRUARY, 3, 13, 0);
     public static final LocalDateTime DATE_FIVE = LocalDateTime.of(2018, Month.JANUARY, 3, 13, 0);
-    public static final LocalDateTime DATE_SIX = LocalDateTime.of(2018, Month.JANUARY, 3, 13, 0);
+    public static final LocalDateTime DATE_SIX = LocalDateTime.of(2018, Month.JANUARY, 3, 15, 0);
 
 
     public Teacher teacherOne = new Teacher(FIRST_NAME_ONE, LAST_NAME_ONE, new Course(1), new Department(1));
@@ -156,6 +156,24 @@ class StudentServiceImpTest {
                 "Should return corrected students when getById all students");
     }
 
+    @Test
+    public void shouldReturnNextCursorUntilLastPageWhenGetPage() throws DAOException {
+        Student studentOne = new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1));
+        Student studentTwo = new Student(FIRST_NAME_TWO, LAST_NAME_TWO, new Group(2));
+        Student studentThree = new Student(FIRST_NAME_THREE, LAST_NAME_THREE, new Group(3));
+
+        studentService.insert(studentOne);
+        studentService.insert(studentTwo);
+        studentService.insert(studentThree);
+
+        Page<Student> first = studentService.getPage(0, 2);
+        Page<Student> last = studentService.getPage(first.getNextAfter(), 2);
+
+        assertEquals(new Page<>(of(studentOne, studentTwo), studentTwo.getId()), first);
+        assertEquals(new Page<>(of(studentThree), null), last,
+                "Should not return next cursor on the last page");
+    }
+
     @Test
     public void shouldReturnAllRelatedCoursesToTheStudentWhenGetCourses() throws DAOException {
         Student studentOne = new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1));
@@ -275,6 +293,24 @@ class StudentServiceImpTest {
                 "Should return corrected students when changeGroup()");
     }
 
+    @Test
+    public void shouldReturnScheduleOfNewGroupWhenStudentChangedGroup() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(2), new Course(2));
+
+        studentService.insert(new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1)));
+        lectureService.insert(lectureOne);
+        lectureService.insert(lectureTwo);
+        studentService.getFullSchedule(FIRST_NAME_ONE, LAST_NAME_ONE);
+        studentService.changeGroup(FIRST_NAME_ONE, LAST_NAME_ONE, TEST_NAME_TWO);
+
+        Schedule actual = studentService.getFullSchedule(FIRST_NAME_ONE, LAST_NAME_ONE);
+        Schedule expected = new Schedule(singletonList(lectureTwo));
+
+        assertEquals(expected, actual,
+                "Should return the schedule of the new group when the student changed group");
+    }
+
     @Test
     public void shouldReturnCorrectedCoursesWhenGetCoursesById() throws DAOException {
         Student studentOne = new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1), of(courseOne, courseThree));
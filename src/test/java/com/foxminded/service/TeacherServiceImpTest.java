@@ -46,7 +46,7 @@ class TeacherServiceImpTest {
     public static final LocalDateTime DATE_THREE = LocalDateTime.of(2019, Month.MAY, 3, 13, 0);
     public static final LocalDateTime DATE_FOUR = LocalDateTime.of(2018, Month.FEBRUARY, 3, 13, 0);
     public static final LocalDateTime DATE_FIVE = LocalDateTime.of(2018, Month.JANUARY, 3, 13, 0);
-    public static final LocalDateTime DATE_SIX = LocalDateTime.of(2018, Month.JANUARY, 3, 13, 0);
+    public static final LocalDateTime DATE_SIX = LocalDateTime.of(2018, Month.JANUARY, 3, 15, 0);
 
     public Course courseOne = new Course(TEST_NAME_ONE);
     public Course courseTwo = new Course(TEST_NAME_TWO);
@@ -70,6 +70,7 @@ class TeacherServiceImpTest {
     public DepartmentService departmentService;
     public CourseService courseService;
     public LectureService lectureService;
+    public StudentService studentService;
     public ExecutorQuery executorQuery;
 
     @Autowired
@@ -102,6 +103,11 @@ class TeacherServiceImpTest {
         this.lectureService = lectureService;
     }
 
+    @Autowired
+    public void setStudentService(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
     @Autowired
     public void setExecutorQuery(ExecutorQuery executorQuery) {
         this.executorQuery = executorQuery;
@@ -245,6 +251,32 @@ class TeacherServiceImpTest {
                 "Should return corrected teachers when update teacher");
     }
 
+    @Test
+    public void shouldReturnScheduleOfRenamedTeacherWhenUpdateTeacher() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(1), new Course(2));
+        Teacher teacherOne = new Teacher(FIRST_NAME_ONE, LAST_NAME_ONE, new Course(1), new Department(1));
+        Teacher teacherTwo = new Teacher(FIRST_NAME_TWO, LAST_NAME_TWO, new Course(2), new Department(2));
+
+        teacherService.insert(teacherOne);
+        teacherService.insert(teacherTwo);
+        lectureService.insert(lectureOne);
+        lectureService.insert(lectureTwo);
+        teacherService.getFullSchedule(FIRST_NAME_ONE, LAST_NAME_ONE);
+        teacherOne.setFirstName(FIRST_NAME_THREE);
+        teacherOne.setLastName(LAST_NAME_THREE);
+        teacherService.update(teacherOne);
+        teacherTwo.setFirstName(FIRST_NAME_ONE);
+        teacherTwo.setLastName(LAST_NAME_ONE);
+        teacherService.update(teacherTwo);
+
+        Schedule actual = teacherService.getFullSchedule(FIRST_NAME_ONE, LAST_NAME_ONE);
+        Schedule expected = new Schedule(singletonList(lectureTwo));
+
+        assertEquals(expected, actual,
+                "Should return the schedule of the teacher who has the name now");
+    }
+
     @Test
     public void shouldReturnCorrectedTeachersWhenDeleteOneAndGetAllTeachers() throws DAOException {
         Teacher teacherOne = new Teacher(FIRST_NAME_ONE, LAST_NAME_ONE, new Course(1), new Department(1));
@@ -263,6 +295,26 @@ class TeacherServiceImpTest {
                 "Should return corrected teachers when getById all teachers after delete one");
     }
 
+    @Test
+    public void shouldDropLecturesOfTeacherFromCachedGroupScheduleWhenDeleteTeacher() throws DAOException {
+        Lecture lectureOne = new Lecture(TEST_NAME_ONE, DATE_ONE, new Teacher(1), new ClassRoom(202), new Group(1), new Course(1));
+        Lecture lectureTwo = new Lecture(TEST_NAME_TWO, DATE_TWO, new Teacher(2), new ClassRoom(203), new Group(1), new Course(2));
+
+        teacherService.insert(new Teacher(FIRST_NAME_ONE, LAST_NAME_ONE, new Course(1), new Department(1)));
+        teacherService.insert(new Teacher(FIRST_NAME_TWO, LAST_NAME_TWO, new Course(2), new Department(2)));
+        studentService.insert(new Student(FIRST_NAME_ONE, LAST_NAME_ONE, new Group(1)));
+        lectureService.insert(lectureOne);
+        lectureService.insert(lectureTwo);
+        studentService.getFullSchedule(FIRST_NAME_ONE, LAST_NAME_ONE);
+        teacherService.delete(FIRST_NAME_TWO, LAST_NAME_TWO);
+
+        Schedule actual = studentService.getFullSchedule(FIRST_NAME_ONE, LAST_NAME_ONE);
+        Schedule expected = new Schedule(singletonList(lectureOne));
+
+        assertEquals(expected, actual,
+                "Should drop lectures deleted by cascade with the teacher from cached schedules");
+    }
+
     @Test
     public void shouldThrowDAOExceptionWhenNullWasPassedToInsertMethod() {
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
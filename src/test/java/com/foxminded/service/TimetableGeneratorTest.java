@@ -0,0 +1,180 @@
+package com.foxminded.service;
+
+import com.foxminded.dao.layers.LectureDAO;
+import com.foxminded.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class TimetableGeneratorTest {
+    public static final LocalDate MONDAY = LocalDate.of(2020, 9, 7);
+    public static final List<LocalTime> LECTURE_TIMES = List.of(LocalTime.of(8, 0), LocalTime.of(9, 45),
+            LocalTime.of(11, 30), LocalTime.of(13, 30), LocalTime.of(15, 15), LocalTime.of(17, 0),
+            LocalTime.of(18, 45), LocalTime.of(20, 30));
+    public static final Duration DURATION = Duration.ofMinutes(90);
+
+    public TimetableGenerator generator = new TimetableGenerator(LECTURE_TIMES, 5, DURATION,
+            Duration.ofSeconds(60), 0);
+    public LectureConflictIndex index = new LectureConflictIndex(Mockito.mock(LectureDAO.class));
+
+    @AfterEach
+    public void tearDown() {
+        generator.shutdown();
+    }
+
+    @Test
+    public void shouldPlaceEveryLectureWithoutConflictsWhenResourcesAreEnough() {
+        List<Group> groups = groups(20, 25);
+        List<ClassRoom> classRooms = classRooms(20, 30);
+        Map<Course, Integer> lecturesPerCourse = lecturesPerCourse(10, 3);
+        List<Teacher> teachers = teachers(lecturesPerCourse.keySet(), 2);
+
+        Timetable timetable = generator.generate(MONDAY, 2, groups, teachers, classRooms, lecturesPerCourse,
+                Collections.emptyList());
+
+        assertEquals(600, timetable.getRequired());
+        assertEquals(600, timetable.getPlaced());
+        assertEquals(1200, timetable.getLectures().size());
+        assertTrue(timetable.getUnplaced().isEmpty());
+        assertTrue(timetable.getGaps() * 100 < timetable.getRequired(), "Should keep lectures of a day together");
+        assertValid(timetable, groups, teachers, classRooms);
+    }
+
+    @Test
+    public void shouldPutGroupInClassRoomLargeEnoughWhenGroupsDiffer() {
+        List<Group> groups = new ArrayList<>(groups(4, 20));
+        groups.addAll(groups(4, 60).subList(0, 4));
+        for (int g = 4; g < 8; g++) {
+            groups.get(g).setId(g + 1);
+            groups.get(g).setName("group" + (g + 1));
+        }
+        List<ClassRoom> classRooms = List.of(new ClassRoom(101, "small", 20), new ClassRoom(102, "small", 20),
+                new ClassRoom(201, "large", 60));
+        Map<Course, Integer> lecturesPerCourse = lecturesPerCourse(2, 5);
+        List<Teacher> teachers = teachers(lecturesPerCourse.keySet(), 4);
+
+        Timetable timetable = generator.generate(MONDAY, 1, groups, teachers, classRooms, lecturesPerCourse,
+                Collections.emptyList());
+
+        assertEquals(1, timetable.getCompleteness());
+        assertValid(timetable, groups, teachers, classRooms);
+    }
+
+    @Test
+    public void shouldKeepBookedSlotsFreeWhenLecturesAreBooked() {
+        List<Group> groups = groups(2, 10);
+        List<ClassRoom> classRooms = classRooms(2, 10);
+        Map<Course, Integer> lecturesPerCourse = lecturesPerCourse(1, 20);
+        List<Teacher> teachers = teachers(lecturesPerCourse.keySet(), 1);
+        Lecture booked = new Lecture(1, "booked", MONDAY.plusWeeks(1).atTime(8, 30), teachers.get(0),
+                new ClassRoom(999), new Group(999), new Course(99));
+
+        Timetable timetable = generator.generate(MONDAY, 2, groups, teachers, classRooms, lecturesPerCourse,
+                List.of(booked));
+
+        assertEquals(40, timetable.getRequired());
+        assertEquals(38, timetable.getPlaced(), "The only teacher has 38 free slots in a week");
+        assertEquals(2, timetable.getUnplaced().size());
+        List<Lecture> lectures = new ArrayList<>(timetable.getLectures());
+        lectures.add(booked);
+        lectures.add(new Lecture(2, "booked", MONDAY.atTime(8, 30), teachers.get(0), new ClassRoom(999),
+                new Group(999), new Course(99)));
+        assertTrue(index.validate(lectures).isEmpty());
+    }
+
+    @Test
+    public void shouldPlaceTimetableOfFiveHundredGroupsWhenSlotsAreAlmostFull() {
+        List<Group> groups = groups(500, 30);
+        List<ClassRoom> classRooms = classRooms(400, 30);
+        Map<Course, Integer> lecturesPerCourse = lecturesPerCourse(16, 2);
+        List<Teacher> teachers = teachers(lecturesPerCourse.keySet(), 27);
+
+        Timetable timetable = generator.generate(MONDAY, 1, groups, teachers, classRooms, lecturesPerCourse,
+                Collections.emptyList());
+
+        assertEquals(16000, timetable.getRequired());
+        assertEquals(1, timetable.getCompleteness(), () -> "Unplaced: " + timetable.getUnplaced().size());
+        assertTrue(timetable.getElapsed() < 60000);
+        assertValid(timetable, groups, teachers, classRooms);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenNullWasPassed() {
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(MONDAY, 1, null,
+                List.of(), List.of(), Map.of(), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new TimetableGenerator(List.of(), 5, DURATION,
+                DURATION, 1));
+    }
+
+    private void assertValid(Timetable timetable, List<Group> groups, List<Teacher> teachers,
+                             List<ClassRoom> classRooms) {
+        Map<Integer, Integer> sizes = new HashMap<>();
+        groups.forEach(group -> sizes.put(group.getId(), group.getStudents().size()));
+        Map<Integer, Integer> courses = new HashMap<>();
+        teachers.forEach(teacher -> courses.put(teacher.getId(), teacher.getCourse().getId()));
+        Map<Integer, Integer> capacities = new HashMap<>();
+        classRooms.forEach(classRoom -> capacities.put(classRoom.getId(), classRoom.getCapacity()));
+        for (Lecture lecture : timetable.getLectures()) {
+            assertEquals(courses.get(lecture.getTeacher().getId()), lecture.getCourse().getId());
+            assertTrue(capacities.get(lecture.getClassRoom().getId()) >= sizes.get(lecture.getGroup().getId()));
+        }
+        assertEquals(List.of(), index.validate(timetable.getLectures()));
+    }
+
+    private static List<Group> groups(int count, int size) {
+        List<Group> groups = new ArrayList<>();
+        for (int g = 1; g <= count; g++) {
+            Group group = new Group(g, "group" + g);
+            List<Student> students = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                students.add(new Student());
+            }
+            group.setStudents(students);
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    private static List<ClassRoom> classRooms(int count, int capacity) {
+        List<ClassRoom> classRooms = new ArrayList<>();
+        for (int r = 0; r < count; r++) {
+            classRooms.add(new ClassRoom(100 + r, "classRoom" + r, capacity + r % 10));
+        }
+        return classRooms;
+    }
+
+    private static Map<Course, Integer> lecturesPerCourse(int courses, int lectures) {
+        Map<Course, Integer> lecturesPerCourse = new LinkedHashMap<>();
+        for (int c = 1; c <= courses; c++) {
+            lecturesPerCourse.put(new Course(c, "course" + c), lectures);
+        }
+        return lecturesPerCourse;
+    }
+
+    private static List<Teacher> teachers(Iterable<Course> courses, int perCourse) {
+        List<Teacher> teachers = new ArrayList<>();
+        for (Course course : courses) {
+            for (int i = 0; i < perCourse; i++) {
+                int id = teachers.size() + 1;
+                teachers.add(new Teacher(id, "firstName" + id, "lastName" + id, course, new Department(1)));
+            }
+        }
+        return teachers;
+    }
+}
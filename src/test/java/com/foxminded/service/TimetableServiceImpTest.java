@@ -0,0 +1,151 @@
+package com.foxminded.service;
+
+import com.foxminded.configs.SpringTestConfig;
+import com.foxminded.dao.ExecutorQuery;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.*;
+import com.foxminded.service.layers.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static com.foxminded.constants.Constants.NULL_WAS_PASSED;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { SpringTestConfig.class })
+class TimetableServiceImpTest {
+    public static final String TEST_NAME_ONE = "testNameOne";
+    public static final String TEST_NAME_TWO = "testNameTwo";
+    public static final String TEST_NAME_THREE = "testNameThree";
+
+    public static final LocalDate MONDAY = LocalDate.of(2020, 9, 7);
+
+    public TimetableService timetableService;
+    public LectureService lectureService;
+    public ClassRoomService classRoomService;
+    public DepartmentService departmentService;
+    public CourseService courseService;
+    public GroupService groupService;
+    public StudentService studentService;
+    public TeacherService teacherService;
+    public ExecutorQuery executorQuery;
+
+    @Autowired
+    public void setTimetableService(TimetableService timetableService) {
+        this.timetableService = timetableService;
+    }
+
+    @Autowired
+    public void setLectureService(LectureService lectureService) {
+        this.lectureService = lectureService;
+    }
+
+    @Autowired
+    public void setClassRoomService(ClassRoomService classRoomService) {
+        this.classRoomService = classRoomService;
+    }
+
+    @Autowired
+    public void setDepartmentService(DepartmentService departmentService) {
+        this.departmentService = departmentService;
+    }
+
+    @Autowired
+    public void setCourseService(CourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    @Autowired
+    public void setGroupService(GroupService groupService) {
+        this.groupService = groupService;
+    }
+
+    @Autowired
+    public void setStudentService(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    @Autowired
+    public void setTeacherService(TeacherService teacherService) {
+        this.teacherService = teacherService;
+    }
+
+    @Autowired
+    public void setExecutorQuery(ExecutorQuery executorQuery) {
+        this.executorQuery = executorQuery;
+    }
+
+    @BeforeEach
+    public void setUp() throws DAOException {
+        executorQuery.executeQuery("sql/dropDB.sql");
+        executorQuery.executeQuery("sql/tablesCreation.sql");
+        groupService.insert(new Group(TEST_NAME_ONE));
+        groupService.insert(new Group(TEST_NAME_TWO));
+        groupService.insert(new Group(TEST_NAME_THREE));
+        studentService.insert(new Student(TEST_NAME_ONE, TEST_NAME_ONE, new Group(1)));
+        studentService.insert(new Student(TEST_NAME_TWO, TEST_NAME_TWO, new Group(1)));
+        departmentService.insert(new Department(TEST_NAME_ONE));
+        courseService.insert(new Course(TEST_NAME_ONE));
+        courseService.insert(new Course(TEST_NAME_TWO));
+        classRoomService.insert(new ClassRoom(202, TEST_NAME_ONE, 1));
+        classRoomService.insert(new ClassRoom(203, TEST_NAME_TWO, 30));
+        teacherService.insert(new Teacher(TEST_NAME_ONE, TEST_NAME_ONE, new Course(1), new Department(1)));
+        teacherService.insert(new Teacher(TEST_NAME_TWO, TEST_NAME_TWO, new Course(2), new Department(1)));
+    }
+
+    @Test
+    public void shouldInsertConflictFreeLecturesOfEveryWeekWhenGenerateTimetable() throws DAOException {
+        Lecture booked = new Lecture(TEST_NAME_ONE, MONDAY.atTime(9, 0), new Teacher(1), new ClassRoom(203),
+                new Group(1), new Course(1));
+        lectureService.insert(booked);
+
+        Timetable timetable = timetableService.generate(MONDAY, 2, Map.of(1, 4, 2, 3));
+
+        assertEquals(21, timetable.getRequired());
+        assertEquals(21, timetable.getPlaced());
+        assertEquals(43, lectureService.getAll().size());
+        assertTrue(lectureService.validateSchedule().isEmpty());
+        for (Lecture lecture : timetable.getLectures()) {
+            assertNotEquals(0, lecture.getId());
+            assertFalse(lecture.getDate().toLocalDate().isBefore(MONDAY));
+            assertTrue(lecture.getDate().toLocalDate().isBefore(MONDAY.plusWeeks(2)));
+            if (lecture.getGroup().getId() == 1) {
+                assertEquals(203, lecture.getClassRoom().getId(), "Two students do not fit the first class room");
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotChangeGroupsOfDAOWhenGenerateTimetable() throws DAOException {
+        timetableService.generate(MONDAY, 1, Map.of(1, 2));
+
+        assertEquals(new Group(1, TEST_NAME_ONE), groupService.getById(1));
+        assertEquals(new Group(1, TEST_NAME_ONE), groupService.getAll().get(0));
+        assertTrue(groupService.getAll().get(0).getStudents().isEmpty(),
+                "Should not attach students to the cached groups");
+    }
+
+    @Test
+    public void shouldNotInsertLecturesWhenCourseDoesNotExist() {
+        assertThrows(DAOException.class, () -> timetableService.generate(MONDAY, 1, Map.of(1, 2, 9, 2)));
+        assertTrue(lectureService.getAll().isEmpty());
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenNullWasPassed() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> timetableService.generate(null, 1, Map.of()));
+        assertEquals(NULL_WAS_PASSED, exception.getMessage());
+    }
+}
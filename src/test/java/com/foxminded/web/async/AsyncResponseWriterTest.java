@@ -0,0 +1,235 @@
+package com.foxminded.web.async;
+
+import com.foxminded.exceptions.IncompleteResponseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.util.NestedServletException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class AsyncResponseWriterTest {
+    public ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    public AsyncResponseWriter asyncResponseWriter;
+    public AsyncResponseWriter.Writer slowWriter;
+    public HttpServletResponse currentResponse;
+    public MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new SlowController()).build();
+    public CountDownLatch started = new CountDownLatch(1);
+    public CountDownLatch interrupted = new CountDownLatch(1);
+    public CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void init() {
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        asyncResponseWriter = new AsyncResponseWriter(executor, 1000);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldWriteResponseOnExecutorWhenWrite() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CountDownLatch written = new CountDownLatch(1);
+        String[] thread = new String[1];
+
+        DeferredResult<Void> result = asyncResponseWriter.write(response, () -> {
+            thread[0] = Thread.currentThread().getName();
+            response.getWriter().write("written");
+            written.countDown();
+        });
+
+        assertTrue(written.await(1, TimeUnit.SECONDS));
+        awaitResult(result);
+        assertNull(result.getResult(), "Should complete without a body");
+        assertTrue(thread[0].startsWith(executor.getThreadNamePrefix()), "Should write on the executor");
+        assertEquals("written", response.getContentAsString());
+    }
+
+    @Test
+    public void shouldCompleteWithErrorWhenWriterFails() throws Exception {
+        IOException exception = new IOException("broken pipe");
+
+        DeferredResult<Void> result = asyncResponseWriter.write(new MockHttpServletResponse(), () -> {
+            throw exception;
+        });
+
+        awaitResult(result);
+        assertSame(exception, result.getResult());
+    }
+
+    @Test
+    public void shouldRejectWithServiceUnavailableWhenExecutorIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncResponseWriter.Writer blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        asyncResponseWriter.write(new MockHttpServletResponse(), blocked);
+        asyncResponseWriter.write(new MockHttpServletResponse(), blocked);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        DeferredResult<Void> result = asyncResponseWriter.write(rejected, blocked);
+        release.countDown();
+
+        assertNull(result, "Should not start async processing");
+        assertEquals(503, rejected.getStatus());
+    }
+
+    @Test
+    public void shouldFailCommittedResponseWhenTimeoutFiresMidWrite() throws Exception {
+        slowWriter = () -> {
+            HttpServletResponse response = currentResponse;
+            response.getWriter().write("partial");
+            response.flushBuffer();
+            block();
+        };
+        MvcResult result = startSlowRequest();
+
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        timeOut(result);
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "Should interrupt the writer");
+        NestedServletException exception = assertThrows(NestedServletException.class,
+                () -> mockMvc.perform(asyncDispatch(result)), "Should not end the cut response as complete");
+        assertTrue(exception.getCause() instanceof IncompleteResponseException);
+        assertEquals("partial", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void shouldAnswerServiceUnavailableWhenTimeoutFiresBeforeResponseIsCommitted() throws Exception {
+        slowWriter = () -> {
+            currentResponse.getWriter().write("partial");
+            block();
+        };
+        MvcResult result = startSlowRequest();
+
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        timeOut(result);
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "Should interrupt the writer");
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    public void shouldNotRunQueuedWriterWhenTimeoutFiresBeforeItStarts() throws Exception {
+        AtomicBoolean ran = new AtomicBoolean();
+        asyncResponseWriter.write(new MockHttpServletResponse(), this::block);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        slowWriter = () -> ran.set(true);
+        MvcResult result = startSlowRequest();
+
+        timeOut(result);
+        release.countDown();
+        awaitCompletedTasks(2);
+
+        assertFalse(ran.get(), "Should not write a response which timed out in the queue");
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    public void shouldNotTimeOutWhenWriterHasNoTimeout() throws Exception {
+        asyncResponseWriter = new AsyncResponseWriter(executor, AsyncResponseWriter.NO_TIMEOUT);
+        slowWriter = () -> currentResponse.getWriter().write("written");
+
+        MvcResult result = startSlowRequest();
+
+        assertEquals(0, result.getRequest().getAsyncContext().getTimeout());
+        result.getAsyncResult(1000);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("written"));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenTimeoutIsNegative() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncResponseWriter(executor, -1));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncResponseWriter(null, 1000));
+    }
+
+    private void awaitResult(DeferredResult<Void> result) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(result.hasResult(), "Should complete the result");
+    }
+
+    private void awaitCompletedTasks(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (executor.getThreadPoolExecutor().getCompletedTaskCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, executor.getThreadPoolExecutor().getCompletedTaskCount());
+    }
+
+    private MvcResult startSlowRequest() throws Exception {
+        return mockMvc.perform(get("/slow"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private void timeOut(MvcResult result) throws IOException {
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+    }
+
+    private void block() {
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+    }
+
+    @Controller
+    public class SlowController {
+
+        @GetMapping("/slow")
+        @ResponseBody
+        public DeferredResult<Void> slow(HttpServletResponse response) throws IOException {
+            currentResponse = response;
+            return asyncResponseWriter.write(response, slowWriter);
+        }
+    }
+}
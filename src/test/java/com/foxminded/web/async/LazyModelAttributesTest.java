@@ -0,0 +1,77 @@
+package com.foxminded.web.async;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.LazyContextVariable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+class LazyModelAttributesTest {
+    public ExecutorService executor = Executors.newFixedThreadPool(2);
+    public LazyModelAttributes attributes = new LazyModelAttributes(executor);
+    public AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldNotLoadWhenAttributeIsNotRead() {
+        attributes.add(loads::incrementAndGet);
+
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    public void shouldLoadOtherAttributesInParallelWhenFirstAttributeIsRead() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        LazyContextVariable<String> first = attributes.add(() -> await(bothStarted, "first"));
+        LazyContextVariable<String> second = attributes.add(() -> await(bothStarted, "second"));
+
+        assertEquals("first", first.getValue(), "Should load the first attribute while the second is loading");
+        assertEquals("second", second.getValue());
+    }
+
+    @Test
+    public void shouldLoadOnceWhenAttributeIsReadTwice() {
+        LazyContextVariable<Integer> attribute = attributes.add(loads::incrementAndGet);
+
+        attribute.getValue();
+        attribute.getValue();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldRethrowLoaderExceptionWhenAttributeIsRead() {
+        LazyContextVariable<Object> attribute = attributes.add(() -> {
+            throw new IllegalStateException("failed");
+        });
+
+        Exception exception = assertThrows(IllegalStateException.class, attribute::getValue);
+        assertEquals("failed", exception.getMessage());
+    }
+
+    private String await(CountDownLatch bothStarted, String value) {
+        bothStarted.countDown();
+        try {
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Attributes are loaded one after another");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
@@ -97,4 +98,29 @@ class ClassRoomControllerTest {
         verify(classRoomServiceMock, times(1)).getAll();
         verifyNoMoreInteractions(classRoomServiceMock);
     }
+
+    @Test
+    public void shouldReturnFreeClassRoomsWhenFindFreeClassRooms() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2020, 1, 7, 11, 0);
+        when(classRoomServiceMock.getFree(from, from.plusMinutes(45), 300, 4)).thenReturn(List.of(classRoomTwo));
+
+        mockMvc.perform(get("/freeClassRooms").param("date", "2020-01-07").param("time", "11:00")
+                .param("minutes", "45").param("capacity", "300").param("weeks", "4"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("freeClassRooms", contains(classRoomTwo)))
+                .andExpect(view().name("classRooms"));
+        verify(classRoomServiceMock, times(1)).getFree(from, from.plusMinutes(45), 300, 4);
+    }
+
+    @Test
+    public void shouldShowErrorWhenFindFreeClassRoomsForWrongTime() throws Exception {
+        when(classRoomServiceMock.getFree(any(), any(), anyInt(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Time must not be before 2019-01-01"));
+
+        mockMvc.perform(get("/freeClassRooms").param("date", "2018-01-07").param("time", "11:00"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("freeError", "Time must not be before 2019-01-01"))
+                .andExpect(model().attributeDoesNotExist("freeClassRooms"))
+                .andExpect(view().name("classRooms"));
+    }
 }
@@ -0,0 +1,140 @@
+package com.foxminded.web.controllers;
+
+import com.foxminded.configs.WebConfig;
+import com.foxminded.configs.WebTestConfig;
+import com.foxminded.model.*;
+import com.foxminded.service.layers.LectureService;
+import com.foxminded.service.layers.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {WebConfig.class, WebTestConfig.class})
+@WebAppConfiguration
+class ExportControllerTest {
+    public static final long ASYNC_WAIT = 5000;
+    public static final LocalDateTime DATE_ONE = LocalDateTime.of(2018, Month.FEBRUARY, 1, 9, 0);
+
+    public Lecture lectureOne = new Lecture(1, "Math, basics", DATE_ONE, new Teacher(3), new ClassRoom(202),
+            new Group(4), new Course(5));
+    public Student studentOne = new Student(1, "firstNameOne", "last \"Name\"", new Group(2));
+
+    public MockMvc mockMvc;
+
+    @Autowired
+    public LectureService lectureServiceMock;
+
+    @Autowired
+    public StudentService studentServiceMock;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @BeforeEach
+    public void init() {
+        Mockito.reset(lectureServiceMock, studentServiceMock);
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldWriteLecturesAsCsvWhenExportLectures() throws Exception {
+        doAnswer(invocation -> {
+            ((Consumer<Lecture>) invocation.getArgument(0)).accept(lectureOne);
+            return null;
+        }).when(lectureServiceMock).forEach(any());
+
+        performAsync(get("/export/lectures"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"lectures.csv\""))
+                .andExpect(content().string("id,name,date,class_room_id,teacher_id,group_id,course_id\n"
+                        + "1,\"Math, basics\",2018-02-01T09:00,202,3,4,5\n"));
+        verify(lectureServiceMock, times(1)).forEach(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldWriteStudentsAsJsonWhenExportStudentsInJson() throws Exception {
+        doAnswer(invocation -> {
+            ((Consumer<Student>) invocation.getArgument(0)).accept(studentOne);
+            return null;
+        }).when(studentServiceMock).forEach(any());
+
+        performAsync(get("/export/students").param("format", "json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(content().string("[{\"id\":1,\"first_name\":\"firstNameOne\","
+                        + "\"last_name\":\"last \\\"Name\\\"\",\"group_id\":2}]"));
+    }
+
+    @Test
+    public void shouldWriteEmptyArrayWhenExportEmptyTableInJson() throws Exception {
+        performAsync(get("/export/students").param("format", "json"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+    }
+
+    @Test
+    public void shouldExportOnExportThreadsWithoutTimeoutWhenExportLectures() throws Exception {
+        String[] thread = new String[1];
+        doAnswer(invocation -> {
+            thread[0] = Thread.currentThread().getName();
+            return null;
+        }).when(lectureServiceMock).forEach(any());
+
+        MvcResult result = mockMvc.perform(get("/export/lectures"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(ASYNC_WAIT);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        assertEquals(0, result.getRequest().getAsyncContext().getTimeout(), "Should not time out exports");
+        assertTrue(thread[0].startsWith("export-"), "Should not take the threads of slow requests");
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenFormatIsNotSupported() throws Exception {
+        mockMvc.perform(get("/export/lectures").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(lectureServiceMock);
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(ASYNC_WAIT);
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -2,6 +2,7 @@ package com.foxminded.web.controllers;
 
 import com.foxminded.configs.WebConfig;
 import com.foxminded.configs.WebTestConfig;
+import com.foxminded.dao.TableVersions;
 import com.foxminded.model.Group;
 import com.foxminded.service.layers.GroupService;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,11 +14,14 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.List;
 
+import static com.foxminded.dao.TableVersions.GROUPS;
+import static com.foxminded.dao.TableVersions.LECTURES;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.*;
@@ -44,6 +48,9 @@ class GroupControllerTest {
     @Autowired
     public GroupService groupServiceMock;
 
+    @Autowired
+    public TableVersions tableVersions;
+
     @Autowired
     private WebApplicationContext webApplicationContext;
 
@@ -96,4 +103,43 @@ class GroupControllerTest {
         verify(groupServiceMock, times(1)).getAll();
         verifyNoMoreInteractions(groupServiceMock);
     }
+
+    @Test
+    public void shouldReturnNotModifiedWithoutLoadingGroupsWhenGroupsWereNotChanged() throws Exception {
+        MvcResult first = mockMvc.perform(get("/groups"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn();
+        Mockito.reset(groupServiceMock);
+        tableVersions.changed(LECTURES);
+
+        mockMvc.perform(get("/groups").header("If-None-Match", first.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verifyNoInteractions(groupServiceMock);
+    }
+
+    @Test
+    public void shouldRenderGroupsPageWhenGroupsWereChanged() throws Exception {
+        String etag = mockMvc.perform(get("/groups"))
+                .andReturn().getResponse().getHeader("ETag");
+        tableVersions.changed(GROUPS);
+
+        mockMvc.perform(get("/groups").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(view().name("groups"));
+    }
+
+    @Test
+    public void shouldRenderGroupsPageWhenLocaleWasChanged() throws Exception {
+        String etag = mockMvc.perform(get("/groups"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/groups").param("lang", "ru").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(view().name("groups"));
+    }
 }
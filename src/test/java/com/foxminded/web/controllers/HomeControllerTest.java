@@ -2,21 +2,30 @@ package com.foxminded.web.controllers;
 
 import com.foxminded.configs.WebConfig;
 import com.foxminded.configs.WebTestConfig;
+import com.foxminded.model.Student;
+import com.foxminded.service.layers.LectureService;
+import com.foxminded.service.layers.StudentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.ui.ModelMap;
 import org.springframework.web.context.WebApplicationContext;
+import org.thymeleaf.context.ILazyContextVariable;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
@@ -30,11 +39,18 @@ class HomeControllerTest {
 
     public MockMvc mockMvc;
 
+    @Autowired
+    public LectureService lectureServiceMock;
+
+    @Autowired
+    public StudentService studentServiceMock;
+
     @Autowired
     private WebApplicationContext webApplicationContext;
 
     @BeforeEach
     public void init() {
+        Mockito.reset(lectureServiceMock, studentServiceMock);
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
     }
 
@@ -57,4 +73,23 @@ class HomeControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("home"));
     }
+
+    @Test
+    public void shouldNotLoadTablesWhenTemplateDoesNotRenderThem() throws Exception {
+        mockMvc.perform(get("/home"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("allLectures", "allStudents"));
+        verifyNoInteractions(lectureServiceMock, studentServiceMock);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldLoadTableWhenAttributeIsRead() throws Exception {
+        when(studentServiceMock.getAll()).thenReturn(List.of(new Student(1)));
+
+        ModelMap model = mockMvc.perform(get("/home")).andReturn().getModelAndView().getModelMap();
+
+        assertEquals(List.of(new Student(1)), ((ILazyContextVariable<List<Student>>) model.get("allStudents")).getValue());
+        verify(studentServiceMock, times(1)).getAll();
+    }
 }
@@ -20,6 +20,8 @@ import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.List;
 
+import static com.foxminded.constants.Constants.DEFAULT_PAGE_SIZE;
+import static com.foxminded.constants.Constants.MAX_PAGE_SIZE;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.*;
@@ -75,6 +77,7 @@ class LectureControllerTest {
     @BeforeEach
     public void init() {
         Mockito.reset(lectureServiceMock);
+        when(lectureServiceMock.getPage(anyInt(), anyInt())).thenReturn(new Page<>(List.of(), null));
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
     }
 
@@ -101,7 +104,7 @@ class LectureControllerTest {
 
     @Test
     public void shouldReturnCorrectedLectureAttributesWhenGetLectures() throws Exception {
-        when(lectureServiceMock.getAll()).thenReturn(List.of(lectureOne, lectureTwo));
+        when(lectureServiceMock.getPage(0, DEFAULT_PAGE_SIZE)).thenReturn(new Page<>(List.of(lectureOne, lectureTwo), null));
 
         mockMvc.perform(get("/lectures"))
                 .andExpect(status().isOk())
@@ -126,7 +129,27 @@ class LectureControllerTest {
                                 hasProperty("teacher", is(teacherTwo)),
                                 hasProperty("course", is(courseTwo))
                         ))));
-        verify(lectureServiceMock, times(1)).getAll();
+        verify(lectureServiceMock, times(1)).getPage(0, DEFAULT_PAGE_SIZE);
         verifyNoMoreInteractions(lectureServiceMock);
     }
+
+    @Test
+    public void shouldPassNextCursorWhenNextPageExists() throws Exception {
+        when(lectureServiceMock.getPage(1, 1)).thenReturn(new Page<>(List.of(lectureTwo), 2));
+
+        mockMvc.perform(get("/lectures").param("after", "1").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("lectures", hasSize(1)))
+                .andExpect(model().attribute("after", 1))
+                .andExpect(model().attribute("nextAfter", 2))
+                .andExpect(content().string(containsString("after=2")));
+    }
+
+    @Test
+    public void shouldLimitPageSizeWhenRequestedSizeIsTooBig() throws Exception {
+        mockMvc.perform(get("/lectures").param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("size", MAX_PAGE_SIZE));
+        verify(lectureServiceMock, times(1)).getPage(0, MAX_PAGE_SIZE);
+    }
 }
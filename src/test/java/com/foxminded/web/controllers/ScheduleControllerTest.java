@@ -0,0 +1,175 @@
+package com.foxminded.web.controllers;
+
+import com.foxminded.configs.WebConfig;
+import com.foxminded.configs.WebTestConfig;
+import com.foxminded.exceptions.DAOException;
+import com.foxminded.model.*;
+import com.foxminded.service.layers.FreeSlotService;
+import com.foxminded.service.layers.StudentService;
+import com.foxminded.service.layers.TeacherService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * @author Vladimir Zhdanov (mailto:constHomeSpb@gmail.com)
+ * @since 0.1
+ */
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {WebConfig.class, WebTestConfig.class})
+@WebAppConfiguration
+class ScheduleControllerTest {
+    public static final LocalDateTime DATE_ONE = LocalDateTime.of(2018, Month.FEBRUARY, 1, 9, 0);
+    public static final String FIRST_NAME = "firstName";
+    public static final String LAST_NAME = "lastName";
+    public static final String LECTURE_JSON = "[{\"id\":1,\"name\":\"Math\",\"date\":\"2018-02-01T09:00\","
+            + "\"class_room_id\":202,\"teacher_id\":3,\"group_id\":4,\"course_id\":5}]";
+
+    public Lecture lectureOne = new Lecture(1, "Math", DATE_ONE, new Teacher(3), new ClassRoom(202),
+            new Group(4), new Course(5));
+
+    public MockMvc mockMvc;
+
+    @Autowired
+    public StudentService studentServiceMock;
+
+    @Autowired
+    public TeacherService teacherServiceMock;
+
+    @Autowired
+    public FreeSlotService freeSlotServiceMock;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @BeforeEach
+    public void init() {
+        Mockito.reset(studentServiceMock, teacherServiceMock, freeSlotServiceMock);
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    public void shouldWriteLectureIdsWhenGetStudentScheduleForMonth() throws Exception {
+        when(studentServiceMock.getScheduleForMonth(2, 2018, FIRST_NAME, LAST_NAME))
+                .thenReturn(new Schedule(List.of(lectureOne)));
+
+        performAsync(get("/api/students/schedule").param("firstName", FIRST_NAME)
+                .param("lastName", LAST_NAME).param("year", "2018").param("month", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string(LECTURE_JSON));
+        verify(studentServiceMock, times(1)).getScheduleForMonth(2, 2018, FIRST_NAME, LAST_NAME);
+        verifyNoMoreInteractions(studentServiceMock);
+    }
+
+    @Test
+    public void shouldWriteGzippedJsonWhenGetTeacherScheduleForYearAcceptingGzip() throws Exception {
+        when(teacherServiceMock.getScheduleForYear(2018, FIRST_NAME, LAST_NAME))
+                .thenReturn(new Schedule(List.of(lectureOne)));
+
+        byte[] body = performAsync(get("/api/teachers/schedule").param("firstName", FIRST_NAME)
+                .param("lastName", LAST_NAME).param("year", "2018")
+                .header("Accept-Encoding", "deflate, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(LECTURE_JSON, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void shouldNotGzipWhenClientRefusesGzip() throws Exception {
+        when(teacherServiceMock.getScheduleForYear(2018, FIRST_NAME, LAST_NAME)).thenReturn(new Schedule(List.of()));
+
+        performAsync(get("/api/teachers/schedule").param("firstName", FIRST_NAME)
+                .param("lastName", LAST_NAME).param("year", "2018").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string("[]"));
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenStudentDoesNotExist() throws Exception {
+        when(studentServiceMock.getScheduleForYear(2018, FIRST_NAME, LAST_NAME))
+                .thenThrow(new DAOException("Can't find student by passed name"));
+
+        performAsync(get("/api/students/schedule").param("firstName", FIRST_NAME)
+                .param("lastName", LAST_NAME).param("year", "2018"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenMonthIsOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/students/schedule").param("firstName", FIRST_NAME)
+                .param("lastName", LAST_NAME).param("year", "2018").param("month", "13"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(studentServiceMock);
+    }
+
+    @Test
+    public void shouldWriteFreeSlotsWithClassRoomIdsWhenGetFreeSlots() throws Exception {
+        LocalDate from = LocalDate.of(2018, Month.FEBRUARY, 1);
+        when(freeSlotServiceMock.getCommonFreeSlots(FIRST_NAME, LAST_NAME, List.of("one", "two"), from,
+                from.plusDays(7), Duration.ofMinutes(60), 20))
+                .thenReturn(List.of(new FreeSlot(DATE_ONE, DATE_ONE.plusHours(2),
+                        List.of(new ClassRoom(202), new ClassRoom(203)))));
+
+        performAsync(get("/api/freeSlots").param("teacherFirstName", FIRST_NAME)
+                .param("teacherLastName", LAST_NAME).param("groups", "one,two").param("from", "2018-02-01")
+                .param("to", "2018-02-08").param("minutes", "60").param("capacity", "20"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(content().string("[{\"start\":\"2018-02-01T09:00\",\"end\":\"2018-02-01T11:00\","
+                        + "\"minutes\":120,\"class_room_ids\":[202,203]}]"));
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenFreeSlotPeriodIsWrong() throws Exception {
+        when(freeSlotServiceMock.getCommonFreeSlots(any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Period must end after it starts"));
+
+        performAsync(get("/api/freeSlots").param("teacherFirstName", FIRST_NAME)
+                .param("teacherLastName", LAST_NAME).param("groups", "one").param("from", "2018-02-08")
+                .param("to", "2018-02-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
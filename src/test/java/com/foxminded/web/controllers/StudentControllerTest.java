@@ -3,6 +3,7 @@ package com.foxminded.web.controllers;
 import com.foxminded.configs.WebConfig;
 import com.foxminded.configs.WebTestConfig;
 import com.foxminded.model.Group;
+import com.foxminded.model.Page;
 import com.foxminded.model.Student;
 import com.foxminded.service.layers.StudentService;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.util.List;
 
+import static com.foxminded.constants.Constants.DEFAULT_PAGE_SIZE;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.*;
@@ -59,6 +61,7 @@ class StudentControllerTest {
     @BeforeEach
     public void init() {
         Mockito.reset(studentServiceMock);
+        when(studentServiceMock.getPage(anyInt(), anyInt())).thenReturn(new Page<>(List.of(), null));
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
     }
 
@@ -86,7 +89,7 @@ class StudentControllerTest {
 
     @Test
     public void shouldReturnCorrectedStudentAttributesWhenGetStudents() throws Exception {
-        when(studentServiceMock.getAll()).thenReturn(List.of(studentOne, studentTwo));
+        when(studentServiceMock.getPage(0, DEFAULT_PAGE_SIZE)).thenReturn(new Page<>(List.of(studentOne, studentTwo), null));
 
         mockMvc.perform(get("/students"))
                 .andExpect(status().isOk())
@@ -106,7 +109,7 @@ class StudentControllerTest {
                                 hasProperty("lastName", is(LAST_NAME_TWO)),
                                 hasProperty("group", is(groupTwo))
                         ))));
-        verify(studentServiceMock, times(1)).getAll();
+        verify(studentServiceMock, times(1)).getPage(0, DEFAULT_PAGE_SIZE);
         verifyNoMoreInteractions(studentServiceMock);
     }
 
@@ -4,6 +4,7 @@ import com.foxminded.configs.WebConfig;
 import com.foxminded.configs.WebTestConfig;
 import com.foxminded.model.Course;
 import com.foxminded.model.Department;
+import com.foxminded.model.Page;
 import com.foxminded.model.Teacher;
 import com.foxminded.service.layers.TeacherService;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +21,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.util.List;
 
+import static com.foxminded.constants.Constants.DEFAULT_PAGE_SIZE;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.*;
@@ -63,6 +65,7 @@ class TeacherControllerTest {
     @BeforeEach
     public void init() {
         Mockito.reset(teacherServiceMock);
+        when(teacherServiceMock.getPage(anyInt(), anyInt())).thenReturn(new Page<>(List.of(), null));
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
     }
 
@@ -90,7 +93,7 @@ class TeacherControllerTest {
 
     @Test
     public void shouldReturnCorrectedTeacherAttributesWhenGetTeachers() throws Exception {
-        when(teacherServiceMock.getAll()).thenReturn(List.of(teacherOne, teacherTwo));
+        when(teacherServiceMock.getPage(0, DEFAULT_PAGE_SIZE)).thenReturn(new Page<>(List.of(teacherOne, teacherTwo), null));
 
         mockMvc.perform(get("/teachers"))
                 .andExpect(status().isOk())
@@ -112,7 +115,7 @@ class TeacherControllerTest {
                                 hasProperty("department", is(departmentTwo)),
                                 hasProperty("course", is(courseTwo))
                         ))));
-        verify(teacherServiceMock, times(1)).getAll();
+        verify(teacherServiceMock, times(1)).getPage(0, DEFAULT_PAGE_SIZE);
         verifyNoMoreInteractions(teacherServiceMock);
     }
 }
@@ -0,0 +1,9 @@
+CREATE INDEX if not exists lectures_class_room_id_date_idx ON lectures (class_room_id, date);
+
+-- Test-only approximation of the EXCLUDE constraints of tablesCreation-postgresql.sql, H2 has no range types.
+-- The trigger looks for overlapping lectures starting at most a day earlier, so lectures are limited to a day.
+-- It takes no locks, two concurrent transactions may both insert overlapping lectures.
+ALTER TABLE lectures ADD CONSTRAINT if not exists lectures_duration_max_check CHECK (duration <= 1440);
+
+CREATE TRIGGER if not exists lectures_overlap_trg BEFORE INSERT, UPDATE ON lectures
+    FOR EACH ROW CALL "com.foxminded.dao.LectureOverlapTrigger";